@@ -0,0 +1,38 @@
+-- ===================================================================
+-- MIGRACION: INSTANTES DE INICIO/FIN PERSISTIDOS EN CITAS (PostgreSQL)
+-- ===================================================================
+-- Agrega las columnas fecha_hora_inicio y fecha_hora_fin a la tabla citas,
+-- rellena los registros existentes y crea los índices compuestos usados
+-- por las consultas por rango de CitaRepository.
+--
+-- Es idempotente: puede ejecutarse antes o después de que Hibernate
+-- (ddl-auto=update) haya agregado las columnas.
+-- ===================================================================
+
+BEGIN;
+
+ALTER TABLE citas ADD COLUMN IF NOT EXISTS fecha_hora_inicio TIMESTAMP(6);
+ALTER TABLE citas ADD COLUMN IF NOT EXISTS fecha_hora_fin TIMESTAMP(6);
+
+-- Rellenar citas existentes (duración por defecto: 30 minutos)
+UPDATE citas
+   SET fecha_hora_inicio = fecha_cita + hora_cita,
+       fecha_hora_fin = fecha_cita + hora_cita
+                        + make_interval(mins => COALESCE(duracion_estimada_minutos, 30))
+ WHERE fecha_hora_inicio IS NULL
+    OR fecha_hora_fin IS NULL;
+
+ALTER TABLE citas ALTER COLUMN fecha_hora_inicio SET NOT NULL;
+ALTER TABLE citas ALTER COLUMN fecha_hora_fin SET NOT NULL;
+
+COMMIT;
+
+-- Índices (fuera de la transacción para poder crearlos sin bloquear escrituras)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_cita_inicio
+    ON citas (fecha_hora_inicio);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_cita_veterinario_inicio
+    ON citas (id_veterinario, fecha_hora_inicio);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_cita_estado_inicio
+    ON citas (estado, fecha_hora_inicio);
+
+ANALYZE citas;
@@ -0,0 +1,15 @@
+-- ===================================================================
+-- MIGRACION: ÍNDICE PARA DETECCIÓN DE SOLAPAMIENTO DE CITAS (PostgreSQL)
+-- ===================================================================
+-- Requiere haber ejecutado migracion_citas_intervalo.sql (columnas
+-- fecha_hora_inicio / fecha_hora_fin).
+--
+-- CitaRepository.findCitasSolapadas y countCitasConflictivas filtran por
+-- veterinario y fecha, y comparan los instantes persistidos:
+--   fecha_hora_inicio < :fin AND fecha_hora_fin > :inicio
+-- ===================================================================
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_cita_veterinario_fecha_hora
+    ON citas (id_veterinario, fecha_cita, hora_cita);
+
+ANALYZE citas;
@@ -0,0 +1,39 @@
+-- ===================================================================
+-- MIGRACION: AGREGADO DIARIO DE CITAS (PostgreSQL)
+-- ===================================================================
+-- Crea la tabla estadisticas_diarias_citas (entidad EstadisticaDiariaCita),
+-- su clave única por (fecha, veterinario, servicio, estado) y la carga
+-- inicial a partir de las citas existentes.
+--
+-- Debe ejecutarse antes de desplegar con ddl-auto=validate. Es idempotente:
+-- la carga inicial solo agrega los días que aún no tienen filas.
+-- EstadisticaDiariaService mantiene la tabla a partir de aquí y la
+-- reconstruye cada noche.
+-- ===================================================================
+
+BEGIN;
+
+CREATE TABLE IF NOT EXISTS estadisticas_diarias_citas (
+    id_estadistica BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    fecha          DATE           NOT NULL,
+    id_veterinario BIGINT         NOT NULL,
+    id_servicio    BIGINT         NOT NULL,
+    estado         VARCHAR(20)    NOT NULL,
+    cantidad       BIGINT         NOT NULL,
+    ingresos       NUMERIC(14, 2) NOT NULL,
+    CONSTRAINT uk_estadistica_diaria_cita UNIQUE (fecha, id_veterinario, id_servicio, estado)
+);
+
+CREATE INDEX IF NOT EXISTS idx_estadistica_diaria_fecha
+    ON estadisticas_diarias_citas (fecha);
+
+-- Carga inicial (misma agregación que EstadisticaDiariaCitaRepository.agregarTodasLasCitas)
+INSERT INTO estadisticas_diarias_citas (fecha, id_veterinario, id_servicio, estado, cantidad, ingresos)
+SELECT c.fecha_cita, c.id_veterinario, c.id_servicio, c.estado, COUNT(*), COALESCE(SUM(c.precio_final), 0)
+  FROM citas c
+ WHERE NOT EXISTS (SELECT 1 FROM estadisticas_diarias_citas e WHERE e.fecha = c.fecha_cita)
+ GROUP BY c.fecha_cita, c.id_veterinario, c.id_servicio, c.estado;
+
+COMMIT;
+
+ANALYZE estadisticas_diarias_citas;
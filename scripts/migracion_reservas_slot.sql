@@ -0,0 +1,33 @@
+-- ===================================================================
+-- MIGRACION: RESERVAS TEMPORALES DE SLOTS (PostgreSQL)
+-- ===================================================================
+-- Crea la tabla reservas_slot (entidad ReservaSlot), compartida por todas
+-- las instancias de la aplicación.
+--
+-- Debe ejecutarse antes de desplegar con ddl-auto=validate. Es idempotente.
+--
+-- Índices según las consultas de ReservaSlotRepository:
+--   - solapamiento y reservas del día: id_veterinario, fecha y rango de hora_inicio
+--   - límite de reservas por usuario:   usuario y expira_en
+--   - purga programada de expiradas:    expira_en <= :ahora
+-- ===================================================================
+
+CREATE TABLE IF NOT EXISTS reservas_slot (
+    token          VARCHAR(36)  PRIMARY KEY,
+    id_veterinario BIGINT       NOT NULL,
+    fecha          DATE         NOT NULL,
+    hora_inicio    TIME(6)      NOT NULL,
+    hora_fin       TIME(6)      NOT NULL,
+    usuario        VARCHAR(100),
+    expira_en      TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_reserva_slot_veterinario_fecha_hora
+    ON reservas_slot (id_veterinario, fecha, hora_inicio);
+CREATE INDEX IF NOT EXISTS idx_reserva_slot_usuario
+    ON reservas_slot (usuario, expira_en);
+CREATE INDEX IF NOT EXISTS idx_reserva_slot_expira
+    ON reservas_slot (expira_en);
+
+-- Índice de la versión anterior de la entidad (prefijo del nuevo)
+DROP INDEX IF EXISTS idx_reserva_slot_veterinario_fecha;
@@ -1,12 +1,18 @@
 package com.veterinaria.clinica_veternica.config;
 
+import com.veterinaria.clinica_veternica.config.cache.CacheAcotada;
+import com.veterinaria.clinica_veternica.config.cache.TransporteInvalidacionCache;
+import com.veterinaria.clinica_veternica.config.cache.TransporteInvalidacionLocal;
+import com.veterinaria.clinica_veternica.config.cache.TransporteInvalidacionPostgres;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCache;
 import org.springframework.cache.support.SimpleCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
 
+import java.time.Duration;
 import java.util.Arrays;
 
 /**
@@ -15,8 +21,19 @@ import java.util.Arrays;
  * Implementa caché en memoria para consultas frecuentes, reduciendo la carga
  * en la base de datos y mejorando los tiempos de respuesta.
  *
- * Esta configuración utiliza SimpleCacheManager con ConcurrentMapCache,
- * apropiado para desarrollo y aplicaciones de tamaño medio.
+ * Esta configuración utiliza SimpleCacheManager con {@link CacheAcotada}: cada caché tiene
+ * tamaño máximo (desalojo LRU), tiempo de vida, refresco en segundo plano y estadísticas.
+ * Los valores por defecto de cada caché se pueden sobrescribir con las propiedades
+ * {@code app.cache.<nombre>.tamanio-maximo}, {@code app.cache.<nombre>.ttl} y
+ * {@code app.cache.<nombre>.refresco}.
+ *
+ * Con varias instancias, las invalidaciones se reparten por el bus de invalidación
+ * ({@code BusInvalidacionCache}) usando el transporte de {@code app.cache.invalidacion.transporte}:
+ * {@code postgres} (LISTEN/NOTIFY), {@code local} (una sola JVM) o {@code auto} (postgres si
+ * la base de datos es PostgreSQL).
+ *
+ * El interceptor de caché se ordena por fuera del transaccional: un acierto no abre
+ * transacción y los {@code @CacheEvict} se aplican después del commit.
  *
  * NOTA: Para aplicaciones de alto tráfico, considerar Redis o Hazelcast.
  *
@@ -28,7 +45,7 @@ import java.util.Arrays;
  * @since 2025-11-02
  */
 @Configuration
-@EnableCaching
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
 public class CacheConfig {
 
     /**
@@ -43,6 +60,17 @@ public class CacheConfig {
     public static final String CACHE_RAZAS = "razas";
     public static final String CACHE_INSUMOS = "insumos";
     public static final String CACHE_VETERINARIOS = "veterinarios";
+    public static final String CACHE_TIPOS_INSUMO = "tiposInsumo";
+    public static final String CACHE_PRINCIPALES = "principales";
+    public static final String CACHE_PERFILES_ACTOR = "perfilesActor";
+
+    private static final String PREFIJO_PROPIEDADES = "app.cache.";
+
+    private final Environment environment;
+
+    public CacheConfig(Environment environment) {
+        this.environment = environment;
+    }
 
     /**
      * Configuración del CacheManager.
@@ -59,7 +87,7 @@ public class CacheConfig {
      * Ejemplo de uso:
      * <pre>
      * {@code
-     * @Cacheable(value = CacheConfig.CACHE_SERVICIOS, key = "#id")
+     * @Cacheable(value = CacheConfig.CACHE_SERVICIOS, key = "#id", sync = true)
      * public Servicio findById(Long id) {
      *     return servicioRepository.findById(id)
      *         .orElseThrow(() -> new ResourceNotFoundException("Servicio no encontrado"));
@@ -77,47 +105,95 @@ public class CacheConfig {
                 // Caché para servicios veterinarios
                 // Datos: Tipos de servicios (consultas, cirugías, vacunaciones, etc.)
                 // Frecuencia de cambio: Baja
-                new ConcurrentMapCache(CACHE_SERVICIOS),
+                crearCache(CACHE_SERVICIOS, 500, Duration.ofMinutes(30), Duration.ofMinutes(5)),
 
                 // Caché para mascotas
                 // Datos: Información básica de mascotas activas
                 // Frecuencia de cambio: Media
-                new ConcurrentMapCache(CACHE_MASCOTAS),
+                crearCache(CACHE_MASCOTAS, 2000, Duration.ofMinutes(5), Duration.ZERO),
 
                 // Caché para propietarios
                 // Datos: Información de contacto de propietarios
                 // Frecuencia de cambio: Media
-                new ConcurrentMapCache(CACHE_PROPIETARIOS),
+                crearCache(CACHE_PROPIETARIOS, 2000, Duration.ofMinutes(5), Duration.ZERO),
 
                 // Caché para horarios de veterinarios
                 // Datos: Disponibilidad y horarios de atención
                 // Frecuencia de cambio: Baja
-                new ConcurrentMapCache(CACHE_HORARIOS),
+                crearCache(CACHE_HORARIOS, 500, Duration.ofMinutes(30), Duration.ofMinutes(5)),
 
                 // Caché para especies
                 // Datos: Catálogo de especies (perro, gato, ave, etc.)
                 // Frecuencia de cambio: Muy baja
-                new ConcurrentMapCache(CACHE_ESPECIES),
+                crearCache(CACHE_ESPECIES, 200, Duration.ofHours(1), Duration.ofMinutes(10)),
 
                 // Caché para razas
                 // Datos: Catálogo de razas por especie
                 // Frecuencia de cambio: Muy baja
-                new ConcurrentMapCache(CACHE_RAZAS),
+                crearCache(CACHE_RAZAS, 1000, Duration.ofHours(1), Duration.ofMinutes(10)),
 
                 // Caché para insumos
                 // Datos: Catálogo de insumos médicos y medicamentos
                 // Frecuencia de cambio: Baja
-                new ConcurrentMapCache(CACHE_INSUMOS),
+                crearCache(CACHE_INSUMOS, 1000, Duration.ofMinutes(10), Duration.ofMinutes(2)),
 
                 // Caché para veterinarios
-                // Datos: Información de veterinarios activos
-                // Frecuencia de cambio: Baja
-                new ConcurrentMapCache(CACHE_VETERINARIOS)
+                // Datos: Información de veterinarios activos, con su número de horarios (sin conteos
+                // de citas, para que las reservas no lo invaliden)
+                // Frecuencia de cambio: Baja (se invalida al modificar veterinarios y horarios)
+                crearCache(CACHE_VETERINARIOS, 500, Duration.ofMinutes(10), Duration.ofMinutes(2)),
+
+                // Caché para tipos de insumo
+                // Datos: Catálogo de categorías de insumos
+                // Frecuencia de cambio: Muy baja
+                crearCache(CACHE_TIPOS_INSUMO, 200, Duration.ofHours(1), Duration.ofMinutes(10)),
+
+                // Caché de usuarios autenticados (filtro JWT)
+                // Datos: Id, email y rol de usuarios activos; las revocaciones lo invalidan
+                // Frecuencia de cambio: Baja (TTL corto como red de seguridad)
+                crearCache(CACHE_PRINCIPALES, 5000, Duration.ofSeconds(30), Duration.ZERO),
+
+                // Caché de perfiles de usuario (usuario → personal / propietario)
+                // Datos: Ids del perfil asociado a cada usuario
+                // Frecuencia de cambio: Muy baja (alta de perfiles y cambios de email)
+                crearCache(CACHE_PERFILES_ACTOR, 5000, Duration.ofMinutes(30), Duration.ZERO)
         ));
 
         return cacheManager;
     }
 
+    /**
+     * Transporte del bus de invalidación de caché entre nodos.
+     *
+     * @return Transporte LISTEN/NOTIFY de PostgreSQL o, si no aplica, transporte en memoria
+     */
+    @Bean
+    public TransporteInvalidacionCache transporteInvalidacionCache() {
+        String tipo = environment.getProperty(PREFIJO_PROPIEDADES + "invalidacion.transporte", "auto");
+        String url = environment.getProperty("spring.datasource.url", "");
+        boolean postgres = "postgres".equals(tipo) || ("auto".equals(tipo) && url.startsWith("jdbc:postgresql:"));
+        if (!postgres) {
+            return new TransporteInvalidacionLocal();
+        }
+        return new TransporteInvalidacionPostgres(url,
+                environment.getProperty("spring.datasource.username"),
+                environment.getProperty("spring.datasource.password"),
+                environment.getProperty(PREFIJO_PROPIEDADES + "invalidacion.canal", "cache_invalidacion"),
+                environment.getProperty(PREFIJO_PROPIEDADES + "invalidacion.espera-ms", Integer.class, 500));
+    }
+
+    /**
+     * Crea un caché acotado aplicando las propiedades {@code app.cache.<nombre>.*} sobre los
+     * valores por defecto indicados.
+     */
+    private CacheAcotada crearCache(String nombre, int tamanioMaximo, Duration ttl, Duration refresco) {
+        String prefijo = PREFIJO_PROPIEDADES + nombre;
+        return new CacheAcotada(nombre,
+                environment.getProperty(prefijo + ".tamanio-maximo", Integer.class, tamanioMaximo),
+                environment.getProperty(prefijo + ".ttl", Duration.class, ttl),
+                environment.getProperty(prefijo + ".refresco", Duration.class, refresco));
+    }
+
     /**
      * NOTAS DE IMPLEMENTACIÓN:
      *
@@ -132,18 +208,14 @@ public class CacheConfig {
      *    - Transacciones financieras
      *
      * 3. ESTRATEGIAS DE INVALIDACIÓN:
-     *    - Time-based: Evictar después de X tiempo (no implementado aquí)
-     *    - Event-based: Evictar cuando se modifica la entidad (recomendado)
+     *    - Time-based: Cada caché expira sus entradas tras su TTL
+     *    - Event-based: Los servicios evictan con @CacheEvict al modificar la entidad
+     *    - Entre nodos: Cada evicción se publica en el bus de invalidación
      *
      * 4. MEJORAS FUTURAS:
-     *    - Implementar TTL (Time To Live) para cada caché
-     *    - Migrar a Redis para aplicaciones distribuidas
-     *    - Implementar estadísticas de hit/miss del caché
-     *    - Configurar tamaño máximo de cada caché
+     *    - Migrar a Redis si el volumen de datos compartidos lo justifica
      *
-
      * - Redis con Spring Data Redis
      * - Hazelcast para caché distribuido
-     * - Caffeine como implementación más eficiente
      */
 }
@@ -1,7 +1,10 @@
 package com.veterinaria.clinica_veternica.config;
 
+import com.veterinaria.clinica_veternica.patterns.behavioral.observer.AgendaEventosObserver;
 import com.veterinaria.clinica_veternica.patterns.behavioral.observer.AuditoriaObserver;
 import com.veterinaria.clinica_veternica.patterns.behavioral.observer.CitaSubject;
+import com.veterinaria.clinica_veternica.patterns.behavioral.observer.DisponibilidadObserver;
+import com.veterinaria.clinica_veternica.patterns.behavioral.observer.EstadisticasDiariasObserver;
 import com.veterinaria.clinica_veternica.patterns.behavioral.observer.NotificacionObserver;
 import com.veterinaria.clinica_veternica.patterns.behavioral.observer.RecordatorioObserver;
 import lombok.RequiredArgsConstructor;
@@ -23,6 +26,8 @@ import jakarta.annotation.PostConstruct;
  * - NotificacionObserver: Envía notificaciones automáticas a usuarios
  * - RecordatorioObserver: Crea recordatorios para citas programadas
  * - InventarioObserver: Actualiza inventario cuando se usan insumos
+ * - DisponibilidadObserver: Mantiene el índice en memoria de slots ocupados
+ * - EstadisticasDiariasObserver: Recalcula el agregado diario de citas de los días afectados
  *
  * @author Clínica Veterinaria Team
  * @version 1.0
@@ -37,6 +42,9 @@ public class ObserverConfiguration {
     private final AuditoriaObserver auditoriaObserver;
     private final NotificacionObserver notificacionObserver;
     private final RecordatorioObserver recordatorioObserver;
+    private final DisponibilidadObserver disponibilidadObserver;
+    private final AgendaEventosObserver agendaEventosObserver;
+    private final EstadisticasDiariasObserver estadisticasDiariasObserver;
 
     /**
      * Registra todos los observers en CitaSubject al iniciar la aplicación.
@@ -52,8 +60,11 @@ public class ObserverConfiguration {
         citaSubject.addObserver(auditoriaObserver);
         citaSubject.addObserver(notificacionObserver);
         citaSubject.addObserver(recordatorioObserver);
+        citaSubject.addObserver(disponibilidadObserver);
+        citaSubject.addObserver(agendaEventosObserver);
+        citaSubject.addObserver(estadisticasDiariasObserver);
 
-        log.info("✓ Observer Pattern activado: 3 observers registrados exitosamente");
-        log.debug("Observers registrados: AuditoriaObserver, NotificacionObserver, RecordatorioObserver");
+        log.info("✓ Observer Pattern activado: 6 observers registrados exitosamente");
+        log.debug("Observers registrados: AuditoriaObserver, NotificacionObserver, RecordatorioObserver, DisponibilidadObserver, AgendaEventosObserver, EstadisticasDiariasObserver");
     }
 }
@@ -0,0 +1,17 @@
+package com.veterinaria.clinica_veternica.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita las tareas programadas (@Scheduled), como el barrido de entradas
+ * expiradas de CachedServiceProxy.
+ *
+ * @author Clínica Veterinaria Team
+ * @version 1.0
+ * @since 2025-11-20
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,338 @@
+package com.veterinaria.clinica_veternica.config.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.veterinaria.clinica_veternica.config.cache.EventoInvalidacionCache.Tipo;
+import com.veterinaria.clinica_veternica.dto.response.EstadisticasInvalidacionDTO;
+import com.veterinaria.clinica_veternica.patterns.structural.proxy.CachedServiceProxy;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Bus de invalidación de caché entre nodos.
+ *
+ * Cada invalidación local (etiquetas, claves o vaciado de CachedServiceProxy y de los cachés
+ * de Spring) se publica tras el commit por un {@link TransporteInvalidacionCache}; los demás
+ * nodos la aplican solo en su memoria, sin volver a publicarla.
+ *
+ * Otros cachés en memoria (p. ej. el catálogo) se registran con
+ * {@link #registrarReceptor(String, Consumer)} y publican con {@link #publicarCache(String, Object)};
+ * un receptor también puede recibir datos propios con {@link #publicarReceptor(String, List)}.
+ *
+ * DETECCIÓN DE MENSAJES PERDIDOS:
+ * - Cada nodo numera sus mensajes con una secuencia consecutiva. Un receptor que ve un salto
+ *   en la secuencia de un origen vacía todos sus cachés, porque no sabe qué se perdió.
+ * - Un latido periódico anuncia la última secuencia usada, de modo que un mensaje perdido se
+ *   detecta aunque el origen no vuelva a escribir.
+ * - Si el transporte se reconecta, también se vacían todos los cachés.
+ * - Un mensaje que no se pudo publicar consume igualmente su secuencia: los demás nodos lo
+ *   detectan como perdido.
+ *
+ * @author Clínica Veterinaria Team
+ * @version 1.0
+ * @since 2025-11-20
+ */
+@Slf4j
+@Component
+public class BusInvalidacionCache implements TransporteInvalidacionCache.Oyente {
+
+    // NOTIFY admite mensajes de menos de 8000 bytes; si se supera se invalida el caché completo
+    private static final int TAMANIO_MAXIMO_MENSAJE = 7_500;
+
+    private final TransporteInvalidacionCache transporte;
+    private final CacheManager cacheManager;
+    private final ObjectProvider<CachedServiceProxy> cachedServiceProxy;
+    private final ObjectMapper objectMapper;
+
+    private final String nodo = UUID.randomUUID().toString();
+    private final AtomicLong secuencia = new AtomicLong();
+    // Asigna secuencia y publica en orden
+    private final ReentrantLock lockPublicacion = new ReentrantLock();
+    private final Map<String, Long> ultimaSecuenciaPorNodo = new ConcurrentHashMap<>();
+    private final Map<String, Consumer<List<String>>> receptores = new ConcurrentHashMap<>();
+
+    private final LongAdder publicadas = new LongAdder();
+    private final LongAdder fallidas = new LongAdder();
+    private final LongAdder recibidas = new LongAdder();
+    private final LongAdder resincronizaciones = new LongAdder();
+
+    public BusInvalidacionCache(TransporteInvalidacionCache transporte,
+                                CacheManager cacheManager,
+                                ObjectProvider<CachedServiceProxy> cachedServiceProxy,
+                                ObjectMapper objectMapper) {
+        this.transporte = transporte;
+        this.cacheManager = cacheManager;
+        this.cachedServiceProxy = cachedServiceProxy;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Conecta los cachés de Spring al bus y empieza a recibir invalidaciones.
+     */
+    @PostConstruct
+    public void iniciar() {
+        for (String nombre : cacheManager.getCacheNames()) {
+            CacheAcotada cache = cacheAcotada(nombre);
+            if (cache != null) {
+                cache.setOyenteInvalidacion(this::publicarCache);
+            }
+        }
+        transporte.iniciar(this);
+        log.info("Bus de invalidación de caché iniciado. Nodo: {}, transporte: {}", nodo, transporte.getNombre());
+    }
+
+    /**
+     * Registra un caché en memoria ajeno a CacheManager para recibir sus invalidaciones remotas.
+     *
+     * @param nombre Nombre con el que el caché publica sus invalidaciones
+     * @param alInvalidar Acción local al recibir una invalidación; recibe las claves invalidadas
+     *                    (lista vacía si se invalidó todo o al resincronizar)
+     */
+    public void registrarReceptor(String nombre, Consumer<List<String>> alInvalidar) {
+        receptores.put(nombre, alInvalidar);
+    }
+
+    /**
+     * Publica la invalidación de etiquetas de CachedServiceProxy.
+     *
+     * @param etiquetas Etiquetas invalidadas
+     */
+    public void publicarEtiquetas(Collection<String> etiquetas) {
+        publicar(Tipo.ETIQUETAS, null, List.copyOf(etiquetas));
+    }
+
+    /**
+     * Publica la invalidación de claves (o patrones con '*') de CachedServiceProxy.
+     *
+     * @param claves Claves invalidadas
+     */
+    public void publicarClaves(Collection<String> claves) {
+        publicar(Tipo.CLAVES, null, List.copyOf(claves));
+    }
+
+    /**
+     * Publica el vaciado de CachedServiceProxy.
+     */
+    public void publicarLimpieza() {
+        publicar(Tipo.TODO, null, List.of());
+    }
+
+    /**
+     * Publica la invalidación de un caché de Spring o de un receptor registrado.
+     *
+     * @param cache Nombre del caché
+     * @param clave Clave invalidada; {@code null} si se vació el caché
+     */
+    public void publicarCache(String cache, Object clave) {
+        if (clave instanceof String texto) {
+            publicar(Tipo.CLAVES, cache, List.of(texto));
+        } else {
+            publicar(Tipo.TODO, cache, List.of());
+        }
+    }
+
+    /**
+     * Publica datos para un receptor registrado (p. ej. los eventos de un feed en memoria);
+     * los demás nodos los reciben como la lista de claves del receptor. Un mensaje que supere
+     * el tamaño máximo llega como lista vacía, igual que una resincronización.
+     *
+     * @param receptor Nombre del receptor
+     * @param datos Datos a entregar
+     */
+    public void publicarReceptor(String receptor, List<String> datos) {
+        publicar(Tipo.CLAVES, receptor, List.copyOf(datos));
+    }
+
+    /**
+     * Anuncia la última secuencia publicada para que los demás nodos detecten mensajes perdidos.
+     */
+    @Scheduled(fixedDelayString = "${app.cache.invalidacion.latido-ms:30000}")
+    public void publicarLatido() {
+        lockPublicacion.lock();
+        try {
+            enviar(new EventoInvalidacionCache(nodo, secuencia.get(), Tipo.LATIDO, null, List.of()));
+        } finally {
+            lockPublicacion.unlock();
+        }
+    }
+
+    @Override
+    public void alRecibir(String mensaje) {
+        EventoInvalidacionCache evento = deserializar(mensaje);
+        if (evento == null || nodo.equals(evento.nodo())) {
+            return;
+        }
+        if (hayMensajesPerdidos(evento)) {
+            resincronizar("mensajes perdidos del nodo " + evento.nodo());
+            return;
+        }
+        if (evento.tipo() != Tipo.LATIDO) {
+            aplicar(evento);
+            recibidas.increment();
+        }
+    }
+
+    @Override
+    public void alReconectar() {
+        ultimaSecuenciaPorNodo.clear();
+        resincronizar("reconexión del transporte");
+    }
+
+    /**
+     * @return Identificador de este nodo (cambia en cada arranque)
+     */
+    public String getNodo() {
+        return nodo;
+    }
+
+    /**
+     * @return Estadísticas del bus
+     */
+    public EstadisticasInvalidacionDTO getEstadisticas() {
+        return EstadisticasInvalidacionDTO.builder()
+                .nodo(nodo)
+                .transporte(transporte.getNombre())
+                .secuencia(secuencia.get())
+                .publicadas(publicadas.sum())
+                .fallidas(fallidas.sum())
+                .recibidas(recibidas.sum())
+                .resincronizaciones(resincronizaciones.sum())
+                .build();
+    }
+
+    // ===================================================================
+    // UTILIDADES
+    // ===================================================================
+
+    /**
+     * Publica tras el commit de la transacción en curso (o de inmediato si no hay), para que
+     * otro nodo no recargue el valor anterior antes de que la escritura sea visible.
+     */
+    private void publicar(Tipo tipo, String cache, List<String> claves) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publicarAhora(tipo, cache, claves);
+                }
+            });
+        } else {
+            publicarAhora(tipo, cache, claves);
+        }
+    }
+
+    private void publicarAhora(Tipo tipo, String cache, List<String> claves) {
+        lockPublicacion.lock();
+        try {
+            enviar(new EventoInvalidacionCache(nodo, secuencia.incrementAndGet(), tipo, cache, claves));
+        } finally {
+            lockPublicacion.unlock();
+        }
+    }
+
+    private void enviar(EventoInvalidacionCache evento) {
+        try {
+            String mensaje = objectMapper.writeValueAsString(evento);
+            if (mensaje.getBytes(StandardCharsets.UTF_8).length > TAMANIO_MAXIMO_MENSAJE) {
+                mensaje = objectMapper.writeValueAsString(new EventoInvalidacionCache(
+                        nodo, evento.secuencia(), Tipo.TODO, evento.cache(), List.of()));
+            }
+            transporte.publicar(mensaje);
+            publicadas.increment();
+        } catch (JsonProcessingException | RuntimeException e) {
+            fallidas.increment();
+            log.warn("No se pudo publicar la invalidación de caché {}: {}", evento.secuencia(), e.getMessage());
+        }
+    }
+
+    private EventoInvalidacionCache deserializar(String mensaje) {
+        try {
+            return objectMapper.readValue(mensaje, EventoInvalidacionCache.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Mensaje de invalidación de caché no válido: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Registra la secuencia del evento y comprueba si falta alguna anterior del mismo origen.
+     * El primer mensaje de un nodo solo fija su secuencia.
+     */
+    private boolean hayMensajesPerdidos(EventoInvalidacionCache evento) {
+        long anteriorEsperada = evento.tipo() == Tipo.LATIDO ? evento.secuencia() : evento.secuencia() - 1;
+        Long anterior = ultimaSecuenciaPorNodo.put(evento.nodo(), evento.secuencia());
+        return anterior != null && anterior < anteriorEsperada;
+    }
+
+    private void aplicar(EventoInvalidacionCache evento) {
+        if (evento.cache() == null) {
+            CachedServiceProxy proxy = cachedServiceProxy.getObject();
+            switch (evento.tipo()) {
+                case ETIQUETAS -> proxy.invalidarEtiquetasLocal(evento.claves());
+                case CLAVES -> evento.claves().forEach(proxy::evictLocal);
+                case TODO -> proxy.clearLocal();
+                default -> { }
+            }
+            return;
+        }
+        Consumer<List<String>> receptor = receptores.get(evento.cache());
+        if (receptor != null) {
+            receptor.accept(evento.tipo() == Tipo.CLAVES ? evento.claves() : List.of());
+            return;
+        }
+        Cache cache = cacheManager.getCache(evento.cache());
+        if (cache == null) {
+            return;
+        }
+        CacheAcotada acotada = cacheAcotada(evento.cache());
+        if (evento.tipo() == Tipo.CLAVES) {
+            for (String clave : evento.claves()) {
+                if (acotada != null) {
+                    acotada.evictLocal(clave);
+                } else {
+                    cache.evict(clave);
+                }
+            }
+        } else if (acotada != null) {
+            acotada.clearLocal();
+        } else {
+            cache.clear();
+        }
+    }
+
+    private void resincronizar(String motivo) {
+        log.warn("Vaciando todos los cachés por {}", motivo);
+        cachedServiceProxy.getObject().clearLocal();
+        for (String nombre : cacheManager.getCacheNames()) {
+            CacheAcotada acotada = cacheAcotada(nombre);
+            if (acotada != null) {
+                acotada.clearLocal();
+            }
+        }
+        receptores.values().forEach(receptor -> receptor.accept(List.of()));
+        resincronizaciones.increment();
+    }
+
+    private CacheAcotada cacheAcotada(String nombre) {
+        Cache cache = cacheManager.getCache(nombre);
+        return cache != null && cache.getNativeCache() instanceof CacheAcotada acotada ? acotada : null;
+    }
+}
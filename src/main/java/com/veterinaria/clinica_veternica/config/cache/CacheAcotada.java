@@ -0,0 +1,292 @@
+package com.veterinaria.clinica_veternica.config.cache;
+
+import com.veterinaria.clinica_veternica.dto.response.EstadisticasCacheDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+
+/**
+ * Caché en memoria acotada para Spring Cache.
+ *
+ * - Tamaño máximo con desalojo LRU (la entrada menos usada recientemente sale primero).
+ * - Expiración tras escritura (TTL): una entrada vencida no se sirve.
+ * - Refresco tras escritura: con {@code @Cacheable(sync = true)}, una entrada más antigua que
+ *   el tiempo de refresco se sigue sirviendo mientras se recarga en un hilo virtual.
+ * - Una sola carga concurrente por clave en {@code @Cacheable(sync = true)}. Una carga que
+ *   empezó antes de un {@code evict}/{@code clear} no publica su resultado (podría ser obsoleto).
+ * - Contadores de aciertos, fallos, desalojos, expiraciones y recargas.
+ * - {@code evict}/{@code clear} avisan al oyente de invalidación (el bus entre nodos);
+ *   {@code evictLocal}/{@code clearLocal} aplican una invalidación recibida sin avisar.
+ *
+ * @author Clínica Veterinaria Team
+ * @version 1.0
+ * @since 2025-11-20
+ */
+@Slf4j
+public class CacheAcotada extends AbstractValueAdaptingCache {
+
+    private final String nombre;
+    private final int tamanioMaximo;
+    private final long ttlNanos;
+    private final long refrescoNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<Object, Entrada> entradas = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<Object, CompletableFuture<Object>> cargasEnCurso = new ConcurrentHashMap<>();
+    private final Set<Object> recargando = ConcurrentHashMap.newKeySet();
+    private final AtomicLong generacion = new AtomicLong();
+    private volatile long invalidadaEnMillis = System.currentTimeMillis();
+    private volatile BiConsumer<String, Object> oyenteInvalidacion;
+
+    private final LongAdder aciertos = new LongAdder();
+    private final LongAdder fallos = new LongAdder();
+    private final LongAdder desalojos = new LongAdder();
+    private final LongAdder expiradas = new LongAdder();
+    private final LongAdder recargas = new LongAdder();
+
+    /**
+     * @param nombre Nombre del caché
+     * @param tamanioMaximo Número máximo de entradas
+     * @param ttl Tiempo de vida desde la escritura ({@code Duration.ZERO} = sin expiración)
+     * @param refresco Tiempo tras el cual se recarga en segundo plano ({@code Duration.ZERO} = sin refresco)
+     */
+    public CacheAcotada(String nombre, int tamanioMaximo, Duration ttl, Duration refresco) {
+        super(true);
+        this.nombre = nombre;
+        this.tamanioMaximo = Math.max(1, tamanioMaximo);
+        this.ttlNanos = ttl.toNanos();
+        this.refrescoNanos = refresco.toNanos();
+    }
+
+    @Override
+    public String getName() {
+        return nombre;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return this;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Entrada entrada = buscarVigente(key);
+        return entrada != null ? entrada.valor() : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Entrada entrada = buscarVigente(key);
+        if (entrada != null) {
+            if (refrescoNanos > 0 && System.nanoTime() - entrada.escritaNanos() > refrescoNanos) {
+                recargarEnSegundoPlano(key, valueLoader);
+            }
+            return (T) fromStoreValue(entrada.valor());
+        }
+
+        CompletableFuture<Object> carga = new CompletableFuture<>();
+        CompletableFuture<Object> enCurso = cargasEnCurso.putIfAbsent(key, carga);
+        if (enCurso != null) {
+            return (T) fromStoreValue(esperar(key, valueLoader, enCurso));
+        }
+        long generacionCarga = generacion.get();
+        try {
+            Object valor = toStoreValue(valueLoader.call());
+            guardar(key, valor, generacionCarga);
+            carga.complete(valor);
+            return (T) fromStoreValue(valor);
+        } catch (Exception e) {
+            carga.completeExceptionally(e);
+            throw new ValueRetrievalException(key, valueLoader, e);
+        } finally {
+            cargasEnCurso.remove(key, carga);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        guardar(key, toStoreValue(value), generacion.get());
+    }
+
+    @Override
+    public void evict(Object key) {
+        evictLocal(key);
+        notificar(key);
+    }
+
+    @Override
+    public void clear() {
+        clearLocal();
+        notificar(null);
+    }
+
+    /**
+     * Elimina una entrada sin avisar al oyente de invalidación.
+     *
+     * @param key Clave a eliminar
+     */
+    public void evictLocal(Object key) {
+        lock.lock();
+        try {
+            generacion.incrementAndGet();
+            invalidadaEnMillis = System.currentTimeMillis();
+            entradas.remove(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Vacía el caché sin avisar al oyente de invalidación.
+     */
+    public void clearLocal() {
+        lock.lock();
+        try {
+            generacion.incrementAndGet();
+            invalidadaEnMillis = System.currentTimeMillis();
+            entradas.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param oyente Recibe el nombre del caché y la clave eliminada ({@code null} si se vació)
+     */
+    public void setOyenteInvalidacion(BiConsumer<String, Object> oyente) {
+        this.oyenteInvalidacion = oyente;
+    }
+
+    /**
+     * @return Número de invalidaciones (locales o remotas) desde el arranque; cambia con
+     *         cada modificación de los datos cacheados
+     */
+    public long getGeneracion() {
+        return generacion.get();
+    }
+
+    /**
+     * @return Momento de la última invalidación (o de la creación del caché), en milisegundos
+     */
+    public long getInvalidadaEnMillis() {
+        return invalidadaEnMillis;
+    }
+
+    /**
+     * @return Estadísticas acumuladas desde el arranque
+     */
+    public EstadisticasCacheDTO getEstadisticas() {
+        int tamanio;
+        lock.lock();
+        try {
+            tamanio = entradas.size();
+        } finally {
+            lock.unlock();
+        }
+        long totalAciertos = aciertos.sum();
+        long totalLecturas = totalAciertos + fallos.sum();
+        return EstadisticasCacheDTO.builder()
+                .nombre(nombre)
+                .tamanio(tamanio)
+                .tamanioMaximo(tamanioMaximo)
+                .aciertos(totalAciertos)
+                .fallos(fallos.sum())
+                .desalojos(desalojos.sum())
+                .expiradas(expiradas.sum())
+                .recargas(recargas.sum())
+                .tasaAciertos(totalLecturas > 0 ? (double) totalAciertos / totalLecturas : 0.0)
+                .build();
+    }
+
+    // ===================================================================
+    // UTILIDADES
+    // ===================================================================
+
+    private void notificar(Object key) {
+        BiConsumer<String, Object> oyente = oyenteInvalidacion;
+        if (oyente != null) {
+            oyente.accept(nombre, key);
+        }
+    }
+
+    private Entrada buscarVigente(Object key) {
+        lock.lock();
+        try {
+            Entrada entrada = entradas.get(key);
+            if (entrada == null) {
+                fallos.increment();
+                return null;
+            }
+            if (ttlNanos > 0 && System.nanoTime() - entrada.escritaNanos() > ttlNanos) {
+                entradas.remove(key);
+                expiradas.increment();
+                fallos.increment();
+                return null;
+            }
+            aciertos.increment();
+            return entrada;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void guardar(Object key, Object valor, long generacionCarga) {
+        lock.lock();
+        try {
+            if (generacion.get() != generacionCarga) {
+                return; // Invalidado mientras se cargaba
+            }
+            entradas.put(key, new Entrada(valor, System.nanoTime()));
+            Iterator<Object> menosUsadas = entradas.keySet().iterator();
+            while (entradas.size() > tamanioMaximo && menosUsadas.hasNext()) {
+                menosUsadas.next();
+                menosUsadas.remove();
+                desalojos.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Object esperar(Object key, Callable<?> valueLoader, CompletableFuture<Object> carga) {
+        try {
+            return carga.join();
+        } catch (CompletionException e) {
+            throw new ValueRetrievalException(key, valueLoader, e.getCause());
+        }
+    }
+
+    private void recargarEnSegundoPlano(Object key, Callable<?> valueLoader) {
+        if (!recargando.add(key)) {
+            return;
+        }
+        long generacionCarga = generacion.get();
+        Thread.ofVirtual().name("cache-" + nombre + "-recarga").start(() -> {
+            try {
+                guardar(key, toStoreValue(valueLoader.call()), generacionCarga);
+                recargas.increment();
+            } catch (Exception e) {
+                log.warn("No se pudo recargar la entrada {} del caché {}: {}", key, nombre, e.getMessage());
+            } finally {
+                recargando.remove(key);
+            }
+        });
+    }
+
+    private record Entrada(Object valor, long escritaNanos) {
+    }
+}
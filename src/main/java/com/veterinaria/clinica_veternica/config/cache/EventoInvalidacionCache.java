@@ -0,0 +1,30 @@
+package com.veterinaria.clinica_veternica.config.cache;
+
+import java.util.List;
+
+/**
+ * Mensaje de invalidación de caché que se reparte entre los nodos de la aplicación.
+ *
+ * @param nodo Identificador del nodo que originó la invalidación
+ * @param secuencia Número de secuencia del nodo de origen (consecutivo, empieza en 1)
+ * @param tipo Tipo de invalidación
+ * @param cache Nombre del caché de Spring afectado; {@code null} para CachedServiceProxy
+ * @param claves Etiquetas o claves invalidadas, según el tipo
+ *
+ * @author Clínica Veterinaria Team
+ * @version 1.0
+ * @since 2025-11-20
+ */
+public record EventoInvalidacionCache(String nodo, long secuencia, Tipo tipo, String cache, List<String> claves) {
+
+    public enum Tipo {
+        /** Etiquetas de CachedServiceProxy. */
+        ETIQUETAS,
+        /** Claves (o patrones con '*' en CachedServiceProxy) de un caché. */
+        CLAVES,
+        /** Todas las entradas de un caché. */
+        TODO,
+        /** Sin invalidación: anuncia la última secuencia usada para detectar mensajes perdidos. */
+        LATIDO
+    }
+}
@@ -0,0 +1,171 @@
+package com.veterinaria.clinica_veternica.config.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.function.Supplier;
+
+/**
+ * GET condicional (ETag / Last-Modified) para los listados de catálogos.
+ *
+ * El ETag es un hash del JSON del cuerpo, así que es el mismo en todos los nodos y tras un
+ * reinicio: alternar de nodo detrás del balanceador no fuerza un 200, y cualquier escritura que
+ * cambie el contenido (también los contadores embebidos) cambia el ETag.
+ *
+ * Para no leer ni serializar el cuerpo en cada petición, el ETag de cada ruta se recuerda junto
+ * con la generación del caché que respalda el recurso ({@link CacheAcotada#getGeneracion()}),
+ * que cambia con cada {@code @CacheEvict} tras el commit y con cada invalidación recibida de
+ * otro nodo. Mientras la generación no cambie, un {@code If-None-Match} que coincide se responde
+ * con 304 sin invocar al servicio. La generación se lee antes que el cuerpo: si hay una
+ * invalidación entremedias, el ETag recordado queda desfasado y se recalcula en la siguiente
+ * petición. Las rutas recordadas se guardan en un {@link CacheAcotada} propio (fuera de
+ * CacheManager y del bus): variar la query no hace crecer la memoria sin límite, y una ruta
+ * desalojada solo obliga a recalcular su ETag.
+ *
+ * @author Clínica Veterinaria Team
+ * @version 1.0
+ * @since 2025-11-20
+ */
+@Component
+public class RespuestaCondicional {
+
+    // Bytes del hash SHA-256 que se usan en el ETag
+    private static final int BYTES_HASH = 12;
+
+    private final CacheManager cacheManager;
+    private final ObjectMapper objectMapper;
+    private final CacheControl cacheControl;
+    // Ruta (recurso, URI y query) → último ETag calculado y generación del caché en ese momento
+    private final CacheAcotada versiones;
+
+    public RespuestaCondicional(CacheManager cacheManager,
+                                ObjectMapper objectMapper,
+                                @Value("${app.http.catalogos.max-age:0s}") Duration maxAge,
+                                @Value("${app.http.catalogos.max-rutas:1000}") int maxRutas) {
+        this.cacheManager = cacheManager;
+        this.objectMapper = objectMapper;
+        this.versiones = new CacheAcotada("respuestas-condicionales", maxRutas, Duration.ZERO, Duration.ZERO);
+        // Privado: las respuestas requieren autenticación y no deben guardarse en cachés compartidos
+        this.cacheControl = CacheControl.maxAge(maxAge).cachePrivate().mustRevalidate();
+    }
+
+    /**
+     * Responde 304 si el cliente tiene la versión vigente del recurso; si no, obtiene el cuerpo
+     * y lo devuelve con su ETag, Last-Modified y Cache-Control.
+     *
+     * @param recurso Nombre del caché que respalda el recurso (p. ej. {@code CacheConfig.CACHE_ESPECIES})
+     * @param request Petición actual
+     * @param cuerpo Obtención del cuerpo (solo se invoca si hace falta)
+     * @param <T> Tipo del cuerpo
+     * @return Respuesta 200 con el cuerpo o 304 sin cuerpo
+     */
+    public <T> ResponseEntity<T> responder(String recurso, WebRequest request, Supplier<T> cuerpo) {
+        CacheAcotada cache = cacheAcotada(recurso);
+        if (cache == null) {
+            return ResponseEntity.ok(cuerpo.get());
+        }
+        String ruta = recurso + "|" + ruta(request);
+        long generacion = cache.getGeneracion();
+        long ultimaModificacion = cache.getInvalidadaEnMillis();
+
+        VersionRespuesta conocida = versiones.get(ruta, VersionRespuesta.class);
+        if (conocida != null && conocida.generacion() == generacion
+                && noModificado(request, conocida.etag(), ultimaModificacion)) {
+            return noModificada(conocida.etag(), ultimaModificacion);
+        }
+
+        T valor = cuerpo.get();
+        String etag = "W/\"" + recurso + "-" + hash(valor) + "\"";
+        versiones.put(ruta, new VersionRespuesta(generacion, etag));
+        if (noModificado(request, etag, ultimaModificacion)) {
+            return noModificada(etag, ultimaModificacion);
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .lastModified(ultimaModificacion)
+                .cacheControl(cacheControl)
+                .body(valor);
+    }
+
+    private <T> ResponseEntity<T> noModificada(String etag, long ultimaModificacion) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .lastModified(ultimaModificacion)
+                .cacheControl(cacheControl)
+                .build();
+    }
+
+    /**
+     * If-None-Match (comparación débil) tiene prioridad; If-Modified-Since solo se usa si el
+     * cliente no envía ETag.
+     */
+    private boolean noModificado(WebRequest request, String etag, long ultimaModificacion) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            ETag actual = ETag.create(etag);
+            return ETag.parse(ifNoneMatch).stream()
+                    .anyMatch(candidato -> candidato.isWildcard() || candidato.compare(actual, false));
+        }
+        String ifModifiedSince = request.getHeader(HttpHeaders.IF_MODIFIED_SINCE);
+        if (ifModifiedSince != null) {
+            try {
+                long desde = ZonedDateTime.parse(ifModifiedSince, DateTimeFormatter.RFC_1123_DATE_TIME)
+                        .toInstant().toEpochMilli();
+                // Last-Modified tiene precisión de segundos
+                return ultimaModificacion / 1000 <= desde / 1000;
+            } catch (DateTimeParseException e) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private static String ruta(WebRequest request) {
+        if (request instanceof ServletWebRequest servletRequest) {
+            HttpServletRequest http = servletRequest.getRequest();
+            String query = http.getQueryString();
+            return http.getRequestURI() + "?" + (query != null ? query : "");
+        }
+        return request.getDescription(false);
+    }
+
+    /**
+     * Hash del JSON del cuerpo, tal como lo serializa la respuesta.
+     */
+    private String hash(Object valor) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(valor));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, BYTES_HASH));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("No se pudo calcular el ETag de la respuesta", e);
+        }
+    }
+
+    private CacheAcotada cacheAcotada(String nombre) {
+        Cache cache = cacheManager.getCache(nombre);
+        return cache != null && cache.getNativeCache() instanceof CacheAcotada acotada ? acotada : null;
+    }
+
+    private record VersionRespuesta(long generacion, String etag) {
+    }
+}
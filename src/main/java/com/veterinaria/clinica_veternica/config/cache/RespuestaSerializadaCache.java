@@ -0,0 +1,155 @@
+package com.veterinaria.clinica_veternica.config.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.veterinaria.clinica_veternica.patterns.structural.proxy.CachedServiceProxy;
+import com.veterinaria.clinica_veternica.util.Constants;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Caché de respuestas ya serializadas para GET de lectura frecuente.
+ *
+ * Aunque {@link CachedServiceProxy} acierte, cada petición volvía a pasar la lista de DTOs por
+ * Jackson. Aquí se guarda el JSON ya codificado (y, por encima de un umbral, también
+ * comprimido con gzip) en el mismo {@link CachedServiceProxy}, con la clave
+ * {@code http:<ruta>?<query>|<rol>} y las mismas etiquetas que la entrada de servicio que
+ * respalda el endpoint: las invalidaciones por etiqueta, tras el commit y entre nodos, retiran
+ * ambas a la vez. Los bytes se escriben directamente en la respuesta del servlet.
+ *
+ * Es opcional por endpoint y solo apto para respuestas que dependan de la ruta, la query y el
+ * rol (no del usuario concreto).
+ *
+ * @author Clínica Veterinaria Team
+ * @version 1.0
+ * @since 2025-11-20
+ */
+@Component
+public class RespuestaSerializadaCache {
+
+    private final CachedServiceProxy cachedServiceProxy;
+    private final ObjectMapper objectMapper;
+    private final boolean habilitado;
+    private final int umbralGzip;
+
+    public RespuestaSerializadaCache(CachedServiceProxy cachedServiceProxy,
+                                     ObjectMapper objectMapper,
+                                     @Value("${app.http.respuestas-serializadas.habilitado:true}") boolean habilitado,
+                                     @Value("${app.http.respuestas-serializadas.gzip-umbral-bytes:2048}") int umbralGzip) {
+        this.cachedServiceProxy = cachedServiceProxy;
+        this.objectMapper = objectMapper;
+        this.habilitado = habilitado;
+        this.umbralGzip = umbralGzip;
+    }
+
+    /**
+     * Escribe la respuesta JSON del endpoint, desde el caché si está vigente.
+     *
+     * @param request Petición actual (ruta y query forman la clave)
+     * @param response Respuesta en la que se escriben los bytes
+     * @param cuerpo Obtención del cuerpo (solo se invoca y serializa en un fallo de caché)
+     * @param etiquetas Etiquetas de invalidación de los datos del cuerpo
+     * @throws IOException si falla la escritura en la respuesta
+     */
+    public void escribir(HttpServletRequest request, HttpServletResponse response,
+                         Supplier<?> cuerpo, String... etiquetas) throws IOException {
+        RespuestaSerializada respuesta = habilitado
+                ? cachedServiceProxy.executeWithCache(clave(request), () -> serializar(cuerpo.get()),
+                        Constants.CACHE_TTL_DEFAULT_MS, etiquetas)
+                : serializar(cuerpo.get());
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        byte[] bytes = respuesta.json();
+        if (respuesta.gzip() != null && aceptaGzip(request)) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            bytes = respuesta.gzip();
+        }
+        response.setContentLength(bytes.length);
+        response.getOutputStream().write(bytes);
+    }
+
+    private String clave(HttpServletRequest request) {
+        String query = request.getQueryString();
+        return "http:" + request.getRequestURI() + "?" + (query != null ? query : "") + "|" + rol();
+    }
+
+    /**
+     * Roles de la autenticación actual, ordenados, para que la clave no dependa del orden.
+     */
+    private String rol() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated()) {
+            return "anonimo";
+        }
+        return auth.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .sorted()
+                .collect(Collectors.joining(","));
+    }
+
+    private RespuestaSerializada serializar(Object cuerpo) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(cuerpo);
+            byte[] gzip = json.length >= umbralGzip ? comprimir(json) : null;
+            int elementos = cuerpo instanceof Collection<?> coleccion ? coleccion.size() : 1;
+            return new RespuestaSerializada(json, gzip, elementos);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar la respuesta", e);
+        }
+    }
+
+    private static byte[] comprimir(byte[] datos) {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream(datos.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(salida)) {
+            gzip.write(datos);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return salida.toByteArray();
+    }
+
+    private static boolean aceptaGzip(HttpServletRequest request) {
+        String aceptadas = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (aceptadas == null) {
+            return false;
+        }
+        for (String codificacion : aceptadas.split(",")) {
+            String[] partes = codificacion.trim().split(";");
+            if (partes[0].trim().equalsIgnoreCase("gzip")) {
+                // gzip;q=0 lo rechaza explícitamente
+                return partes.length < 2 || !partes[1].trim().replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    /**
+     * JSON codificado de una respuesta y su versión gzip (null si es demasiado pequeña).
+     * Pesa en el caché lo mismo que la colección de la que procede.
+     */
+    record RespuestaSerializada(byte[] json, byte[] gzip, int elementos) implements CachedServiceProxy.Ponderable {
+
+        @Override
+        public int getPeso() {
+            return elementos;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.veterinaria.clinica_veternica.config.cache;
+
+/**
+ * Transporte de los mensajes de invalidación de caché entre nodos.
+ *
+ * Implementaciones:
+ * - {@link TransporteInvalidacionPostgres}: LISTEN/NOTIFY de PostgreSQL (producción).
+ * - {@link TransporteInvalidacionLocal}: reparto dentro de la JVM (un solo nodo o pruebas).
+ *
+ * El transporte entrega los mensajes de un mismo origen en el orden en que se publicaron;
+ * también los propios, que el receptor descarta.
+ *
+ * @author Clínica Veterinaria Team
+ * @version 1.0
+ * @since 2025-11-20
+ */
+public interface TransporteInvalidacionCache {
+
+    /**
+     * Empieza a entregar los mensajes recibidos al oyente.
+     *
+     * @param oyente Receptor de los mensajes
+     */
+    void iniciar(Oyente oyente);
+
+    /**
+     * Publica un mensaje para todos los nodos.
+     *
+     * @param mensaje Mensaje serializado
+     */
+    void publicar(String mensaje);
+
+    /**
+     * @return Nombre del transporte (para monitoreo)
+     */
+    String getNombre();
+
+    /**
+     * Receptor de los mensajes de un transporte.
+     */
+    interface Oyente {
+
+        /**
+         * @param mensaje Mensaje recibido
+         */
+        void alRecibir(String mensaje);
+
+        /**
+         * El transporte se recuperó de una desconexión: pudo perder mensajes.
+         */
+        void alReconectar();
+    }
+}
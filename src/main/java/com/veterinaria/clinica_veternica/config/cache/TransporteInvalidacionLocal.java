@@ -0,0 +1,56 @@
+package com.veterinaria.clinica_veternica.config.cache;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Transporte de invalidaciones dentro de la JVM.
+ *
+ * Se usa cuando la base de datos no es PostgreSQL (un solo nodo). Los oyentes se comparten
+ * entre todos los contextos de Spring de la JVM, de modo que varios contextos levantados en
+ * una misma prueba se comportan como nodos distintos. La entrega es síncrona, en el hilo que
+ * publica.
+ *
+ * @author Clínica Veterinaria Team
+ * @version 1.0
+ * @since 2025-11-20
+ */
+@Slf4j
+public class TransporteInvalidacionLocal implements TransporteInvalidacionCache, AutoCloseable {
+
+    private static final List<Oyente> OYENTES = new CopyOnWriteArrayList<>();
+
+    private volatile Oyente oyente;
+
+    @Override
+    public void iniciar(Oyente oyente) {
+        this.oyente = oyente;
+        OYENTES.add(oyente);
+    }
+
+    @Override
+    public void publicar(String mensaje) {
+        for (Oyente destino : OYENTES) {
+            try {
+                destino.alRecibir(mensaje);
+            } catch (RuntimeException e) {
+                log.warn("Error al entregar una invalidación de caché: {}", e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public String getNombre() {
+        return "local";
+    }
+
+    @Override
+    public void close() {
+        Oyente actual = oyente;
+        if (actual != null) {
+            OYENTES.remove(actual);
+        }
+    }
+}
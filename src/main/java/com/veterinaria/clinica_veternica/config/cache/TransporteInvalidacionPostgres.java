@@ -0,0 +1,212 @@
+package com.veterinaria.clinica_veternica.config.cache;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.regex.Pattern;
+
+/**
+ * Transporte de invalidaciones con LISTEN/NOTIFY de PostgreSQL.
+ *
+ * - Publica con {@code pg_notify} en una conexión dedicada en modo autocommit, fuera de la
+ *   transacción de quien invalida (se llama tras el commit). La publicación no toma una
+ *   segunda conexión del pool mientras la petición aún retiene la suya; el bus ya publica de
+ *   a un mensaje por vez, así que una sola conexión basta. Si falla, se reabre y se reintenta
+ *   una vez.
+ * - Escucha en otra conexión dedicada desde un hilo virtual que consulta las notificaciones
+ *   pendientes.
+ * - Ambas conexiones se abren con {@code DriverManager}, fuera del pool.
+ * - Si la conexión de escucha se pierde, reintenta y, al recuperarla, avisa al oyente de que
+ *   pudo perder mensajes.
+ *
+ * El driver de PostgreSQL solo está disponible en tiempo de ejecución, por lo que
+ * {@code PGConnection.getNotifications} se invoca por reflexión.
+ *
+ * @author Clínica Veterinaria Team
+ * @version 1.0
+ * @since 2025-11-20
+ */
+@Slf4j
+public class TransporteInvalidacionPostgres implements TransporteInvalidacionCache, AutoCloseable {
+
+    private static final Pattern CANAL_VALIDO = Pattern.compile("[a-z_][a-z0-9_]{0,62}");
+    private static final long PAUSA_REINTENTO_MS = 5_000;
+
+    private final String url;
+    private final String usuario;
+    private final String clave;
+    private final String canal;
+    private final int esperaMs;
+
+    private volatile boolean activo = true;
+    private volatile Thread hilo;
+    private volatile Connection conexionEscucha;
+    // Solo se usa dentro de publicar (sincronizado)
+    private Connection conexionPublicacion;
+
+    /**
+     * @param url URL JDBC de la base de datos
+     * @param usuario Usuario de la base de datos
+     * @param clave Contraseña de la base de datos
+     * @param canal Canal de NOTIFY (identificador en minúsculas)
+     * @param esperaMs Tiempo máximo de espera de cada consulta de notificaciones
+     */
+    public TransporteInvalidacionPostgres(String url, String usuario, String clave, String canal, int esperaMs) {
+        if (!CANAL_VALIDO.matcher(canal).matches()) {
+            throw new IllegalArgumentException("Canal de invalidación de caché no válido: " + canal);
+        }
+        this.url = url;
+        this.usuario = usuario;
+        this.clave = clave;
+        this.canal = canal;
+        this.esperaMs = Math.max(1, esperaMs);
+    }
+
+    @Override
+    public void iniciar(Oyente oyente) {
+        hilo = Thread.ofVirtual().name("cache-invalidacion-" + canal).start(() -> escuchar(oyente));
+    }
+
+    @Override
+    public synchronized void publicar(String mensaje) {
+        try {
+            notificar(mensaje);
+        } catch (SQLException e) {
+            log.debug("Conexión de publicación no válida, se reabre: {}", e.getMessage());
+            cerrarPublicacion();
+            try {
+                notificar(mensaje);
+            } catch (SQLException reintento) {
+                cerrarPublicacion();
+                throw new IllegalStateException("No se pudo publicar la invalidación de caché", reintento);
+            }
+        }
+    }
+
+    @Override
+    public String getNombre() {
+        return "postgres:" + canal;
+    }
+
+    @Override
+    public void close() {
+        activo = false;
+        synchronized (this) {
+            cerrarPublicacion();
+        }
+        Connection conexion = conexionEscucha;
+        if (conexion != null) {
+            try {
+                conexion.close();
+            } catch (SQLException e) {
+                log.debug("Error al cerrar la conexión de escucha: {}", e.getMessage());
+            }
+        }
+        Thread actual = hilo;
+        if (actual != null) {
+            actual.interrupt();
+        }
+    }
+
+    // ===================================================================
+    // UTILIDADES
+    // ===================================================================
+
+    private void notificar(String mensaje) throws SQLException {
+        if (conexionPublicacion == null) {
+            conexionPublicacion = DriverManager.getConnection(url, usuario, clave);
+            conexionPublicacion.setAutoCommit(true);
+        }
+        try (PreparedStatement statement = conexionPublicacion.prepareStatement("SELECT pg_notify(?, ?)")) {
+            statement.setString(1, canal);
+            statement.setString(2, mensaje);
+            statement.execute();
+        }
+    }
+
+    private void cerrarPublicacion() {
+        Connection conexion = conexionPublicacion;
+        conexionPublicacion = null;
+        if (conexion != null) {
+            try {
+                conexion.close();
+            } catch (SQLException e) {
+                log.debug("Error al cerrar la conexión de publicación: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void escuchar(Oyente oyente) {
+        Method getNotifications;
+        Method getParameter;
+        Class<?> claseConexion;
+        try {
+            claseConexion = Class.forName("org.postgresql.PGConnection");
+            getNotifications = claseConexion.getMethod("getNotifications", int.class);
+            getParameter = Class.forName("org.postgresql.PGNotification").getMethod("getParameter");
+        } catch (ReflectiveOperationException e) {
+            log.error("Driver de PostgreSQL no disponible: no se recibirán invalidaciones de caché de otros nodos");
+            return;
+        }
+
+        boolean huboFallo = false;
+        while (activo) {
+            try (Connection conexion = DriverManager.getConnection(url, usuario, clave)) {
+                conexionEscucha = conexion;
+                try (Statement statement = conexion.createStatement()) {
+                    statement.execute("LISTEN " + canal);
+                }
+                if (huboFallo) {
+                    log.info("Escucha de invalidaciones de caché restablecida en el canal {}", canal);
+                    oyente.alReconectar();
+                    huboFallo = false;
+                }
+                Object pgConexion = conexion.unwrap(claseConexion);
+                while (activo) {
+                    Object[] notificaciones = (Object[]) getNotifications.invoke(pgConexion, esperaMs);
+                    if (notificaciones == null) {
+                        continue;
+                    }
+                    for (Object notificacion : notificaciones) {
+                        entregar(oyente, (String) getParameter.invoke(notificacion));
+                    }
+                }
+            } catch (SQLException | ReflectiveOperationException e) {
+                if (!activo) {
+                    return;
+                }
+                huboFallo = true;
+                log.warn("Se perdió la escucha de invalidaciones de caché: {}. Reintentando en {} ms",
+                        e.getMessage(), PAUSA_REINTENTO_MS);
+                if (!pausar()) {
+                    return;
+                }
+            } finally {
+                conexionEscucha = null;
+            }
+        }
+    }
+
+    private void entregar(Oyente oyente, String mensaje) {
+        try {
+            oyente.alRecibir(mensaje);
+        } catch (RuntimeException e) {
+            log.warn("Error al aplicar una invalidación de caché: {}", e.getMessage());
+        }
+    }
+
+    private boolean pausar() {
+        try {
+            Thread.sleep(PAUSA_REINTENTO_MS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
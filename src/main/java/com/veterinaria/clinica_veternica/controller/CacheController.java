@@ -0,0 +1,69 @@
+package com.veterinaria.clinica_veternica.controller;
+
+import com.veterinaria.clinica_veternica.config.cache.BusInvalidacionCache;
+import com.veterinaria.clinica_veternica.config.cache.CacheAcotada;
+import com.veterinaria.clinica_veternica.dto.response.EstadisticasCacheDTO;
+import com.veterinaria.clinica_veternica.dto.response.EstadisticasInvalidacionDTO;
+import com.veterinaria.clinica_veternica.patterns.structural.proxy.CachedServiceProxy;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Controller REST para monitoreo de los cachés de la aplicación.
+ *
+ * @author Clínica Veterinaria Team
+ * @version 1.0
+ * @since 2025-11-20
+ */
+@RestController
+@RequestMapping("/api/cache")
+@RequiredArgsConstructor
+@Tag(name = "Caché", description = "API para monitoreo de cachés")
+public class CacheController {
+
+    private final CacheManager cacheManager;
+    private final CachedServiceProxy cachedServiceProxy;
+    private final BusInvalidacionCache busInvalidacionCache;
+
+    @Operation(summary = "Estadísticas de cachés",
+            description = "Tamaño, aciertos, fallos, desalojos, expiraciones y recargas de cada caché")
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/estadisticas")
+    public ResponseEntity<List<EstadisticasCacheDTO>> obtenerEstadisticas() {
+        List<EstadisticasCacheDTO> estadisticas = cacheManager.getCacheNames().stream()
+                .map(cacheManager::getCache)
+                .filter(Objects::nonNull)
+                .map(Cache::getNativeCache)
+                .filter(CacheAcotada.class::isInstance)
+                .map(cache -> ((CacheAcotada) cache).getEstadisticas())
+                .toList();
+        return ResponseEntity.ok(estadisticas);
+    }
+
+    @Operation(summary = "Estadísticas de CachedServiceProxy",
+            description = "Entradas, peso, aciertos, fallos, cargas, tiempo medio de carga, desalojos y expiraciones")
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/proxy/estadisticas")
+    public ResponseEntity<CachedServiceProxy.CacheStats> obtenerEstadisticasProxy() {
+        return ResponseEntity.ok(cachedServiceProxy.getStats());
+    }
+
+    @Operation(summary = "Estadísticas del bus de invalidación",
+            description = "Nodo, transporte, invalidaciones publicadas, fallidas y recibidas, y resincronizaciones")
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/invalidacion/estadisticas")
+    public ResponseEntity<EstadisticasInvalidacionDTO> obtenerEstadisticasInvalidacion() {
+        return ResponseEntity.ok(busInvalidacionCache.getEstadisticas());
+    }
+}
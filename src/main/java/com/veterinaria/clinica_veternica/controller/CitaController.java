@@ -1,8 +1,15 @@
 package com.veterinaria.clinica_veternica.controller;
 
+import com.veterinaria.clinica_veternica.dto.request.agenda.CitaLoteRequestDTO;
 import com.veterinaria.clinica_veternica.dto.request.agenda.CitaRequestDTO;
+import com.veterinaria.clinica_veternica.dto.request.agenda.ReservaSlotRequestDTO;
+import com.veterinaria.clinica_veternica.dto.response.PaginaCursorDTO;
+import com.veterinaria.clinica_veternica.dto.response.agenda.CitaLoteResponseDTO;
 import com.veterinaria.clinica_veternica.dto.response.agenda.CitaResponseDTO;
+import com.veterinaria.clinica_veternica.dto.response.agenda.ReservaSlotResponseDTO;
+import com.veterinaria.clinica_veternica.service.interfaces.IAgendaEventosService;
 import com.veterinaria.clinica_veternica.service.interfaces.ICitaService;
+import com.veterinaria.clinica_veternica.service.interfaces.IReservaSlotService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -10,10 +17,14 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -31,7 +42,11 @@ import java.util.List;
 @Tag(name = "Citas", description = "API para gestión de citas veterinarias")
 public class CitaController {
 
+    private static final String MEDIA_TYPE_NDJSON = "application/x-ndjson";
+
     private final ICitaService citaService;
+    private final IAgendaEventosService agendaEventosService;
+    private final IReservaSlotService reservaSlotService;
 
     @Operation(summary = "Crear nueva cita", description = "Crea una nueva cita usando Builder pattern y valida con Chain of Responsibility")
     @PreAuthorize("hasAnyRole('ADMIN', 'VETERINARIO', 'RECEPCIONISTA', 'PROPIETARIO')")
@@ -40,6 +55,30 @@ public class CitaController {
         return new ResponseEntity<>(citaService.crear(requestDTO), HttpStatus.CREATED);
     }
 
+    @Operation(summary = "Crear citas en lote",
+            description = "Crea una lista de citas o una serie recurrente en una sola operación. Admite éxito parcial: devuelve el resultado de cada cita")
+    @PreAuthorize("hasAnyRole('ADMIN', 'VETERINARIO', 'RECEPCIONISTA')")
+    @PostMapping("/lote")
+    public ResponseEntity<CitaLoteResponseDTO> crearLote(@Valid @RequestBody CitaLoteRequestDTO requestDTO) {
+        return new ResponseEntity<>(citaService.crearLote(requestDTO), HttpStatus.CREATED);
+    }
+
+    @Operation(summary = "Reservar slot temporalmente",
+            description = "Retiene un slot de la agenda durante unos minutos mientras se completa la cita. Enviar el token en tokenReserva al crear la cita")
+    @PreAuthorize("hasAnyRole('ADMIN', 'VETERINARIO', 'RECEPCIONISTA', 'PROPIETARIO')")
+    @PostMapping("/reservas")
+    public ResponseEntity<ReservaSlotResponseDTO> reservarSlot(@Valid @RequestBody ReservaSlotRequestDTO requestDTO) {
+        return new ResponseEntity<>(reservaSlotService.reservar(requestDTO), HttpStatus.CREATED);
+    }
+
+    @Operation(summary = "Liberar reserva de slot", description = "Libera un slot reservado temporalmente")
+    @PreAuthorize("hasAnyRole('ADMIN', 'VETERINARIO', 'RECEPCIONISTA', 'PROPIETARIO')")
+    @DeleteMapping("/reservas/{token}")
+    public ResponseEntity<Void> liberarSlot(@Parameter(description = "Token de la reserva") @PathVariable String token) {
+        reservaSlotService.liberar(token);
+        return ResponseEntity.noContent().build();
+    }
+
     @Operation(summary = "Actualizar cita", description = "Actualiza una cita existente si está en estado modificable")
     @PreAuthorize("hasAnyRole('ADMIN', 'VETERINARIO', 'RECEPCIONISTA', 'PROPIETARIO')")
     @PutMapping("/{id}")
@@ -97,6 +136,46 @@ public class CitaController {
         return ResponseEntity.ok(citaService.listarPorRangoFechas(inicio, fin));
     }
 
+    @Operation(summary = "Listar citas paginadas por cursor",
+            description = "Paginación keyset ordenada por fecha/hora e ID. Filtros opcionales por rango y citas programadas")
+    @GetMapping("/paginado")
+    public ResponseEntity<PaginaCursorDTO<CitaResponseDTO>> listarPaginado(
+            @Parameter(description = "Fecha de inicio") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime inicio,
+            @Parameter(description = "Fecha de fin") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fin,
+            @Parameter(description = "Solo citas programadas o confirmadas futuras") @RequestParam(defaultValue = "false") boolean programadas,
+            @Parameter(description = "Cursor de la página siguiente") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamaño de página (máximo 200)") @RequestParam(defaultValue = "50") int limite) {
+        return ResponseEntity.ok(citaService.listarPaginado(inicio, fin, programadas, cursor, limite));
+    }
+
+    @Operation(summary = "Exportar citas en streaming (NDJSON)",
+            description = "Devuelve una cita JSON por línea, leída con un cursor de base de datos. Memoria constante sin importar el rango")
+    @GetMapping(value = "/stream", produces = MEDIA_TYPE_NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportarNdjson(
+            @Parameter(description = "Fecha de inicio") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime inicio,
+            @Parameter(description = "Fecha de fin") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fin,
+            @Parameter(description = "Solo citas programadas o confirmadas futuras") @RequestParam(defaultValue = "false") boolean programadas) {
+        StreamingResponseBody cuerpo = salida -> citaService.exportarNdjson(inicio, fin, programadas, salida);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(MEDIA_TYPE_NDJSON))
+                .body(cuerpo);
+    }
+
+    @Operation(summary = "Feed de cambios de agenda (SSE)",
+            description = "Envía en tiempo real las citas creadas, reprogramadas, canceladas o con cambio de estado. " +
+                    "Incluye los cambios hechos en cualquier instancia. " +
+                    "Si el cliente se atrasa recibe RESINCRONIZAR y debe recargar la agenda")
+    @PreAuthorize("hasAnyRole('ADMIN', 'VETERINARIO', 'RECEPCIONISTA')")
+    @GetMapping(value = "/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> suscribirEventos(
+            @Parameter(description = "ID del veterinario") @RequestParam(required = false) Long idVeterinario,
+            @Parameter(description = "Fecha de las citas") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fecha) {
+        // Evita que nginx acumule los eventos en su buffer antes de reenviarlos
+        return ResponseEntity.ok()
+                .header("X-Accel-Buffering", "no")
+                .body(agendaEventosService.suscribir(idVeterinario, fecha));
+    }
+
     @Operation(summary = "Confirmar cita", description = "Confirma una cita usando Mediator pattern")
     @PreAuthorize("hasAnyRole('ADMIN', 'VETERINARIO', 'RECEPCIONISTA', 'PROPIETARIO')")
     @PutMapping("/{id}/confirmar")
@@ -1,5 +1,7 @@
 package com.veterinaria.clinica_veternica.controller;
 
+import com.veterinaria.clinica_veternica.config.CacheConfig;
+import com.veterinaria.clinica_veternica.config.cache.RespuestaCondicional;
 import com.veterinaria.clinica_veternica.dto.request.paciente.EspecieRequestDTO;
 import com.veterinaria.clinica_veternica.dto.response.paciente.EspecieResponseDTO;
 import com.veterinaria.clinica_veternica.service.interfaces.IEspecieService;
@@ -13,6 +15,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -30,6 +33,7 @@ import java.util.List;
 public class EspecieController {
 
     private final IEspecieService especieService;
+    private final RespuestaCondicional respuestaCondicional;
 
     @Operation(summary = "Crear nueva especie", description = "Crea una nueva especie en el sistema")
     @ApiResponses(value = {
@@ -72,16 +76,14 @@ public class EspecieController {
 
     @Operation(summary = "Listar todas las especies", description = "Obtiene todas las especies registradas")
     @GetMapping
-    public ResponseEntity<List<EspecieResponseDTO>> listarTodas() {
-        List<EspecieResponseDTO> especies = especieService.listarTodas();
-        return ResponseEntity.ok(especies);
+    public ResponseEntity<List<EspecieResponseDTO>> listarTodas(WebRequest request) {
+        return respuestaCondicional.responder(CacheConfig.CACHE_ESPECIES, request, especieService::listarTodas);
     }
 
     @Operation(summary = "Listar especies activas", description = "Obtiene solo las especies activas")
     @GetMapping("/activas")
-    public ResponseEntity<List<EspecieResponseDTO>> listarActivas() {
-        List<EspecieResponseDTO> especies = especieService.listarActivas();
-        return ResponseEntity.ok(especies);
+    public ResponseEntity<List<EspecieResponseDTO>> listarActivas(WebRequest request) {
+        return respuestaCondicional.responder(CacheConfig.CACHE_ESPECIES, request, especieService::listarActivas);
     }
 
     @Operation(summary = "Buscar especies por nombre", description = "Busca especies por nombre (búsqueda parcial)")
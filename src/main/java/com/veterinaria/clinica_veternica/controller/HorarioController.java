@@ -3,6 +3,7 @@ package com.veterinaria.clinica_veternica.controller;
 import com.veterinaria.clinica_veternica.dto.request.agenda.HorarioRequestDTO;
 import com.veterinaria.clinica_veternica.dto.response.agenda.DisponibilidadVeterinarioDTO;
 import com.veterinaria.clinica_veternica.dto.response.agenda.HorarioResponseDTO;
+import com.veterinaria.clinica_veternica.dto.response.agenda.SlotLibreDTO;
 import com.veterinaria.clinica_veternica.service.interfaces.IHorarioService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -110,5 +111,15 @@ public class HorarioController {
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fecha) {
         return ResponseEntity.ok(horarioService.obtenerDisponibilidad(idVeterinario, fecha));
     }
-}
 
+    @Operation(summary = "Buscar los primeros slots libres entre todos los veterinarios activos",
+               description = "Devuelve los N slots más próximos para un servicio dentro del horizonte indicado")
+    @GetMapping("/primeros-disponibles")
+    public ResponseEntity<List<SlotLibreDTO>> buscarPrimerosSlotsDisponibles(
+            @Parameter(description = "ID del servicio a agendar") @RequestParam Long idServicio,
+            @Parameter(description = "Especialidad requerida (opcional)") @RequestParam(required = false) String especialidad,
+            @Parameter(description = "Horizonte de búsqueda en días") @RequestParam(defaultValue = "14") int dias,
+            @Parameter(description = "Cantidad de slots a devolver") @RequestParam(defaultValue = "10") int cantidad) {
+        return ResponseEntity.ok(horarioService.buscarPrimerosSlotsDisponibles(idServicio, especialidad, dias, cantidad));
+    }
+}
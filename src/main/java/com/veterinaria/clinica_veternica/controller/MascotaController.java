@@ -1,10 +1,18 @@
 package com.veterinaria.clinica_veternica.controller;
 
+import com.veterinaria.clinica_veternica.config.cache.RespuestaSerializadaCache;
 import com.veterinaria.clinica_veternica.dto.request.paciente.MascotaRequestDTO;
 import com.veterinaria.clinica_veternica.dto.response.paciente.MascotaResponseDTO;
+import com.veterinaria.clinica_veternica.patterns.structural.proxy.CachedServiceProxy;
 import com.veterinaria.clinica_veternica.service.interfaces.IMascotaService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -12,6 +20,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -21,6 +30,7 @@ import java.util.List;
 public class MascotaController {
 
     private final IMascotaService mascotaService;
+    private final RespuestaSerializadaCache respuestaSerializadaCache;
 
     @Operation(summary = "Crear nueva mascota", 
                description = "Los propietarios solo pueden crear mascotas para sí mismos. " +
@@ -47,33 +57,52 @@ public class MascotaController {
     }
 
     @Operation(summary = "Listar todas las mascotas")
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = "application/json",
+            array = @ArraySchema(schema = @Schema(implementation = MascotaResponseDTO.class))))
     @GetMapping
-    public ResponseEntity<List<MascotaResponseDTO>> listarTodas() {
-        return ResponseEntity.ok(mascotaService.listarTodas());
+    public void listarTodas(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        respuestaSerializadaCache.escribir(request, response,
+                mascotaService::listarTodas, CachedServiceProxy.ETIQUETA_MASCOTAS_LISTADOS);
     }
 
     @Operation(summary = "Listar mascotas activas")
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = "application/json",
+            array = @ArraySchema(schema = @Schema(implementation = MascotaResponseDTO.class))))
     @GetMapping("/activas")
-    public ResponseEntity<List<MascotaResponseDTO>> listarActivas() {
-        return ResponseEntity.ok(mascotaService.listarActivas());
+    public void listarActivas(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        respuestaSerializadaCache.escribir(request, response,
+                mascotaService::listarActivas, CachedServiceProxy.ETIQUETA_MASCOTAS_LISTADOS);
     }
 
     @Operation(summary = "Listar mascotas por propietario")
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = "application/json",
+            array = @ArraySchema(schema = @Schema(implementation = MascotaResponseDTO.class))))
     @GetMapping("/propietario/{idPropietario}")
-    public ResponseEntity<List<MascotaResponseDTO>> listarPorPropietario(@PathVariable Long idPropietario) {
-        return ResponseEntity.ok(mascotaService.listarPorPropietario(idPropietario));
+    public void listarPorPropietario(@PathVariable Long idPropietario, HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        respuestaSerializadaCache.escribir(request, response,
+                () -> mascotaService.listarPorPropietario(idPropietario),
+                CachedServiceProxy.etiquetaPropietario(idPropietario));
     }
 
     @Operation(summary = "Listar mascotas por especie")
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = "application/json",
+            array = @ArraySchema(schema = @Schema(implementation = MascotaResponseDTO.class))))
     @GetMapping("/especie/{idEspecie}")
-    public ResponseEntity<List<MascotaResponseDTO>> listarPorEspecie(@PathVariable Long idEspecie) {
-        return ResponseEntity.ok(mascotaService.listarPorEspecie(idEspecie));
+    public void listarPorEspecie(@PathVariable Long idEspecie, HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        respuestaSerializadaCache.escribir(request, response,
+                () -> mascotaService.listarPorEspecie(idEspecie), CachedServiceProxy.etiquetaEspecie(idEspecie));
     }
 
     @Operation(summary = "Listar mascotas por raza")
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = "application/json",
+            array = @ArraySchema(schema = @Schema(implementation = MascotaResponseDTO.class))))
     @GetMapping("/raza/{idRaza}")
-    public ResponseEntity<List<MascotaResponseDTO>> listarPorRaza(@PathVariable Long idRaza) {
-        return ResponseEntity.ok(mascotaService.listarPorRaza(idRaza));
+    public void listarPorRaza(@PathVariable Long idRaza, HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        respuestaSerializadaCache.escribir(request, response,
+                () -> mascotaService.listarPorRaza(idRaza), CachedServiceProxy.etiquetaRaza(idRaza));
     }
 
     @Operation(summary = "Buscar mascotas por nombre")
@@ -1,21 +1,28 @@
 package com.veterinaria.clinica_veternica.controller;
 
-import com.veterinaria.clinica_veternica.domain.usuario.Usuario;
+import com.veterinaria.clinica_veternica.config.cache.RespuestaSerializadaCache;
 import com.veterinaria.clinica_veternica.dto.request.paciente.PropietarioRequestDTO;
 import com.veterinaria.clinica_veternica.dto.response.paciente.PropietarioResponseDTO;
-import com.veterinaria.clinica_veternica.repository.UsuarioRepository;
+import com.veterinaria.clinica_veternica.patterns.structural.proxy.CachedServiceProxy;
+import com.veterinaria.clinica_veternica.security.service.PrincipalCacheService;
+import com.veterinaria.clinica_veternica.security.service.UsuarioPrincipal;
 import com.veterinaria.clinica_veternica.service.interfaces.IPropietarioService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -25,7 +32,8 @@ import java.util.List;
 public class PropietarioController {
 
     private final IPropietarioService propietarioService;
-    private final UsuarioRepository usuarioRepository;
+    private final RespuestaSerializadaCache respuestaSerializadaCache;
+    private final PrincipalCacheService principalCacheService;
 
     @Operation(summary = "Crear nuevo propietario")
     @PreAuthorize("hasAnyRole('ADMIN', 'RECEPCIONISTA')")
@@ -50,15 +58,21 @@ public class PropietarioController {
     }
 
     @Operation(summary = "Listar todos los propietarios")
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = "application/json",
+            array = @ArraySchema(schema = @Schema(implementation = PropietarioResponseDTO.class))))
     @GetMapping
-    public ResponseEntity<List<PropietarioResponseDTO>> listarTodos() {
-        return ResponseEntity.ok(propietarioService.listarTodos());
+    public void listarTodos(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        respuestaSerializadaCache.escribir(request, response,
+                propietarioService::listarTodos, CachedServiceProxy.ETIQUETA_PROPIETARIOS_LISTADOS);
     }
 
     @Operation(summary = "Listar propietarios activos")
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = "application/json",
+            array = @ArraySchema(schema = @Schema(implementation = PropietarioResponseDTO.class))))
     @GetMapping("/activos")
-    public ResponseEntity<List<PropietarioResponseDTO>> listarActivos() {
-        return ResponseEntity.ok(propietarioService.listarActivos());
+    public void listarActivos(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        respuestaSerializadaCache.escribir(request, response,
+                propietarioService::listarActivos, CachedServiceProxy.ETIQUETA_PROPIETARIOS_LISTADOS);
     }
 
     @Operation(summary = "Buscar propietarios por nombre")
@@ -86,13 +100,8 @@ public class PropietarioController {
     @GetMapping("/mi-perfil")
     @PreAuthorize("hasRole('PROPIETARIO')")
     public ResponseEntity<PropietarioResponseDTO> obtenerOCrearMiPerfil() {
-        // Obtener el username del usuario autenticado
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String username = authentication.getName();
-        
-        // Buscar el usuario en la base de datos
-        Usuario usuario = usuarioRepository.findByUsername(username)
-            .orElseThrow(() -> new com.veterinaria.clinica_veternica.exception.ResourceNotFoundException("Usuario no encontrado"));
+        // Usuario autenticado (caché de principales, sin consultar la base de datos)
+        UsuarioPrincipal usuario = principalCacheService.principalActual();
         
         return ResponseEntity.ok(propietarioService.obtenerOCrearPropietarioPorEmail(usuario.getEmail()));
     }
@@ -1,5 +1,7 @@
 package com.veterinaria.clinica_veternica.controller;
 
+import com.veterinaria.clinica_veternica.config.CacheConfig;
+import com.veterinaria.clinica_veternica.config.cache.RespuestaCondicional;
 import com.veterinaria.clinica_veternica.dto.request.paciente.RazaRequestDTO;
 import com.veterinaria.clinica_veternica.dto.response.paciente.RazaResponseDTO;
 import com.veterinaria.clinica_veternica.service.interfaces.IRazaService;
@@ -11,6 +13,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -21,6 +24,7 @@ import java.util.List;
 public class RazaController {
 
     private final IRazaService razaService;
+    private final RespuestaCondicional respuestaCondicional;
 
     @Operation(summary = "Crear nueva raza")
     @PreAuthorize("hasRole('ADMIN')")
@@ -47,28 +51,30 @@ public class RazaController {
 
     @Operation(summary = "Listar todas las razas")
     @GetMapping
-    public ResponseEntity<List<RazaResponseDTO>> listarTodas() {
-        return ResponseEntity.ok(razaService.listarTodas());
+    public ResponseEntity<List<RazaResponseDTO>> listarTodas(WebRequest request) {
+        return respuestaCondicional.responder(CacheConfig.CACHE_RAZAS, request, razaService::listarTodas);
     }
 
     @Operation(summary = "Listar razas por especie")
     @GetMapping("/especie/{idEspecie}")
     public ResponseEntity<List<RazaResponseDTO>> listarPorEspecie(
-            @io.swagger.v3.oas.annotations.Parameter(description = "ID de la especie") @PathVariable Long idEspecie) {
-        return ResponseEntity.ok(razaService.listarPorEspecie(idEspecie));
+            @io.swagger.v3.oas.annotations.Parameter(description = "ID de la especie") @PathVariable Long idEspecie,
+            WebRequest request) {
+        return respuestaCondicional.responder(CacheConfig.CACHE_RAZAS, request, () -> razaService.listarPorEspecie(idEspecie));
     }
 
     @Operation(summary = "Listar razas activas")
     @GetMapping("/activas")
-    public ResponseEntity<List<RazaResponseDTO>> listarActivas() {
-        return ResponseEntity.ok(razaService.listarActivas());
+    public ResponseEntity<List<RazaResponseDTO>> listarActivas(WebRequest request) {
+        return respuestaCondicional.responder(CacheConfig.CACHE_RAZAS, request, razaService::listarActivas);
     }
 
     @Operation(summary = "Listar razas activas por especie")
     @GetMapping("/activas/especie/{idEspecie}")
     public ResponseEntity<List<RazaResponseDTO>> listarActivasPorEspecie(
-            @io.swagger.v3.oas.annotations.Parameter(description = "ID de la especie") @PathVariable Long idEspecie) {
-        return ResponseEntity.ok(razaService.listarActivasPorEspecie(idEspecie));
+            @io.swagger.v3.oas.annotations.Parameter(description = "ID de la especie") @PathVariable Long idEspecie,
+            WebRequest request) {
+        return respuestaCondicional.responder(CacheConfig.CACHE_RAZAS, request, () -> razaService.listarActivasPorEspecie(idEspecie));
     }
 
     @Operation(summary = "Buscar razas por nombre")
@@ -3,15 +3,23 @@ package com.veterinaria.clinica_veternica.controller;
 import com.veterinaria.clinica_veternica.dto.response.facade.ReporteCitasDTO;
 import com.veterinaria.clinica_veternica.dto.response.facade.ReporteInventarioDTO;
 import com.veterinaria.clinica_veternica.dto.response.facade.ReporteVeterinariosDTO;
+import com.veterinaria.clinica_veternica.patterns.creational.builder.ReporteBuilder;
+import com.veterinaria.clinica_veternica.patterns.structural.bridge.ReporteAbstraction;
+import com.veterinaria.clinica_veternica.patterns.structural.bridge.ReporteImplementor;
+import com.veterinaria.clinica_veternica.patterns.structural.bridge.ReporteService;
 import com.veterinaria.clinica_veternica.patterns.structural.facade.ReporteFacadeService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 
@@ -31,15 +39,31 @@ import java.time.LocalDate;
 public class ReportesFacadeController {
 
     private final ReporteFacadeService reporteFacadeService;
+    private final ReporteService reporteService;
 
     @Operation(summary = "Obtener reporte de citas",
-               description = "Genera reporte de citas en un rango de fechas con estadísticas.")
+               description = "Genera reporte de citas en un rango de fechas con estadísticas. " +
+                             "Con incluirCitas=false solo devuelve los totales.")
     @GetMapping("/citas")
     @PreAuthorize("hasAnyRole('ADMIN', 'VETERINARIO')")
     public ResponseEntity<ReporteCitasDTO> obtenerReporteCitas(
+            @Parameter(description = "Fecha de inicio") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fechaInicio,
+            @Parameter(description = "Fecha de fin") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fechaFin,
+            @Parameter(description = "Incluir el detalle de las citas") @RequestParam(defaultValue = "true") boolean incluirCitas) {
+        return ResponseEntity.ok(reporteFacadeService.generarReporteCitas(fechaInicio, fechaFin, incluirCitas));
+    }
+
+    @Operation(summary = "Exportar reporte de citas",
+               description = "Descarga las citas del rango en csv o xlsx, escritas en streaming a medida que se " +
+                             "leen de la base de datos (memoria constante). También admite pdf y json.")
+    @GetMapping("/citas/exportar")
+    @PreAuthorize("hasAnyRole('ADMIN', 'VETERINARIO')")
+    public ResponseEntity<StreamingResponseBody> exportarReporteCitas(
+            @Parameter(description = "Formato: csv, xlsx, pdf o json") @RequestParam(defaultValue = "xlsx") String formato,
             @Parameter(description = "Fecha de inicio") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fechaInicio,
             @Parameter(description = "Fecha de fin") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fechaFin) {
-        return ResponseEntity.ok(reporteFacadeService.generarReporteCitas(fechaInicio, fechaFin));
+        ReporteAbstraction reporte = reporteService.crearReporte(formato, fechaInicio, fechaFin);
+        return exportar(reporte, "reporte-citas-" + fechaInicio + "-" + fechaFin);
     }
 
     @Operation(summary = "Obtener reporte de inventario",
@@ -50,6 +74,17 @@ public class ReportesFacadeController {
         return ResponseEntity.ok(reporteFacadeService.generarReporteInventario());
     }
 
+    @Operation(summary = "Exportar reporte de inventario",
+               description = "Descarga las existencias y la valorización de cada insumo en csv, xlsx, pdf o json, " +
+                             "escritas en streaming a medida que se leen de la base de datos.")
+    @GetMapping("/inventario/exportar")
+    @PreAuthorize("hasAnyRole('ADMIN', 'AUXILIAR')")
+    public ResponseEntity<StreamingResponseBody> exportarReporteInventario(
+            @Parameter(description = "Formato: csv, xlsx, pdf o json") @RequestParam(defaultValue = "xlsx") String formato) {
+        ReporteAbstraction reporte = reporteService.crearReporteInventario(formato);
+        return exportar(reporte, "reporte-inventario-" + LocalDate.now());
+    }
+
     @Operation(summary = "Obtener reporte de atenciones por veterinario",
                description = "Genera reporte de atenciones realizadas por cada veterinario en un período.")
     @GetMapping("/veterinarios")
@@ -59,4 +94,58 @@ public class ReportesFacadeController {
             @Parameter(description = "Fecha de fin") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fechaFin) {
         return ResponseEntity.ok(reporteFacadeService.generarReporteVeterinarios(fechaInicio, fechaFin));
     }
+
+    @Operation(summary = "Exportar reporte de atenciones por veterinario",
+               description = "Descarga las atenciones por veterinario del período en csv, xlsx, pdf o json.")
+    @GetMapping("/veterinarios/exportar")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportarReporteVeterinarios(
+            @Parameter(description = "Formato: csv, xlsx, pdf o json") @RequestParam(defaultValue = "xlsx") String formato,
+            @Parameter(description = "Fecha de inicio") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fechaInicio,
+            @Parameter(description = "Fecha de fin") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fechaFin) {
+        ReporteAbstraction reporte = reporteService.crearReporteVeterinarios(formato, fechaInicio, fechaFin);
+        return exportar(reporte, "reporte-veterinarios-" + fechaInicio + "-" + fechaFin);
+    }
+
+    @Operation(summary = "Exportar reporte consolidado",
+               description = "Descarga el reporte consolidado de actividad del período (totales de citas, " +
+                             "inventario y atenciones por veterinario) en pdf, xlsx o json.")
+    @GetMapping("/consolidado/exportar")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<byte[]> exportarReporteConsolidado(
+            @Parameter(description = "Formato: pdf, xlsx o json") @RequestParam(defaultValue = "pdf") String formato,
+            @Parameter(description = "Fecha de inicio") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fechaInicio,
+            @Parameter(description = "Fecha de fin") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fechaFin) {
+        ReporteBuilder.Reporte reporte = reporteFacadeService.generarReporteConsolidadoConBuilder(
+                fechaInicio, fechaFin, formatoBuilder(formato));
+        ReporteImplementor implementor = reporte.getImplementor();
+        String nombreArchivo = "reporte-consolidado-" + fechaInicio + "-" + fechaFin + "." + implementor.getExtension();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(implementor.getTipoMime()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(nombreArchivo).build().toString())
+                .body(reporte.generar());
+    }
+
+    /**
+     * Respuesta de descarga que escribe el reporte en streaming.
+     */
+    private ResponseEntity<StreamingResponseBody> exportar(ReporteAbstraction reporte, String nombreBase) {
+        String nombreArchivo = nombreBase + "." + reporte.getExtension();
+        StreamingResponseBody cuerpo = salida -> reporteService.escribir(reporte, salida);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(reporte.getTipoMime()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(nombreArchivo).build().toString())
+                .body(cuerpo);
+    }
+
+    private static ReporteBuilder.FormatoReporte formatoBuilder(String formato) {
+        return switch (formato.toLowerCase()) {
+            case "pdf" -> ReporteBuilder.FormatoReporte.PDF;
+            case "excel", "xlsx" -> ReporteBuilder.FormatoReporte.EXCEL;
+            case "json" -> ReporteBuilder.FormatoReporte.JSON;
+            default -> throw new IllegalArgumentException("Formato no soportado: " + formato);
+        };
+    }
 }
@@ -1,5 +1,7 @@
 package com.veterinaria.clinica_veternica.controller;
 
+import com.veterinaria.clinica_veternica.config.CacheConfig;
+import com.veterinaria.clinica_veternica.config.cache.RespuestaCondicional;
 import com.veterinaria.clinica_veternica.dto.request.agenda.ServicioRequestDTO;
 import com.veterinaria.clinica_veternica.dto.response.agenda.ServicioResponseDTO;
 import com.veterinaria.clinica_veternica.service.interfaces.IServicioService;
@@ -11,6 +13,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -30,6 +33,7 @@ import java.util.List;
 public class ServicioController {
 
     private final IServicioService servicioService;
+    private final RespuestaCondicional respuestaCondicional;
 
     @Operation(summary = "Crear nuevo servicio")
     @PostMapping
@@ -64,28 +68,30 @@ public class ServicioController {
 
     @Operation(summary = "Listar todos los servicios")
     @GetMapping
-    public ResponseEntity<List<ServicioResponseDTO>> listarTodos() {
-        return ResponseEntity.ok(servicioService.listarTodos());
+    public ResponseEntity<List<ServicioResponseDTO>> listarTodos(WebRequest request) {
+        return respuestaCondicional.responder(CacheConfig.CACHE_SERVICIOS, request, servicioService::listarTodos);
     }
 
     @Operation(summary = "Listar servicios activos")
     @GetMapping("/activos")
-    public ResponseEntity<List<ServicioResponseDTO>> listarActivos() {
-        return ResponseEntity.ok(servicioService.listarActivos());
+    public ResponseEntity<List<ServicioResponseDTO>> listarActivos(WebRequest request) {
+        return respuestaCondicional.responder(CacheConfig.CACHE_SERVICIOS, request, servicioService::listarActivos);
     }
 
     @Operation(summary = "Listar servicios por tipo")
     @GetMapping("/tipo/{tipoServicio}")
     public ResponseEntity<List<ServicioResponseDTO>> listarPorTipo(
-            @Parameter(description = "Tipo de servicio") @PathVariable String tipoServicio) {
-        return ResponseEntity.ok(servicioService.listarPorTipo(tipoServicio));
+            @Parameter(description = "Tipo de servicio") @PathVariable String tipoServicio,
+            WebRequest request) {
+        return respuestaCondicional.responder(CacheConfig.CACHE_SERVICIOS, request, () -> servicioService.listarPorTipo(tipoServicio));
     }
 
     @Operation(summary = "Listar servicios por categoría")
     @GetMapping("/categoria/{categoria}")
     public ResponseEntity<List<ServicioResponseDTO>> listarPorCategoria(
-            @Parameter(description = "Categoría del servicio") @PathVariable String categoria) {
-        return ResponseEntity.ok(servicioService.listarPorCategoria(categoria));
+            @Parameter(description = "Categoría del servicio") @PathVariable String categoria,
+            WebRequest request) {
+        return respuestaCondicional.responder(CacheConfig.CACHE_SERVICIOS, request, () -> servicioService.listarPorCategoria(categoria));
     }
 
     @Operation(summary = "Listar servicios por rango de precio")
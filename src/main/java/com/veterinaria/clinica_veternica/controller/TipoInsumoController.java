@@ -1,5 +1,7 @@
 package com.veterinaria.clinica_veternica.controller;
 
+import com.veterinaria.clinica_veternica.config.CacheConfig;
+import com.veterinaria.clinica_veternica.config.cache.RespuestaCondicional;
 import com.veterinaria.clinica_veternica.dto.request.inventario.TipoInsumoRequestDTO;
 import com.veterinaria.clinica_veternica.dto.response.inventario.TipoInsumoResponseDTO;
 import com.veterinaria.clinica_veternica.service.interfaces.ITipoInsumoService;
@@ -12,6 +14,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -29,6 +32,7 @@ import java.util.List;
 public class TipoInsumoController {
 
     private final ITipoInsumoService tipoInsumoService;
+    private final RespuestaCondicional respuestaCondicional;
 
     @Operation(summary = "Crear nuevo tipo de insumo")
     @PreAuthorize("hasAnyRole('ADMIN', 'VETERINARIO', 'AUXILIAR')")
@@ -62,14 +66,14 @@ public class TipoInsumoController {
 
     @Operation(summary = "Listar todos los tipos de insumo")
     @GetMapping
-    public ResponseEntity<List<TipoInsumoResponseDTO>> listarTodos() {
-        return ResponseEntity.ok(tipoInsumoService.listarTodos());
+    public ResponseEntity<List<TipoInsumoResponseDTO>> listarTodos(WebRequest request) {
+        return respuestaCondicional.responder(CacheConfig.CACHE_TIPOS_INSUMO, request, tipoInsumoService::listarTodos);
     }
 
     @Operation(summary = "Listar tipos de insumo activos")
     @GetMapping("/activos")
-    public ResponseEntity<List<TipoInsumoResponseDTO>> listarActivos() {
-        return ResponseEntity.ok(tipoInsumoService.listarActivos());
+    public ResponseEntity<List<TipoInsumoResponseDTO>> listarActivos(WebRequest request) {
+        return respuestaCondicional.responder(CacheConfig.CACHE_TIPOS_INSUMO, request, tipoInsumoService::listarActivos);
     }
 
     @Operation(summary = "Eliminar tipo de insumo")
@@ -1,5 +1,7 @@
 package com.veterinaria.clinica_veternica.controller;
 
+import com.veterinaria.clinica_veternica.config.CacheConfig;
+import com.veterinaria.clinica_veternica.config.cache.RespuestaCondicional;
 import com.veterinaria.clinica_veternica.dto.request.usuario.VeterinarioRequestDTO;
 import com.veterinaria.clinica_veternica.dto.response.usuario.VeterinarioResponseDTO;
 import com.veterinaria.clinica_veternica.service.interfaces.IVeterinarioService;
@@ -11,6 +13,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -21,6 +24,7 @@ import java.util.List;
 public class VeterinarioController {
 
     private final IVeterinarioService veterinarioService;
+    private final RespuestaCondicional respuestaCondicional;
 
     @Operation(summary = "Crear nuevo veterinario")
     @PreAuthorize("hasRole('ADMIN')")
@@ -61,20 +65,20 @@ public class VeterinarioController {
 
     @Operation(summary = "Listar todos los veterinarios")
     @GetMapping
-    public ResponseEntity<List<VeterinarioResponseDTO>> listarTodos() {
-        return ResponseEntity.ok(veterinarioService.listarTodos());
+    public ResponseEntity<List<VeterinarioResponseDTO>> listarTodos(WebRequest request) {
+        return respuestaCondicional.responder(CacheConfig.CACHE_VETERINARIOS, request, veterinarioService::listarTodos);
     }
 
     @Operation(summary = "Listar veterinarios activos")
     @GetMapping("/activos")
-    public ResponseEntity<List<VeterinarioResponseDTO>> listarActivos() {
-        return ResponseEntity.ok(veterinarioService.listarActivos());
+    public ResponseEntity<List<VeterinarioResponseDTO>> listarActivos(WebRequest request) {
+        return respuestaCondicional.responder(CacheConfig.CACHE_VETERINARIOS, request, veterinarioService::listarActivos);
     }
 
     @Operation(summary = "Listar veterinarios disponibles")
     @GetMapping("/disponibles")
-    public ResponseEntity<List<VeterinarioResponseDTO>> listarDisponibles() {
-        return ResponseEntity.ok(veterinarioService.listarDisponibles());
+    public ResponseEntity<List<VeterinarioResponseDTO>> listarDisponibles(WebRequest request) {
+        return respuestaCondicional.responder(CacheConfig.CACHE_VETERINARIOS, request, veterinarioService::listarDisponibles);
     }
 
     @Operation(summary = "Listar veterinarios por especialidad")
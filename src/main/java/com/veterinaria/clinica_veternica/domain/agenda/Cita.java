@@ -40,7 +40,11 @@ import java.time.LocalTime;
            @Index(name = "idx_cita_servicio", columnList = "id_servicio"),
            @Index(name = "idx_cita_fecha", columnList = "fecha_cita"),
            @Index(name = "idx_cita_estado", columnList = "estado"),
-           @Index(name = "idx_cita_fecha_hora", columnList = "fecha_cita, hora_cita")
+           @Index(name = "idx_cita_fecha_hora", columnList = "fecha_cita, hora_cita"),
+           @Index(name = "idx_cita_inicio", columnList = "fecha_hora_inicio"),
+           @Index(name = "idx_cita_veterinario_fecha_hora", columnList = "id_veterinario, fecha_cita, hora_cita"),
+           @Index(name = "idx_cita_veterinario_inicio", columnList = "id_veterinario, fecha_hora_inicio"),
+           @Index(name = "idx_cita_estado_inicio", columnList = "estado, fecha_hora_inicio")
        })
 @EntityListeners(AuditingEntityListener.class)
 @Getter
@@ -109,6 +113,21 @@ public class Cita {
     @Column(nullable = false)
     private Integer duracionEstimadaMinutos;
 
+    /**
+     * Instante de inicio programado (fechaCita + horaCita).
+     * Columna persistida para que las consultas por rango usen índices;
+     * se sincroniza automáticamente antes de insertar o actualizar.
+     */
+    @Column(name = "fecha_hora_inicio")
+    private LocalDateTime fechaHoraInicio;
+
+    /**
+     * Instante de fin estimado (inicio + duración estimada).
+     * Se sincroniza automáticamente antes de insertar o actualizar.
+     */
+    @Column(name = "fecha_hora_fin")
+    private LocalDateTime fechaHoraFin;
+
     /**
      * Estado actual de la cita.
      */
@@ -216,10 +235,31 @@ public class Cita {
     @Column(nullable = false)
     private LocalDateTime fechaModificacion;
 
+    /**
+     * Duración por defecto (en minutos) cuando la cita no tiene duración estimada.
+     */
+    public static final int DURACION_POR_DEFECTO_MINUTOS = 30;
+
     // ===================================================================
     // MÉTODOS DE NEGOCIO
     // ===================================================================
 
+    /**
+     * Sincroniza los instantes de inicio y fin programados a partir de
+     * la fecha, la hora y la duración estimada.
+     * Se ejecuta antes de persistir o actualizar.
+     */
+    @PrePersist
+    @PreUpdate
+    public void sincronizarIntervalo() {
+        if (fechaCita == null || horaCita == null) {
+            return;
+        }
+        this.fechaHoraInicio = LocalDateTime.of(fechaCita, horaCita);
+        int duracion = duracionEstimadaMinutos != null ? duracionEstimadaMinutos : DURACION_POR_DEFECTO_MINUTOS;
+        this.fechaHoraFin = fechaHoraInicio.plusMinutes(duracion);
+    }
+
     /**
      * Obtiene la hora de fin estimada (calculada).
      */
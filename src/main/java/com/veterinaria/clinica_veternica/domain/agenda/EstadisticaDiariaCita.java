@@ -0,0 +1,90 @@
+package com.veterinaria.clinica_veternica.domain.agenda;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Agregado diario de citas: número de citas e ingresos por fecha, veterinario, servicio y estado.
+ *
+ * Es una tabla derivada de {@link Cita}: los reportes por rango de fechas leen estas filas en
+ * lugar de recorrer las citas. Se recalcula por día cuando cambian las citas de ese día y se
+ * reconstruye completa cada noche (ver {@code EstadisticaDiariaService}).
+ *
+ * @author Clínica Veterinaria Team
+ * @version 1.0
+ * @since 2025-11-20
+ */
+@Entity
+@Table(name = "estadisticas_diarias_citas",
+       uniqueConstraints = @UniqueConstraint(name = "uk_estadistica_diaria_cita",
+               columnNames = {"fecha", "id_veterinario", "id_servicio", "estado"}),
+       indexes = {
+           @Index(name = "idx_estadistica_diaria_fecha", columnList = "fecha")
+       })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EstadisticaDiariaCita {
+
+    /**
+     * Identificador de la fila.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long idEstadistica;
+
+    /**
+     * Fecha de las citas ({@link Cita#getFechaCita()}).
+     */
+    @Column(nullable = false)
+    private LocalDate fecha;
+
+    /**
+     * ID del veterinario de las citas.
+     */
+    @Column(name = "id_veterinario", nullable = false)
+    private Long idVeterinario;
+
+    /**
+     * ID del servicio de las citas.
+     */
+    @Column(name = "id_servicio", nullable = false)
+    private Long idServicio;
+
+    /**
+     * Estado de las citas.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private EstadoCita estado;
+
+    /**
+     * Número de citas.
+     */
+    @Column(nullable = false)
+    private Long cantidad;
+
+    /**
+     * Suma de los precios finales de las citas.
+     */
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal ingresos;
+
+    /**
+     * Constructor usado por la consulta de agregación sobre {@link Cita}.
+     */
+    public EstadisticaDiariaCita(LocalDate fecha, Long idVeterinario, Long idServicio, EstadoCita estado,
+                                 Long cantidad, BigDecimal ingresos) {
+        this.fecha = fecha;
+        this.idVeterinario = idVeterinario;
+        this.idServicio = idServicio;
+        this.estado = estado;
+        this.cantidad = cantidad;
+        this.ingresos = ingresos != null ? ingresos : BigDecimal.ZERO;
+    }
+}
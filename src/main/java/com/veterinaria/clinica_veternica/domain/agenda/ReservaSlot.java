@@ -0,0 +1,78 @@
+package com.veterinaria.clinica_veternica.domain.agenda;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Reserva temporal de un intervalo de la agenda de un veterinario.
+ *
+ * Retiene el slot entre que el usuario lo elige y envía la cita. Se guarda en base de datos
+ * para que todas las instancias de la aplicación vean las mismas reservas; una fila con
+ * {@code expiraEn} pasado ya no cuenta aunque todavía no se haya purgado
+ * (ver {@code ReservaSlotServiceImpl}).
+ *
+ * @author Clínica Veterinaria Team
+ * @version 1.0
+ * @since 2025-11-20
+ */
+@Entity
+@Table(name = "reservas_slot",
+       indexes = {
+           @Index(name = "idx_reserva_slot_veterinario_fecha_hora", columnList = "id_veterinario, fecha, hora_inicio"),
+           @Index(name = "idx_reserva_slot_usuario", columnList = "usuario, expira_en"),
+           @Index(name = "idx_reserva_slot_expira", columnList = "expira_en")
+       })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReservaSlot {
+
+    /**
+     * Token entregado al cliente para convertir la reserva en cita.
+     */
+    @Id
+    @Column(length = 36)
+    private String token;
+
+    /**
+     * ID del veterinario cuya agenda se retiene.
+     */
+    @Column(name = "id_veterinario", nullable = false)
+    private Long idVeterinario;
+
+    /**
+     * Fecha del slot.
+     */
+    @Column(nullable = false)
+    private LocalDate fecha;
+
+    /**
+     * Hora de inicio del slot.
+     */
+    @Column(name = "hora_inicio", nullable = false)
+    private LocalTime horaInicio;
+
+    /**
+     * Hora de fin del slot.
+     */
+    @Column(name = "hora_fin", nullable = false)
+    private LocalTime horaFin;
+
+    /**
+     * Usuario que hizo la reserva (null si es anónima).
+     */
+    @Column(length = 100)
+    private String usuario;
+
+    /**
+     * Momento a partir del cual la reserva deja de retener el slot.
+     */
+    @Column(name = "expira_en", nullable = false)
+    private LocalDateTime expiraEn;
+}
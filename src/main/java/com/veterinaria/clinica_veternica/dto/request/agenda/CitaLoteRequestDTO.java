@@ -0,0 +1,58 @@
+package com.veterinaria.clinica_veternica.dto.request.agenda;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO de Request para crear citas en lote.
+ *
+ * Admite dos formas (combinables):
+ * - Una lista explícita de citas (por ejemplo, una campaña de vacunación).
+ * - Una cita plantilla con una regla de recurrencia: se generan {@code repeticiones}
+ *   citas separadas por {@code intervaloDias} días (7 = semanal).
+ *
+ * @author Clínica Veterinaria Team
+ * @version 1.0
+ * @since 2025-11-20
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CitaLoteRequestDTO {
+
+    /**
+     * Citas a crear.
+     */
+    @Valid
+    @Size(max = 500, message = "No se pueden crear más de 500 citas por lote")
+    private List<CitaRequestDTO> citas;
+
+    /**
+     * Cita plantilla de la recurrencia (la fecha es la de la primera cita).
+     */
+    @Valid
+    private CitaRequestDTO plantilla;
+
+    /**
+     * Número de citas a generar a partir de la plantilla.
+     */
+    @Min(value = 1, message = "Las repeticiones deben ser al menos 1")
+    @Max(value = 104, message = "Las repeticiones no pueden exceder 104")
+    private Integer repeticiones;
+
+    /**
+     * Días entre cada cita generada a partir de la plantilla.
+     */
+    @Min(value = 1, message = "El intervalo debe ser de al menos 1 día")
+    @Max(value = 365, message = "El intervalo no puede exceder 365 días")
+    private Integer intervaloDias;
+}
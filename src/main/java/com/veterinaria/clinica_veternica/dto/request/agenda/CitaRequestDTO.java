@@ -81,4 +81,10 @@ public class CitaRequestDTO {
      * Indica si es una cita de emergencia.
      */
     private Boolean esEmergencia;
+
+    /**
+     * Token de la reserva temporal del slot (opcional). Si se envía, la reserva se
+     * convierte en la cita y deja de contar como ocupación temporal.
+     */
+    private String tokenReserva;
 }
@@ -0,0 +1,52 @@
+package com.veterinaria.clinica_veternica.dto.request.agenda;
+
+import jakarta.validation.constraints.FutureOrPresent;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * DTO de Request para reservar temporalmente un slot de agenda mientras se completa la cita.
+ *
+ * @author Clínica Veterinaria Team
+ * @version 1.0
+ * @since 2025-11-20
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReservaSlotRequestDTO {
+
+    /**
+     * ID del veterinario.
+     */
+    @NotNull(message = "El ID del veterinario es obligatorio")
+    @Positive(message = "El ID del veterinario debe ser positivo")
+    private Long idVeterinario;
+
+    /**
+     * ID del servicio (opcional): determina la duración reservada.
+     */
+    @Positive(message = "El ID del servicio debe ser positivo")
+    private Long idServicio;
+
+    /**
+     * Fecha del slot.
+     */
+    @NotNull(message = "La fecha es obligatoria")
+    @FutureOrPresent(message = "La fecha no puede ser en el pasado")
+    private LocalDate fechaCita;
+
+    /**
+     * Hora de inicio del slot.
+     */
+    @NotNull(message = "La hora es obligatoria")
+    private LocalTime horaCita;
+}
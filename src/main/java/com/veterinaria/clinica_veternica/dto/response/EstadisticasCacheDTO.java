@@ -0,0 +1,65 @@
+package com.veterinaria.clinica_veternica.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO de Response con las estadísticas de uso de un caché.
+ *
+ * @author Clínica Veterinaria Team
+ * @version 1.0
+ * @since 2025-11-20
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EstadisticasCacheDTO {
+
+    /**
+     * Nombre del caché.
+     */
+    private String nombre;
+
+    /**
+     * Número de entradas actuales.
+     */
+    private Integer tamanio;
+
+    /**
+     * Número máximo de entradas antes de desalojar.
+     */
+    private Integer tamanioMaximo;
+
+    /**
+     * Lecturas servidas desde el caché.
+     */
+    private Long aciertos;
+
+    /**
+     * Lecturas que no encontraron una entrada vigente.
+     */
+    private Long fallos;
+
+    /**
+     * Entradas desalojadas por exceder el tamaño máximo.
+     */
+    private Long desalojos;
+
+    /**
+     * Entradas eliminadas por exceder su tiempo de vida.
+     */
+    private Long expiradas;
+
+    /**
+     * Recargas en segundo plano de entradas próximas a expirar.
+     */
+    private Long recargas;
+
+    /**
+     * Proporción de aciertos sobre el total de lecturas (0 a 1).
+     */
+    private Double tasaAciertos;
+}
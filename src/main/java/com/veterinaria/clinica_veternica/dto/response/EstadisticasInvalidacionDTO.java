@@ -0,0 +1,55 @@
+package com.veterinaria.clinica_veternica.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO de Response con las estadísticas del bus de invalidación de caché entre nodos.
+ *
+ * @author Clínica Veterinaria Team
+ * @version 1.0
+ * @since 2025-11-20
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EstadisticasInvalidacionDTO {
+
+    /**
+     * Identificador de este nodo.
+     */
+    private String nodo;
+
+    /**
+     * Transporte en uso (local o postgres:canal).
+     */
+    private String transporte;
+
+    /**
+     * Última secuencia publicada por este nodo.
+     */
+    private Long secuencia;
+
+    /**
+     * Invalidaciones publicadas.
+     */
+    private Long publicadas;
+
+    /**
+     * Invalidaciones que no se pudieron publicar.
+     */
+    private Long fallidas;
+
+    /**
+     * Invalidaciones recibidas de otros nodos y aplicadas.
+     */
+    private Long recibidas;
+
+    /**
+     * Vaciados completos por mensajes perdidos o reconexión del transporte.
+     */
+    private Long resincronizaciones;
+}
@@ -0,0 +1,39 @@
+package com.veterinaria.clinica_veternica.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO de Response para una página obtenida con paginación por cursor (keyset).
+ * Para pedir la página siguiente se envía {@code siguienteCursor} como parámetro {@code cursor}.
+ *
+ * @param <T> Tipo de los elementos
+ * @author Clínica Veterinaria Team
+ * @version 1.0
+ * @since 2025-11-20
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PaginaCursorDTO<T> {
+
+    /**
+     * Elementos de la página.
+     */
+    private List<T> elementos;
+
+    /**
+     * Cursor opaco de la página siguiente (null si no hay más elementos).
+     */
+    private String siguienteCursor;
+
+    /**
+     * Indica si hay más elementos después de esta página.
+     */
+    private Boolean hayMas;
+}
@@ -0,0 +1,61 @@
+package com.veterinaria.clinica_veternica.dto.response.agenda;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * DTO de Response para la creación de citas en lote.
+ * El lote admite éxito parcial: cada elemento informa si se creó o por qué se rechazó.
+ *
+ * @author Clínica Veterinaria Team
+ * @version 1.0
+ * @since 2025-11-20
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CitaLoteResponseDTO {
+
+    /**
+     * Número de citas solicitadas (incluidas las generadas por recurrencia).
+     */
+    private Integer totalSolicitadas;
+
+    /**
+     * Número de citas creadas.
+     */
+    private Integer totalCreadas;
+
+    /**
+     * Número de citas rechazadas.
+     */
+    private Integer totalRechazadas;
+
+    /**
+     * Resultado de cada cita, en el orden de la solicitud.
+     */
+    private List<ResultadoCitaDTO> resultados;
+
+    /**
+     * DTO para representar el resultado de una cita del lote.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class ResultadoCitaDTO {
+        private Integer indice;
+        private LocalDate fechaCita;
+        private LocalTime horaCita;
+        private Boolean creada;
+        private CitaResponseDTO cita;
+        private String error;
+    }
+}
@@ -0,0 +1,83 @@
+package com.veterinaria.clinica_veternica.dto.response.agenda;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * DTO de Response para un evento del feed de agenda (Server-Sent Events).
+ *
+ * Tipos de evento:
+ * - CITA_CREADA, CITA_ESTADO_CAMBIADO, CITA_REPROGRAMADA, CITA_CANCELADA: cambios en una cita.
+ * - RESINCRONIZAR: el cliente perdió eventos (buffer lleno) y debe recargar la agenda.
+ *
+ * @author Clínica Veterinaria Team
+ * @version 1.0
+ * @since 2025-11-20
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EventoAgendaDTO {
+
+    /**
+     * Número de secuencia global del evento (también se envía como id SSE).
+     */
+    private Long secuencia;
+
+    /**
+     * Tipo de evento.
+     */
+    private String tipo;
+
+    /**
+     * Identificador de la cita (null en RESINCRONIZAR).
+     */
+    private Long idCita;
+
+    /**
+     * Identificador del veterinario de la cita.
+     */
+    private Long idVeterinario;
+
+    /**
+     * Fecha de la cita.
+     */
+    private LocalDate fechaCita;
+
+    /**
+     * Hora de la cita.
+     */
+    private LocalTime horaCita;
+
+    /**
+     * Fecha anterior (solo en reprogramaciones).
+     */
+    private LocalDate fechaAnterior;
+
+    /**
+     * Hora anterior (solo en reprogramaciones).
+     */
+    private LocalTime horaAnterior;
+
+    /**
+     * Estado anterior (solo en cambios de estado).
+     */
+    private String estadoAnterior;
+
+    /**
+     * Estado actual de la cita.
+     */
+    private String estado;
+
+    /**
+     * Fecha y hora en que se produjo el evento.
+     */
+    private LocalDateTime fechaEvento;
+}
@@ -0,0 +1,55 @@
+package com.veterinaria.clinica_veternica.dto.response.agenda;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * DTO de Response para una reserva temporal de slot.
+ * El token se envía como {@code tokenReserva} al crear la cita.
+ *
+ * @author Clínica Veterinaria Team
+ * @version 1.0
+ * @since 2025-11-20
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReservaSlotResponseDTO {
+
+    /**
+     * Token de la reserva.
+     */
+    private String token;
+
+    /**
+     * ID del veterinario.
+     */
+    private Long idVeterinario;
+
+    /**
+     * Fecha del slot.
+     */
+    private LocalDate fechaCita;
+
+    /**
+     * Hora de inicio del slot.
+     */
+    private LocalTime horaCita;
+
+    /**
+     * Duración reservada en minutos.
+     */
+    private Integer duracionMinutos;
+
+    /**
+     * Momento en que la reserva expira si no se convierte en cita.
+     */
+    private LocalDateTime expiraEn;
+}
@@ -76,11 +76,6 @@ public class ServicioResponseDTO {
      */
     private Boolean activo;
 
-    /**
-     * Cantidad de citas programadas con este servicio.
-     */
-    private Integer cantidadCitas;
-
     /**
      * Fecha y hora de creación.
      */
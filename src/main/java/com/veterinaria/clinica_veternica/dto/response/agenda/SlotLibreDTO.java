@@ -0,0 +1,59 @@
+package com.veterinaria.clinica_veternica.dto.response.agenda;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * DTO de Response para un slot libre encontrado en la búsqueda
+ * de primeros horarios disponibles entre todos los veterinarios.
+ *
+ * @author Clínica Veterinaria Team
+ * @version 1.0
+ * @since 2025-11-20
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SlotLibreDTO {
+
+    /**
+     * Identificador del veterinario.
+     */
+    private Long idVeterinario;
+
+    /**
+     * Nombre completo del veterinario.
+     */
+    private String nombreVeterinario;
+
+    /**
+     * Especialidad del veterinario.
+     */
+    private String especialidad;
+
+    /**
+     * Identificador del horario al que pertenece el slot.
+     */
+    private Long idHorario;
+
+    /**
+     * Fecha del slot.
+     */
+    private LocalDate fecha;
+
+    /**
+     * Hora de inicio del slot.
+     */
+    private LocalTime horaInicio;
+
+    /**
+     * Hora de fin estimada (inicio + duración del servicio).
+     */
+    private LocalTime horaFin;
+}
@@ -32,4 +32,9 @@ public class BusquedaGlobalDTO {
     private List<VeterinarioResponseDTO> veterinarios;
     private Integer totalVeterinarios;
     private Integer totalResultados;
+
+    /**
+     * Secciones que fallaron o no respondieron a tiempo (la respuesta es parcial si no está vacía).
+     */
+    private List<String> seccionesConError;
 }
@@ -31,4 +31,9 @@ public class DashboardResponseDTO {
     private Integer totalStockBajo;
     private List<NotificacionResponseDTO> notificacionesRecientes;
     private Integer totalNotificacionesRecientes;
+
+    /**
+     * Secciones que fallaron o no respondieron a tiempo (la respuesta es parcial si no está vacía).
+     */
+    private List<String> seccionesConError;
 }
@@ -28,4 +28,9 @@ public class InformacionCompletaMascotaDTO {
     private HistoriaClinicaResponseDTO historiaClinica;
     private List<CitaResponseDTO> citas;
     private Integer totalCitas;
+
+    /**
+     * Secciones que fallaron o no respondieron a tiempo (la respuesta es parcial si no está vacía).
+     */
+    private List<String> seccionesConError;
 }
@@ -28,4 +28,9 @@ public class InformacionCompletaPropietarioDTO {
     private List<MascotaResponseDTO> mascotas;
     private Integer totalMascotas;
     private List<HistoriaClinicaResponseDTO> historiasClinicas;
+
+    /**
+     * Secciones que fallaron o no respondieron a tiempo (la respuesta es parcial si no está vacía).
+     */
+    private List<String> seccionesConError;
 }
@@ -29,4 +29,9 @@ public class InformacionCompletaVeterinarioDTO {
     private Integer totalHorarios;
     private List<CitaResponseDTO> citasProgramadas;
     private Integer totalCitasProgramadas;
+
+    /**
+     * Secciones que fallaron o no respondieron a tiempo (la respuesta es parcial si no está vacía).
+     */
+    private List<String> seccionesConError;
 }
@@ -6,6 +6,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -30,4 +31,5 @@ public class ReporteCitasDTO {
     private Long citasAtendidas;
     private Long citasProgramadas;
     private Long citasCanceladas;
+    private BigDecimal ingresosCitasAtendidas;
 }
@@ -86,11 +86,6 @@ public class VeterinarioResponseDTO {
      */
     private Boolean disponible;
 
-    /**
-     * Cantidad de citas programadas.
-     */
-    private Integer cantidadCitas;
-
     /**
      * Cantidad de horarios registrados.
      */
@@ -35,6 +35,8 @@ public interface CitaMapper {
     @Mapping(target = "servicio", ignore = true)
     @Mapping(target = "fechaCreacion", ignore = true)
     @Mapping(target = "fechaModificacion", ignore = true)
+    @Mapping(target = "fechaHoraInicio", ignore = true)
+    @Mapping(target = "fechaHoraFin", ignore = true)
     Cita toEntity(CitaRequestDTO requestDTO);
 
     /**
@@ -70,6 +72,8 @@ public interface CitaMapper {
     @Mapping(target = "servicio", ignore = true)
     @Mapping(target = "fechaCreacion", ignore = true)
     @Mapping(target = "fechaModificacion", ignore = true)
+    @Mapping(target = "fechaHoraInicio", ignore = true)
+    @Mapping(target = "fechaHoraFin", ignore = true)
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
     void updateEntityFromDTO(CitaRequestDTO requestDTO, @MappingTarget Cita cita);
 
@@ -44,7 +44,6 @@ public interface ServicioMapper {
     @Mapping(target = "categoria", source = "categoria", qualifiedByName = "categoriaToString")
     @Mapping(target = "duracionMinutos", source = "duracionEstimadaMinutos")
     @Mapping(target = "duracionFormateada", source = "duracionEstimadaMinutos", qualifiedByName = "formatearDuracion")
-    @Mapping(target = "cantidadCitas", source = "citas", qualifiedByName = "contarCitas")
     ServicioResponseDTO toResponseDTO(Servicio servicio);
 
     /**
@@ -109,9 +108,4 @@ public interface ServicioMapper {
             return horas + (horas == 1 ? " hora" : " horas") + " " + mins + " minutos";
         }
     }
-
-    @Named("contarCitas")
-    default Integer contarCitas(List<?> citas) {
-        return citas != null ? citas.size() : 0;
-    }
 }
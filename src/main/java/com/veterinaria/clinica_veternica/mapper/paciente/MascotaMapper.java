@@ -54,6 +54,24 @@ public interface MascotaMapper {
     @Mapping(target = "cantidadCitas", source = "citas", qualifiedByName = "contarCitas")
     MascotaResponseDTO toResponseDTO(Mascota mascota);
 
+    /**
+     * Convierte una Mascota a MascotaResponseDTO sin leer su especie ni su raza.
+     * Quien lo invoca completa ambas (p. ej. desde el catálogo en memoria).
+     *
+     * @param mascota Entidad
+     * @return DTO de response sin especie ni raza
+     */
+    @Named("sinCatalogo")
+    @InheritConfiguration(name = "toResponseDTO")
+    @Mapping(target = "especie", ignore = true)
+    @Mapping(target = "raza", ignore = true)
+    @Mapping(target = "talla", ignore = true)
+    @Mapping(target = "alergias", ignore = true)
+    @Mapping(target = "enfermedadesCronicas", ignore = true)
+    @Mapping(target = "fechaFallecimiento", ignore = true)
+    @Mapping(target = "causaFallecimiento", ignore = true)
+    MascotaResponseDTO toResponseDTOSinCatalogo(Mascota mascota);
+
     /**
      * Convierte una lista de Mascota a lista de MascotaResponseDTO.
      *
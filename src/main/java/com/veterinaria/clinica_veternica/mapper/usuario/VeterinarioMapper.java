@@ -39,7 +39,6 @@ public interface VeterinarioMapper {
      */
     @Mapping(target = "nombreCompleto", source = "veterinario", qualifiedByName = "getNombreCompletoVet")
     @Mapping(target = "disponible", source = "activo")
-    @Mapping(target = "cantidadCitas", source = "citas", qualifiedByName = "contarCitas")
     @Mapping(target = "cantidadHorarios", source = "horarios", qualifiedByName = "contarHorarios")
     @Mapping(target = "usuario", source = "usuario", qualifiedByName = "mapUsuarioSimple")
     VeterinarioResponseDTO toResponseDTO(Veterinario veterinario);
@@ -80,17 +79,6 @@ public interface VeterinarioMapper {
         return veterinario.getNombres() + " " + veterinario.getApellidos();
     }
 
-    /**
-     * Cuenta la cantidad de citas.
-     *
-     * @param citas Lista de citas
-     * @return Cantidad de citas
-     */
-    @Named("contarCitas")
-    default Integer contarCitas(List<?> citas) {
-        return citas != null ? citas.size() : 0;
-    }
-
     /**
      * Cuenta la cantidad de horarios.
      *
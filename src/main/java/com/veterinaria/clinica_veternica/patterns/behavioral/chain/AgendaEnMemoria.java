@@ -0,0 +1,84 @@
+package com.veterinaria.clinica_veternica.patterns.behavioral.chain;
+
+import com.veterinaria.clinica_veternica.domain.agenda.Cita;
+import com.veterinaria.clinica_veternica.domain.agenda.EstadoCita;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Agenda de citas en memoria usada por la cadena de validación al crear citas en lote.
+ *
+ * Contiene las citas activas ya existentes de los veterinarios del lote (cargadas con una
+ * sola consulta) más las citas del lote ya aceptadas, de modo que
+ * {@link ValidacionDisponibilidadHandler} detecta conflictos sin consultar la base de datos,
+ * incluidos los conflictos entre citas del mismo lote.
+ *
+ * Se activa para el hilo actual solo durante {@link #ejecutar(Runnable)}.
+ *
+ * @author Clínica Veterinaria Team
+ * @version 1.0
+ * @since 2025-11-20
+ */
+public final class AgendaEnMemoria {
+
+    private static final ThreadLocal<AgendaEnMemoria> ACTUAL = new ThreadLocal<>();
+
+    private final Map<Long, List<Cita>> citasPorVeterinario = new HashMap<>();
+
+    public AgendaEnMemoria(Collection<Cita> citasExistentes) {
+        citasExistentes.forEach(this::agregar);
+    }
+
+    /**
+     * Agrega una cita a la agenda (por ejemplo, una cita del lote ya aceptada).
+     */
+    public void agregar(Cita cita) {
+        cita.sincronizarIntervalo();
+        citasPorVeterinario.computeIfAbsent(cita.getVeterinario().getIdPersonal(), id -> new ArrayList<>())
+                .add(cita);
+    }
+
+    /**
+     * Ejecuta una acción con esta agenda activa para el hilo actual.
+     */
+    public void ejecutar(Runnable accion) {
+        AgendaEnMemoria anterior = ACTUAL.get();
+        ACTUAL.set(this);
+        try {
+            accion.run();
+        } finally {
+            if (anterior != null) {
+                ACTUAL.set(anterior);
+            } else {
+                ACTUAL.remove();
+            }
+        }
+    }
+
+    /**
+     * @return Agenda activa para el hilo actual, si la hay
+     */
+    static Optional<AgendaEnMemoria> actual() {
+        return Optional.ofNullable(ACTUAL.get());
+    }
+
+    /**
+     * Mismo criterio que {@code CitaRepository.findCitasSolapadas}: citas activas del mismo
+     * veterinario y fecha cuyo intervalo se solapa con [inicio, fin).
+     */
+    List<Cita> buscarSolapadas(Cita cita, LocalDateTime inicio, LocalDateTime fin) {
+        return citasPorVeterinario.getOrDefault(cita.getVeterinario().getIdPersonal(), List.of()).stream()
+                .filter(c -> cita.getIdCita() == null || !Objects.equals(c.getIdCita(), cita.getIdCita()))
+                .filter(c -> c.getFechaCita().equals(cita.getFechaCita()))
+                .filter(c -> c.getEstado() != EstadoCita.CANCELADA && c.getEstado() != EstadoCita.NO_ASISTIO)
+                .filter(c -> c.getFechaHoraInicio().isBefore(fin) && c.getFechaHoraFin().isAfter(inicio))
+                .toList();
+    }
+}
@@ -1,10 +1,12 @@
 package com.veterinaria.clinica_veternica.patterns.behavioral.chain;
 
 import com.veterinaria.clinica_veternica.domain.agenda.Cita;
-import com.veterinaria.clinica_veternica.domain.agenda.Horario;
 import com.veterinaria.clinica_veternica.exception.ValidationException;
 import com.veterinaria.clinica_veternica.repository.CitaRepository;
-import com.veterinaria.clinica_veternica.repository.HorarioRepository;
+import com.veterinaria.clinica_veternica.service.impl.HorarioSemanalCacheService;
+import com.veterinaria.clinica_veternica.service.impl.HorarioSemanalCacheService.HorarioSemanal;
+import com.veterinaria.clinica_veternica.service.impl.HorarioSemanalCacheService.IntervaloHorario;
+import com.veterinaria.clinica_veternica.service.interfaces.IReservaSlotService;
 import com.veterinaria.clinica_veternica.util.Constants;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -29,7 +31,7 @@ import java.util.stream.Collectors;
  * - Evita conflictos de horarios
  * - Valida que la hora esté dentro del horario del veterinario
  * - Valida que no haya conflictos con otras citas
- * - Valida el límite de citas simultáneas
+ * - Valida el límite de citas simultáneas (incluye slots reservados temporalmente)
  *
  * @author Clínica Veterinaria Team
  * @version 1.0
@@ -40,8 +42,9 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ValidacionDisponibilidadHandler extends ValidacionHandler {
 
-    private final HorarioRepository horarioRepository;
+    private final HorarioSemanalCacheService horarioSemanalCacheService;
     private final CitaRepository citaRepository;
+    private final IReservaSlotService reservaSlotService;
 
     @Override
     protected boolean validarEspecifico(Cita cita) throws ValidationException {
@@ -53,11 +56,14 @@ public class ValidacionDisponibilidadHandler extends ValidacionHandler {
             throw new ValidationException("No se pueden crear citas en el pasado", "fechaCita", "La fecha debe ser futura");
         }
 
+        // Horarios del veterinario desde la caché (sin consultas a BD)
+        HorarioSemanal horarioSemanal = horarioSemanalCacheService.obtener(cita.getVeterinario());
+
         // Validar que la hora esté dentro del horario del veterinario
-        validarHorarioVeterinario(cita);
+        validarHorarioVeterinario(cita, horarioSemanal);
 
         // Validar que no haya conflictos con otras citas
-        validarConflictosCitas(cita);
+        validarConflictosCitas(cita, horarioSemanal);
 
         log.debug("Validación de disponibilidad: OK");
         return true;
@@ -66,12 +72,9 @@ public class ValidacionDisponibilidadHandler extends ValidacionHandler {
     /**
      * Valida que la hora de la cita esté dentro del horario laboral del veterinario.
      */
-    private void validarHorarioVeterinario(Cita cita) throws ValidationException {
+    private void validarHorarioVeterinario(Cita cita, HorarioSemanal horarioSemanal) throws ValidationException {
         DayOfWeek diaSemana = cita.getFechaCita().getDayOfWeek();
-        List<Horario> horariosDelDia = horarioRepository.findByVeterinario(cita.getVeterinario())
-                .stream()
-                .filter(h -> h.getDiaSemana().equals(diaSemana) && Boolean.TRUE.equals(h.getActivo()))
-                .collect(Collectors.toList());
+        List<IntervaloHorario> horariosDelDia = horarioSemanal.delDia(diaSemana);
 
         if (horariosDelDia.isEmpty()) {
             String nombreDia = diaSemana.getDisplayName(TextStyle.FULL, new Locale("es", "ES"));
@@ -82,30 +85,19 @@ public class ValidacionDisponibilidadHandler extends ValidacionHandler {
             );
         }
 
-        // Verificar que la hora esté dentro de algún horario del veterinario
+        // Verificar que la cita completa (inicio + duración) esté dentro de algún horario del veterinario
         LocalTime horaCita = cita.getHoraCita();
         Integer duracionMinutos = cita.getDuracionEstimadaMinutos() != null
                 ? cita.getDuracionEstimadaMinutos()
-                : 30; // Duración por defecto
-
-        boolean dentroDeHorario = false;
-        Horario horarioValido = null;
+                : Cita.DURACION_POR_DEFECTO_MINUTOS;
 
-        for (Horario horario : horariosDelDia) {
-            LocalTime horaFinCita = horaCita.plusMinutes(duracionMinutos);
+        IntervaloHorario horarioValido = horarioSemanal
+                .buscarContenedor(diaSemana, horaCita, horaCita.plusMinutes(duracionMinutos))
+                .orElse(null);
 
-            // Verificar que la cita completa (inicio + duración) esté dentro del horario
-            if (!horaCita.isBefore(horario.getHoraInicio()) &&
-                !horaFinCita.isAfter(horario.getHoraFin())) {
-                dentroDeHorario = true;
-                horarioValido = horario;
-                break;
-            }
-        }
-
-        if (!dentroDeHorario) {
+        if (horarioValido == null) {
             String horariosDisponibles = horariosDelDia.stream()
-                    .map(h -> h.getHoraInicio() + " - " + h.getHoraFin())
+                    .map(IntervaloHorario::toString)
                     .collect(Collectors.joining(", "));
 
             throw new ValidationException(
@@ -116,21 +108,19 @@ public class ValidacionDisponibilidadHandler extends ValidacionHandler {
         }
 
         // Validar que la cita esté alineada con los intervalos del horario
-        if (horarioValido != null) {
-            Integer duracionCitaHorario = horarioValido.getDuracionCitaMinutos();
-            if (duracionCitaHorario != null && duracionCitaHorario > 0) {
-                validarAlineacionConIntervalo(cita, horarioValido);
-            }
+        Integer duracionCitaHorario = horarioValido.duracionCitaMinutos();
+        if (duracionCitaHorario != null && duracionCitaHorario > 0) {
+            validarAlineacionConIntervalo(cita, horarioValido);
         }
     }
 
     /**
      * Valida que la hora de la cita esté alineada con los intervalos configurados en el horario.
      */
-    private void validarAlineacionConIntervalo(Cita cita, Horario horario) throws ValidationException {
-        LocalTime horaInicio = horario.getHoraInicio();
+    private void validarAlineacionConIntervalo(Cita cita, IntervaloHorario horario) throws ValidationException {
+        LocalTime horaInicio = horario.horaInicio();
         LocalTime horaCita = cita.getHoraCita();
-        int duracionMinutos = horario.getDuracionCitaMinutos();
+        int duracionMinutos = horario.duracionCitaMinutos();
 
         // Calcular los minutos desde el inicio del horario
         int minutosDesdeInicio = (horaCita.getHour() * 60 + horaCita.getMinute()) -
@@ -150,45 +140,56 @@ public class ValidacionDisponibilidadHandler extends ValidacionHandler {
     /**
      * Valida que no haya conflictos con otras citas del veterinario.
      */
-    private void validarConflictosCitas(Cita cita) throws ValidationException {
+    private void validarConflictosCitas(Cita cita, HorarioSemanal horarioSemanal) throws ValidationException {
         LocalDate fechaCita = cita.getFechaCita();
         LocalTime horaCita = cita.getHoraCita();
         Integer duracionMinutos = cita.getDuracionEstimadaMinutos() != null
                 ? cita.getDuracionEstimadaMinutos()
-                : 30;
+                : Cita.DURACION_POR_DEFECTO_MINUTOS;
 
-        LocalTime horaFinCita = horaCita.plusMinutes(duracionMinutos);
+        LocalDateTime inicioCita = LocalDateTime.of(fechaCita, horaCita);
+        LocalDateTime finCita = inicioCita.plusMinutes(duracionMinutos);
 
         // Buscar citas que se solapen con el rango de tiempo
-        List<Cita> citasSolapadas = citaRepository.findCitasSolapadas(
-                cita.getVeterinario(),
-                fechaCita,
-                horaCita,
-                horaFinCita,
-                cita.getIdCita() // null para nuevas citas, ID para actualizaciones
-        );
-
-        if (!citasSolapadas.isEmpty()) {
-            // Obtener el horario para verificar maxCitasSimultaneas
-            DayOfWeek diaSemana = fechaCita.getDayOfWeek();
-            List<Horario> horariosDelDia = horarioRepository.findByVeterinario(cita.getVeterinario())
-                    .stream()
-                    .filter(h -> h.getDiaSemana().equals(diaSemana) && Boolean.TRUE.equals(h.getActivo()))
-                    .filter(h -> !horaCita.isBefore(h.getHoraInicio()) && horaCita.isBefore(h.getHoraFin()))
-                    .collect(Collectors.toList());
-
-            int maxCitasSimultaneas = horariosDelDia.isEmpty() ? 1 :
-                    horariosDelDia.get(0).getMaxCitasSimultaneas() != null ?
-                    horariosDelDia.get(0).getMaxCitasSimultaneas() : 1;
+        // En creación por lotes se usa la agenda en memoria (incluye las citas del propio lote)
+        List<Cita> citasSolapadas = AgendaEnMemoria.actual()
+                .map(agenda -> agenda.buscarSolapadas(cita, inicioCita, finCita))
+                .orElseGet(() -> citaRepository.findCitasSolapadas(
+                        cita.getVeterinario(),
+                        fechaCita,
+                        inicioCita,
+                        finCita,
+                        cita.getIdCita() // null para nuevas citas, ID para actualizaciones
+                ));
+
+        // Slots retenidos temporalmente por otros usuarios durante su flujo de reserva
+        int reservasTemporales = reservaSlotService.contarReservasSolapadas(
+                cita.getVeterinario().getIdPersonal(), fechaCita, horaCita, finCita.toLocalTime());
+        int ocupacion = citasSolapadas.size() + reservasTemporales;
+
+        if (ocupacion > 0) {
+            // Obtener el horario vigente para verificar maxCitasSimultaneas
+            int maxCitasSimultaneas = horarioSemanal.maxCitasSimultaneas(fechaCita.getDayOfWeek(), horaCita);
 
             // Si ya hay el máximo de citas simultáneas, rechazar
-            if (citasSolapadas.size() >= maxCitasSimultaneas) {
+            if (ocupacion >= maxCitasSimultaneas) {
+                if (citasSolapadas.isEmpty()) {
+                    throw new ValidationException(
+                            "El horario está reservado temporalmente por otro usuario. Máximo permitido: " + maxCitasSimultaneas,
+                            "horaCita",
+                            "El horario está reservado temporalmente"
+                    );
+                }
+
                 String citasInfo = citasSolapadas.stream()
                         .map(c -> c.getHoraCita() + " (" + c.getMascota().getNombre() + ")")
                         .collect(Collectors.joining(", "));
+                String reservasInfo = reservasTemporales > 0
+                        ? " y " + reservasTemporales + " reservado(s) temporalmente"
+                        : "";
 
                 throw new ValidationException(
-                        "El veterinario ya tiene " + citasSolapadas.size() + " cita(s) en ese horario. " +
+                        "El veterinario ya tiene " + citasSolapadas.size() + " cita(s)" + reservasInfo + " en ese horario. " +
                         "Citas existentes: " + citasInfo + ". Máximo permitido: " + maxCitasSimultaneas,
                         "horaCita",
                         "Ya existe(n) cita(s) en ese horario"
@@ -2,6 +2,8 @@ package com.veterinaria.clinica_veternica.patterns.behavioral.mediator;
 
 import com.veterinaria.clinica_veternica.domain.agenda.Cita;
 
+import java.util.List;
+
 /**
  * Patrón Mediator: CitaMediator (Interface)
  *
@@ -27,6 +29,15 @@ public interface CitaMediator {
      */
     Cita crearCita(Cita cita);
 
+    /**
+     * Crea un lote de citas ya validadas, con una inserción en batch
+     * y una única notificación a los observadores.
+     *
+     * @param citas Citas a crear
+     * @return Citas creadas, en el mismo orden
+     */
+    List<Cita> crearCitasEnLote(List<Cita> citas);
+
     /**
      * Confirma una cita coordinando notificaciones y actualizaciones.
      *
@@ -8,6 +8,11 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 /**
  * Patrón Mediator: CitaMediatorImpl
  *
@@ -56,6 +61,32 @@ public class CitaMediatorImpl implements CitaMediator {
         return citaGuardada;
     }
 
+    @Override
+    public List<Cita> crearCitasEnLote(List<Cita> citas) {
+        log.info("Mediador: Coordinando creación de lote de {} citas", citas.size());
+        if (citas.isEmpty()) {
+            return List.of();
+        }
+
+        // 1. Validar veterinario y servicio de cada cita
+        for (Cita cita : citas) {
+            validarDisponibilidadVeterinario(cita);
+            validarServicioDisponible(cita);
+        }
+
+        // 2. Insertar en batch y recargar como entidades gestionadas
+        List<Long> ids = citaRepository.insertarEnLote(citas);
+        Map<Long, Cita> porId = citaRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Cita::getIdCita, Function.identity()));
+        List<Cita> citasGuardadas = ids.stream().map(porId::get).toList();
+        log.info("Mediador: Lote de {} citas creado", citasGuardadas.size());
+
+        // 3. Notificar a observadores una sola vez
+        citaSubject.notifyCitasCreated(citasGuardadas);
+
+        return citasGuardadas;
+    }
+
     @Override
     public void confirmarCita(Long citaId) {
         log.info("Mediador: Coordinando confirmación de cita ID: {}", citaId);
@@ -0,0 +1,68 @@
+package com.veterinaria.clinica_veternica.patterns.behavioral.observer;
+
+import com.veterinaria.clinica_veternica.domain.agenda.Cita;
+import com.veterinaria.clinica_veternica.dto.response.agenda.EventoAgendaDTO;
+import com.veterinaria.clinica_veternica.service.interfaces.IAgendaEventosService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Patrón Observer: AgendaEventosObserver
+ *
+ * Publica los eventos de citas en el feed de agenda en tiempo real
+ * ({@link IAgendaEventosService}), que los envía por SSE a las pantallas
+ * de recepción y de los veterinarios.
+ *
+ * @author Clínica Veterinaria Team
+ * @version 1.0
+ * @since 2025-11-20
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AgendaEventosObserver implements CitaObserver {
+
+    private final IAgendaEventosService agendaEventosService;
+
+    @Override
+    public void onCitaStateChanged(Cita cita, String estadoAnterior, String estadoNuevo) {
+        EventoAgendaDTO evento = crearEvento(cita, IAgendaEventosService.TIPO_CITA_ESTADO_CAMBIADO);
+        evento.setEstadoAnterior(estadoAnterior);
+        evento.setEstado(estadoNuevo);
+        agendaEventosService.publicar(evento);
+    }
+
+    @Override
+    public void onCitaCreated(Cita cita) {
+        agendaEventosService.publicar(crearEvento(cita, IAgendaEventosService.TIPO_CITA_CREADA));
+    }
+
+    @Override
+    public void onCitaRescheduled(Cita cita, LocalDate fechaAnterior, LocalTime horaAnterior) {
+        EventoAgendaDTO evento = crearEvento(cita, IAgendaEventosService.TIPO_CITA_REPROGRAMADA);
+        evento.setFechaAnterior(fechaAnterior);
+        evento.setHoraAnterior(horaAnterior);
+        agendaEventosService.publicar(evento);
+    }
+
+    @Override
+    public void onCitaCancelled(Cita cita, String motivo) {
+        agendaEventosService.publicar(crearEvento(cita, IAgendaEventosService.TIPO_CITA_CANCELADA));
+    }
+
+    private EventoAgendaDTO crearEvento(Cita cita, String tipo) {
+        log.debug("Feed de agenda: evento {} para cita {}", tipo, cita.getIdCita());
+        return EventoAgendaDTO.builder()
+                .tipo(tipo)
+                .idCita(cita.getIdCita())
+                .idVeterinario(cita.getVeterinario() != null ? cita.getVeterinario().getIdPersonal() : null)
+                .fechaCita(cita.getFechaCita())
+                .horaCita(cita.getHoraCita())
+                .estado(cita.getEstado() != null ? cita.getEstado().name() : null)
+                .build();
+    }
+}
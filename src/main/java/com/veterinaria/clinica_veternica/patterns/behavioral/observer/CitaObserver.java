@@ -2,6 +2,10 @@ package com.veterinaria.clinica_veternica.patterns.behavioral.observer;
 
 import com.veterinaria.clinica_veternica.domain.agenda.Cita;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
 /**
  * Patrón Observer: CitaObserver (Interface)
  *
@@ -42,6 +46,27 @@ public interface CitaObserver {
      */
     void onCitaCreated(Cita cita);
 
+    /**
+     * Se invoca una sola vez cuando se crea un lote de citas.
+     * Por defecto delega en {@link #onCitaCreated(Cita)} para cada cita.
+     *
+     * @param citas Citas creadas en el lote
+     */
+    default void onCitasCreated(List<Cita> citas) {
+        citas.forEach(this::onCitaCreated);
+    }
+
+    /**
+     * Se invoca cuando una cita se reprograma a otra fecha u hora.
+     * Por defecto no hace nada.
+     *
+     * @param cita Cita ya reprogramada
+     * @param fechaAnterior Fecha que tenía la cita antes del cambio
+     * @param horaAnterior Hora que tenía la cita antes del cambio
+     */
+    default void onCitaRescheduled(Cita cita, LocalDate fechaAnterior, LocalTime horaAnterior) {
+    }
+
     /**
      * Se invoca cuando se cancela una cita.
      *
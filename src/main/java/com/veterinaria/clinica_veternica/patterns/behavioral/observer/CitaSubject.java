@@ -4,6 +4,8 @@ import com.veterinaria.clinica_veternica.domain.agenda.Cita;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -83,6 +85,45 @@ public class CitaSubject {
         }
     }
 
+    /**
+     * Notifica a todos los observadores sobre un lote de citas creadas (una notificación por lote).
+     */
+    public void notifyCitasCreated(List<Cita> citas) {
+        log.debug("Notificando creación de lote de {} citas", citas.size());
+
+        for (CitaObserver observer : observers) {
+            try {
+                observer.onCitasCreated(citas);
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                log.error(MSG_ERROR_NOTIFICAR, 
+                         observer.getClass().getSimpleName(), e.getMessage(), e);
+            } catch (RuntimeException e) {
+                log.error(MSG_ERROR_INESPERADO, 
+                         observer.getClass().getSimpleName(), e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Notifica a todos los observadores sobre una cita reprogramada.
+     */
+    public void notifyCitaRescheduled(Cita cita, LocalDate fechaAnterior, LocalTime horaAnterior) {
+        log.debug("Notificando reprogramación de cita {}: {} {} -> {} {}", cita.getIdCita(),
+                 fechaAnterior, horaAnterior, cita.getFechaCita(), cita.getHoraCita());
+
+        for (CitaObserver observer : observers) {
+            try {
+                observer.onCitaRescheduled(cita, fechaAnterior, horaAnterior);
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                log.error(MSG_ERROR_NOTIFICAR, 
+                         observer.getClass().getSimpleName(), e.getMessage(), e);
+            } catch (RuntimeException e) {
+                log.error(MSG_ERROR_INESPERADO, 
+                         observer.getClass().getSimpleName(), e.getMessage(), e);
+            }
+        }
+    }
+
     /**
      * Notifica a todos los observadores sobre una cita cancelada.
      */
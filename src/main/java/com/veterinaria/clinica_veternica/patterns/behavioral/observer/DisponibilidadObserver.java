@@ -0,0 +1,61 @@
+package com.veterinaria.clinica_veternica.patterns.behavioral.observer;
+
+import com.veterinaria.clinica_veternica.domain.agenda.Cita;
+import com.veterinaria.clinica_veternica.domain.agenda.EstadoCita;
+import com.veterinaria.clinica_veternica.service.impl.DisponibilidadIndexService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Patrón Observer: DisponibilidadObserver
+ *
+ * Mantiene actualizado el índice en memoria de disponibilidad
+ * ({@link DisponibilidadIndexService}) a partir de los eventos de citas.
+ *
+ * - Cita creada: ocupa los slots correspondientes
+ * - Cita cancelada o no asistida: libera los slots
+ * - Cita reprogramada: recalcula el día de origen y el de destino
+ *
+ * @author Clínica Veterinaria Team
+ * @version 1.0
+ * @since 2025-11-20
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DisponibilidadObserver implements CitaObserver {
+
+    private final DisponibilidadIndexService disponibilidadIndexService;
+
+    @Override
+    public void onCitaStateChanged(Cita cita, String estadoAnterior, String estadoNuevo) {
+        if (EstadoCita.CANCELADA.name().equals(estadoNuevo) || EstadoCita.NO_ASISTIO.name().equals(estadoNuevo)) {
+            disponibilidadIndexService.liberarCita(cita);
+            log.debug("Disponibilidad: slots liberados por cita {} ({})", cita.getIdCita(), estadoNuevo);
+        }
+    }
+
+    @Override
+    public void onCitaCreated(Cita cita) {
+        disponibilidadIndexService.registrarCita(cita);
+        log.debug("Disponibilidad: slots ocupados por cita {}", cita.getIdCita());
+    }
+
+    @Override
+    public void onCitaRescheduled(Cita cita, LocalDate fechaAnterior, LocalTime horaAnterior) {
+        Long idVeterinario = cita.getVeterinario().getIdPersonal();
+        disponibilidadIndexService.invalidarDia(idVeterinario, fechaAnterior);
+        disponibilidadIndexService.invalidarDia(idVeterinario, cita.getFechaCita());
+        log.debug("Disponibilidad: días recalculados por cita reprogramada {}", cita.getIdCita());
+    }
+
+    @Override
+    public void onCitaCancelled(Cita cita, String motivo) {
+        disponibilidadIndexService.liberarCita(cita);
+        log.debug("Disponibilidad: slots liberados por cita cancelada {}", cita.getIdCita());
+    }
+}
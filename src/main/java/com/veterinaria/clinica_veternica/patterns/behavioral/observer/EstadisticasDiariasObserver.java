@@ -0,0 +1,53 @@
+package com.veterinaria.clinica_veternica.patterns.behavioral.observer;
+
+import com.veterinaria.clinica_veternica.domain.agenda.Cita;
+import com.veterinaria.clinica_veternica.service.impl.EstadisticaDiariaService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Patrón Observer: EstadisticasDiariasObserver
+ *
+ * Marca la fecha de cada cita creada, cancelada, reprogramada o con cambio de estado para que
+ * {@link EstadisticaDiariaService} recalcule su agregado diario tras el commit.
+ *
+ * @author Clínica Veterinaria Team
+ * @version 1.0
+ * @since 2025-11-20
+ */
+@Component
+@RequiredArgsConstructor
+public class EstadisticasDiariasObserver implements CitaObserver {
+
+    private final EstadisticaDiariaService estadisticaDiariaService;
+
+    @Override
+    public void onCitaStateChanged(Cita cita, String estadoAnterior, String estadoNuevo) {
+        estadisticaDiariaService.marcarDia(cita.getFechaCita());
+    }
+
+    @Override
+    public void onCitaCreated(Cita cita) {
+        estadisticaDiariaService.marcarDia(cita.getFechaCita());
+    }
+
+    @Override
+    public void onCitasCreated(List<Cita> citas) {
+        estadisticaDiariaService.marcarDias(citas.stream().map(Cita::getFechaCita).toList());
+    }
+
+    @Override
+    public void onCitaRescheduled(Cita cita, LocalDate fechaAnterior, LocalTime horaAnterior) {
+        // Cambian los agregados del día de origen y del de destino
+        estadisticaDiariaService.marcarDias(List.of(fechaAnterior, cita.getFechaCita()));
+    }
+
+    @Override
+    public void onCitaCancelled(Cita cita, String motivo) {
+        estadisticaDiariaService.marcarDia(cita.getFechaCita());
+    }
+}
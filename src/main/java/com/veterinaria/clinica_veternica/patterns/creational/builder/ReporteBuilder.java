@@ -13,6 +13,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -297,9 +298,24 @@ public class ReporteBuilder {
         private String ordenamiento;
         private boolean ordenAscendente;
         private ReporteImplementor implementor;
+        private Map<String, Object> contenido = new LinkedHashMap<>();
 
         /**
-         * Genera el reporte usando el implementador configurado.
+         * Agrega datos al cuerpo del reporte: valores simples (totales, métricas) o listas de
+         * filas ({@code Map} por fila), que los formatos muestran como tablas.
+         *
+         * @param nombre Nombre del dato o de la sección
+         * @param valor Valor o lista de filas
+         * @return Este reporte
+         */
+        public Reporte agregarDatos(String nombre, Object valor) {
+            contenido.put(nombre, valor);
+            return this;
+        }
+
+        /**
+         * Genera el reporte usando el implementador configurado: la configuración del reporte
+         * seguida de los datos agregados con {@link #agregarDatos(String, Object)}.
          */
         public byte[] generar() {
             if (implementor == null) {
@@ -307,7 +323,7 @@ public class ReporteBuilder {
             }
             
             // Convertir el reporte a un Map para el implementador
-            Map<String, Object> datos = new java.util.HashMap<>();
+            Map<String, Object> datos = new LinkedHashMap<>();
             datos.put("tipoReporte", tipoReporte != null ? tipoReporte.name() : null);
             datos.put("fechaInicio", fechaInicio);
             datos.put("fechaFin", fechaFin);
@@ -320,6 +336,7 @@ public class ReporteBuilder {
             datos.put("columnas", columnas);
             datos.put("ordenamiento", ordenamiento);
             datos.put("ordenAscendente", ordenAscendente);
+            datos.putAll(contenido);
             
             return implementor.generarReporte(datos, titulo != null ? titulo : "Reporte");
         }
@@ -0,0 +1,32 @@
+package com.veterinaria.clinica_veternica.patterns.structural.bridge;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Escritura incremental de un reporte tabular: las filas se escriben en la salida a medida
+ * que se leen de la BD, sin acumular el reporte en memoria.
+ *
+ * @author Clínica Veterinaria Team
+ * @version 1.0
+ * @since 2025-11-20
+ */
+public interface EscritorReporte {
+
+    /**
+     * Escribe una fila. Los valores siguen el orden de las columnas del reporte y pueden ser
+     * nulos.
+     *
+     * @param valores Valores de la fila
+     * @throws IOException si falla la escritura
+     */
+    void escribirFila(List<?> valores) throws IOException;
+
+    /**
+     * Completa el documento (cierre del formato) y vacía la salida. No cierra la salida.
+     * Si el reporte falla a mitad no se invoca, para no entregar un archivo truncado como válido.
+     *
+     * @throws IOException si falla la escritura
+     */
+    void terminar() throws IOException;
+}
@@ -2,7 +2,12 @@ package com.veterinaria.clinica_veternica.patterns.structural.bridge;
 
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Patrón Bridge: ReporteAbstraction (Abstract)
@@ -40,6 +45,50 @@ public abstract class ReporteAbstraction {
         return implementor.generarReporte(datos, titulo);
     }
 
+    /**
+     * Escribe el reporte en streaming: cada fila se envía al implementador a medida que se lee,
+     * por lo que los formatos incrementales (CSV, Excel) usan memoria constante. Debe invocarse
+     * dentro de una transacción de solo lectura.
+     *
+     * @param salida Salida del reporte (no se cierra)
+     * @return Número de filas escritas
+     * @throws IOException si falla la escritura
+     */
+    public long escribir(OutputStream salida) throws IOException {
+        log.info("Escribiendo reporte en streaming con formato: {}", implementor.getExtension());
+        EscritorReporte escritor = implementor.abrirEscritura(obtenerTitulo(), obtenerColumnas(), salida);
+        long filas;
+        try {
+            filas = recorrerFilas(fila -> {
+                try {
+                    escritor.escribirFila(fila);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        escritor.terminar();
+        log.debug("Reporte escrito: {} filas", filas);
+        return filas;
+    }
+
+    /**
+     * Encabezados de las columnas del reporte tabular.
+     *
+     * @return Encabezados, en el orden de los valores de cada fila
+     */
+    protected abstract List<String> obtenerColumnas();
+
+    /**
+     * Recorre las filas del reporte tabular en orden, sin acumularlas.
+     *
+     * @param consumidor Acción por fila (no debe conservar la fila)
+     * @return Número de filas recorridas
+     */
+    protected abstract long recorrerFilas(Consumer<List<?>> consumidor);
+
     /**
      * Recopila los datos necesarios para el reporte.
      * Debe ser implementado por las subclases concretas.
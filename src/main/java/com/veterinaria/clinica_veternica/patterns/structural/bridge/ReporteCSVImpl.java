@@ -0,0 +1,123 @@
+package com.veterinaria.clinica_veternica.patterns.structural.bridge;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Patrón Bridge: ReporteCSVImpl
+ *
+ * Implementación concreta para generar reportes en formato CSV (RFC 4180).
+ *
+ * Justificación:
+ * - Implementa la interfaz ReporteImplementor para formato CSV
+ * - Formato de intercambio que cualquier hoja de cálculo o sistema puede importar
+ * - Se escribe fila a fila: la memoria no depende del número de filas
+ *
+ * @author Clínica Veterinaria Team
+ * @version 1.0
+ * @since 2025-11-20
+ */
+@Slf4j
+@Component
+public class ReporteCSVImpl implements ReporteImplementor {
+
+    private static final char SEPARADOR = ',';
+    private static final String FIN_LINEA = "\r\n";
+    // BOM para que Excel detecte UTF-8 (tildes y eñes)
+    private static final char BOM = '\uFEFF';
+
+    @Override
+    public byte[] generarReporte(Map<String, Object> datos, String titulo) {
+        log.info("Generando reporte CSV: {}", titulo);
+
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        try {
+            EscritorReporte escritor = abrirEscritura(titulo, List.of("Campo", "Valor"), salida);
+            for (Map.Entry<String, Object> entry : datos.entrySet()) {
+                escritor.escribirFila(Arrays.asList(entry.getKey(), entry.getValue()));
+            }
+            escritor.terminar();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error al generar reporte CSV", e);
+        }
+
+        log.debug("Reporte CSV generado con {} campos", datos.size());
+        return salida.toByteArray();
+    }
+
+    /**
+     * La primera línea son los encabezados; el título no se incluye para que el archivo
+     * pueda importarse directamente.
+     */
+    @Override
+    public EscritorReporte abrirEscritura(String titulo, List<String> columnas, OutputStream salida)
+            throws IOException {
+        // No se cierra: cerrarlo cerraría la salida
+        Writer writer = new BufferedWriter(new OutputStreamWriter(salida, StandardCharsets.UTF_8));
+        writer.write(BOM);
+        escribirLinea(writer, columnas);
+        return new EscritorReporte() {
+            @Override
+            public void escribirFila(List<?> valores) throws IOException {
+                escribirLinea(writer, valores);
+            }
+
+            @Override
+            public void terminar() throws IOException {
+                writer.flush();
+            }
+        };
+    }
+
+    private static void escribirLinea(Writer writer, List<?> valores) throws IOException {
+        for (int i = 0; i < valores.size(); i++) {
+            if (i > 0) {
+                writer.write(SEPARADOR);
+            }
+            writer.write(formatear(valores.get(i)));
+        }
+        writer.write(FIN_LINEA);
+    }
+
+    private static String formatear(Object valor) {
+        if (valor == null) {
+            return "";
+        }
+        if (valor instanceof Number numero) {
+            return numero instanceof BigDecimal decimal ? decimal.toPlainString() : numero.toString();
+        }
+        String texto = valor.toString();
+        // Evita que la hoja de cálculo interprete el texto como fórmula
+        if (!texto.isEmpty() && "=+-@".indexOf(texto.charAt(0)) >= 0) {
+            texto = "'" + texto;
+        }
+        if (texto.indexOf(SEPARADOR) >= 0 || texto.indexOf('"') >= 0
+                || texto.indexOf('\n') >= 0 || texto.indexOf('\r') >= 0) {
+            return '"' + texto.replace("\"", "\"\"") + '"';
+        }
+        return texto;
+    }
+
+    @Override
+    public String getTipoMime() {
+        return "text/csv";
+    }
+
+    @Override
+    public String getExtension() {
+        return "csv";
+    }
+}
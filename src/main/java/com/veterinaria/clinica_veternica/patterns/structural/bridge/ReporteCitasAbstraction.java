@@ -1,15 +1,17 @@
 package com.veterinaria.clinica_veternica.patterns.structural.bridge;
 
-import com.veterinaria.clinica_veternica.domain.agenda.Cita;
 import com.veterinaria.clinica_veternica.repository.CitaRepository;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Patrón Bridge: ReporteCitasAbstraction
@@ -29,6 +31,10 @@ import java.util.Map;
 @Slf4j
 public class ReporteCitasAbstraction extends ReporteAbstraction {
 
+    private static final List<String> COLUMNAS = List.of("ID", "Mascota", "Veterinario", "Fecha", "Hora", "Estado");
+    private static final List<String> CLAVES = List.of("id", "mascota", "veterinario", "fecha", "hora", "estado");
+    private static final int TAMANIO_LOTE = 500;
+
     private final CitaRepository citaRepository;
     private LocalDate fechaInicio;
     private LocalDate fechaFin;
@@ -48,33 +54,47 @@ public class ReporteCitasAbstraction extends ReporteAbstraction {
     protected Map<String, Object> recopilarDatos() {
         log.debug("Recopilando datos de citas desde {} hasta {}", fechaInicio, fechaFin);
 
-        List<Cita> citas;
-        if (fechaInicio != null && fechaFin != null) {
-            java.time.LocalDateTime inicio = fechaInicio.atStartOfDay();
-            java.time.LocalDateTime fin = fechaFin.atTime(23, 59, 59);
-            citas = citaRepository.findCitasEnRango(inicio, fin);
-        } else {
-            citas = citaRepository.findAll();
-        }
+        List<Map<String, Object>> citas = new ArrayList<>();
+        recorrerFilas(fila -> {
+            Map<String, Object> cita = new LinkedHashMap<>();
+            for (int i = 0; i < CLAVES.size(); i++) {
+                Object valor = fila.get(i);
+                cita.put(CLAVES.get(i), valor == null || valor instanceof Number ? valor : valor.toString());
+            }
+            citas.add(cita);
+        });
 
         Map<String, Object> datos = new HashMap<>();
         datos.put("totalCitas", citas.size());
         datos.put("fechaInicio", fechaInicio != null ? fechaInicio.toString() : "N/A");
         datos.put("fechaFin", fechaFin != null ? fechaFin.toString() : "N/A");
-        datos.put("citas", citas.stream()
-                .map(cita -> Map.of(
-                        "id", cita.getIdCita(),
-                        "mascota", cita.getMascota().getNombre(),
-                        "veterinario", cita.getVeterinario().getNombreCompleto(),
-                        "fecha", cita.getFechaCita().toString(),
-                        "hora", cita.getHoraCita().toString(),
-                        "estado", cita.getEstado().toString()
-                ))
-                .toList());
+        datos.put("citas", citas);
 
         return datos;
     }
 
+    @Override
+    protected List<String> obtenerColumnas() {
+        return COLUMNAS;
+    }
+
+    /**
+     * Recorre las citas del rango (o todas si no hay rango) con un cursor de BD; mascota y
+     * veterinario se cargan en la misma consulta.
+     */
+    @Override
+    protected long recorrerFilas(Consumer<List<?>> consumidor) {
+        LocalDateTime inicio = fechaInicio != null && fechaFin != null ? fechaInicio.atStartOfDay() : null;
+        LocalDateTime fin = fechaInicio != null && fechaFin != null ? fechaFin.atTime(23, 59, 59) : null;
+        return citaRepository.recorrerCitas(inicio, fin, null, TAMANIO_LOTE, cita -> consumidor.accept(Arrays.asList(
+                cita.getIdCita(),
+                cita.getMascota().getNombre(),
+                cita.getVeterinario().getNombreCompleto(),
+                cita.getFechaCita(),
+                cita.getHoraCita(),
+                cita.getEstado())));
+    }
+
     @Override
     protected String obtenerTitulo() {
         return "Reporte de Citas" + 
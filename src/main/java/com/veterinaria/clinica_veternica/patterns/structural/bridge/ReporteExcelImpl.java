@@ -3,17 +3,35 @@ package com.veterinaria.clinica_veternica.patterns.structural.bridge;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 /**
  * Patrón Bridge: ReporteExcelImpl
  *
- * Implementación concreta para generar reportes en formato Excel.
+ * Implementación concreta para generar reportes en formato Excel (xlsx).
  *
  * Justificación:
  * - Implementa la interfaz ReporteImplementor para formato Excel
- * - En producción, usaría Apache POI para generar archivos Excel reales
- * - Aquí se simula la generación de Excel
+ * - Escribe el paquete OOXML directamente: las partes fijas del libro al inicio y la hoja
+ *   fila a fila, con cadenas en línea (sin tabla de cadenas compartidas), de modo que la
+ *   memoria no depende del número de filas
  *
  * @author Clínica Veterinaria Team
  * @version 1.0
@@ -23,25 +41,116 @@ import java.util.Map;
 @Component
 public class ReporteExcelImpl implements ReporteImplementor {
 
+    private static final String NS_MAIN = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+    private static final String NS_REL = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+    private static final String NS_PKG_REL = "http://schemas.openxmlformats.org/package/2006/relationships";
+    private static final String XML_DECL = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n";
+
+    private static final String CONTENT_TYPES = XML_DECL
+            + "<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">"
+            + "<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>"
+            + "<Default Extension=\"xml\" ContentType=\"application/xml\"/>"
+            + "<Override PartName=\"/xl/workbook.xml\" "
+            + "ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>"
+            + "<Override PartName=\"/xl/worksheets/sheet1.xml\" "
+            + "ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>"
+            + "<Override PartName=\"/xl/styles.xml\" "
+            + "ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.styles+xml\"/>"
+            + "</Types>";
+
+    private static final String RELS = XML_DECL
+            + "<Relationships xmlns=\"" + NS_PKG_REL + "\">"
+            + "<Relationship Id=\"rId1\" Type=\"" + NS_REL + "/officeDocument\" Target=\"xl/workbook.xml\"/>"
+            + "</Relationships>";
+
+    private static final String WORKBOOK = XML_DECL
+            + "<workbook xmlns=\"" + NS_MAIN + "\" xmlns:r=\"" + NS_REL + "\">"
+            + "<sheets><sheet name=\"Reporte\" sheetId=\"1\" r:id=\"rId1\"/></sheets>"
+            + "</workbook>";
+
+    private static final String WORKBOOK_RELS = XML_DECL
+            + "<Relationships xmlns=\"" + NS_PKG_REL + "\">"
+            + "<Relationship Id=\"rId1\" Type=\"" + NS_REL + "/worksheet\" Target=\"worksheets/sheet1.xml\"/>"
+            + "<Relationship Id=\"rId2\" Type=\"" + NS_REL + "/styles\" Target=\"styles.xml\"/>"
+            + "</Relationships>";
+
+    // Estilos (índice en cellXfs): 0 normal, 1 negrita, 2 fecha, 3 hora, 4 fecha y hora
+    private static final String STYLES = XML_DECL
+            + "<styleSheet xmlns=\"" + NS_MAIN + "\">"
+            + "<fonts count=\"2\"><font><sz val=\"11\"/><name val=\"Calibri\"/></font>"
+            + "<font><b/><sz val=\"11\"/><name val=\"Calibri\"/></font></fonts>"
+            + "<fills count=\"2\"><fill><patternFill patternType=\"none\"/></fill>"
+            + "<fill><patternFill patternType=\"gray125\"/></fill></fills>"
+            + "<borders count=\"1\"><border><left/><right/><top/><bottom/><diagonal/></border></borders>"
+            + "<cellStyleXfs count=\"1\"><xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\"/></cellStyleXfs>"
+            + "<cellXfs count=\"5\">"
+            + "<xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\"/>"
+            + "<xf numFmtId=\"0\" fontId=\"1\" fillId=\"0\" borderId=\"0\" xfId=\"0\" applyFont=\"1\"/>"
+            + "<xf numFmtId=\"14\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\" applyNumberFormat=\"1\"/>"
+            + "<xf numFmtId=\"20\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\" applyNumberFormat=\"1\"/>"
+            + "<xf numFmtId=\"22\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\" applyNumberFormat=\"1\"/>"
+            + "</cellXfs>"
+            + "<cellStyles count=\"1\"><cellStyle name=\"Normal\" xfId=\"0\" builtinId=\"0\"/></cellStyles>"
+            + "</styleSheet>";
+
+    private static final int ESTILO_NEGRITA = 1;
+    private static final int ESTILO_FECHA = 2;
+    private static final int ESTILO_HORA = 3;
+    private static final int ESTILO_FECHA_HORA = 4;
+
+    /** Día 0 de las fechas seriales de Excel (sistema 1900). */
+    private static final long EPOCA_EXCEL = LocalDate.of(1899, 12, 30).toEpochDay();
+    private static final int MAX_CARACTERES_CELDA = 32_767;
+
     @Override
     public byte[] generarReporte(Map<String, Object> datos, String titulo) {
         log.info("Generando reporte Excel: {}", titulo);
 
-        // Simulación de generación de Excel
-        // En producción, aquí se usaría Apache POI para generar el Excel real
-        StringBuilder contenido = new StringBuilder();
-        contenido.append(titulo).append("\n");
-        contenido.append("Columna1\tColumna2\tColumna3\n");
-
-        int fila = 1;
-        for (Map.Entry<String, Object> entry : datos.entrySet()) {
-            contenido.append(entry.getKey()).append("\t")
-                    .append(entry.getValue()).append("\t")
-                    .append("Fila ").append(fila++).append("\n");
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        try {
+            // Valores simples como filas Campo/Valor; cada lista de filas como tabla propia debajo
+            EscritorXlsx escritor = new EscritorXlsx(titulo, List.of("Campo", "Valor"), salida);
+            for (Map.Entry<String, Object> entry : datos.entrySet()) {
+                if (!esTabla(entry.getValue())) {
+                    escritor.escribirFila(Arrays.asList(entry.getKey(), entry.getValue()));
+                }
+            }
+            for (Map.Entry<String, Object> entry : datos.entrySet()) {
+                if (esTabla(entry.getValue())) {
+                    escribirTabla(escritor, entry.getKey(), (Collection<?>) entry.getValue());
+                }
+            }
+            escritor.terminar();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error al generar reporte Excel", e);
         }
 
         log.debug("Reporte Excel generado con {} campos", datos.size());
-        return contenido.toString().getBytes();
+        return salida.toByteArray();
+    }
+
+    private static boolean esTabla(Object valor) {
+        return valor instanceof Collection<?> coleccion && !coleccion.isEmpty()
+                && coleccion.iterator().next() instanceof Map;
+    }
+
+    private static void escribirTabla(EscritorXlsx escritor, String nombre, Collection<?> filas) throws IOException {
+        List<String> columnas = ((Map<?, ?>) filas.iterator().next()).keySet().stream()
+                .map(String::valueOf)
+                .toList();
+        escritor.escribirFila(List.of());
+        escritor.escribirFilaConEstilo(List.of(nombre), ESTILO_NEGRITA);
+        escritor.escribirFilaConEstilo(columnas, ESTILO_NEGRITA);
+        for (Object fila : filas) {
+            Map<?, ?> mapa = (Map<?, ?>) fila;
+            escritor.escribirFila(columnas.stream().map(mapa::get).toList());
+        }
+    }
+
+    @Override
+    public EscritorReporte abrirEscritura(String titulo, List<String> columnas, OutputStream salida)
+            throws IOException {
+        return new EscritorXlsx(titulo, columnas, salida);
     }
 
     @Override
@@ -53,5 +162,121 @@ public class ReporteExcelImpl implements ReporteImplementor {
     public String getExtension() {
         return "xlsx";
     }
-}
 
+    /**
+     * Escritor xlsx: fila 1 título, fila 2 encabezados, datos desde la fila 3.
+     */
+    private static final class EscritorXlsx implements EscritorReporte {
+
+        private final ZipOutputStream zip;
+        private final Writer hoja;
+        private int fila;
+
+        private EscritorXlsx(String titulo, List<String> columnas, OutputStream salida) throws IOException {
+            this.zip = new ZipOutputStream(salida, StandardCharsets.UTF_8);
+            escribirParte("[Content_Types].xml", CONTENT_TYPES);
+            escribirParte("_rels/.rels", RELS);
+            escribirParte("xl/workbook.xml", WORKBOOK);
+            escribirParte("xl/_rels/workbook.xml.rels", WORKBOOK_RELS);
+            escribirParte("xl/styles.xml", STYLES);
+
+            zip.putNextEntry(new ZipEntry("xl/worksheets/sheet1.xml"));
+            // No se cierra: cerrarlo cerraría el zip y la salida
+            this.hoja = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8));
+            hoja.write(XML_DECL);
+            hoja.write("<worksheet xmlns=\"" + NS_MAIN + "\"><sheetData>");
+            escribirFilaConEstilo(List.of(titulo), ESTILO_NEGRITA);
+            escribirFilaConEstilo(columnas, ESTILO_NEGRITA);
+        }
+
+        private void escribirParte(String nombre, String contenido) throws IOException {
+            zip.putNextEntry(new ZipEntry(nombre));
+            zip.write(contenido.getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+
+        @Override
+        public void escribirFila(List<?> valores) throws IOException {
+            escribirFilaConEstilo(valores, 0);
+        }
+
+        private void escribirFilaConEstilo(List<?> valores, int estilo) throws IOException {
+            fila++;
+            hoja.write("<row r=\"");
+            hoja.write(Integer.toString(fila));
+            hoja.write("\">");
+            for (int columna = 0; columna < valores.size(); columna++) {
+                escribirCelda(referencia(columna, fila), valores.get(columna), estilo);
+            }
+            hoja.write("</row>");
+        }
+
+        private void escribirCelda(String referencia, Object valor, int estilo) throws IOException {
+            if (valor == null) {
+                return;
+            }
+            if (valor instanceof Number numero && estilo == 0) {
+                String texto = numero instanceof BigDecimal decimal ? decimal.toPlainString() : numero.toString();
+                hoja.write("<c r=\"" + referencia + "\"><v>" + texto + "</v></c>");
+            } else if (valor instanceof Boolean logico && estilo == 0) {
+                hoja.write("<c r=\"" + referencia + "\" t=\"b\"><v>" + (logico ? 1 : 0) + "</v></c>");
+            } else if (valor instanceof LocalDate fecha && estilo == 0) {
+                escribirSerial(referencia, fecha.toEpochDay() - EPOCA_EXCEL, ESTILO_FECHA);
+            } else if (valor instanceof LocalTime hora && estilo == 0) {
+                escribirSerial(referencia, hora.toSecondOfDay() / 86_400d, ESTILO_HORA);
+            } else if (valor instanceof LocalDateTime fechaHora && estilo == 0) {
+                escribirSerial(referencia, fechaHora.toLocalDate().toEpochDay() - EPOCA_EXCEL
+                        + fechaHora.toLocalTime().toSecondOfDay() / 86_400d, ESTILO_FECHA_HORA);
+            } else {
+                hoja.write("<c r=\"" + referencia + "\" t=\"inlineStr\"" + (estilo != 0 ? " s=\"" + estilo + "\"" : "")
+                        + "><is><t xml:space=\"preserve\">");
+                escaparXml(valor.toString());
+                hoja.write("</t></is></c>");
+            }
+        }
+
+        private void escribirSerial(String referencia, double serial, int estilo) throws IOException {
+            String texto = serial == Math.rint(serial) ? Long.toString((long) serial) : Double.toString(serial);
+            hoja.write("<c r=\"" + referencia + "\" s=\"" + estilo + "\"><v>" + texto + "</v></c>");
+        }
+
+        private void escaparXml(String texto) throws IOException {
+            int longitud = Math.min(texto.length(), MAX_CARACTERES_CELDA);
+            for (int i = 0; i < longitud; i++) {
+                char c = texto.charAt(i);
+                switch (c) {
+                    case '&' -> hoja.write("&amp;");
+                    case '<' -> hoja.write("&lt;");
+                    case '>' -> hoja.write("&gt;");
+                    case '"' -> hoja.write("&quot;");
+                    default -> {
+                        // Caracteres de control no permitidos en XML 1.0
+                        if (c >= 0x20 || c == '\t' || c == '\n' || c == '\r') {
+                            hoja.write(c);
+                        }
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void terminar() throws IOException {
+            hoja.write("</sheetData></worksheet>");
+            hoja.flush();
+            zip.closeEntry();
+            zip.finish();
+            zip.flush();
+        }
+
+        /**
+         * Referencia de celda estilo A1 (columna base 0, fila base 1).
+         */
+        private static String referencia(int columna, int fila) {
+            StringBuilder letras = new StringBuilder();
+            for (int n = columna + 1; n > 0; n = (n - 1) / 26) {
+                letras.insert(0, (char) ('A' + (n - 1) % 26));
+            }
+            return letras.append(fila).toString();
+        }
+    }
+}
@@ -1,5 +1,11 @@
 package com.veterinaria.clinica_veternica.patterns.structural.bridge;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -28,6 +34,44 @@ public interface ReporteImplementor {
      */
     byte[] generarReporte(Map<String, Object> datos, String titulo);
 
+    /**
+     * Abre la escritura en streaming de un reporte tabular sobre la salida indicada.
+     *
+     * Por defecto acumula las filas y al terminar escribe el resultado de
+     * {@link #generarReporte(Map, String)} (datos "columnas", "filas" y "totalFilas"): los
+     * formatos que admiten escritura incremental deben sobrescribirlo.
+     *
+     * @param titulo Título del reporte
+     * @param columnas Encabezados de las columnas
+     * @param salida Salida del reporte (no se cierra)
+     * @return Escritor de filas
+     * @throws IOException si falla la escritura del encabezado
+     */
+    default EscritorReporte abrirEscritura(String titulo, List<String> columnas, OutputStream salida)
+            throws IOException {
+        List<Map<String, Object>> filas = new ArrayList<>();
+        return new EscritorReporte() {
+            @Override
+            public void escribirFila(List<?> valores) {
+                Map<String, Object> fila = new LinkedHashMap<>();
+                for (int i = 0; i < columnas.size(); i++) {
+                    fila.put(columnas.get(i), i < valores.size() ? valores.get(i) : null);
+                }
+                filas.add(fila);
+            }
+
+            @Override
+            public void terminar() throws IOException {
+                Map<String, Object> datos = new HashMap<>();
+                datos.put("columnas", columnas);
+                datos.put("filas", filas);
+                datos.put("totalFilas", filas.size());
+                salida.write(generarReporte(datos, titulo));
+                salida.flush();
+            }
+        };
+    }
+
     /**
      * Obtiene el tipo MIME del formato.
      *
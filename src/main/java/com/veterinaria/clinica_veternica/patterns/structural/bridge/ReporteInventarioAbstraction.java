@@ -0,0 +1,108 @@
+package com.veterinaria.clinica_veternica.patterns.structural.bridge;
+
+import com.veterinaria.clinica_veternica.domain.inventario.Inventario;
+import com.veterinaria.clinica_veternica.domain.inventario.Insumo;
+import com.veterinaria.clinica_veternica.repository.InventarioRepository;
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Patrón Bridge: ReporteInventarioAbstraction
+ *
+ * Abstracción concreta para reportes de inventario: existencias, stock mínimo y
+ * valorización de cada insumo. El formato lo define ReporteImplementor.
+ *
+ * @author Clínica Veterinaria Team
+ * @version 1.0
+ * @since 2025-11-20
+ */
+@Slf4j
+public class ReporteInventarioAbstraction extends ReporteAbstraction {
+
+    private static final List<String> COLUMNAS = List.of(
+            "ID", "Código", "Insumo", "Tipo", "Cantidad", "Stock Mínimo", "Valor Total", "Requiere Reorden");
+    private static final List<String> CLAVES = List.of(
+            "id", "codigo", "insumo", "tipo", "cantidad", "stockMinimo", "valorTotal", "requiereReorden");
+
+    private final InventarioRepository inventarioRepository;
+
+    public ReporteInventarioAbstraction(ReporteImplementor implementor, InventarioRepository inventarioRepository) {
+        super(implementor);
+        this.inventarioRepository = inventarioRepository;
+    }
+
+    @Override
+    protected Map<String, Object> recopilarDatos() {
+        log.debug("Recopilando datos de inventario");
+
+        List<Map<String, Object>> inventario = new ArrayList<>();
+        AtomicLong stockBajo = new AtomicLong();
+        AtomicReference<BigDecimal> valorTotal = new AtomicReference<>(BigDecimal.ZERO);
+        recorrerFilas(fila -> {
+            Map<String, Object> item = new LinkedHashMap<>();
+            for (int i = 0; i < CLAVES.size(); i++) {
+                item.put(CLAVES.get(i), fila.get(i));
+            }
+            if (Boolean.TRUE.equals(item.get("requiereReorden"))) {
+                stockBajo.incrementAndGet();
+            }
+            if (item.get("valorTotal") instanceof BigDecimal valor) {
+                valorTotal.accumulateAndGet(valor, BigDecimal::add);
+            }
+            inventario.add(item);
+        });
+
+        Map<String, Object> datos = new HashMap<>();
+        datos.put("totalItems", inventario.size());
+        datos.put("totalStockBajo", stockBajo.get());
+        datos.put("valorTotalInventario", valorTotal.get());
+        datos.put("inventario", inventario);
+
+        return datos;
+    }
+
+    @Override
+    protected List<String> obtenerColumnas() {
+        return COLUMNAS;
+    }
+
+    /**
+     * Recorre el inventario con su insumo y tipo en una sola consulta, leída por lotes.
+     */
+    @Override
+    protected long recorrerFilas(Consumer<List<?>> consumidor) {
+        long total = 0;
+        try (Stream<Inventario> inventarios = inventarioRepository.recorrerConInsumo()) {
+            for (Inventario inventario : (Iterable<Inventario>) inventarios::iterator) {
+                Insumo insumo = inventario.getInsumo();
+                consumidor.accept(Arrays.asList(
+                        inventario.getIdInventario(),
+                        insumo.getCodigo(),
+                        insumo.getNombre(),
+                        insumo.getTipoInsumo().getNombre(),
+                        inventario.getCantidadActual(),
+                        insumo.getStockMinimo(),
+                        inventario.getValorTotal(),
+                        inventario.getRequiereReorden()));
+                total++;
+            }
+        }
+        return total;
+    }
+
+    @Override
+    protected String obtenerTitulo() {
+        return "Reporte de Inventario";
+    }
+}
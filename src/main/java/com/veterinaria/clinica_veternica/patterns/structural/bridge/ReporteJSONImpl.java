@@ -1,6 +1,8 @@
 package com.veterinaria.clinica_veternica.patterns.structural.bridge;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
@@ -25,7 +27,10 @@ import java.util.Map;
 @Component
 public class ReporteJSONImpl implements ReporteImplementor {
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    // Las filas de los reportes llevan fechas y horas: se serializan en formato ISO
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
 
     @Override
     public byte[] generarReporte(Map<String, Object> datos, String titulo) {
@@ -3,7 +3,22 @@ package com.veterinaria.clinica_veternica.patterns.structural.bridge;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.zip.DeflaterOutputStream;
 
 /**
  * Patrón Bridge: ReportePDFImpl
@@ -12,8 +27,13 @@ import java.util.Map;
  *
  * Justificación:
  * - Implementa la interfaz ReporteImplementor para formato PDF
- * - En producción, usaría una librería como Apache PDFBox o iText
- * - Aquí se simula la generación de PDF
+ * - Escribe el PDF directamente como tabla paginada (A4 horizontal): cada página se emite a
+ *   la salida en cuanto se llena, con su contenido comprimido (Flate), y al final se escriben
+ *   el árbol de páginas y la tabla de referencias cruzadas. Solo se retiene en memoria la
+ *   página en curso y la posición de cada objeto, de modo que decenas de miles de filas no
+ *   requieren el documento completo en memoria
+ * - Usa las fuentes estándar Helvetica (sin incrustar) con codificación WinAnsi, definidas
+ *   una sola vez y compartidas por todas las páginas
  *
  * @author Clínica Veterinaria Team
  * @version 1.0
@@ -23,19 +43,88 @@ import java.util.Map;
 @Component
 public class ReportePDFImpl implements ReporteImplementor {
 
+    private static final Charset WIN_ANSI = Charset.forName("windows-1252");
+
+    // A4 horizontal, en puntos
+    private static final float ANCHO_PAGINA = 842f;
+    private static final float ALTO_PAGINA = 595f;
+    private static final float MARGEN = 36f;
+    private static final float TAMANIO_TITULO = 14f;
+    private static final float TAMANIO_TEXTO = 8f;
+    private static final float ALTO_FILA = 12f;
+    private static final float RELLENO_CELDA = 4f;
+
+    // Objetos fijos: 1 catálogo, 2 árbol de páginas (se escribe al final), 3-4 fuentes, 5 información
+    private static final int OBJ_CATALOGO = 1;
+    private static final int OBJ_PAGINAS = 2;
+    private static final int OBJ_FUENTE = 3;
+    private static final int OBJ_FUENTE_NEGRITA = 4;
+    private static final int OBJ_INFO = 5;
+
+    /** Anchos de Helvetica (1/1000 em) para los caracteres 32-126, según sus métricas AFM. */
+    private static final short[] ANCHOS_HELVETICA = {
+            278, 278, 355, 556, 556, 889, 667, 191, 333, 333, 389, 584, 278, 333, 278, 278,
+            556, 556, 556, 556, 556, 556, 556, 556, 556, 556, 278, 278, 584, 584, 584, 556,
+            1015, 667, 667, 722, 722, 667, 611, 778, 722, 278, 500, 667, 556, 833, 722, 778,
+            667, 778, 722, 667, 611, 722, 667, 944, 667, 667, 611, 278, 278, 278, 469, 556,
+            333, 556, 556, 500, 556, 556, 278, 556, 556, 222, 222, 500, 222, 833, 556, 556,
+            556, 556, 333, 500, 278, 556, 500, 722, 500, 500, 500, 334, 260, 334, 584
+    };
+    private static final short ANCHO_POR_DEFECTO = 556;
+    // Margen para la negrita, algo más ancha que la regular
+    private static final float FACTOR_NEGRITA = 1.1f;
+
     @Override
     public byte[] generarReporte(Map<String, Object> datos, String titulo) {
         log.info("Generando reporte PDF: {}", titulo);
 
-        // Simulación de generación de PDF
-        // En producción, aquí se usaría Apache PDFBox o iText para generar el PDF real
-        StringBuilder contenido = new StringBuilder();
-        contenido.append("=== ").append(titulo).append(" ===\n\n");
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        try {
+            EscritorPdf escritor = new EscritorPdf(titulo, salida);
 
-        datos.forEach((key, value) -> contenido.append(key).append(": ").append(value).append("\n"));
+            // Valores simples como tabla Campo/Valor; cada lista de filas como tabla propia
+            escritor.iniciarTabla(null, List.of("Campo", "Valor"));
+            for (Map.Entry<String, Object> entry : datos.entrySet()) {
+                if (!esTabla(entry.getValue())) {
+                    escritor.escribirFila(Arrays.asList(entry.getKey(), entry.getValue()));
+                }
+            }
+            for (Map.Entry<String, Object> entry : datos.entrySet()) {
+                if (esTabla(entry.getValue())) {
+                    escribirTabla(escritor, entry.getKey(), (Collection<?>) entry.getValue());
+                }
+            }
+            escritor.terminar();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error al generar reporte PDF", e);
+        }
 
         log.debug("Reporte PDF generado con {} campos", datos.size());
-        return contenido.toString().getBytes();
+        return salida.toByteArray();
+    }
+
+    private static boolean esTabla(Object valor) {
+        return valor instanceof Collection<?> coleccion && !coleccion.isEmpty()
+                && coleccion.iterator().next() instanceof Map;
+    }
+
+    private static void escribirTabla(EscritorPdf escritor, String nombre, Collection<?> filas) throws IOException {
+        List<String> columnas = ((Map<?, ?>) filas.iterator().next()).keySet().stream()
+                .map(String::valueOf)
+                .toList();
+        escritor.iniciarTabla(nombre, columnas);
+        for (Object fila : filas) {
+            Map<?, ?> mapa = (Map<?, ?>) fila;
+            escritor.escribirFila(columnas.stream().map(mapa::get).toList());
+        }
+    }
+
+    @Override
+    public EscritorReporte abrirEscritura(String titulo, List<String> columnas, OutputStream salida)
+            throws IOException {
+        EscritorPdf escritor = new EscritorPdf(titulo, salida);
+        escritor.iniciarTabla(null, columnas);
+        return escritor;
     }
 
     @Override
@@ -47,5 +136,257 @@ public class ReportePDFImpl implements ReporteImplementor {
     public String getExtension() {
         return "pdf";
     }
-}
 
+    /**
+     * Escritor PDF de tablas paginadas. El título va en la primera página; los encabezados de
+     * la tabla en curso se repiten en cada página.
+     */
+    private static final class EscritorPdf implements EscritorReporte {
+
+        private final SalidaContada salida;
+        private final String titulo;
+        // Posición de cada objeto (índice = número de objeto); el 2 se conoce al final
+        private final List<Long> posiciones = new ArrayList<>();
+        private final List<Integer> paginas = new ArrayList<>();
+
+        private ByteArrayOutputStream contenido;
+        private float y;
+        private List<String> columnas = List.of();
+        private float anchoColumna;
+
+        private EscritorPdf(String titulo, OutputStream salida) throws IOException {
+            this.salida = new SalidaContada(new BufferedOutputStream(salida));
+            this.titulo = titulo;
+            posiciones.add(0L);
+
+            // Cabecera con bytes binarios para que el archivo se trate como binario
+            escribir("%PDF-1.4\n%âãÏÓ\n");
+            escribirObjeto(OBJ_CATALOGO, "<< /Type /Catalog /Pages " + OBJ_PAGINAS + " 0 R >>");
+            posiciones.add(null);
+            escribirObjeto(OBJ_FUENTE, fuente("Helvetica"));
+            escribirObjeto(OBJ_FUENTE_NEGRITA, fuente("Helvetica-Bold"));
+            escribirObjeto(OBJ_INFO, "<< /Title " + cadenaPdf(titulo) + " /Producer (Clinica Veterinaria) >>");
+
+            nuevaPagina();
+            texto(MARGEN, y - TAMANIO_TITULO, TAMANIO_TITULO, true, titulo);
+            y -= TAMANIO_TITULO + ALTO_FILA;
+        }
+
+        private static String fuente(String nombre) {
+            return "<< /Type /Font /Subtype /Type1 /BaseFont /" + nombre + " /Encoding /WinAnsiEncoding >>";
+        }
+
+        /**
+         * Inicia una tabla (con nombre opcional como subtítulo) y escribe sus encabezados.
+         */
+        private void iniciarTabla(String nombre, List<String> columnas) throws IOException {
+            this.columnas = columnas;
+            this.anchoColumna = (ANCHO_PAGINA - 2 * MARGEN) / Math.max(1, columnas.size());
+            if (nombre != null) {
+                asegurarEspacio(3 * ALTO_FILA);
+                y -= ALTO_FILA;
+                texto(MARGEN, y, TAMANIO_TEXTO + 2, true, nombre);
+                y -= ALTO_FILA / 2;
+            }
+            asegurarEspacio(2 * ALTO_FILA);
+            escribirEncabezados();
+        }
+
+        private void escribirEncabezados() throws IOException {
+            y -= ALTO_FILA;
+            for (int i = 0; i < columnas.size(); i++) {
+                texto(MARGEN + i * anchoColumna + RELLENO_CELDA, y, TAMANIO_TEXTO, true,
+                        ajustar(columnas.get(i), true));
+            }
+            float linea = y - 3;
+            contenido.write(String.format(Locale.ROOT, "0.5 w %.2f %.2f m %.2f %.2f l S%n",
+                    MARGEN, linea, ANCHO_PAGINA - MARGEN, linea).getBytes(StandardCharsets.US_ASCII));
+            y -= 3;
+        }
+
+        @Override
+        public void escribirFila(List<?> valores) throws IOException {
+            if (y - ALTO_FILA < MARGEN + ALTO_FILA) {
+                cerrarPagina();
+                nuevaPagina();
+                escribirEncabezados();
+            }
+            y -= ALTO_FILA;
+            for (int i = 0; i < valores.size() && i < columnas.size(); i++) {
+                Object valor = valores.get(i);
+                if (valor != null) {
+                    texto(MARGEN + i * anchoColumna + RELLENO_CELDA, y, TAMANIO_TEXTO, false,
+                            ajustar(formatear(valor), false));
+                }
+            }
+        }
+
+        private void asegurarEspacio(float alto) throws IOException {
+            if (y - alto < MARGEN + ALTO_FILA) {
+                cerrarPagina();
+                nuevaPagina();
+            }
+        }
+
+        private void nuevaPagina() {
+            contenido = new ByteArrayOutputStream();
+            y = ALTO_PAGINA - MARGEN;
+        }
+
+        /**
+         * Emite la página en curso: pie con el número de página, contenido comprimido y
+         * objeto página.
+         */
+        private void cerrarPagina() throws IOException {
+            int numeroPagina = paginas.size() + 1;
+            texto(MARGEN, MARGEN / 2, TAMANIO_TEXTO, false, "Página " + numeroPagina);
+
+            ByteArrayOutputStream comprimido = new ByteArrayOutputStream();
+            try (DeflaterOutputStream deflater = new DeflaterOutputStream(comprimido)) {
+                contenido.writeTo(deflater);
+            }
+            int objContenido = posiciones.size();
+            posiciones.add(salida.getPosicion());
+            escribir(objContenido + " 0 obj\n<< /Length " + comprimido.size() + " /Filter /FlateDecode >>\nstream\n");
+            comprimido.writeTo(salida);
+            escribir("\nendstream\nendobj\n");
+
+            int objPagina = posiciones.size();
+            escribirObjeto(objPagina, "<< /Type /Page /Parent " + OBJ_PAGINAS + " 0 R"
+                    + " /MediaBox [0 0 " + (int) ANCHO_PAGINA + " " + (int) ALTO_PAGINA + "]"
+                    + " /Resources << /Font << /F1 " + OBJ_FUENTE + " 0 R /F2 " + OBJ_FUENTE_NEGRITA + " 0 R >> >>"
+                    + " /Contents " + objContenido + " 0 R >>");
+            paginas.add(objPagina);
+            contenido = null;
+        }
+
+        /**
+         * Cierra la última página y escribe el árbol de páginas, la tabla de referencias
+         * cruzadas y el trailer.
+         */
+        @Override
+        public void terminar() throws IOException {
+            cerrarPagina();
+
+            StringBuilder hijos = new StringBuilder();
+            for (Integer pagina : paginas) {
+                hijos.append(pagina).append(" 0 R ");
+            }
+            posiciones.set(OBJ_PAGINAS, salida.getPosicion());
+            escribir(OBJ_PAGINAS + " 0 obj\n<< /Type /Pages /Kids [" + hijos + "] /Count " + paginas.size()
+                    + " >>\nendobj\n");
+
+            long inicioXref = salida.getPosicion();
+            StringBuilder xref = new StringBuilder("xref\n0 ").append(posiciones.size()).append('\n');
+            xref.append("0000000000 65535 f \n");
+            for (int i = 1; i < posiciones.size(); i++) {
+                xref.append(String.format(Locale.ROOT, "%010d 00000 n \n", posiciones.get(i)));
+            }
+            escribir(xref.toString());
+            escribir("trailer\n<< /Size " + posiciones.size() + " /Root " + OBJ_CATALOGO + " 0 R /Info "
+                    + OBJ_INFO + " 0 R >>\nstartxref\n" + inicioXref + "\n%%EOF\n");
+            salida.flush();
+            log.debug("PDF '{}' escrito: {} páginas, {} bytes", titulo, paginas.size(), salida.getPosicion());
+        }
+
+        private void escribirObjeto(int numero, String cuerpo) throws IOException {
+            if (numero < posiciones.size()) {
+                posiciones.set(numero, salida.getPosicion());
+            } else {
+                posiciones.add(salida.getPosicion());
+            }
+            escribir(numero + " 0 obj\n" + cuerpo + "\nendobj\n");
+        }
+
+        private void escribir(String texto) throws IOException {
+            salida.write(texto.getBytes(StandardCharsets.ISO_8859_1));
+        }
+
+        private void texto(float x, float yTexto, float tamanio, boolean negrita, String valor) throws IOException {
+            contenido.write(String.format(Locale.ROOT, "BT /%s %.1f Tf %.2f %.2f Td %s Tj ET%n",
+                    negrita ? "F2" : "F1", tamanio, x, yTexto, cadenaPdf(valor)).getBytes(StandardCharsets.US_ASCII));
+        }
+
+        /**
+         * Recorta el texto con "..." si no cabe en la columna.
+         */
+        private String ajustar(String valor, boolean negrita) {
+            float disponible = (anchoColumna - 2 * RELLENO_CELDA) * 1000f / TAMANIO_TEXTO;
+            float factor = negrita ? FACTOR_NEGRITA : 1f;
+            if (ancho(valor) * factor <= disponible) {
+                return valor;
+            }
+            float limite = disponible - ancho("...") * factor;
+            float acumulado = 0;
+            int fin = 0;
+            while (fin < valor.length() && acumulado + anchoCaracter(valor.charAt(fin)) * factor <= limite) {
+                acumulado += anchoCaracter(valor.charAt(fin)) * factor;
+                fin++;
+            }
+            return valor.substring(0, fin) + "...";
+        }
+
+        private static float ancho(String valor) {
+            float total = 0;
+            for (int i = 0; i < valor.length(); i++) {
+                total += anchoCaracter(valor.charAt(i));
+            }
+            return total;
+        }
+
+        private static short anchoCaracter(char c) {
+            return c >= 32 && c <= 126 ? ANCHOS_HELVETICA[c - 32] : ANCHO_POR_DEFECTO;
+        }
+
+        private static String formatear(Object valor) {
+            return valor instanceof BigDecimal decimal ? decimal.toPlainString() : valor.toString();
+        }
+
+        /**
+         * Cadena literal PDF en WinAnsi, con los caracteres especiales y no ASCII escapados en
+         * octal (el contenido queda en ASCII).
+         */
+        private static String cadenaPdf(String valor) {
+            StringBuilder cadena = new StringBuilder(valor.length() + 2).append('(');
+            for (byte b : valor.getBytes(WIN_ANSI)) {
+                int c = b & 0xFF;
+                if (c == '(' || c == ')' || c == '\\') {
+                    cadena.append('\\').append((char) c);
+                } else if (c < 32 || c > 126) {
+                    cadena.append('\\').append(String.format("%03o", c));
+                } else {
+                    cadena.append((char) c);
+                }
+            }
+            return cadena.append(')').toString();
+        }
+    }
+
+    /**
+     * Salida que cuenta los bytes escritos (posiciones de la tabla de referencias cruzadas).
+     */
+    private static final class SalidaContada extends FilterOutputStream {
+
+        private long posicion;
+
+        private SalidaContada(OutputStream salida) {
+            super(salida);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            posicion++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            posicion += len;
+        }
+
+        private long getPosicion() {
+            return posicion;
+        }
+    }
+}
@@ -1,14 +1,19 @@
 package com.veterinaria.clinica_veternica.patterns.structural.bridge;
 
+import com.veterinaria.clinica_veternica.patterns.structural.facade.ReporteFacadeService;
 import com.veterinaria.clinica_veternica.repository.CitaRepository;
+import com.veterinaria.clinica_veternica.repository.InventarioRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
 
 /**
- * Servicio Factory para crear instancias de ReporteCitasAbstraction
- * con el implementor específico según el formato requerido.
+ * Servicio Factory para crear las abstracciones de reporte (citas, inventario,
+ * veterinarios) con el implementor específico según el formato requerido.
  *
  * Este servicio resuelve el problema de inyección de dependencias
  * cuando hay múltiples implementaciones de ReporteImplementor.
@@ -24,7 +29,10 @@ public class ReporteService {
     private final ReportePDFImpl reportePDF;
     private final ReporteExcelImpl reporteExcel;
     private final ReporteJSONImpl reporteJSON;
+    private final ReporteCSVImpl reporteCSV;
     private final CitaRepository citaRepository;
+    private final InventarioRepository inventarioRepository;
+    private final ReporteFacadeService reporteFacadeService;
 
     /**
      * Crea un reporte de citas en formato PDF.
@@ -62,10 +70,22 @@ public class ReporteService {
         return reporte.setRangoFechas(fechaInicio, fechaFin);
     }
 
+    /**
+     * Crea un reporte de citas en formato CSV.
+     *
+     * @param fechaInicio Fecha de inicio del rango
+     * @param fechaFin Fecha de fin del rango
+     * @return ReporteCitasAbstraction configurado para CSV
+     */
+    public ReporteCitasAbstraction crearReporteCSV(LocalDate fechaInicio, LocalDate fechaFin) {
+        ReporteCitasAbstraction reporte = new ReporteCitasAbstraction(reporteCSV, citaRepository);
+        return reporte.setRangoFechas(fechaInicio, fechaFin);
+    }
+
     /**
      * Crea un reporte de citas según el formato especificado.
      *
-     * @param formato Formato del reporte: "pdf", "excel", "json"
+     * @param formato Formato del reporte: "pdf", "excel", "json", "csv"
      * @param fechaInicio Fecha de inicio del rango
      * @param fechaFin Fecha de fin del rango
      * @return ReporteCitasAbstraction configurado
@@ -76,8 +96,58 @@ public class ReporteService {
             case "pdf" -> crearReportePDF(fechaInicio, fechaFin);
             case "excel", "xlsx" -> crearReporteExcel(fechaInicio, fechaFin);
             case "json" -> crearReporteJSON(fechaInicio, fechaFin);
+            case "csv" -> crearReporteCSV(fechaInicio, fechaFin);
             default -> throw new IllegalArgumentException("Formato no soportado: " + formato);
         };
     }
-}
 
+    /**
+     * Crea un reporte de inventario según el formato especificado.
+     *
+     * @param formato Formato del reporte: "pdf", "excel", "json", "csv"
+     * @return ReporteInventarioAbstraction configurado
+     * @throws IllegalArgumentException si el formato no es válido
+     */
+    public ReporteInventarioAbstraction crearReporteInventario(String formato) {
+        return new ReporteInventarioAbstraction(obtenerImplementor(formato), inventarioRepository);
+    }
+
+    /**
+     * Crea un reporte de atenciones por veterinario según el formato especificado.
+     *
+     * @param formato Formato del reporte: "pdf", "excel", "json", "csv"
+     * @param fechaInicio Fecha de inicio del rango
+     * @param fechaFin Fecha de fin del rango
+     * @return ReporteVeterinariosAbstraction configurado
+     * @throws IllegalArgumentException si el formato no es válido
+     */
+    public ReporteVeterinariosAbstraction crearReporteVeterinarios(String formato, LocalDate fechaInicio,
+                                                                   LocalDate fechaFin) {
+        return new ReporteVeterinariosAbstraction(obtenerImplementor(formato), reporteFacadeService)
+                .setRangoFechas(fechaInicio, fechaFin);
+    }
+
+    private ReporteImplementor obtenerImplementor(String formato) {
+        return switch (formato.toLowerCase()) {
+            case "pdf" -> reportePDF;
+            case "excel", "xlsx" -> reporteExcel;
+            case "json" -> reporteJSON;
+            case "csv" -> reporteCSV;
+            default -> throw new IllegalArgumentException("Formato no soportado: " + formato);
+        };
+    }
+
+    /**
+     * Escribe un reporte en streaming dentro de una transacción de solo lectura (el cursor de
+     * BD que recorre las filas requiere una transacción abierta mientras se escribe).
+     *
+     * @param reporte Reporte creado con {@link #crearReporte}
+     * @param salida Salida del reporte (no se cierra)
+     * @return Número de filas escritas
+     * @throws IOException si falla la escritura
+     */
+    @Transactional(readOnly = true)
+    public long escribir(ReporteAbstraction reporte, OutputStream salida) throws IOException {
+        return reporte.escribir(salida);
+    }
+}
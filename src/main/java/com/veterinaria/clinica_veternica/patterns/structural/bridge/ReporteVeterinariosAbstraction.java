@@ -0,0 +1,108 @@
+package com.veterinaria.clinica_veternica.patterns.structural.bridge;
+
+import com.veterinaria.clinica_veternica.dto.response.facade.ReporteVeterinariosDTO;
+import com.veterinaria.clinica_veternica.dto.response.facade.ReporteVeterinariosDTO.EstadisticaVeterinarioDTO;
+import com.veterinaria.clinica_veternica.patterns.structural.facade.ReporteFacadeService;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Patrón Bridge: ReporteVeterinariosAbstraction
+ *
+ * Abstracción concreta para el reporte de atenciones por veterinario en un período.
+ * Las filas salen del agregado diario de citas ({@link ReporteFacadeService}): hay una por
+ * veterinario con actividad, no una por cita.
+ *
+ * @author Clínica Veterinaria Team
+ * @version 1.0
+ * @since 2025-11-20
+ */
+@Slf4j
+public class ReporteVeterinariosAbstraction extends ReporteAbstraction {
+
+    private static final List<String> COLUMNAS = List.of(
+            "ID", "Veterinario", "Especialidad", "Citas Atendidas", "Citas Programadas");
+    private static final List<String> CLAVES = List.of(
+            "id", "veterinario", "especialidad", "citasAtendidas", "citasProgramadas");
+
+    private final ReporteFacadeService reporteFacadeService;
+    private LocalDate fechaInicio;
+    private LocalDate fechaFin;
+
+    public ReporteVeterinariosAbstraction(ReporteImplementor implementor, ReporteFacadeService reporteFacadeService) {
+        super(implementor);
+        this.reporteFacadeService = reporteFacadeService;
+    }
+
+    public ReporteVeterinariosAbstraction setRangoFechas(LocalDate fechaInicio, LocalDate fechaFin) {
+        this.fechaInicio = fechaInicio;
+        this.fechaFin = fechaFin;
+        return this;
+    }
+
+    @Override
+    protected Map<String, Object> recopilarDatos() {
+        log.debug("Recopilando atenciones por veterinario desde {} hasta {}", fechaInicio, fechaFin);
+
+        List<Map<String, Object>> veterinarios = new ArrayList<>();
+        AtomicLong totalAtenciones = new AtomicLong();
+        recorrerFilas(fila -> {
+            Map<String, Object> veterinario = new LinkedHashMap<>();
+            for (int i = 0; i < CLAVES.size(); i++) {
+                veterinario.put(CLAVES.get(i), fila.get(i));
+            }
+            totalAtenciones.addAndGet((Long) veterinario.get("citasAtendidas"));
+            veterinarios.add(veterinario);
+        });
+
+        Map<String, Object> datos = new HashMap<>();
+        datos.put("fechaInicio", fechaInicio.toString());
+        datos.put("fechaFin", fechaFin.toString());
+        datos.put("totalVeterinarios", veterinarios.size());
+        datos.put("totalAtenciones", totalAtenciones.get());
+        datos.put("veterinarios", veterinarios);
+
+        return datos;
+    }
+
+    @Override
+    protected List<String> obtenerColumnas() {
+        return COLUMNAS;
+    }
+
+    /**
+     * Recorre los veterinarios con actividad en el período, de más a menos atenciones.
+     */
+    @Override
+    protected long recorrerFilas(Consumer<List<?>> consumidor) {
+        ReporteVeterinariosDTO reporte = reporteFacadeService.generarReporteVeterinarios(fechaInicio, fechaFin);
+        List<EstadisticaVeterinarioDTO> estadisticas = reporte.getEstadisticasPorVeterinario().stream()
+                .sorted(Comparator.comparing(EstadisticaVeterinarioDTO::getTotalCitasAtendidas).reversed()
+                        .thenComparing(EstadisticaVeterinarioDTO::getIdVeterinario))
+                .toList();
+        for (EstadisticaVeterinarioDTO estadistica : estadisticas) {
+            consumidor.accept(Arrays.asList(
+                    estadistica.getIdVeterinario(),
+                    estadistica.getNombreVeterinario(),
+                    estadistica.getEspecialidad(),
+                    estadistica.getTotalCitasAtendidas(),
+                    estadistica.getTotalCitasProgramadas()));
+        }
+        return estadisticas.size();
+    }
+
+    @Override
+    protected String obtenerTitulo() {
+        return "Reporte de Atenciones por Veterinario (" + fechaInicio + " - " + fechaFin + ")";
+    }
+}
@@ -12,6 +12,7 @@ import com.veterinaria.clinica_veternica.util.ValidationHelper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
@@ -43,13 +44,16 @@ public class BusquedaFacadeService {
     private final IPropietarioService propietarioService;
     private final IVeterinarioService veterinarioService;
     private final ValidationHelper validationHelper;
+    private final EjecutorSecciones ejecutorSecciones;
 
     /**
      * Realiza una búsqueda global en mascotas, propietarios y veterinarios.
+     * Las tres búsquedas se ejecutan en paralelo (ver {@link EjecutorSecciones}).
      *
      * @param termino Término de búsqueda
      * @return BusquedaGlobalDTO con resultados de todas las entidades
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public BusquedaGlobalDTO busquedaGlobal(String termino) {
         log.info("BusquedaFacadeService: Búsqueda global con término: {}", termino);
 
@@ -57,25 +61,35 @@ public class BusquedaFacadeService {
         String terminoSanitizado = validationHelper.validateAndSanitizeSearchTerm(termino, 100);
 
         // Buscar en todas las entidades en paralelo
-        List<MascotaResponseDTO> mascotas = mascotaService.buscarPorNombre(terminoSanitizado);
-        List<PropietarioResponseDTO> propietarios = propietarioService.buscarPorNombre(terminoSanitizado);
-        List<VeterinarioResponseDTO> veterinarios = veterinarioService.buscarPorNombre(terminoSanitizado);
-
-        int totalResultados = mascotas.size() + propietarios.size() + veterinarios.size();
-
-        log.info("Búsqueda global completada: {} mascotas, {} propietarios, {} veterinarios (Total: {})",
-                mascotas.size(), propietarios.size(), veterinarios.size(), totalResultados);
-
-        return BusquedaGlobalDTO.builder()
-                .terminoBusqueda(terminoSanitizado)
-                .mascotas(mascotas)
-                .totalMascotas(mascotas.size())
-                .propietarios(propietarios)
-                .totalPropietarios(propietarios.size())
-                .veterinarios(veterinarios)
-                .totalVeterinarios(veterinarios.size())
-                .totalResultados(totalResultados)
-                .build();
+        try (EjecutorSecciones.FanOut fanOut = ejecutorSecciones.iniciar()) {
+            var seccionMascotas = fanOut.lanzar("mascotas",
+                    () -> mascotaService.buscarPorNombre(terminoSanitizado));
+            var seccionPropietarios = fanOut.lanzar("propietarios",
+                    () -> propietarioService.buscarPorNombre(terminoSanitizado));
+            var seccionVeterinarios = fanOut.lanzar("veterinarios",
+                    () -> veterinarioService.buscarPorNombre(terminoSanitizado));
+
+            List<MascotaResponseDTO> mascotas = fanOut.obtener(seccionMascotas, List.of());
+            List<PropietarioResponseDTO> propietarios = fanOut.obtener(seccionPropietarios, List.of());
+            List<VeterinarioResponseDTO> veterinarios = fanOut.obtener(seccionVeterinarios, List.of());
+
+            int totalResultados = mascotas.size() + propietarios.size() + veterinarios.size();
+
+            log.info("Búsqueda global completada: {} mascotas, {} propietarios, {} veterinarios (Total: {})",
+                    mascotas.size(), propietarios.size(), veterinarios.size(), totalResultados);
+
+            return BusquedaGlobalDTO.builder()
+                    .terminoBusqueda(terminoSanitizado)
+                    .mascotas(mascotas)
+                    .totalMascotas(mascotas.size())
+                    .propietarios(propietarios)
+                    .totalPropietarios(propietarios.size())
+                    .veterinarios(veterinarios)
+                    .totalVeterinarios(veterinarios.size())
+                    .totalResultados(totalResultados)
+                    .seccionesConError(fanOut.getSeccionesConError())
+                    .build();
+        }
     }
 
     /**
@@ -5,18 +5,15 @@ import com.veterinaria.clinica_veternica.dto.response.comunicacion.NotificacionR
 import com.veterinaria.clinica_veternica.dto.response.facade.DashboardResponseDTO;
 import com.veterinaria.clinica_veternica.dto.response.facade.EstadisticasGeneralesDTO;
 import com.veterinaria.clinica_veternica.dto.response.inventario.InventarioResponseDTO;
-import com.veterinaria.clinica_veternica.dto.response.paciente.MascotaResponseDTO;
-import com.veterinaria.clinica_veternica.dto.response.paciente.PropietarioResponseDTO;
-import com.veterinaria.clinica_veternica.dto.response.usuario.VeterinarioResponseDTO;
+import com.veterinaria.clinica_veternica.repository.EstadisticasRepository;
+import com.veterinaria.clinica_veternica.repository.EstadisticasRepository.ConteosGenerales;
 import com.veterinaria.clinica_veternica.service.interfaces.ICitaService;
 import com.veterinaria.clinica_veternica.service.interfaces.IInventarioService;
-import com.veterinaria.clinica_veternica.service.interfaces.IMascotaService;
 import com.veterinaria.clinica_veternica.service.interfaces.INotificacionService;
-import com.veterinaria.clinica_veternica.service.interfaces.IPropietarioService;
-import com.veterinaria.clinica_veternica.service.interfaces.IVeterinarioService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
@@ -47,42 +44,52 @@ public class DashboardFacadeService {
     private final ICitaService citaService;
     private final IInventarioService inventarioService;
     private final INotificacionService notificacionService;
-    private final IMascotaService mascotaService;
-    private final IPropietarioService propietarioService;
-    private final IVeterinarioService veterinarioService;
+    private final EstadisticasRepository estadisticasRepository;
+    private final EjecutorSecciones ejecutorSecciones;
 
     private static final int LIMITE_NOTIFICACIONES = 10;
 
     /**
      * Obtiene el dashboard completo con información resumida.
+     * Las cuatro secciones se consultan en paralelo, cada una en su propia transacción; si una
+     * falla o tarda demasiado, se devuelve vacía y se informa en {@code seccionesConError}.
      *
      * @return DashboardResponseDTO con datos del dashboard
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public DashboardResponseDTO obtenerDashboard() {
         log.info("DashboardFacadeService: Obteniendo dashboard completo");
 
-        List<CitaResponseDTO> citasHoy = obtenerCitasDelDia();
-        List<CitaResponseDTO> citasProgramadas = citaService.listarProgramadas();
-        List<InventarioResponseDTO> stockBajo = inventarioService.listarConStockBajo();
-        List<NotificacionResponseDTO> notificacionesRecientes = obtenerNotificacionesRecientes();
+        try (EjecutorSecciones.FanOut fanOut = ejecutorSecciones.iniciar()) {
+            var seccionCitasHoy = fanOut.lanzar("citasHoy", this::obtenerCitasDelDia);
+            var seccionProgramadas = fanOut.lanzar("citasProgramadas", citaService::listarProgramadas);
+            var seccionStockBajo = fanOut.lanzar("stockBajo", inventarioService::listarConStockBajo);
+            var seccionNotificaciones = fanOut.lanzar("notificacionesRecientes", this::obtenerNotificacionesRecientes);
 
-        log.info("Dashboard generado: {} citas hoy, {} stock bajo", citasHoy.size(), stockBajo.size());
+            List<CitaResponseDTO> citasHoy = fanOut.obtener(seccionCitasHoy, List.of());
+            List<CitaResponseDTO> citasProgramadas = fanOut.obtener(seccionProgramadas, List.of());
+            List<InventarioResponseDTO> stockBajo = fanOut.obtener(seccionStockBajo, List.of());
+            List<NotificacionResponseDTO> notificacionesRecientes = fanOut.obtener(seccionNotificaciones, List.of());
 
-        return DashboardResponseDTO.builder()
-                .citasHoy(citasHoy)
-                .totalCitasHoy(citasHoy.size())
-                .citasProgramadas(citasProgramadas)
-                .totalCitasProgramadas(citasProgramadas.size())
-                .stockBajo(stockBajo)
-                .totalStockBajo(stockBajo.size())
-                .notificacionesRecientes(notificacionesRecientes)
-                .totalNotificacionesRecientes(notificacionesRecientes.size())
-                .build();
+            log.info("Dashboard generado: {} citas hoy, {} stock bajo", citasHoy.size(), stockBajo.size());
+
+            return DashboardResponseDTO.builder()
+                    .citasHoy(citasHoy)
+                    .totalCitasHoy(citasHoy.size())
+                    .citasProgramadas(citasProgramadas)
+                    .totalCitasProgramadas(citasProgramadas.size())
+                    .stockBajo(stockBajo)
+                    .totalStockBajo(stockBajo.size())
+                    .notificacionesRecientes(notificacionesRecientes)
+                    .totalNotificacionesRecientes(notificacionesRecientes.size())
+                    .seccionesConError(fanOut.getSeccionesConError())
+                    .build();
+        }
     }
 
     /**
      * Obtiene estadísticas generales del sistema.
+     * Los conteos se calculan en la BD con una sola consulta, sin cargar entidades.
      *
      * @return EstadisticasGeneralesDTO con estadísticas
      */
@@ -90,20 +97,17 @@ public class DashboardFacadeService {
     public EstadisticasGeneralesDTO obtenerEstadisticasGenerales() {
         log.info("DashboardFacadeService: Calculando estadísticas generales");
 
-        List<MascotaResponseDTO> mascotas = mascotaService.listarActivas();
-        List<PropietarioResponseDTO> propietarios = propietarioService.listarActivos();
-        List<VeterinarioResponseDTO> veterinarios = veterinarioService.listarActivos();
-        List<CitaResponseDTO> citasProgramadas = citaService.listarProgramadas();
-        List<CitaResponseDTO> citasHoy = obtenerCitasDelDia();
-        List<InventarioResponseDTO> stockBajo = inventarioService.listarConStockBajo();
+        LocalDate hoy = LocalDate.now();
+        ConteosGenerales conteos = estadisticasRepository.contarGenerales(
+                hoy.atStartOfDay(), hoy.atTime(23, 59, 59));
 
         return EstadisticasGeneralesDTO.builder()
-                .totalPropietarios((long) propietarios.size())
-                .totalMascotas((long) mascotas.size())
-                .totalVeterinarios((long) veterinarios.size())
-                .totalCitasProgramadas((long) citasProgramadas.size())
-                .totalCitasHoy((long) citasHoy.size())
-                .insumosStockBajo(stockBajo.size())
+                .totalPropietarios(conteos.propietariosActivos())
+                .totalMascotas(conteos.mascotasActivas())
+                .totalVeterinarios(conteos.veterinariosActivos())
+                .totalCitasProgramadas(conteos.citasProgramadas())
+                .totalCitasHoy(conteos.citasHoy())
+                .insumosStockBajo((int) conteos.insumosStockBajo())
                 .build();
     }
 
@@ -0,0 +1,237 @@
+package com.veterinaria.clinica_veternica.patterns.structural.facade;
+
+import com.veterinaria.clinica_veternica.exception.BusinessException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Ejecución en paralelo de las secciones independientes de lectura de los facades
+ * (dashboard, información completa, búsqueda global).
+ *
+ * Cada sección se ejecuta en un hilo virtual, en su propia transacción de solo lectura, con el
+ * contexto de seguridad y los atributos de la petición del solicitante (los servicios usan
+ * {@code @PreAuthorize} y el actor de la petición). Cada sección tiene un tiempo máximo: si se
+ * supera o la sección falla, el facade recibe un valor por defecto y el nombre de la sección
+ * queda en {@link FanOut#getSeccionesConError()}, de modo que la respuesta es parcial en lugar
+ * de fallar entera. Las secciones obligatorias propagan su error.
+ *
+ * Un semáforo global limita las secciones simultáneas para no agotar el pool de conexiones.
+ * El tiempo máximo de una sección empieza a contar cuando obtiene su permiso; la espera por el
+ * permiso tiene su propio límite, y si se agota la sección se trata como no respondida.
+ *
+ * @author Clínica Veterinaria Team
+ * @version 1.0
+ * @since 2025-11-20
+ */
+@Slf4j
+@Component
+public class EjecutorSecciones {
+
+    private final TransactionTemplate transactionTemplate;
+    private final Duration timeout;
+    private final Duration esperaPermiso;
+    private final Semaphore permisos;
+
+    public EjecutorSecciones(PlatformTransactionManager transactionManager,
+                             @Value("${app.facade.secciones.timeout:3s}") Duration timeout,
+                             @Value("${app.facade.secciones.espera-permiso:2s}") Duration esperaPermiso,
+                             @Value("${app.facade.secciones.max-concurrentes:8}") int maxConcurrentes) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.timeout = timeout;
+        this.esperaPermiso = esperaPermiso;
+        this.permisos = new Semaphore(maxConcurrentes);
+    }
+
+    /**
+     * Inicia un grupo de secciones. Debe cerrarse (try-with-resources) para cancelar las
+     * secciones que sigan en curso.
+     *
+     * @return Grupo de secciones de la petición actual
+     */
+    public FanOut iniciar() {
+        return new FanOut();
+    }
+
+    /**
+     * Grupo de secciones lanzadas desde una misma petición.
+     */
+    public final class FanOut implements AutoCloseable {
+
+        private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        private final SecurityContext contextoSeguridad = SecurityContextHolder.getContext();
+        private final RequestAttributes atributosPeticion = RequestContextHolder.getRequestAttributes();
+        private final List<String> seccionesConError = new ArrayList<>();
+
+        private FanOut() {
+        }
+
+        /**
+         * Lanza una sección en un hilo virtual. El tiempo máximo cuenta desde que la sección
+         * obtiene su permiso, no desde el lanzamiento.
+         *
+         * @param nombre Nombre de la sección (se informa si falla)
+         * @param tarea Lectura de la sección
+         * @param <T> Tipo del resultado
+         * @return Sección en curso
+         */
+        public <T> Seccion<T> lanzar(String nombre, Supplier<T> tarea) {
+            CompletableFuture<Long> inicio = new CompletableFuture<>();
+            return new Seccion<>(nombre, executor.submit(() -> ejecutar(tarea, inicio)), inicio);
+        }
+
+        private <T> T ejecutar(Supplier<T> tarea, CompletableFuture<Long> inicio)
+                throws InterruptedException, TimeoutException {
+            boolean obtenido = false;
+            try {
+                obtenido = permisos.tryAcquire(esperaPermiso.toNanos(), TimeUnit.NANOSECONDS);
+            } finally {
+                if (obtenido) {
+                    inicio.complete(System.nanoTime() + timeout.toNanos());
+                } else {
+                    inicio.completeExceptionally(new TimeoutException("Sin permiso para ejecutar la sección"));
+                }
+            }
+            if (!obtenido) {
+                throw new TimeoutException("Sin permiso para ejecutar la sección");
+            }
+            SecurityContextHolder.setContext(contextoSeguridad);
+            RequestContextHolder.setRequestAttributes(atributosPeticion);
+            try {
+                return transactionTemplate.execute(status -> tarea.get());
+            } finally {
+                SecurityContextHolder.clearContext();
+                RequestContextHolder.resetRequestAttributes();
+                permisos.release();
+            }
+        }
+
+        /**
+         * Obtiene el resultado de una sección; si falla o no termina a tiempo, la registra como
+         * sección con error y devuelve el valor por defecto.
+         *
+         * @param seccion Sección lanzada
+         * @param porDefecto Valor si la sección no está disponible
+         * @param <T> Tipo del resultado
+         * @return Resultado de la sección o el valor por defecto
+         */
+        public <T> T obtener(Seccion<T> seccion, T porDefecto) {
+            try {
+                return esperar(seccion);
+            } catch (TimeoutException e) {
+                seccion.futuro.cancel(true);
+                log.warn("Sección '{}' sin respuesta a tiempo; se devuelve resultado parcial: {}",
+                        seccion.nombre, e.getMessage());
+            } catch (ExecutionException e) {
+                log.warn("Sección '{}' falló; se devuelve resultado parcial: {}",
+                        seccion.nombre, e.getCause().getMessage(), e.getCause());
+            }
+            seccionesConError.add(seccion.nombre);
+            return porDefecto;
+        }
+
+        /**
+         * Obtiene el resultado de una sección sin la cual la respuesta no tiene sentido
+         * (p. ej. la entidad principal): su excepción se propaga tal cual.
+         *
+         * @param seccion Sección lanzada
+         * @param <T> Tipo del resultado
+         * @return Resultado de la sección
+         */
+        public <T> T obtenerObligatorio(Seccion<T> seccion) {
+            try {
+                return esperar(seccion);
+            } catch (TimeoutException e) {
+                seccion.futuro.cancel(true);
+                throw new BusinessException("La consulta de " + seccion.nombre + " no respondió a tiempo");
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException causa) {
+                    throw causa;
+                }
+                throw new BusinessException("Error al consultar " + seccion.nombre, e.getCause());
+            }
+        }
+
+        private <T> T esperar(Seccion<T> seccion) throws TimeoutException, ExecutionException {
+            try {
+                long limite = esperarInicio(seccion);
+                long restante = Math.max(0, limite - System.nanoTime());
+                try {
+                    return seccion.futuro.get(restante, TimeUnit.NANOSECONDS);
+                } catch (TimeoutException e) {
+                    throw new TimeoutException("sin respuesta tras " + timeout.toMillis() + " ms");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                seccion.futuro.cancel(true);
+                throw new BusinessException("La consulta fue interrumpida");
+            }
+        }
+
+        /**
+         * Espera a que la sección obtenga su permiso y devuelve su instante límite.
+         */
+        private long esperarInicio(Seccion<?> seccion) throws TimeoutException, InterruptedException {
+            try {
+                // La propia sección completa el inicio en cuanto se resuelve su espera de permiso;
+                // el margen cubre el arranque del hilo virtual
+                return seccion.inicio.get(esperaPermiso.toNanos() + timeout.toNanos(), TimeUnit.NANOSECONDS);
+            } catch (ExecutionException | TimeoutException e) {
+                throw new TimeoutException("sin permiso tras " + esperaPermiso.toMillis() + " ms de espera");
+            }
+        }
+
+        /**
+         * @return Nombres de las secciones que fallaron o no respondieron a tiempo
+         */
+        public List<String> getSeccionesConError() {
+            return List.copyOf(seccionesConError);
+        }
+
+        /**
+         * Cancela las secciones que sigan en curso (sus resultados ya no se usarán).
+         */
+        @Override
+        public void close() {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Sección lanzada. {@code inicio} se completa con el instante límite cuando la sección
+     * obtiene su permiso (o con error si no lo obtiene).
+     *
+     * @param <T> Tipo del resultado
+     */
+    public static final class Seccion<T> {
+        private final String nombre;
+        private final Future<T> futuro;
+        private final CompletableFuture<Long> inicio;
+
+        private Seccion(String nombre, Future<T> futuro, CompletableFuture<Long> inicio) {
+            this.nombre = nombre;
+            this.futuro = futuro;
+            this.inicio = inicio;
+        }
+    }
+}
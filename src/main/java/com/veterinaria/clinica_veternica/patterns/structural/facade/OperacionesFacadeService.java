@@ -22,9 +22,9 @@ import com.veterinaria.clinica_veternica.service.interfaces.IVeterinarioService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -54,6 +54,7 @@ public class OperacionesFacadeService {
     private final IMascotaService mascotaService;
     private final IPropietarioService propietarioService;
     private final IVeterinarioService veterinarioService;
+    private final EjecutorSecciones ejecutorSecciones;
 
     /**
      * Procesa la atención completa de una cita.
@@ -166,85 +167,108 @@ public class OperacionesFacadeService {
 
     /**
      * Obtiene información completa de una mascota con su historia y citas.
+     * Mascota, historia y citas se consultan en paralelo (ver {@link EjecutorSecciones}).
      *
      * @param idMascota ID de la mascota
      * @return InformacionCompletaMascotaDTO con información completa
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public InformacionCompletaMascotaDTO obtenerInformacionCompletaMascota(Long idMascota) {
         log.info("OperacionesFacadeService: Obteniendo información completa de mascota ID: {}", idMascota);
 
-        MascotaResponseDTO mascota = mascotaService.buscarPorId(idMascota);
+        try (EjecutorSecciones.FanOut fanOut = ejecutorSecciones.iniciar()) {
+            var seccionMascota = fanOut.lanzar("mascota", () -> mascotaService.buscarPorId(idMascota));
+            var seccionHistoria = fanOut.lanzar("historiaClinica", () -> buscarHistoriaClinica(idMascota));
+            var seccionCitas = fanOut.lanzar("citas", () -> citaService.listarPorMascota(idMascota));
 
-        HistoriaClinicaResponseDTO historiaClinica = null;
-        try {
-            historiaClinica = historiaClinicaService.buscarPorMascota(idMascota);
-        } catch (ResourceNotFoundException e) {
-            log.debug("Mascota {} no tiene historia clínica aún: {}", idMascota, e.getMessage());
-        }
-
-        List<CitaResponseDTO> citas = citaService.listarPorMascota(idMascota);
+            MascotaResponseDTO mascota = fanOut.obtenerObligatorio(seccionMascota);
+            HistoriaClinicaResponseDTO historiaClinica = fanOut.obtener(seccionHistoria, null);
+            List<CitaResponseDTO> citas = fanOut.obtener(seccionCitas, List.of());
 
-        return InformacionCompletaMascotaDTO.builder()
-                .mascota(mascota)
-                .historiaClinica(historiaClinica)
-                .citas(citas)
-                .totalCitas(citas.size())
-                .build();
+            return InformacionCompletaMascotaDTO.builder()
+                    .mascota(mascota)
+                    .historiaClinica(historiaClinica)
+                    .citas(citas)
+                    .totalCitas(citas.size())
+                    .seccionesConError(fanOut.getSeccionesConError())
+                    .build();
+        }
     }
 
     /**
      * Obtiene información completa de un propietario con sus mascotas e historias.
+     * Propietario, mascotas e historias se consultan en paralelo; las historias de todas las
+     * mascotas se leen en una sola sección, de modo que la petición usa tres secciones sea cual
+     * sea el número de mascotas.
      *
      * @param idPropietario ID del propietario
      * @return InformacionCompletaPropietarioDTO con información completa
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public InformacionCompletaPropietarioDTO obtenerInformacionCompletaPropietario(Long idPropietario) {
         log.info("OperacionesFacadeService: Obteniendo información completa de propietario ID: {}", idPropietario);
 
-        var propietario = propietarioService.buscarPorId(idPropietario);
-        List<MascotaResponseDTO> mascotas = mascotaService.listarPorPropietario(idPropietario);
+        try (EjecutorSecciones.FanOut fanOut = ejecutorSecciones.iniciar()) {
+            var seccionPropietario = fanOut.lanzar("propietario", () -> propietarioService.buscarPorId(idPropietario));
+            var seccionMascotas = fanOut.lanzar("mascotas", () -> mascotaService.listarPorPropietario(idPropietario));
+            var seccionHistorias = fanOut.lanzar("historiasClinicas",
+                    () -> historiaClinicaService.listarPorPropietario(idPropietario));
 
-        List<HistoriaClinicaResponseDTO> historiasClinicas = new ArrayList<>();
-        for (var mascota : mascotas) {
-            try {
-                HistoriaClinicaResponseDTO historia = historiaClinicaService.buscarPorMascota(
-                        mascota.getIdMascota()
-                );
-                historiasClinicas.add(historia);
-            } catch (ResourceNotFoundException e) {
-                log.debug("Mascota {} no tiene historia clínica: {}", mascota.getIdMascota(), e.getMessage());
-            }
-        }
+            var propietario = fanOut.obtenerObligatorio(seccionPropietario);
+            List<MascotaResponseDTO> mascotas = fanOut.obtener(seccionMascotas, List.of());
+            List<HistoriaClinicaResponseDTO> historiasClinicas = fanOut.obtener(seccionHistorias, List.of());
 
-        return InformacionCompletaPropietarioDTO.builder()
-                .propietario(propietario)
-                .mascotas(mascotas)
-                .totalMascotas(mascotas.size())
-                .historiasClinicas(historiasClinicas)
-                .build();
+            return InformacionCompletaPropietarioDTO.builder()
+                    .propietario(propietario)
+                    .mascotas(mascotas)
+                    .totalMascotas(mascotas.size())
+                    .historiasClinicas(historiasClinicas)
+                    .seccionesConError(fanOut.getSeccionesConError())
+                    .build();
+        }
     }
 
     /**
      * Obtiene información completa de un veterinario con sus horarios y citas.
+     * Veterinario y citas se consultan en paralelo.
      *
      * @param idVeterinario ID del veterinario
      * @return InformacionCompletaVeterinarioDTO con información completa
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public InformacionCompletaVeterinarioDTO obtenerInformacionCompletaVeterinario(Long idVeterinario) {
         log.info("OperacionesFacadeService: Obteniendo información completa de veterinario ID: {}", idVeterinario);
 
-        var veterinario = veterinarioService.buscarPorId(idVeterinario);
-        List<CitaResponseDTO> citasProgramadas = citaService.listarPorVeterinario(idVeterinario);
+        try (EjecutorSecciones.FanOut fanOut = ejecutorSecciones.iniciar()) {
+            var seccionVeterinario = fanOut.lanzar("veterinario", () -> veterinarioService.buscarPorId(idVeterinario));
+            var seccionCitas = fanOut.lanzar("citasProgramadas", () -> citaService.listarPorVeterinario(idVeterinario));
 
-        return InformacionCompletaVeterinarioDTO.builder()
-                .veterinario(veterinario)
-                .horarios(List.of()) //  Implementar cuando exista servicio de horarios
-                .totalHorarios(0)
-                .citasProgramadas(citasProgramadas)
-                .totalCitasProgramadas(citasProgramadas.size())
-                .build();
+            var veterinario = fanOut.obtenerObligatorio(seccionVeterinario);
+            List<CitaResponseDTO> citasProgramadas = fanOut.obtener(seccionCitas, List.of());
+
+            return InformacionCompletaVeterinarioDTO.builder()
+                    .veterinario(veterinario)
+                    .horarios(List.of()) //  Implementar cuando exista servicio de horarios
+                    .totalHorarios(0)
+                    .citasProgramadas(citasProgramadas)
+                    .totalCitasProgramadas(citasProgramadas.size())
+                    .seccionesConError(fanOut.getSeccionesConError())
+                    .build();
+        }
+    }
+
+    /**
+     * Busca la historia clínica de una mascota; su ausencia no es un error.
+     *
+     * @param idMascota ID de la mascota
+     * @return Historia clínica o null si la mascota aún no tiene
+     */
+    private HistoriaClinicaResponseDTO buscarHistoriaClinica(Long idMascota) {
+        try {
+            return historiaClinicaService.buscarPorMascota(idMascota);
+        } catch (ResourceNotFoundException e) {
+            log.debug("Mascota {} no tiene historia clínica aún: {}", idMascota, e.getMessage());
+            return null;
+        }
     }
 }
@@ -1,13 +1,18 @@
 package com.veterinaria.clinica_veternica.patterns.structural.facade;
 
 import com.veterinaria.clinica_veternica.domain.agenda.EstadoCita;
+import com.veterinaria.clinica_veternica.domain.usuario.Veterinario;
 import com.veterinaria.clinica_veternica.dto.response.agenda.CitaResponseDTO;
 import com.veterinaria.clinica_veternica.dto.response.facade.ReporteCitasDTO;
 import com.veterinaria.clinica_veternica.dto.response.facade.ReporteInventarioDTO;
 import com.veterinaria.clinica_veternica.dto.response.facade.ReporteVeterinariosDTO;
 import com.veterinaria.clinica_veternica.dto.response.inventario.InventarioResponseDTO;
 import com.veterinaria.clinica_veternica.patterns.creational.builder.ReporteBuilder;
+import com.veterinaria.clinica_veternica.repository.EstadisticaDiariaCitaRepository.ConteoPorEstado;
+import com.veterinaria.clinica_veternica.repository.EstadisticaDiariaCitaRepository.ConteoPorVeterinarioYEstado;
+import com.veterinaria.clinica_veternica.repository.VeterinarioRepository;
 import com.veterinaria.clinica_veternica.service.interfaces.ICitaService;
+import com.veterinaria.clinica_veternica.service.impl.EstadisticaDiariaService;
 import com.veterinaria.clinica_veternica.service.interfaces.IInventarioService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -16,10 +21,13 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -45,54 +53,49 @@ public class ReporteFacadeService {
 
     private final ICitaService citaService;
     private final IInventarioService inventarioService;
+    private final EstadisticaDiariaService estadisticaDiariaService;
+    private final VeterinarioRepository veterinarioRepository;
 
     /**
      * Genera reporte de citas en un rango de fechas con estadísticas.
+     * Los conteos se leen del agregado diario ({@link EstadisticaDiariaService}); las citas
+     * solo se cargan si se pide el detalle.
      *
      * @param fechaInicio Fecha de inicio
      * @param fechaFin Fecha de fin
+     * @param incluirCitas Si debe incluir el detalle de las citas
      * @return ReporteCitasDTO con el reporte completo
      */
-    public ReporteCitasDTO generarReporteCitas(LocalDate fechaInicio, LocalDate fechaFin) {
+    public ReporteCitasDTO generarReporteCitas(LocalDate fechaInicio, LocalDate fechaFin, boolean incluirCitas) {
         log.info("ReporteFacadeService: Generando reporte de citas desde {} hasta {}", fechaInicio, fechaFin);
 
-        LocalDateTime inicio = fechaInicio.atStartOfDay();
-        LocalDateTime fin = fechaFin.atTime(23, 59, 59);
+        Map<EstadoCita, ConteoPorEstado> conteos = new EnumMap<>(EstadoCita.class);
+        estadisticaDiariaService.contarPorEstado(fechaInicio, fechaFin)
+                .forEach(conteo -> conteos.put(conteo.getEstado(), conteo));
 
-        List<CitaResponseDTO> citas = citaService.listarPorRangoFechas(inicio, fin);
+        // Las citas en atención también se cuentan como atendidas y las confirmadas como programadas
+        long totalCitas = conteos.values().stream().mapToLong(ConteoPorEstado::getCantidad).sum();
+        long citasAtendidas = cantidad(conteos, EstadoCita.ATENDIDA) + cantidad(conteos, EstadoCita.EN_ATENCION);
+        long citasProgramadas = cantidad(conteos, EstadoCita.PROGRAMADA) + cantidad(conteos, EstadoCita.CONFIRMADA);
+        long citasCanceladas = cantidad(conteos, EstadoCita.CANCELADA);
+        BigDecimal ingresos = ingresos(conteos, EstadoCita.ATENDIDA).add(ingresos(conteos, EstadoCita.EN_ATENCION));
 
-        // Debug: Log de estados encontrados
-        if (citas != null && !citas.isEmpty()) {
-            log.debug("Estados encontrados en citas: {}", 
-                    citas.stream()
-                            .map(c -> c.getEstado())
-                            .distinct()
-                            .collect(java.util.stream.Collectors.toList()));
-        }
+        List<CitaResponseDTO> citas = incluirCitas
+                ? citaService.listarPorRangoFechas(fechaInicio.atStartOfDay(), fechaFin.atTime(23, 59, 59))
+                : null;
 
-        // Contar citas por estado
-        long citasAtendidas = contarCitasPorEstado(citas, com.veterinaria.clinica_veternica.util.Constants.ESTADO_CITA_ATENDIDA);
-        long citasProgramadas = contarCitasPorEstado(citas, com.veterinaria.clinica_veternica.util.Constants.ESTADO_CITA_PROGRAMADA);
-        long citasCanceladas = contarCitasPorEstado(citas, com.veterinaria.clinica_veternica.util.Constants.ESTADO_CITA_CANCELADA);
-        long citasEnAtencion = contarCitasPorEstado(citas, "EN_ATENCION");
-        long citasFinalizadas = contarCitasPorEstado(citas, "FINALIZADA");
-        long citasConfirmadas = contarCitasPorEstado(citas, "CONFIRMADA");
-        
-        // Las citas en atención, finalizadas y confirmadas también se cuentan como atendidas/programadas para el reporte
-        long totalCitasAtendidas = citasAtendidas + citasEnAtencion + citasFinalizadas;
-        long totalCitasProgramadas = citasProgramadas + citasConfirmadas;
-
-        log.info("Reporte generado: {} citas totales ({} atendidas, {} en atención, {} programadas, {} canceladas)",
-                citas != null ? citas.size() : 0, citasAtendidas, citasEnAtencion, citasProgramadas, citasCanceladas);
+        log.info("Reporte generado: {} citas totales ({} atendidas, {} programadas, {} canceladas)",
+                totalCitas, citasAtendidas, citasProgramadas, citasCanceladas);
 
         return ReporteCitasDTO.builder()
                 .fechaInicio(fechaInicio)
                 .fechaFin(fechaFin)
                 .citas(citas)
-                .totalCitas(citas != null ? citas.size() : 0)
-                .citasAtendidas(totalCitasAtendidas)
-                .citasProgramadas(totalCitasProgramadas)
+                .totalCitas((int) totalCitas)
+                .citasAtendidas(citasAtendidas)
+                .citasProgramadas(citasProgramadas)
                 .citasCanceladas(citasCanceladas)
+                .ingresosCitasAtendidas(ingresos)
                 .build();
     }
 
@@ -133,6 +136,7 @@ public class ReporteFacadeService {
 
     /**
      * Genera reporte de atenciones por veterinario en un período.
+     * Se calcula a partir del agregado diario, sin recorrer las citas del período.
      *
      * @param fechaInicio Fecha de inicio
      * @param fechaFin Fecha de fin
@@ -141,49 +145,31 @@ public class ReporteFacadeService {
     public ReporteVeterinariosDTO generarReporteVeterinarios(LocalDate fechaInicio, LocalDate fechaFin) {
         log.info("ReporteFacadeService: Generando reporte de veterinarios desde {} hasta {}", fechaInicio, fechaFin);
 
-        LocalDateTime inicio = fechaInicio.atStartOfDay();
-        LocalDateTime fin = fechaFin.atTime(23, 59, 59);
-
-        List<CitaResponseDTO> citas = citaService.listarPorRangoFechas(inicio, fin);
-
-        if (citas == null) {
-            log.warn("ReporteFacadeService: La lista de citas es null, inicializando lista vacía");
-            citas = new ArrayList<>();
+        // Agrupar conteos por veterinario
+        Map<Long, Map<EstadoCita, Long>> conteosPorVeterinario = new HashMap<>();
+        for (ConteoPorVeterinarioYEstado conteo
+                : estadisticaDiariaService.contarPorVeterinarioYEstado(fechaInicio, fechaFin)) {
+            conteosPorVeterinario.computeIfAbsent(conteo.getIdVeterinario(), id -> new EnumMap<>(EstadoCita.class))
+                    .merge(conteo.getEstado(), conteo.getCantidad(), Long::sum);
         }
 
-        log.debug("ReporteFacadeService: {} citas encontradas en el rango de fechas", citas.size());
-
-        // Agrupar citas por veterinario
-        Map<Long, List<CitaResponseDTO>> citasPorVeterinario = citas.stream()
-                .filter(c -> c != null && c.getVeterinario() != null && c.getVeterinario().getIdPersonal() != null)
-                .collect(Collectors.groupingBy(c -> c.getVeterinario().getIdPersonal()));
+        Map<Long, Veterinario> veterinarios = veterinarioRepository.findAllById(conteosPorVeterinario.keySet()).stream()
+                .collect(Collectors.toMap(Veterinario::getIdPersonal, Function.identity()));
 
         // Generar estadísticas por veterinario
         List<ReporteVeterinariosDTO.EstadisticaVeterinarioDTO> estadisticas = new ArrayList<>();
-
-        citasPorVeterinario.forEach((idVet, citasVet) -> {
-            // Contar citas atendidas: incluye ATENDIDA, EN_ATENCION, y FINALIZADA
-            long atendidas = citasVet.stream()
-                    .filter(c -> c != null && c.getEstado() != null && 
-                            (com.veterinaria.clinica_veternica.util.Constants.ESTADO_CITA_ATENDIDA.equalsIgnoreCase(c.getEstado()) ||
-                             "EN_ATENCION".equalsIgnoreCase(c.getEstado()) ||
-                             "FINALIZADA".equalsIgnoreCase(c.getEstado())))
-                    .count();
-            long programadas = citasVet.stream()
-                    .filter(c -> c != null && c.getEstado() != null && 
-                            (com.veterinaria.clinica_veternica.util.Constants.ESTADO_CITA_PROGRAMADA.equalsIgnoreCase(c.getEstado()) ||
-                             "CONFIRMADA".equalsIgnoreCase(c.getEstado())))
-                    .count();
-
-            // Obtener nombre del veterinario de la primera cita
-            CitaResponseDTO primeraCita = citasVet.get(0);
-            String nombreVet = primeraCita.getVeterinario().getNombreCompleto();
-            String especialidad = primeraCita.getVeterinario().getEspecialidad();
-
+        conteosPorVeterinario.forEach((idVet, conteos) -> {
+            // Citas atendidas: incluye ATENDIDA y EN_ATENCION; programadas: PROGRAMADA y CONFIRMADA
+            long atendidas = conteos.getOrDefault(EstadoCita.ATENDIDA, 0L)
+                    + conteos.getOrDefault(EstadoCita.EN_ATENCION, 0L);
+            long programadas = conteos.getOrDefault(EstadoCita.PROGRAMADA, 0L)
+                    + conteos.getOrDefault(EstadoCita.CONFIRMADA, 0L);
+
+            Veterinario veterinario = veterinarios.get(idVet);
             estadisticas.add(ReporteVeterinariosDTO.EstadisticaVeterinarioDTO.builder()
                     .idVeterinario(idVet)
-                    .nombreVeterinario(nombreVet)
-                    .especialidad(especialidad)
+                    .nombreVeterinario(veterinario != null ? veterinario.getNombreCompleto() : null)
+                    .especialidad(veterinario != null ? veterinario.getEspecialidad() : null)
                     .totalCitasAtendidas(atendidas)
                     .totalCitasProgramadas(programadas)
                     .build());
@@ -204,20 +190,14 @@ public class ReporteFacadeService {
                 .build();
     }
 
-    /**
-     * Cuenta citas por estado específico.
-     *
-     * @param citas Lista de citas
-     * @param estado Estado a contar
-     * @return Cantidad de citas con ese estado
-     */
-    private long contarCitasPorEstado(List<CitaResponseDTO> citas, String estado) {
-        if (citas == null || estado == null) {
-            return 0;
-        }
-        return citas.stream()
-                .filter(c -> c != null && c.getEstado() != null && estado.equalsIgnoreCase(c.getEstado()))
-                .count();
+    private static long cantidad(Map<EstadoCita, ConteoPorEstado> conteos, EstadoCita estado) {
+        ConteoPorEstado conteo = conteos.get(estado);
+        return conteo != null ? conteo.getCantidad() : 0L;
+    }
+
+    private static BigDecimal ingresos(Map<EstadoCita, ConteoPorEstado> conteos, EstadoCita estado) {
+        ConteoPorEstado conteo = conteos.get(estado);
+        return conteo != null && conteo.getIngresos() != null ? conteo.getIngresos() : BigDecimal.ZERO;
     }
 
     /**
@@ -308,7 +288,8 @@ public class ReporteFacadeService {
 
     /**
      * Genera reporte consolidado de actividad de la clínica usando ReporteBuilder.
-     * Este reporte incluye citas, inventario y estadísticas generales.
+     * Este reporte incluye citas, inventario y estadísticas generales: los totales del período,
+     * las atenciones por veterinario y los insumos con stock bajo.
      *
      * @param fechaInicio Fecha de inicio
      * @param fechaFin Fecha de fin
@@ -335,6 +316,39 @@ public class ReporteFacadeService {
                 .agregarColumna("Valor")
                 .build();
 
+        ReporteCitasDTO citas = generarReporteCitas(fechaInicio, fechaFin, false);
+        ReporteInventarioDTO inventario = generarReporteInventario();
+        ReporteVeterinariosDTO veterinarios = generarReporteVeterinarios(fechaInicio, fechaFin);
+
+        reporte.agregarDatos("totalCitas", citas.getTotalCitas())
+                .agregarDatos("citasAtendidas", citas.getCitasAtendidas())
+                .agregarDatos("citasProgramadas", citas.getCitasProgramadas())
+                .agregarDatos("citasCanceladas", citas.getCitasCanceladas())
+                .agregarDatos("ingresosCitasAtendidas", citas.getIngresosCitasAtendidas())
+                .agregarDatos("totalItemsInventario", inventario.getTotalItems())
+                .agregarDatos("totalStockBajo", inventario.getTotalStockBajo())
+                .agregarDatos("valorTotalInventario", inventario.getValorTotalInventario())
+                .agregarDatos("totalAtenciones", veterinarios.getTotalAtenciones())
+                .agregarDatos("atencionesPorVeterinario", veterinarios.getEstadisticasPorVeterinario().stream()
+                        .map(estadistica -> {
+                            Map<String, Object> fila = new LinkedHashMap<>();
+                            fila.put("veterinario", estadistica.getNombreVeterinario());
+                            fila.put("especialidad", estadistica.getEspecialidad());
+                            fila.put("citasAtendidas", estadistica.getTotalCitasAtendidas());
+                            fila.put("citasProgramadas", estadistica.getTotalCitasProgramadas());
+                            return fila;
+                        })
+                        .toList())
+                .agregarDatos("insumosConStockBajo", inventario.getStockBajo().stream()
+                        .map(item -> {
+                            Map<String, Object> fila = new LinkedHashMap<>();
+                            fila.put("insumo", item.getNombreInsumo());
+                            fila.put("cantidad", item.getCantidadActual());
+                            fila.put("stockMinimo", item.getStockMinimo());
+                            return fila;
+                        })
+                        .toList());
+
         log.info("Reporte consolidado generado con Builder exitosamente");
         return reporte;
     }
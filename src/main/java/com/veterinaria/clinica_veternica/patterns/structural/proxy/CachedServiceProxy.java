@@ -1,13 +1,29 @@
 package com.veterinaria.clinica_veternica.patterns.structural.proxy;
 
+import com.veterinaria.clinica_veternica.config.cache.BusInvalidacionCache;
 import com.veterinaria.clinica_veternica.patterns.creational.singleton.ConfigurationManager;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Supplier;
 
 /**
@@ -33,6 +49,35 @@ import java.util.function.Supplier;
  * - CachePut: Siempre ejecuta y actualiza el caché
  * - CacheEvict: Elimina entradas del caché
  *
+ * INVALIDACIÓN POR ETIQUETAS:
+ * - Cada entrada puede registrarse bajo una o más etiquetas (p. ej. "propietario:5", "especie:2").
+ * - Un índice etiqueta → claves permite invalidar exactamente las entradas afectadas, en
+ *   tiempo proporcional a su número, sin recorrer todo el caché.
+ * - La invalidación se aplica de inmediato y se repite tras el commit de la transacción en
+ *   curso, para no conservar lo que otra petición haya cargado antes del commit.
+ *
+ * LÍMITE DE TAMAÑO Y LIMPIEZA:
+ * - Cada entrada pesa el tamaño de la colección que guarda ({@link Ponderable#getPeso()} si lo
+ *   declara el valor; 1 en otro caso). Al superar
+ *   {@code cache.peso.maximo} se desalojan primero las entradas más próximas a expirar.
+ * - Las entradas se indexan por fecha de expiración; un barrido programado retira las vencidas
+ *   desde la cabeza del índice, en lotes, sin recorrer el caché completo.
+ * - Aciertos, fallos, cargas, tiempo de carga, desalojos y expiraciones se mantienen en
+ *   contadores, de modo que {@link #getStats()} es O(1).
+ *
+ * VARIOS NODOS:
+ * - Las invalidaciones (etiquetas, claves y vaciado) se publican tras el commit en el
+ *   {@link BusInvalidacionCache}; los demás nodos las aplican con los métodos {@code *Local},
+ *   que no vuelven a publicarlas.
+ *
+ * PROTECCIÓN ANTE ESTAMPIDAS:
+ * - Una sola carga por clave: las peticiones concurrentes que encuentran la misma clave
+ *   ausente esperan el resultado de la carga en curso en lugar de repetirla.
+ * - Stale-while-revalidate: durante {@code cache.stale.seconds} tras expirar, se sirve el
+ *   valor anterior mientras una única recarga en segundo plano lo renueva.
+ * - Expiración con jitter: el TTL de cada entrada se reduce al azar hasta
+ *   {@code cache.ttl.jitter.percent} para que claves cargadas juntas no expiren juntas.
+ *
  * Justificación:
  * - Mejora significativa del rendimiento para datos frecuentemente consultados
  * - Reduce la carga en la base de datos
@@ -45,14 +90,67 @@ import java.util.function.Supplier;
  */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class CachedServiceProxy {
 
+    /**
+     * Etiqueta de los listados generales de mascotas (todas, activas).
+     */
+    public static final String ETIQUETA_MASCOTAS_LISTADOS = "mascotas:listados";
+
+    /**
+     * Etiqueta de los listados generales de propietarios (todos, activos).
+     */
+    public static final String ETIQUETA_PROPIETARIOS_LISTADOS = "propietarios:listados";
+
+    // Máximo de entradas vencidas que retira cada ejecución del barrido
+    private static final int LOTE_BARRIDO = 5_000;
+
     private final ConfigurationManager configurationManager;
+    private final TransactionTemplate transactionTemplate;
+    private final BusInvalidacionCache busInvalidacion;
 
     // Caché en memoria para operaciones simples
     private final ConcurrentHashMap<String, CacheEntry> memoryCache = new ConcurrentHashMap<>();
 
+    // Cargas en curso por clave (single-flight)
+    private final Map<String, CompletableFuture<Object>> cargasEnCurso = new ConcurrentHashMap<>();
+
+    // Índice etiqueta → claves registradas bajo esa etiqueta
+    private final Map<String, Set<String>> clavesPorEtiqueta = new ConcurrentHashMap<>();
+
+    // Se incrementan en cada invalidación (global o por etiqueta): una carga iniciada antes
+    // no publica su resultado
+    private final AtomicLong generacion = new AtomicLong();
+    private final Map<String, AtomicLong> versionesPorEtiqueta = new ConcurrentHashMap<>();
+
+    // Protege la publicación y el retiro de entradas: quitar una clave del índice de etiquetas
+    // sin él podría borrar el registro de una entrada más nueva con la misma clave
+    private final Object monitorIndice = new Object();
+
+    // Entradas ordenadas por expiración (barrido y desalojo) y peso total
+    private final ConcurrentSkipListSet<CacheEntry> porExpiracion = new ConcurrentSkipListSet<>(
+            Comparator.comparingLong(CacheEntry::getExpirationTime).thenComparingLong(CacheEntry::getSecuencia));
+    private final AtomicLong secuencia = new AtomicLong();
+    private final AtomicLong pesoTotal = new AtomicLong();
+
+    // Métricas
+    private final LongAdder aciertos = new LongAdder();
+    private final LongAdder fallos = new LongAdder();
+    private final LongAdder cargas = new LongAdder();
+    private final LongAdder tiempoCargaNanos = new LongAdder();
+    private final LongAdder desalojos = new LongAdder();
+    private final LongAdder expiradas = new LongAdder();
+
+    public CachedServiceProxy(ConfigurationManager configurationManager,
+                              PlatformTransactionManager transactionManager,
+                              BusInvalidacionCache busInvalidacion) {
+        this.configurationManager = configurationManager;
+        this.busInvalidacion = busInvalidacion;
+        // Las recargas en segundo plano no tienen la transacción del solicitante
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
     /**
      * Obtiene el TTL por defecto desde la configuración.
      * Si no está configurado, usa 5 minutos por defecto.
@@ -61,6 +159,51 @@ public class CachedServiceProxy {
         return configurationManager.getConfigurationAsInteger("cache.ttl.default.seconds", 300) * 1000L;
     }
 
+    /**
+     * Ventana durante la cual un valor expirado se sigue sirviendo mientras se revalida.
+     * 0 desactiva stale-while-revalidate.
+     */
+    private long getStaleWindow() {
+        return configurationManager.getConfigurationAsInteger("cache.stale.seconds", 60) * 1000L;
+    }
+
+    /**
+     * Peso máximo del caché (suma de los tamaños de las colecciones guardadas).
+     */
+    private long getPesoMaximo() {
+        return configurationManager.getConfigurationAsInteger("cache.peso.maximo", 100_000);
+    }
+
+    /**
+     * Aplica jitter al TTL: lo reduce al azar hasta el porcentaje configurado.
+     */
+    private long conJitter(long ttl) {
+        int porcentaje = configurationManager.getConfigurationAsInteger("cache.ttl.jitter.percent", 10);
+        long maximo = ttl * porcentaje / 100;
+        return maximo > 0 ? ttl - ThreadLocalRandom.current().nextLong(maximo + 1) : ttl;
+    }
+
+    /**
+     * @return Etiqueta de las entradas que dependen de un propietario
+     */
+    public static String etiquetaPropietario(Long idPropietario) {
+        return "propietario:" + idPropietario;
+    }
+
+    /**
+     * @return Etiqueta de las entradas que dependen de una especie
+     */
+    public static String etiquetaEspecie(Long idEspecie) {
+        return "especie:" + idEspecie;
+    }
+
+    /**
+     * @return Etiqueta de las entradas que dependen de una raza
+     */
+    public static String etiquetaRaza(Long idRaza) {
+        return "raza:" + idRaza;
+    }
+
     /**
      * Ejecuta una operación con caché. Si el resultado está en caché y no ha expirado,
      * lo retorna. Si no, ejecuta la operación y guarda el resultado en caché.
@@ -80,6 +223,7 @@ public class CachedServiceProxy {
      * Ejecuta una operación con caché con TTL personalizado.
      *
      * PROPÓSITO: Permite configurar el tiempo de vida del caché según la necesidad.
+     * Si otra petición ya está cargando la misma clave, espera su resultado.
      *
      * @param key Clave única para el caché
      * @param operation Operación a ejecutar si no hay caché
@@ -90,25 +234,199 @@ public class CachedServiceProxy {
      *          se pierde en tiempo de ejecución al almacenar en CacheEntry como Object.
      *          La conversión es segura porque el valor fue almacenado con el mismo tipo T.
      */
-    @SuppressWarnings("unchecked")
     public <T> T executeWithCache(String key, Supplier<T> operation, long ttl) {
+        return executeWithCache(key, operation, ttl, new String[0]);
+    }
+
+    /**
+     * Ejecuta una operación con caché registrando la entrada bajo etiquetas.
+     *
+     * PROPÓSITO: Permite invalidar la entrada con {@link #invalidarEtiquetas(Collection)}
+     * cuando cambia cualquiera de las entidades de las que depende.
+     *
+     * @param key Clave única para el caché
+     * @param operation Operación a ejecutar si no hay caché
+     * @param ttl Tiempo de vida en milisegundos
+     * @param etiquetas Etiquetas de invalidación de la entrada
+     * @param <T> Tipo del resultado
+     * @return Resultado de la operación
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T executeWithCache(String key, Supplier<T> operation, long ttl, String... etiquetas) {
+        List<String> listaEtiquetas = List.of(etiquetas);
         CacheEntry entry = memoryCache.get(key);
 
         // Verificar si existe y no ha expirado
         if (entry != null && !entry.isExpired()) {
             log.debug("Cache hit para clave: {}", key);
+            aciertos.increment();
             return (T) entry.getValue();
         }
 
-        // Cache miss - ejecutar operación
+        // Expirado hace poco: servir el valor anterior y revalidar en segundo plano
+        long staleWindow = getStaleWindow();
+        if (entry != null && staleWindow > 0 && entry.isServibleObsoleto(staleWindow)) {
+            log.debug("Cache stale para clave: {}. Revalidando en segundo plano", key);
+            revalidarEnSegundoPlano(key, operation, ttl, listaEtiquetas);
+            aciertos.increment();
+            return (T) entry.getValue();
+        }
+
+        // Cache miss - ejecutar operación (o esperar la carga en curso)
         log.debug("Cache miss para clave: {}. Ejecutando operación...", key);
-        T result = operation.get();
+        fallos.increment();
+        return (T) cargar(key, operation, ttl, listaEtiquetas);
+    }
+
+    /**
+     * Carga una clave con una sola ejecución concurrente de la operación.
+     */
+    private Object cargar(String key, Supplier<?> operation, long ttl, List<String> etiquetas) {
+        CompletableFuture<Object> carga = new CompletableFuture<>();
+        CompletableFuture<Object> enCurso = cargasEnCurso.putIfAbsent(key, carga);
+        if (enCurso != null) {
+            log.debug("Esperando carga en curso para clave: {}", key);
+            return esperar(enCurso);
+        }
+
+        long firmaCarga = firma(etiquetas);
+        try {
+            Object result = medirCarga(operation);
+            guardar(key, result, ttl, etiquetas, firmaCarga);
+            carga.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            carga.completeExceptionally(e);
+            throw e;
+        } finally {
+            cargasEnCurso.remove(key, carga);
+        }
+    }
+
+    /**
+     * Lanza una única recarga de la clave en un hilo virtual, dentro de una transacción de solo lectura.
+     */
+    private void revalidarEnSegundoPlano(String key, Supplier<?> operation, long ttl, List<String> etiquetas) {
+        CompletableFuture<Object> carga = new CompletableFuture<>();
+        if (cargasEnCurso.putIfAbsent(key, carga) != null) {
+            return; // Ya hay una recarga en curso
+        }
+
+        long firmaCarga = firma(etiquetas);
+        Thread.ofVirtual().name("cache-revalidacion").start(() -> {
+            try {
+                Object result = transactionTemplate.execute(status -> medirCarga(operation));
+                guardar(key, result, ttl, etiquetas, firmaCarga);
+                carga.complete(result);
+                log.debug("Clave revalidada en segundo plano: {}", key);
+            } catch (RuntimeException e) {
+                carga.completeExceptionally(e);
+                log.warn("No se pudo revalidar la clave {} del caché: {}", key, e.getMessage());
+            } finally {
+                cargasEnCurso.remove(key, carga);
+            }
+        });
+    }
+
+    private Object medirCarga(Supplier<?> operation) {
+        long inicio = System.nanoTime();
+        try {
+            return operation.get();
+        } finally {
+            cargas.increment();
+            tiempoCargaNanos.add(System.nanoTime() - inicio);
+        }
+    }
+
+    private Object esperar(CompletableFuture<Object> carga) {
+        try {
+            return carga.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
 
-        // Guardar en caché
-        memoryCache.put(key, new CacheEntry(result, System.currentTimeMillis() + ttl));
+    private void guardar(String key, Object result, long ttl, List<String> etiquetas, long firmaCarga) {
+        synchronized (monitorIndice) {
+            if (firma(etiquetas) != firmaCarga) {
+                log.debug("Clave invalidada durante la carga, no se guarda en caché: {}", key);
+                return;
+            }
+            CacheEntry nueva = new CacheEntry(key, result, System.currentTimeMillis() + conJitter(ttl),
+                    etiquetas, secuencia.incrementAndGet());
+            // Se indexa antes de publicar para que quien la retire la encuentre en el índice
+            pesoTotal.addAndGet(nueva.getPeso());
+            porExpiracion.add(nueva);
+            CacheEntry anterior = memoryCache.put(key, nueva);
+            if (anterior != null) {
+                desindexar(key, anterior);
+            }
+            for (String etiqueta : etiquetas) {
+                clavesPorEtiqueta.computeIfAbsent(etiqueta, e -> ConcurrentHashMap.newKeySet()).add(key);
+            }
+        }
         log.debug("Resultado guardado en caché para clave: {}", key);
+        aplicarLimiteDePeso();
+    }
 
-        return result;
+    /**
+     * Desaloja las entradas más próximas a expirar mientras se supere el peso máximo.
+     * Cada desalojo toma el monitor del índice por separado para no bloquear las lecturas.
+     */
+    private void aplicarLimiteDePeso() {
+        long pesoMaximo = getPesoMaximo();
+        while (pesoTotal.get() > pesoMaximo) {
+            synchronized (monitorIndice) {
+                CacheEntry candidata = porExpiracion.pollFirst();
+                if (candidata == null) {
+                    return;
+                }
+                if (memoryCache.remove(candidata.getKey(), candidata)) {
+                    desindexar(candidata.getKey(), candidata);
+                    desalojos.increment();
+                }
+            }
+        }
+    }
+
+    /**
+     * Firma de invalidación de un conjunto de etiquetas: cambia si se invalida el caché
+     * completo o cualquiera de las etiquetas (todos los contadores solo crecen).
+     */
+    private long firma(List<String> etiquetas) {
+        long firma = generacion.get();
+        for (String etiqueta : etiquetas) {
+            AtomicLong version = versionesPorEtiqueta.get(etiqueta);
+            if (version != null) {
+                firma += version.get();
+            }
+        }
+        return firma;
+    }
+
+    private void quitar(String key) {
+        CacheEntry entry = memoryCache.remove(key);
+        if (entry != null) {
+            desindexar(key, entry);
+        }
+    }
+
+    /**
+     * Retira una entrada ya eliminada de memoryCache de los índices. Solo la invoca
+     * quien la eliminó, por lo que el peso se descuenta una única vez.
+     */
+    private void desindexar(String key, CacheEntry entry) {
+        porExpiracion.remove(entry);
+        pesoTotal.addAndGet(-entry.getPeso());
+        for (String etiqueta : entry.getEtiquetas()) {
+            clavesPorEtiqueta.computeIfPresent(etiqueta, (e, claves) -> {
+                claves.remove(key);
+                return claves.isEmpty() ? null : claves;
+            });
+        }
     }
 
     /**
@@ -145,7 +463,7 @@ public class CachedServiceProxy {
     public <T> T executeAndCache(String key, Supplier<T> operation, long ttl) {
         log.debug("Ejecutando y actualizando caché para clave: {}", key);
         T result = operation.get();
-        memoryCache.put(key, new CacheEntry(result, System.currentTimeMillis() + ttl));
+        guardar(key, result, ttl, List.of(), firma(List.of()));
         return result;
     }
 
@@ -157,8 +475,8 @@ public class CachedServiceProxy {
      * @param key Clave a eliminar
      */
     public void evict(String key) {
-        memoryCache.remove(key);
-        log.debug("Caché eliminado para clave: {}", key);
+        evictLocal(key);
+        busInvalidacion.publicarClaves(List.of(key));
     }
 
     /**
@@ -169,13 +487,78 @@ public class CachedServiceProxy {
      * @param pattern Patrón de clave (ej: "mascota:*")
      */
     public void evictPattern(String pattern) {
-        if (pattern.endsWith("*")) {
-            String prefix = pattern.substring(0, pattern.length() - 1);
-            memoryCache.keySet().removeIf(key -> key.startsWith(prefix));
-            log.debug("Caché eliminado para patrón: {}", pattern);
-        } else {
-            evict(pattern);
+        evictLocal(pattern);
+        busInvalidacion.publicarClaves(List.of(pattern));
+    }
+
+    /**
+     * Elimina una clave, o las que coincidan con un patrón terminado en '*', sin publicar la
+     * invalidación a otros nodos.
+     *
+     * PROPÓSITO: Aplicar una invalidación recibida del bus.
+     *
+     * @param pattern Clave o patrón de clave
+     */
+    public void evictLocal(String pattern) {
+        synchronized (monitorIndice) {
+            generacion.incrementAndGet();
+            if (pattern.endsWith("*")) {
+                String prefix = pattern.substring(0, pattern.length() - 1);
+                memoryCache.keySet().stream()
+                        .filter(key -> key.startsWith(prefix))
+                        .toList()
+                        .forEach(this::quitar);
+            } else {
+                quitar(pattern);
+            }
         }
+        log.debug("Caché eliminado para {}: {}", pattern.endsWith("*") ? "patrón" : "clave", pattern);
+    }
+
+    /**
+     * Invalida las entradas registradas bajo cualquiera de las etiquetas.
+     *
+     * PROPÓSITO: Invalidar solo lo afectado por una escritura. Si hay una transacción
+     * activa, la invalidación se repite tras el commit. Los demás nodos la reciben tras el commit.
+     *
+     * @param etiquetas Etiquetas a invalidar
+     */
+    public void invalidarEtiquetas(Collection<String> etiquetas) {
+        invalidarEtiquetasLocal(etiquetas);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidarEtiquetasLocal(etiquetas);
+                }
+            });
+        }
+        busInvalidacion.publicarEtiquetas(etiquetas);
+    }
+
+    /**
+     * Invalida las entradas de las etiquetas sin publicar la invalidación a otros nodos.
+     *
+     * PROPÓSITO: Aplicar una invalidación recibida del bus.
+     *
+     * @param etiquetas Etiquetas a invalidar
+     */
+    public void invalidarEtiquetasLocal(Collection<String> etiquetas) {
+        int removed = 0;
+        synchronized (monitorIndice) {
+            for (String etiqueta : etiquetas) {
+                versionesPorEtiqueta.computeIfAbsent(etiqueta, e -> new AtomicLong()).incrementAndGet();
+                Set<String> claves = clavesPorEtiqueta.remove(etiqueta);
+                if (claves == null) {
+                    continue;
+                }
+                for (String key : claves) {
+                    quitar(key);
+                    removed++;
+                }
+            }
+        }
+        log.debug("Caché invalidado para etiquetas {}: {} entradas eliminadas", etiquetas, removed);
     }
 
     /**
@@ -184,39 +567,71 @@ public class CachedServiceProxy {
      * PROPÓSITO: Elimina todas las entradas del caché.
      */
     public void clear() {
+        clearLocal();
+        busInvalidacion.publicarLimpieza();
+    }
+
+    /**
+     * Limpia el caché sin publicar la invalidación a otros nodos.
+     *
+     * PROPÓSITO: Aplicar una invalidación recibida del bus.
+     */
+    public void clearLocal() {
         int size = memoryCache.size();
-        memoryCache.clear();
+        synchronized (monitorIndice) {
+            generacion.incrementAndGet();
+            memoryCache.keySet().forEach(this::quitar);
+        }
         log.info("Caché limpiado. {} entradas eliminadas", size);
     }
 
     /**
      * Obtiene estadísticas del caché.
      *
-     * PROPÓSITO: Útil para monitoreo y debugging.
+     * PROPÓSITO: Útil para monitoreo y debugging. Se arma con contadores, sin recorrer las entradas.
      *
      * @return Estadísticas del caché
      */
     public CacheStats getStats() {
-        long totalEntries = memoryCache.size();
-        long expiredEntries = memoryCache.values().stream()
-                .mapToLong(entry -> entry.isExpired() ? 1 : 0)
-                .sum();
-        long validEntries = totalEntries - expiredEntries;
-
-        return new CacheStats(totalEntries, validEntries, expiredEntries);
+        long totalAciertos = aciertos.sum();
+        long totalFallos = fallos.sum();
+        long totalCargas = cargas.sum();
+        long totalLecturas = totalAciertos + totalFallos;
+        return new CacheStats(
+                memoryCache.size(),
+                pesoTotal.get(),
+                getPesoMaximo(),
+                totalAciertos,
+                totalFallos,
+                totalLecturas > 0 ? (double) totalAciertos / totalLecturas : 0.0,
+                totalCargas,
+                totalCargas > 0 ? tiempoCargaNanos.sum() / 1_000_000.0 / totalCargas : 0.0,
+                desalojos.sum(),
+                expiradas.sum());
     }
 
     /**
      * Limpia entradas expiradas del caché.
      *
-     * PROPÓSITO: Mantiene el caché limpio eliminando entradas obsoletas.
+     * PROPÓSITO: Mantiene el caché limpio eliminando entradas obsoletas. Se ejecuta de forma
+     * programada y recorre solo la cabeza del índice por expiración (hasta LOTE_BARRIDO
+     * entradas por ejecución). Conserva las que aún pueden servirse mientras se revalidan.
      */
+    @Scheduled(fixedDelayString = "${app.cache.proxy.barrido-ms:30000}")
     public void cleanExpired() {
+        long limite = System.currentTimeMillis() - getStaleWindow();
         int removed = 0;
-        for (Map.Entry<String, CacheEntry> entry : memoryCache.entrySet()) {
-            if (entry.getValue() != null && entry.getValue().isExpired()) {
-                memoryCache.remove(entry.getKey());
+        Iterator<CacheEntry> iterator = porExpiracion.iterator();
+        while (iterator.hasNext() && removed < LOTE_BARRIDO) {
+            CacheEntry entry = iterator.next();
+            if (entry.getExpirationTime() >= limite) {
+                break; // El resto del índice expira más tarde
+            }
+            if (retirarVencida(entry)) {
+                expiradas.increment();
                 removed++;
+            } else {
+                iterator.remove(); // Nodo huérfano de una entrada ya reemplazada
             }
         }
         if (removed > 0) {
@@ -224,25 +639,80 @@ public class CachedServiceProxy {
         }
     }
 
+    private boolean retirarVencida(CacheEntry entry) {
+        synchronized (monitorIndice) {
+            if (!memoryCache.remove(entry.getKey(), entry)) {
+                return false;
+            }
+            desindexar(entry.getKey(), entry);
+            return true;
+        }
+    }
+
+    /**
+     * Valor que declara su propio peso en el caché (p. ej. una colección ya serializada).
+     */
+    public interface Ponderable {
+        int getPeso();
+    }
+
     /**
      * Clase interna para representar una entrada del caché.
      */
     private static class CacheEntry {
+        private final String key;
         private final Object value;
         private final long expirationTime;
+        private final List<String> etiquetas;
+        private final long secuencia;
+        private final int peso;
 
-        public CacheEntry(Object value, long expirationTime) {
+        public CacheEntry(String key, Object value, long expirationTime, List<String> etiquetas, long secuencia) {
+            this.key = key;
             this.value = value;
             this.expirationTime = expirationTime;
+            this.etiquetas = etiquetas;
+            this.secuencia = secuencia;
+            if (value instanceof Collection<?> coleccion) {
+                this.peso = Math.max(1, coleccion.size());
+            } else if (value instanceof Ponderable ponderable) {
+                this.peso = Math.max(1, ponderable.getPeso());
+            } else {
+                this.peso = 1;
+            }
+        }
+
+        public String getKey() {
+            return key;
         }
 
         public Object getValue() {
             return value;
         }
 
+        public List<String> getEtiquetas() {
+            return etiquetas;
+        }
+
+        public long getExpirationTime() {
+            return expirationTime;
+        }
+
+        public long getSecuencia() {
+            return secuencia;
+        }
+
+        public int getPeso() {
+            return peso;
+        }
+
         public boolean isExpired() {
             return System.currentTimeMillis() > expirationTime;
         }
+
+        public boolean isServibleObsoleto(long staleWindow) {
+            return System.currentTimeMillis() <= expirationTime + staleWindow;
+        }
     }
 
     /**
@@ -252,8 +722,15 @@ public class CachedServiceProxy {
     @lombok.AllArgsConstructor
     public static class CacheStats {
         private long totalEntries;
-        private long validEntries;
-        private long expiredEntries;
+        private long pesoTotal;
+        private long pesoMaximo;
+        private long aciertos;
+        private long fallos;
+        private double tasaAciertos;
+        private long cargas;
+        private double tiempoMedioCargaMs;
+        private long desalojos;
+        private long expiradas;
     }
 }
 
@@ -1,11 +1,8 @@
 package com.veterinaria.clinica_veternica.patterns.structural.proxy;
 
 import com.veterinaria.clinica_veternica.domain.clinico.HistoriaClinica;
-import com.veterinaria.clinica_veternica.domain.paciente.Propietario;
-import com.veterinaria.clinica_veternica.domain.usuario.Usuario;
 import com.veterinaria.clinica_veternica.patterns.creational.singleton.AuditLogger;
-import com.veterinaria.clinica_veternica.repository.PropietarioRepository;
-import com.veterinaria.clinica_veternica.repository.UsuarioRepository;
+import com.veterinaria.clinica_veternica.security.service.ContextoActor;
 import com.veterinaria.clinica_veternica.util.Constants;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -15,7 +12,6 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
 import java.util.Collection;
-import java.util.Optional;
 
 /**
  * Patrón Proxy: HistoriaClinicaProxy
@@ -53,8 +49,7 @@ import java.util.Optional;
 public class HistoriaClinicaProxy {
 
     private final AuditLogger auditLogger;
-    private final UsuarioRepository usuarioRepository;
-    private final PropietarioRepository propietarioRepository;
+    private final ContextoActor contextoActor;
 
     /**
      * Verifica si el usuario actual tiene permisos para leer una historia clínica.
@@ -94,23 +89,18 @@ public class HistoriaClinicaProxy {
             if (esPropietario) {
                 // Verificar que la mascota de la historia clínica pertenezca al propietario
                 try {
-                    Optional<Usuario> usuarioOpt = usuarioRepository.findByUsername(usuario);
-                    if (usuarioOpt.isPresent()) {
-                        Usuario usuarioEntity = usuarioOpt.get();
-                        Optional<Propietario> propietarioOpt = propietarioRepository.findByEmail(usuarioEntity.getEmail());
-                        
-                        if (propietarioOpt.isPresent()) {
-                            Propietario propietario = propietarioOpt.get();
-                            // Verificar que la mascota de la historia clínica pertenezca a este propietario
-                            if (historiaClinica.getMascota() != null && 
-                                historiaClinica.getMascota().getPropietario() != null &&
-                                historiaClinica.getMascota().getPropietario().getIdPropietario().equals(propietario.getIdPropietario())) {
-                                tienePermiso = true;
-                                log.debug("Acceso autorizado a historia clínica {} por propietario {} (mascota propia)", 
-                                        historiaClinica.getIdHistoriaClinica(), usuario);
-                            } else {
-                                log.warn("Propietario {} intentó acceder a historia clínica de mascota que no le pertenece", usuario);
-                            }
+                    // Perfil de propietario del usuario autenticado (resuelto una vez por petición)
+                    ContextoActor.ActorActual actor = contextoActor.actual();
+                    if (actor.idPropietario() != null) {
+                        // Verificar que la mascota de la historia clínica pertenezca a este propietario
+                        if (historiaClinica.getMascota() != null && 
+                            historiaClinica.getMascota().getPropietario() != null &&
+                            actor.esPropietarioDe(historiaClinica.getMascota().getPropietario().getIdPropietario())) {
+                            tienePermiso = true;
+                            log.debug("Acceso autorizado a historia clínica {} por propietario {} (mascota propia)", 
+                                    historiaClinica.getIdHistoriaClinica(), usuario);
+                        } else {
+                            log.warn("Propietario {} intentó acceder a historia clínica de mascota que no le pertenece", usuario);
                         }
                     }
                 } catch (Exception e) {
@@ -9,6 +9,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -22,7 +23,7 @@ import java.util.List;
  * @since 2025-11-02
  */
 @Repository
-public interface CitaRepository extends JpaRepository<Cita, Long> {
+public interface CitaRepository extends JpaRepository<Cita, Long>, CitaRepositoryCustom {
 
     // ===================================================================
     // CONSULTAS DERIVADAS
@@ -47,7 +48,7 @@ public interface CitaRepository extends JpaRepository<Cita, Long> {
            "LEFT JOIN FETCH m.propietario p " +
            "LEFT JOIN FETCH c.servicio s " +
            "WHERE c.veterinario = :veterinario " +
-           "ORDER BY c.fechaCita, c.horaCita")
+           "ORDER BY c.fechaHoraInicio")
     List<Cita> findByVeterinarioWithRelations(@Param("veterinario") Veterinario veterinario);
 
     /**
@@ -79,8 +80,8 @@ public interface CitaRepository extends JpaRepository<Cita, Long> {
      * @return Lista de citas
      */
     @Query("SELECT c FROM Cita c WHERE c.veterinario = :veterinario " +
-           "AND FUNCTION('TIMESTAMP', c.fechaCita, c.horaCita) BETWEEN :inicio AND :fin " +
-           "ORDER BY c.fechaCita, c.horaCita")
+           "AND c.fechaHoraInicio BETWEEN :inicio AND :fin " +
+           "ORDER BY c.fechaHoraInicio")
     List<Cita> findCitasPorVeterinarioYFecha(@Param("veterinario") Veterinario veterinario,
                                               @Param("inicio") LocalDateTime inicio,
                                               @Param("fin") LocalDateTime fin);
@@ -100,8 +101,8 @@ public interface CitaRepository extends JpaRepository<Cita, Long> {
      * @return Lista de citas programadas
      */
     @Query("SELECT c FROM Cita c WHERE c.estado IN ('PROGRAMADA', 'CONFIRMADA') " +
-           "AND FUNCTION('TIMESTAMP', c.fechaCita, c.horaCita) > CURRENT_TIMESTAMP " +
-           "ORDER BY c.fechaCita, c.horaCita")
+           "AND c.fechaHoraInicio > CURRENT_TIMESTAMP " +
+           "ORDER BY c.fechaHoraInicio")
     List<Cita> findCitasProgramadas();
 
     /**
@@ -113,8 +114,8 @@ public interface CitaRepository extends JpaRepository<Cita, Long> {
      * @return Lista de citas
      */
     @Query("SELECT c FROM Cita c WHERE c.veterinario = :veterinario " +
-           "AND FUNCTION('TIMESTAMP', c.fechaCita, c.horaCita) BETWEEN :inicio AND :fin " +
-           "ORDER BY c.fechaCita, c.horaCita")
+           "AND c.fechaHoraInicio BETWEEN :inicio AND :fin " +
+           "ORDER BY c.fechaHoraInicio")
     List<Cita> findCitasDelDia(@Param("veterinario") Veterinario veterinario,
                                 @Param("inicio") LocalDateTime inicio,
                                 @Param("fin") LocalDateTime fin);
@@ -126,8 +127,8 @@ public interface CitaRepository extends JpaRepository<Cita, Long> {
      * @param fin Fecha de fin
      * @return Lista de citas
      */
-    @Query("SELECT c FROM Cita c WHERE FUNCTION('TIMESTAMP', c.fechaCita, c.horaCita) BETWEEN :inicio AND :fin " +
-           "ORDER BY c.fechaCita, c.horaCita")
+    @Query("SELECT c FROM Cita c WHERE c.fechaHoraInicio BETWEEN :inicio AND :fin " +
+           "ORDER BY c.fechaHoraInicio")
     List<Cita> findCitasEnRango(@Param("inicio") LocalDateTime inicio,
                                  @Param("fin") LocalDateTime fin);
 
@@ -137,9 +138,9 @@ public interface CitaRepository extends JpaRepository<Cita, Long> {
      * @return Lista de citas
      */
     @Query("SELECT c FROM Cita c WHERE c.estado = 'CONFIRMADA' " +
-           "AND FUNCTION('TIMESTAMP', c.fechaCita, c.horaCita) <= CURRENT_TIMESTAMP " +
-           "AND FUNCTION('TIMESTAMP', c.fechaCita, c.horaCita) >= :hace2Horas " +
-           "ORDER BY c.fechaCita, c.horaCita")
+           "AND c.fechaHoraInicio <= CURRENT_TIMESTAMP " +
+           "AND c.fechaHoraInicio >= :hace2Horas " +
+           "ORDER BY c.fechaHoraInicio")
     List<Cita> findCitasPendientesAtencion(@Param("hace2Horas") LocalDateTime hace2Horas);
 
     /**
@@ -159,7 +160,7 @@ public interface CitaRepository extends JpaRepository<Cita, Long> {
      * @return Lista de citas canceladas
      */
     @Query("SELECT c FROM Cita c WHERE c.estado = 'CANCELADA' " +
-           "AND FUNCTION('TIMESTAMP', c.fechaCita, c.horaCita) BETWEEN :inicio AND :fin")
+           "AND c.fechaHoraInicio BETWEEN :inicio AND :fin")
     List<Cita> findCitasCanceladasEnRango(@Param("inicio") LocalDateTime inicio,
                                            @Param("fin") LocalDateTime fin);
 
@@ -175,7 +176,7 @@ public interface CitaRepository extends JpaRepository<Cita, Long> {
      * @return Lista de citas
      */
     @Query("SELECT c FROM Cita c WHERE c.estado IN ('PROGRAMADA', 'CONFIRMADA') " +
-           "AND FUNCTION('TIMESTAMP', c.fechaCita, c.horaCita) BETWEEN :ahora AND :limite")
+           "AND c.fechaHoraInicio BETWEEN :ahora AND :limite")
     List<Cita> findCitasParaRecordatorio(@Param("ahora") LocalDateTime ahora,
                                           @Param("limite") LocalDateTime limite);
 
@@ -188,19 +189,21 @@ public interface CitaRepository extends JpaRepository<Cita, Long> {
      * @return Lista de citas
      */
     @Query("SELECT c FROM Cita c WHERE c.veterinario = :veterinario " +
-           "AND c.estado = 'ATENDIDA' AND FUNCTION('TIMESTAMP', c.fechaCita, c.horaCita) BETWEEN :inicio AND :fin")
+           "AND c.estado = 'ATENDIDA' AND c.fechaHoraInicio BETWEEN :inicio AND :fin")
     List<Cita> findCitasAtendidasPorVeterinario(@Param("veterinario") Veterinario veterinario,
                                                   @Param("inicio") LocalDateTime inicio,
                                                   @Param("fin") LocalDateTime fin);
 
     /**
-     * Cuenta citas activas (no canceladas ni no asistidas) para un veterinario en una hora específica.
-     * Se considera el tiempo estimado de duración de las citas para detectar solapamientos.
+     * Cuenta citas activas (no canceladas ni no asistidas) de un veterinario que se solapan
+     * con el intervalo [inicio, fin).
+     * Usa los instantes persistidos de la cita (inicio anterior a :fin y fin posterior a :inicio), por lo que
+     * es portable entre motores y se resuelve con el índice (id_veterinario, fecha_cita, hora_cita).
      *
      * @param veterinario Veterinario
      * @param fechaCita Fecha de la cita
-     * @param horaCita Hora de la cita
-     * @param duracionMinutos Duración estimada en minutos
+     * @param inicio Instante de inicio del intervalo
+     * @param fin Instante de fin del intervalo
      * @param idCitaExcluir ID de cita a excluir (para actualizaciones, puede ser null)
      * @return Cantidad de citas que se solapan
      */
@@ -208,23 +211,22 @@ public interface CitaRepository extends JpaRepository<Cita, Long> {
            "AND c.fechaCita = :fechaCita " +
            "AND c.estado NOT IN ('CANCELADA', 'NO_ASISTIO') " +
            "AND (:idCitaExcluir IS NULL OR c.idCita != :idCitaExcluir) " +
-           "AND (" +
-           "  (c.horaCita <= :horaCita AND FUNCTION('ADDTIME', c.horaCita, FUNCTION('SEC_TO_TIME', COALESCE(c.duracionEstimadaMinutos, 30) * 60)) > :horaCita) " +
-           "  OR (c.horaCita < FUNCTION('ADDTIME', :horaCita, FUNCTION('SEC_TO_TIME', :duracionMinutos * 60)) AND c.horaCita >= :horaCita)" +
-           ")")
+           "AND c.fechaHoraInicio < :fin " +
+           "AND c.fechaHoraFin > :inicio")
     long countCitasConflictivas(@Param("veterinario") Veterinario veterinario,
                                  @Param("fechaCita") java.time.LocalDate fechaCita,
-                                 @Param("horaCita") java.time.LocalTime horaCita,
-                                 @Param("duracionMinutos") Integer duracionMinutos,
+                                 @Param("inicio") LocalDateTime inicio,
+                                 @Param("fin") LocalDateTime fin,
                                  @Param("idCitaExcluir") Long idCitaExcluir);
 
     /**
-     * Busca citas activas (no canceladas ni no asistidas) que se solapan con el rango de tiempo especificado.
+     * Busca citas activas (no canceladas ni no asistidas) que se solapan con el intervalo [inicio, fin).
+     * Predicado de rango puro sobre los instantes persistidos, sin cálculos por fila.
      *
      * @param veterinario Veterinario
      * @param fechaCita Fecha de la cita
-     * @param horaInicio Hora de inicio del rango
-     * @param horaFin Hora de fin del rango
+     * @param inicio Instante de inicio del intervalo
+     * @param fin Instante de fin del intervalo
      * @param idCitaExcluir ID de cita a excluir (puede ser null)
      * @return Lista de citas que se solapan
      */
@@ -232,11 +234,29 @@ public interface CitaRepository extends JpaRepository<Cita, Long> {
            "AND c.fechaCita = :fechaCita " +
            "AND c.estado NOT IN ('CANCELADA', 'NO_ASISTIO') " +
            "AND (:idCitaExcluir IS NULL OR c.idCita != :idCitaExcluir) " +
-           "AND c.horaCita < :horaFin " +
-           "AND FUNCTION('ADDTIME', c.horaCita, FUNCTION('SEC_TO_TIME', COALESCE(c.duracionEstimadaMinutos, 30) * 60)) > :horaInicio")
+           "AND c.fechaHoraInicio < :fin " +
+           "AND c.fechaHoraFin > :inicio")
     List<Cita> findCitasSolapadas(@Param("veterinario") Veterinario veterinario,
                                    @Param("fechaCita") java.time.LocalDate fechaCita,
-                                   @Param("horaInicio") java.time.LocalTime horaInicio,
-                                   @Param("horaFin") java.time.LocalTime horaFin,
+                                   @Param("inicio") LocalDateTime inicio,
+                                   @Param("fin") LocalDateTime fin,
                                    @Param("idCitaExcluir") Long idCitaExcluir);
+
+    /**
+     * Busca en una sola consulta las citas activas (no canceladas ni no asistidas) de un conjunto
+     * de veterinarios que se solapan con el rango indicado.
+     *
+     * @param veterinarios Veterinarios
+     * @param inicio Inicio del rango
+     * @param fin Fin del rango
+     * @return Lista de citas ordenada por veterinario e inicio
+     */
+    @Query("SELECT c FROM Cita c WHERE c.veterinario IN :veterinarios " +
+           "AND c.estado NOT IN ('CANCELADA', 'NO_ASISTIO') " +
+           "AND c.fechaHoraInicio < :fin " +
+           "AND c.fechaHoraFin > :inicio " +
+           "ORDER BY c.veterinario.idPersonal, c.fechaHoraInicio")
+    List<Cita> findCitasActivasPorVeterinariosEnRango(@Param("veterinarios") Collection<Veterinario> veterinarios,
+                                                       @Param("inicio") LocalDateTime inicio,
+                                                       @Param("fin") LocalDateTime fin);
 }
@@ -0,0 +1,62 @@
+package com.veterinaria.clinica_veternica.repository;
+
+import com.veterinaria.clinica_veternica.domain.agenda.Cita;
+import com.veterinaria.clinica_veternica.domain.agenda.EstadoCita;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Operaciones de CitaRepository implementadas manualmente (fragmento de Spring Data).
+ *
+ * @author Clínica Veterinaria Team
+ * @version 1.0
+ * @since 2025-11-20
+ */
+public interface CitaRepositoryCustom {
+
+    /**
+     * Inserta nuevas citas con una única sentencia JDBC en batch.
+     *
+     * Las citas no quedan asociadas al contexto de persistencia: deben recargarse
+     * (por ejemplo, con {@code findAllById}) si se necesitan como entidades gestionadas.
+     *
+     * @param citas Citas nuevas (sin ID)
+     * @return IDs generados, en el mismo orden que las citas
+     */
+    List<Long> insertarEnLote(List<Cita> citas);
+
+    /**
+     * Busca una página de citas ordenadas por (fechaHoraInicio, idCita) usando keyset:
+     * la página empieza después del cursor (última cita de la página anterior).
+     * Las relaciones usadas por las respuestas (mascota, propietario, especie, veterinario,
+     * servicio) se cargan en la misma consulta.
+     *
+     * @param desde Inicio del rango, inclusive (opcional)
+     * @param hasta Fin del rango, inclusive (opcional)
+     * @param estados Estados a incluir (opcional)
+     * @param cursorInicio fechaHoraInicio de la última cita de la página anterior (opcional)
+     * @param cursorId ID de la última cita de la página anterior (opcional)
+     * @param limite Tamaño máximo de la página
+     * @return Citas de la página
+     */
+    List<Cita> buscarPaginaKeyset(LocalDateTime desde, LocalDateTime hasta, Collection<EstadoCita> estados,
+                                  LocalDateTime cursorInicio, Long cursorId, int limite);
+
+    /**
+     * Recorre las citas del filtro en orden (fechaHoraInicio, idCita) con un cursor de BD,
+     * vaciando el contexto de persistencia cada {@code tamanioLote} citas para mantener
+     * la memoria constante. Debe invocarse dentro de una transacción.
+     *
+     * @param desde Inicio del rango, inclusive (opcional)
+     * @param hasta Fin del rango, inclusive (opcional)
+     * @param estados Estados a incluir (opcional)
+     * @param tamanioLote Citas procesadas entre cada vaciado del contexto
+     * @param consumidor Acción por cita (no debe conservar referencias a la entidad)
+     * @return Número de citas recorridas
+     */
+    long recorrerCitas(LocalDateTime desde, LocalDateTime hasta, Collection<EstadoCita> estados,
+                       int tamanioLote, Consumer<Cita> consumidor);
+}
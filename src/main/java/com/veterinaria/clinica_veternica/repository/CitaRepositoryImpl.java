@@ -0,0 +1,178 @@
+package com.veterinaria.clinica_veternica.repository;
+
+import com.veterinaria.clinica_veternica.domain.agenda.Cita;
+import com.veterinaria.clinica_veternica.domain.agenda.EstadoCita;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.query.Query;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Implementación de {@link CitaRepositoryCustom}.
+ *
+ * - Inserción en lote: las citas usan IDs IDENTITY, por lo que Hibernate no agrupa sus
+ *   inserciones (necesita el ID de cada fila al persistirla); se usa JDBC en batch y se
+ *   recuperan los IDs generados de una sola vez.
+ * - Paginación keyset y recorrido con cursor de BD para listados grandes.
+ *
+ * @author Clínica Veterinaria Team
+ * @version 1.0
+ * @since 2025-11-20
+ */
+@RequiredArgsConstructor
+public class CitaRepositoryImpl implements CitaRepositoryCustom {
+
+    private static final String SQL_INSERTAR = """
+            INSERT INTO citas (id_mascota, id_veterinario, id_servicio, fecha_cita, hora_cita,
+                               duracion_estimada_minutos, fecha_hora_inicio, fecha_hora_fin, estado,
+                               motivo_consulta, observaciones, es_emergencia, es_domicilio,
+                               direccion_domicilio, precio_final, fecha_creacion, fecha_modificacion)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String SELECT_CON_RELACIONES = """
+            SELECT c FROM Cita c
+            JOIN FETCH c.mascota m
+            LEFT JOIN FETCH m.especie
+            LEFT JOIN FETCH m.propietario
+            JOIN FETCH c.veterinario
+            JOIN FETCH c.servicio
+            WHERE 1 = 1
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Long> insertarEnLote(List<Cita> citas) {
+        if (citas.isEmpty()) {
+            return List.of();
+        }
+
+        LocalDateTime ahora = LocalDateTime.now();
+        citas.forEach(Cita::sincronizarIntervalo);
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                con -> con.prepareStatement(SQL_INSERTAR, new String[]{"id_cita"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Cita cita = citas.get(i);
+                        ps.setLong(1, cita.getMascota().getIdMascota());
+                        ps.setLong(2, cita.getVeterinario().getIdPersonal());
+                        ps.setLong(3, cita.getServicio().getIdServicio());
+                        ps.setObject(4, cita.getFechaCita());
+                        ps.setObject(5, cita.getHoraCita());
+                        ps.setObject(6, cita.getDuracionEstimadaMinutos(), Types.INTEGER);
+                        ps.setObject(7, cita.getFechaHoraInicio());
+                        ps.setObject(8, cita.getFechaHoraFin());
+                        ps.setString(9, cita.getEstado().name());
+                        ps.setString(10, cita.getMotivoConsulta());
+                        ps.setString(11, cita.getObservaciones());
+                        ps.setBoolean(12, Boolean.TRUE.equals(cita.getEsEmergencia()));
+                        ps.setBoolean(13, Boolean.TRUE.equals(cita.getEsDomicilio()));
+                        ps.setString(14, cita.getDireccionDomicilio());
+                        ps.setBigDecimal(15, cita.getPrecioFinal());
+                        ps.setObject(16, ahora);
+                        ps.setObject(17, ahora);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return citas.size();
+                    }
+                },
+                keyHolder);
+
+        List<Long> ids = new ArrayList<>(citas.size());
+        for (Map<String, Object> claves : keyHolder.getKeyList()) {
+            ids.add(((Number) claves.get("id_cita")).longValue());
+        }
+        return ids;
+    }
+
+    @Override
+    public List<Cita> buscarPaginaKeyset(LocalDateTime desde, LocalDateTime hasta, Collection<EstadoCita> estados,
+                                         LocalDateTime cursorInicio, Long cursorId, int limite) {
+        StringBuilder jpql = new StringBuilder(SELECT_CON_RELACIONES);
+        Map<String, Object> parametros = new HashMap<>();
+        agregarFiltros(jpql, parametros, desde, hasta, estados);
+        if (cursorInicio != null && cursorId != null) {
+            jpql.append(" AND (c.fechaHoraInicio > :cursorInicio"
+                    + " OR (c.fechaHoraInicio = :cursorInicio AND c.idCita > :cursorId))");
+            parametros.put("cursorInicio", cursorInicio);
+            parametros.put("cursorId", cursorId);
+        }
+        jpql.append(" ORDER BY c.fechaHoraInicio, c.idCita");
+
+        TypedQuery<Cita> query = entityManager.createQuery(jpql.toString(), Cita.class)
+                .setMaxResults(limite);
+        parametros.forEach(query::setParameter);
+        return query.getResultList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public long recorrerCitas(LocalDateTime desde, LocalDateTime hasta, Collection<EstadoCita> estados,
+                              int tamanioLote, Consumer<Cita> consumidor) {
+        StringBuilder jpql = new StringBuilder(SELECT_CON_RELACIONES);
+        Map<String, Object> parametros = new HashMap<>();
+        agregarFiltros(jpql, parametros, desde, hasta, estados);
+        jpql.append(" ORDER BY c.fechaHoraInicio, c.idCita");
+
+        Query<Cita> query = entityManager.createQuery(jpql.toString(), Cita.class)
+                .unwrap(Query.class)
+                .setReadOnly(true)
+                .setFetchSize(tamanioLote);
+        parametros.forEach(query::setParameter);
+
+        long total = 0;
+        try (ScrollableResults<Cita> resultados = query.scroll(ScrollMode.FORWARD_ONLY)) {
+            while (resultados.next()) {
+                consumidor.accept(resultados.get());
+                if (++total % tamanioLote == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        entityManager.clear();
+        return total;
+    }
+
+    private static void agregarFiltros(StringBuilder jpql, Map<String, Object> parametros,
+                                       LocalDateTime desde, LocalDateTime hasta, Collection<EstadoCita> estados) {
+        if (desde != null) {
+            jpql.append(" AND c.fechaHoraInicio >= :desde");
+            parametros.put("desde", desde);
+        }
+        if (hasta != null) {
+            jpql.append(" AND c.fechaHoraInicio <= :hasta");
+            parametros.put("hasta", hasta);
+        }
+        if (estados != null && !estados.isEmpty()) {
+            jpql.append(" AND c.estado IN :estados");
+            parametros.put("estados", estados);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.veterinaria.clinica_veternica.repository;
+
+import com.veterinaria.clinica_veternica.domain.agenda.EstadisticaDiariaCita;
+import com.veterinaria.clinica_veternica.domain.agenda.EstadoCita;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repositorio del agregado diario de citas.
+ *
+ * @author Clínica Veterinaria Team
+ * @version 1.0
+ * @since 2025-11-20
+ */
+@Repository
+public interface EstadisticaDiariaCitaRepository extends JpaRepository<EstadisticaDiariaCita, Long> {
+
+    String SELECT_AGREGADO_CITAS = "SELECT new com.veterinaria.clinica_veternica.domain.agenda.EstadisticaDiariaCita(" +
+            "c.fechaCita, c.veterinario.idPersonal, c.servicio.idServicio, c.estado, COUNT(c), SUM(c.precioFinal)) " +
+            "FROM Cita c ";
+
+    String GROUP_BY_AGREGADO_CITAS = " GROUP BY c.fechaCita, c.veterinario.idPersonal, c.servicio.idServicio, c.estado";
+
+    /**
+     * Calcula, a partir de las citas, las filas agregadas de las fechas indicadas.
+     *
+     * @param fechas Fechas a agregar
+     * @return Filas nuevas (sin persistir)
+     */
+    @Query(SELECT_AGREGADO_CITAS + "WHERE c.fechaCita IN :fechas" + GROUP_BY_AGREGADO_CITAS)
+    List<EstadisticaDiariaCita> agregarCitasPorFechas(@Param("fechas") Collection<LocalDate> fechas);
+
+    /**
+     * Calcula, a partir de todas las citas, todas las filas agregadas.
+     *
+     * @return Filas nuevas (sin persistir)
+     */
+    @Query(SELECT_AGREGADO_CITAS + GROUP_BY_AGREGADO_CITAS)
+    List<EstadisticaDiariaCita> agregarTodasLasCitas();
+
+    /**
+     * Elimina las filas de las fechas indicadas.
+     *
+     * @param fechas Fechas a eliminar
+     * @return Número de filas eliminadas
+     */
+    @Modifying
+    @Query("DELETE FROM EstadisticaDiariaCita e WHERE e.fecha IN :fechas")
+    int eliminarPorFechas(@Param("fechas") Collection<LocalDate> fechas);
+
+    /**
+     * Número de citas por estado en un rango de fechas.
+     *
+     * @param desde Fecha inicial (inclusive)
+     * @param hasta Fecha final (inclusive)
+     * @return Conteo por estado
+     */
+    @Query("SELECT e.estado AS estado, SUM(e.cantidad) AS cantidad, SUM(e.ingresos) AS ingresos " +
+           "FROM EstadisticaDiariaCita e WHERE e.fecha BETWEEN :desde AND :hasta GROUP BY e.estado")
+    List<ConteoPorEstado> contarPorEstado(@Param("desde") LocalDate desde, @Param("hasta") LocalDate hasta);
+
+    /**
+     * Número de citas por veterinario y estado en un rango de fechas.
+     *
+     * @param desde Fecha inicial (inclusive)
+     * @param hasta Fecha final (inclusive)
+     * @return Conteo por veterinario y estado
+     */
+    @Query("SELECT e.idVeterinario AS idVeterinario, e.estado AS estado, SUM(e.cantidad) AS cantidad, " +
+           "SUM(e.ingresos) AS ingresos " +
+           "FROM EstadisticaDiariaCita e WHERE e.fecha BETWEEN :desde AND :hasta " +
+           "GROUP BY e.idVeterinario, e.estado")
+    List<ConteoPorVeterinarioYEstado> contarPorVeterinarioYEstado(@Param("desde") LocalDate desde,
+                                                                 @Param("hasta") LocalDate hasta);
+
+    /**
+     * Proyección de {@link #contarPorEstado}.
+     */
+    interface ConteoPorEstado {
+        EstadoCita getEstado();
+
+        Long getCantidad();
+
+        BigDecimal getIngresos();
+    }
+
+    /**
+     * Proyección de {@link #contarPorVeterinarioYEstado}.
+     */
+    interface ConteoPorVeterinarioYEstado {
+        Long getIdVeterinario();
+
+        EstadoCita getEstado();
+
+        Long getCantidad();
+
+        BigDecimal getIngresos();
+    }
+}
@@ -0,0 +1,78 @@
+package com.veterinaria.clinica_veternica.repository;
+
+import com.veterinaria.clinica_veternica.domain.agenda.EstadoCita;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Consultas de agregación para estadísticas (dashboard).
+ *
+ * Devuelve solo conteos calculados en la BD: el coste no depende del número de mascotas,
+ * propietarios o citas, ya que no se carga ni se mapea ninguna entidad. Todos los
+ * indicadores generales se obtienen con una única consulta de subconsultas escalares.
+ *
+ * @author Clínica Veterinaria Team
+ * @version 1.0
+ * @since 2025-11-20
+ */
+@Repository
+public class EstadisticasRepository {
+
+    // Mismos criterios que findByActivoTrue, findCitasProgramadas, findCitasEnRango y
+    // findInventariosConStockBajo, usados antes para contar
+    private static final String JPQL_CONTEOS_GENERALES = """
+            SELECT
+              (SELECT COUNT(p) FROM Propietario p WHERE p.activo = true),
+              (SELECT COUNT(m) FROM Mascota m WHERE m.activo = true),
+              (SELECT COUNT(v) FROM Veterinario v WHERE v.activo = true),
+              (SELECT COUNT(c) FROM Cita c WHERE c.estado IN :estadosProgramados
+                 AND c.fechaHoraInicio > CURRENT_TIMESTAMP),
+              (SELECT COUNT(c) FROM Cita c WHERE c.fechaHoraInicio BETWEEN :inicioDia AND :finDia),
+              (SELECT COUNT(i) FROM Inventario i WHERE i.cantidadActual <= i.insumo.stockMinimo)
+            """;
+
+    private static final List<EstadoCita> ESTADOS_PROGRAMADOS = List.of(EstadoCita.PROGRAMADA, EstadoCita.CONFIRMADA);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Calcula los indicadores generales en un solo viaje a la BD.
+     *
+     * @param inicioDia Inicio del día actual
+     * @param finDia Fin del día actual
+     * @return Conteos generales
+     */
+    public ConteosGenerales contarGenerales(LocalDateTime inicioDia, LocalDateTime finDia) {
+        Object[] fila = entityManager.createQuery(JPQL_CONTEOS_GENERALES, Object[].class)
+                .setParameter("estadosProgramados", ESTADOS_PROGRAMADOS)
+                .setParameter("inicioDia", inicioDia)
+                .setParameter("finDia", finDia)
+                .getSingleResult();
+        return new ConteosGenerales(
+                aLong(fila[0]), aLong(fila[1]), aLong(fila[2]),
+                aLong(fila[3]), aLong(fila[4]), aLong(fila[5]));
+    }
+
+    private static long aLong(Object valor) {
+        return valor != null ? ((Number) valor).longValue() : 0L;
+    }
+
+    /**
+     * Indicadores generales del sistema.
+     *
+     * @param propietariosActivos Propietarios activos
+     * @param mascotasActivas Mascotas activas
+     * @param veterinariosActivos Veterinarios activos
+     * @param citasProgramadas Citas programadas o confirmadas futuras
+     * @param citasHoy Citas del día (cualquier estado)
+     * @param insumosStockBajo Inventarios en o por debajo del stock mínimo
+     */
+    public record ConteosGenerales(long propietariosActivos, long mascotasActivas, long veterinariosActivos,
+                                   long citasProgramadas, long citasHoy, long insumosStockBajo) {
+    }
+}
@@ -42,4 +42,16 @@ public interface HistoriaClinicaRepository extends JpaRepository<HistoriaClinica
            "LEFT JOIN FETCH h.mascota m " +
            "LEFT JOIN FETCH m.propietario")
     List<HistoriaClinica> findAllWithMascotaAndPropietario();
+
+    /**
+     * Historias clínicas de todas las mascotas de un propietario, con la mascota cargada.
+     *
+     * @param idPropietario ID del propietario
+     * @return Historias clínicas ordenadas por mascota
+     */
+    @Query("SELECT h FROM HistoriaClinica h " +
+           "JOIN FETCH h.mascota m " +
+           "WHERE m.propietario.idPropietario = :idPropietario " +
+           "ORDER BY m.idMascota")
+    List<HistoriaClinica> findByPropietarioId(@Param("idPropietario") Long idPropietario);
 }
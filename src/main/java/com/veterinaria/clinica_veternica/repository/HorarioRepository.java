@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -28,6 +29,9 @@ public interface HorarioRepository extends JpaRepository<Horario, Long> {
     @Query("SELECT h FROM Horario h WHERE h.veterinario = :veterinario AND h.activo = true")
     List<Horario> findHorariosActivosPorVeterinario(@Param("veterinario") Veterinario veterinario);
 
+    @Query("SELECT h FROM Horario h WHERE h.veterinario IN :veterinarios AND h.activo = true")
+    List<Horario> findHorariosActivosPorVeterinarios(@Param("veterinarios") Collection<Veterinario> veterinarios);
+
     @Query("SELECT h FROM Horario h WHERE h.diaSemana = :dia AND h.activo = true")
     List<Horario> findHorariosActivosPorDia(@Param("dia") String dia);
 }
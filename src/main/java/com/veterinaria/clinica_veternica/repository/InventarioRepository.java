@@ -2,8 +2,11 @@ package com.veterinaria.clinica_veternica.repository;
 
 import com.veterinaria.clinica_veternica.domain.inventario.Inventario;
 import com.veterinaria.clinica_veternica.domain.inventario.Insumo;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -11,6 +14,7 @@ import org.springframework.stereotype.Repository;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repositorio para la entidad Inventario.
@@ -41,4 +45,16 @@ public interface InventarioRepository extends JpaRepository<Inventario, Long> {
     
     @Query("SELECT i FROM Inventario i JOIN FETCH i.insumo")
     List<Inventario> findAllWithInsumo();
+
+    /**
+     * Recorre el inventario con su insumo y el tipo de insumo, en solo lectura y por lotes, para
+     * los reportes en streaming. Debe consumirse (y cerrarse) dentro de una transacción.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT i FROM Inventario i JOIN FETCH i.insumo ins JOIN FETCH ins.tipoInsumo " +
+           "ORDER BY ins.nombre, i.idInventario")
+    Stream<Inventario> recorrerConInsumo();
 }
@@ -28,6 +28,15 @@ public interface PersonalRepository extends JpaRepository<Personal, Long> {
     @Query("SELECT p FROM Personal p WHERE p.usuario = :usuario")
     Optional<Personal> findByUsuario(@Param("usuario") Usuario usuario);
 
+    /**
+     * Obtiene solo el ID del personal asociado a un usuario.
+     *
+     * @param idUsuario ID del usuario
+     * @return Optional con el ID del personal si existe
+     */
+    @Query("SELECT p.idPersonal FROM Personal p WHERE p.usuario.idUsuario = :idUsuario")
+    Optional<Long> findIdPersonalByIdUsuario(@Param("idUsuario") Long idUsuario);
+
     /**
      * Verifica si existe personal con el documento especificado.
      *
@@ -43,6 +43,15 @@ public interface PropietarioRepository extends JpaRepository<Propietario, Long>
     @Query("SELECT p FROM Propietario p WHERE LOWER(p.email) = LOWER(:email)")
     Optional<Propietario> findByEmail(@Param("email") String email);
 
+    /**
+     * Obtiene solo el ID del propietario con un email (case-insensitive).
+     *
+     * @param email Email del propietario
+     * @return Optional con el ID del propietario si existe
+     */
+    @Query("SELECT p.idPropietario FROM Propietario p WHERE LOWER(p.email) = LOWER(:email)")
+    Optional<Long> findIdPropietarioByEmail(@Param("email") String email);
+
     /**
      * Busca propietarios por teléfono.
      *
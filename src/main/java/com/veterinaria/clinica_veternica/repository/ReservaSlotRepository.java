@@ -0,0 +1,88 @@
+package com.veterinaria.clinica_veternica.repository;
+
+import com.veterinaria.clinica_veternica.domain.agenda.ReservaSlot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repositorio de reservas temporales de slots.
+ *
+ * Todas las consultas reciben el instante actual y descartan las reservas expiradas.
+ *
+ * @author Clínica Veterinaria Team
+ * @version 1.0
+ * @since 2025-11-20
+ */
+@Repository
+public interface ReservaSlotRepository extends JpaRepository<ReservaSlot, String> {
+
+    /**
+     * Busca una reserva vigente por su token.
+     */
+    @Query("SELECT r FROM ReservaSlot r WHERE r.token = :token AND r.expiraEn > :ahora")
+    Optional<ReservaSlot> findVigente(@Param("token") String token, @Param("ahora") LocalDateTime ahora);
+
+    /**
+     * Cuenta las reservas vigentes de un veterinario que se solapan con un intervalo del día.
+     */
+    @Query("SELECT COUNT(r) FROM ReservaSlot r WHERE r.idVeterinario = :idVeterinario AND r.fecha = :fecha " +
+           "AND r.horaInicio < :fin AND r.horaFin > :inicio AND r.expiraEn > :ahora")
+    long countSolapadas(@Param("idVeterinario") Long idVeterinario,
+                        @Param("fecha") LocalDate fecha,
+                        @Param("inicio") LocalTime inicio,
+                        @Param("fin") LocalTime fin,
+                        @Param("ahora") LocalDateTime ahora);
+
+    /**
+     * Reservas vigentes de un veterinario en un día.
+     */
+    @Query("SELECT r FROM ReservaSlot r WHERE r.idVeterinario = :idVeterinario AND r.fecha = :fecha " +
+           "AND r.expiraEn > :ahora")
+    List<ReservaSlot> findVigentesDelDia(@Param("idVeterinario") Long idVeterinario,
+                                         @Param("fecha") LocalDate fecha,
+                                         @Param("ahora") LocalDateTime ahora);
+
+    /**
+     * Reservas vigentes de varios veterinarios en un rango de fechas (ambas inclusive).
+     */
+    @Query("SELECT r FROM ReservaSlot r WHERE r.idVeterinario IN :idsVeterinario " +
+           "AND r.fecha BETWEEN :desde AND :hasta AND r.expiraEn > :ahora")
+    List<ReservaSlot> findVigentesPorVeterinariosEnRango(@Param("idsVeterinario") Collection<Long> idsVeterinario,
+                                                         @Param("desde") LocalDate desde,
+                                                         @Param("hasta") LocalDate hasta,
+                                                         @Param("ahora") LocalDateTime ahora);
+
+    /**
+     * Número de reservas vigentes de un usuario.
+     */
+    @Query("SELECT COUNT(r) FROM ReservaSlot r WHERE r.usuario = :usuario AND r.expiraEn > :ahora")
+    long countVigentesPorUsuario(@Param("usuario") String usuario, @Param("ahora") LocalDateTime ahora);
+
+    /**
+     * Elimina una reserva por su token.
+     *
+     * @return Número de filas eliminadas (0 si ya no existía)
+     */
+    @Modifying
+    @Query("DELETE FROM ReservaSlot r WHERE r.token = :token")
+    int eliminarPorToken(@Param("token") String token);
+
+    /**
+     * Elimina las reservas expiradas.
+     *
+     * @return Número de filas eliminadas
+     */
+    @Modifying
+    @Query("DELETE FROM ReservaSlot r WHERE r.expiraEn <= :ahora")
+    int eliminarExpiradas(@Param("ahora") LocalDateTime ahora);
+}
@@ -1,6 +1,7 @@
 package com.veterinaria.clinica_veternica.security.jwt;
 
-import com.veterinaria.clinica_veternica.security.service.UserDetailsServiceImpl;
+import com.veterinaria.clinica_veternica.security.service.PrincipalCacheService;
+import com.veterinaria.clinica_veternica.security.service.UsuarioPrincipal;
 import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -10,7 +11,6 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -27,7 +27,7 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtils jwtUtils;
-    private final UserDetailsServiceImpl userDetailsService;
+    private final PrincipalCacheService principalCacheService;
     private final JwtProperties jwtProperties;
 
     /**
@@ -52,8 +52,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 // Obtener el username del token
                 String username = jwtUtils.getUsernameFromJwtToken(jwt);
 
-                // Cargar los detalles del usuario desde la base de datos
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                // Obtener el usuario del caché de principales (solo consulta la base de datos si no está)
+                UsuarioPrincipal userDetails = principalCacheService.obtener(username);
 
                 // Crear el objeto de autenticación
                 UsernamePasswordAuthenticationToken authentication =
@@ -0,0 +1,74 @@
+package com.veterinaria.clinica_veternica.security.service;
+
+import com.veterinaria.clinica_veternica.domain.usuario.RolUsuario;
+import com.veterinaria.clinica_veternica.security.service.PerfilActorService.PerfilActor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+/**
+ * Actor de la petición actual: el usuario autenticado y su perfil.
+ *
+ * Se resuelve una sola vez por petición a partir del principal cacheado
+ * ({@link PrincipalCacheService}) y del perfil cacheado ({@link PerfilActorService}), de modo
+ * que las comprobaciones de pertenencia (mis citas, mis mascotas) son comparaciones en memoria.
+ * Se inyecta en los servicios como proxy; solo puede usarse dentro de una petición HTTP.
+ *
+ * @author Clínica Veterinaria Team
+ * @version 1.0
+ * @since 2025-11-20
+ */
+@Component
+@RequestScope
+@RequiredArgsConstructor
+public class ContextoActor {
+
+    private final PrincipalCacheService principalCacheService;
+    private final PerfilActorService perfilActorService;
+
+    private ActorActual actor;
+
+    /**
+     * Obtiene el actor de la petición actual (lo resuelve la primera vez).
+     *
+     * @return Actor actual
+     * @throws com.veterinaria.clinica_veternica.exception.UnauthorizedException si no hay usuario autenticado
+     */
+    public ActorActual actual() {
+        if (actor == null) {
+            UsuarioPrincipal principal = principalCacheService.principalActual();
+            PerfilActor perfil = perfilActorService.obtenerPerfil(principal.getIdUsuario(), principal.getEmail());
+            actor = new ActorActual(principal.getIdUsuario(), principal.getUsername(), principal.getRol(),
+                    perfil.idPersonal(), perfil.idPropietario());
+        }
+        return actor;
+    }
+
+    /**
+     * Usuario autenticado y los IDs de su perfil.
+     *
+     * @param idUsuario ID del usuario
+     * @param username Username
+     * @param rol Rol del usuario
+     * @param idPersonal ID del personal asociado (veterinario, recepcionista, etc.) o null
+     * @param idPropietario ID del propietario asociado o null
+     */
+    public record ActorActual(Long idUsuario, String username, RolUsuario rol, Long idPersonal, Long idPropietario) {
+
+        public boolean esVeterinario() {
+            return rol == RolUsuario.VETERINARIO;
+        }
+
+        public boolean esPropietario() {
+            return rol == RolUsuario.PROPIETARIO;
+        }
+
+        /**
+         * @param idPropietarioBuscado ID de propietario a comprobar
+         * @return true si el actor es ese propietario
+         */
+        public boolean esPropietarioDe(Long idPropietarioBuscado) {
+            return idPropietario != null && idPropietario.equals(idPropietarioBuscado);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.veterinaria.clinica_veternica.security.service;
+
+import com.veterinaria.clinica_veternica.config.CacheConfig;
+import com.veterinaria.clinica_veternica.repository.PersonalRepository;
+import com.veterinaria.clinica_veternica.repository.PropietarioRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Relación de cada usuario con su perfil de personal o de propietario.
+ *
+ * Resuelve una sola vez por usuario los IDs del perfil asociado (el personal por su usuario,
+ * el propietario por su email) y los guarda en {@link CacheConfig#CACHE_PERFILES_ACTOR}.
+ * También se guarda la ausencia de perfil, por lo que cualquier alta de personal o de
+ * propietario, o cambio de email, debe invalidar el caché.
+ *
+ * @author Clínica Veterinaria Team
+ * @version 1.0
+ * @since 2025-11-20
+ */
+@Service
+@RequiredArgsConstructor
+public class PerfilActorService {
+
+    private final PersonalRepository personalRepository;
+    private final PropietarioRepository propietarioRepository;
+    private final CacheManager cacheManager;
+
+    /**
+     * Obtiene los IDs de perfil asociados a un usuario.
+     *
+     * @param idUsuario ID del usuario (clave del caché)
+     * @param email Email del usuario, para encontrar su perfil de propietario
+     * @return Perfil del usuario (con IDs nulos si no tiene)
+     */
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.CACHE_PERFILES_ACTOR, key = "#idUsuario", sync = true)
+    public PerfilActor obtenerPerfil(Long idUsuario, String email) {
+        Long idPersonal = personalRepository.findIdPersonalByIdUsuario(idUsuario).orElse(null);
+        Long idPropietario = email != null
+                ? propietarioRepository.findIdPropietarioByEmail(email).orElse(null)
+                : null;
+        return new PerfilActor(idPersonal, idPropietario);
+    }
+
+    /**
+     * Invalida todos los perfiles cacheados en todos los nodos. Dentro de una transacción se
+     * repite tras el commit, porque una carga concurrente pudo leer los datos anteriores.
+     */
+    public void invalidarTodos() {
+        Cache cache = cacheManager.getCache(CacheConfig.CACHE_PERFILES_ACTOR);
+        if (cache == null) {
+            return;
+        }
+        cache.clear();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.clear();
+                }
+            });
+        }
+    }
+
+    /**
+     * IDs del perfil de un usuario.
+     *
+     * @param idPersonal ID del personal (veterinario, recepcionista, etc.) o null
+     * @param idPropietario ID del propietario o null
+     */
+    public record PerfilActor(Long idPersonal, Long idPropietario) {
+    }
+}
@@ -0,0 +1,187 @@
+package com.veterinaria.clinica_veternica.security.service;
+
+import com.veterinaria.clinica_veternica.config.CacheConfig;
+import com.veterinaria.clinica_veternica.config.cache.BusInvalidacionCache;
+import com.veterinaria.clinica_veternica.config.cache.CacheAcotada;
+import com.veterinaria.clinica_veternica.domain.usuario.Usuario;
+import com.veterinaria.clinica_veternica.exception.UnauthorizedException;
+import com.veterinaria.clinica_veternica.repository.UsuarioRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caché de usuarios autenticados para el filtro JWT.
+ *
+ * Guarda un {@link UsuarioPrincipal} por username en el caché
+ * {@link CacheConfig#CACHE_PRINCIPALES} (TTL corto), de modo que una petición autenticada
+ * no consulta la tabla de usuarios.
+ *
+ * VERSIÓN DE SEGURIDAD:
+ * - Cada principal guarda la versión de seguridad vigente cuando empezó a cargarse.
+ * - {@link #revocar(String)} sube la versión del usuario (bloqueo, cambio de rol,
+ *   cambio o reseteo de contraseña, desactivación, eliminación) y lo saca del caché; un
+ *   principal con una versión anterior ya no se sirve, aunque su carga terminara después.
+ * - La revocación se repite tras el commit y se publica en el bus de invalidación, por lo que
+ *   los demás nodos la aplican en cuanto reciben el mensaje.
+ * - El TTL acota el tiempo que se sirve un principal si el usuario se modifica fuera de la
+ *   aplicación.
+ *
+ * @author Clínica Veterinaria Team
+ * @version 1.0
+ * @since 2025-11-20
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PrincipalCacheService {
+
+    private final UsuarioRepository usuarioRepository;
+    private final CacheManager cacheManager;
+    private final BusInvalidacionCache busInvalidacion;
+
+    private final AtomicLong contadorVersiones = new AtomicLong();
+    private final Map<String, Long> versionPorUsuario = new ConcurrentHashMap<>();
+    // Versión mínima vigente para todos los usuarios (sube al vaciar el caché)
+    private final AtomicLong versionMinima = new AtomicLong();
+    private CacheAcotada cache;
+
+    @PostConstruct
+    public void iniciar() {
+        Cache registrado = cacheManager.getCache(CacheConfig.CACHE_PRINCIPALES);
+        if (registrado == null || !(registrado.getNativeCache() instanceof CacheAcotada acotada)) {
+            throw new IllegalStateException("Caché no configurado: " + CacheConfig.CACHE_PRINCIPALES);
+        }
+        this.cache = acotada;
+        busInvalidacion.registrarReceptor(CacheConfig.CACHE_PRINCIPALES, this::aplicarRemota);
+    }
+
+    /**
+     * Obtiene el principal de un usuario activo y no bloqueado.
+     *
+     * @param username Username del token
+     * @return Principal vigente
+     * @throws UsernameNotFoundException si el usuario no existe, está inactivo o bloqueado
+     */
+    public UsuarioPrincipal obtener(String username) {
+        UsuarioPrincipal principal = cache.get(username, UsuarioPrincipal.class);
+        if (principal != null) {
+            if (esVigente(principal)) {
+                return principal;
+            }
+            cache.evictLocal(username);
+        }
+        try {
+            principal = cache.get(username, () -> cargar(username));
+        } catch (Cache.ValueRetrievalException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw e;
+        }
+        // Otra carga concurrente pudo guardar un principal anterior a una revocación
+        return esVigente(principal) ? principal : cargar(username);
+    }
+
+    /**
+     * Obtiene el principal del usuario autenticado en la petición actual.
+     *
+     * @return Principal del usuario autenticado
+     * @throws UnauthorizedException si no hay usuario autenticado o ya no es válido
+     */
+    public UsuarioPrincipal principalActual() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            throw new UnauthorizedException("Usuario no autenticado");
+        }
+        if (authentication.getPrincipal() instanceof UsuarioPrincipal principal) {
+            return principal;
+        }
+        try {
+            return obtener(authentication.getName());
+        } catch (UsernameNotFoundException e) {
+            throw new UnauthorizedException("Usuario no encontrado");
+        }
+    }
+
+    /**
+     * Revoca el principal cacheado de un usuario en todos los nodos. Se debe invocar en
+     * cualquier cambio que afecte a la autenticación o a los permisos del usuario.
+     *
+     * @param username Username del usuario
+     */
+    public void revocar(String username) {
+        if (username == null) {
+            return;
+        }
+        revocarLocal(username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Una carga durante la transacción pudo leer los datos anteriores al cambio
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    revocarLocal(username);
+                }
+            });
+        }
+        busInvalidacion.publicarCache(CacheConfig.CACHE_PRINCIPALES, username);
+        log.debug("Principal revocado: {}", username);
+    }
+
+    // ===================================================================
+    // UTILIDADES
+    // ===================================================================
+
+    private UsuarioPrincipal cargar(String username) {
+        long version = contadorVersiones.get();
+        Usuario usuario = usuarioRepository.findByUsername(username)
+                .orElseThrow(() -> new UsernameNotFoundException("Usuario no encontrado: " + username));
+
+        if (usuario.getEstado() == null || !usuario.getEstado()) {
+            throw new UsernameNotFoundException("Usuario inactivo: " + username);
+        }
+        if (usuario.getBloqueado() != null && usuario.getBloqueado()) {
+            throw new UsernameNotFoundException("Usuario bloqueado: " + username);
+        }
+        return UsuarioPrincipal.de(usuario, version);
+    }
+
+    private boolean esVigente(UsuarioPrincipal principal) {
+        long minima = Math.max(versionMinima.get(),
+                versionPorUsuario.getOrDefault(principal.getUsername(), 0L));
+        return principal.getVersionSeguridad() >= minima;
+    }
+
+    private void revocarLocal(String username) {
+        versionPorUsuario.put(username, contadorVersiones.incrementAndGet());
+        cache.evictLocal(username);
+    }
+
+    /**
+     * Aplica una revocación recibida de otro nodo (lista vacía: revocar todos).
+     */
+    private void aplicarRemota(List<String> usernames) {
+        if (usernames.isEmpty()) {
+            versionMinima.set(contadorVersiones.incrementAndGet());
+            versionPorUsuario.clear();
+            cache.clearLocal();
+            return;
+        }
+        usernames.forEach(this::revocarLocal);
+    }
+}
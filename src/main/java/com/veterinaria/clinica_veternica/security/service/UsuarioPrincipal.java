@@ -0,0 +1,100 @@
+package com.veterinaria.clinica_veternica.security.service;
+
+import com.veterinaria.clinica_veternica.domain.usuario.RolUsuario;
+import com.veterinaria.clinica_veternica.domain.usuario.Usuario;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Usuario autenticado por token JWT.
+ *
+ * Copia inmutable de los datos del usuario que necesitan el filtro JWT y los servicios
+ * (id, email y rol), de modo que una petición autenticada no vuelve a consultar la tabla
+ * de usuarios. No guarda la contraseña: el login sigue usando {@link UserDetailsServiceImpl}.
+ *
+ * @author Clínica Veterinaria Team
+ * @version 1.0
+ * @since 2025-11-20
+ */
+public final class UsuarioPrincipal implements UserDetails {
+
+    private final Long idUsuario;
+    private final String username;
+    private final String email;
+    private final RolUsuario rol;
+    private final List<GrantedAuthority> authorities;
+    private final long versionSeguridad;
+
+    private UsuarioPrincipal(Long idUsuario, String username, String email, RolUsuario rol,
+                             long versionSeguridad) {
+        this.idUsuario = idUsuario;
+        this.username = username;
+        this.email = email;
+        this.rol = rol;
+        this.authorities = rol != null ? List.of(new SimpleGrantedAuthority("ROLE_" + rol)) : List.of();
+        this.versionSeguridad = versionSeguridad;
+    }
+
+    /**
+     * Crea el principal a partir de un usuario activo y no bloqueado.
+     *
+     * @param usuario Usuario
+     * @param versionSeguridad Versión de seguridad vigente al empezar la carga
+     * @return Principal
+     */
+    public static UsuarioPrincipal de(Usuario usuario, long versionSeguridad) {
+        return new UsuarioPrincipal(usuario.getIdUsuario(), usuario.getUsername(), usuario.getEmail(),
+                usuario.getRol(), versionSeguridad);
+    }
+
+    public Long getIdUsuario() {
+        return idUsuario;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public RolUsuario getRol() {
+        return rol;
+    }
+
+    /**
+     * @return Versión de seguridad con la que se cargó (ver {@link PrincipalCacheService})
+     */
+    public long getVersionSeguridad() {
+        return versionSeguridad;
+    }
+
+    /**
+     * @param rolBuscado Rol a comprobar
+     * @return true si el usuario tiene ese rol
+     */
+    public boolean tieneRol(RolUsuario rolBuscado) {
+        return rol == rolBuscado;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public String toString() {
+        return "UsuarioPrincipal[" + username + ", " + rol + "]";
+    }
+}
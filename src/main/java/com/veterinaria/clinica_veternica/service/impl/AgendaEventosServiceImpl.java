@@ -0,0 +1,273 @@
+package com.veterinaria.clinica_veternica.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.veterinaria.clinica_veternica.config.cache.BusInvalidacionCache;
+import com.veterinaria.clinica_veternica.dto.response.agenda.EventoAgendaDTO;
+import com.veterinaria.clinica_veternica.exception.BusinessException;
+import com.veterinaria.clinica_veternica.service.interfaces.IAgendaEventosService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Feed en tiempo real (Server-Sent Events) de los cambios de agenda.
+ *
+ * Recibe los eventos de citas desde {@code AgendaEventosObserver} (después del commit) y los
+ * reparte a los suscriptores cuyo filtro (veterinario, fecha) coincida.
+ *
+ * - Cada suscriptor tiene un buffer acotado y un hilo virtual que envía los eventos, de modo
+ *   que un cliente lento nunca bloquea a quien publica ni a los demás clientes.
+ * - Si el buffer se llena se descartan los eventos pendientes y se envía un único evento
+ *   RESINCRONIZAR: el cliente debe recargar la agenda y seguir escuchando.
+ * - Sin eventos, se envía un comentario periódico para mantener viva la conexión y
+ *   detectar clientes desconectados.
+ *
+ * Los suscriptores viven en memoria de cada nodo. Cada evento se reparte a los suscriptores
+ * locales y se publica en {@link BusInvalidacionCache}, cuyo receptor en los demás nodos lo
+ * reparte a los suyos: un cliente ve los cambios hechos en cualquier instancia. Si el bus
+ * detecta mensajes perdidos (o se reconecta), todos los suscriptores reciben RESINCRONIZAR.
+ *
+ * @author Clínica Veterinaria Team
+ * @version 1.0
+ * @since 2025-11-20
+ */
+@Slf4j
+@Service
+public class AgendaEventosServiceImpl implements IAgendaEventosService {
+
+    private static final int CAPACIDAD_BUFFER = 256;
+    private static final int MAX_SUSCRIPTORES = 500;
+    private static final long HEARTBEAT_SEGUNDOS = 25;
+    private static final long TIMEOUT_CONEXION_MS = TimeUnit.MINUTES.toMillis(30);
+
+    /**
+     * Nombre del receptor del feed en el bus (un mensaje por evento, serializado en JSON).
+     */
+    public static final String RECEPTOR_BUS = "feed-agenda";
+
+    private final Set<Suscriptor> suscriptores = ConcurrentHashMap.newKeySet();
+    private final AtomicLong secuencia = new AtomicLong();
+    private final BusInvalidacionCache busInvalidacion;
+    private final ObjectMapper objectMapper;
+
+    public AgendaEventosServiceImpl(BusInvalidacionCache busInvalidacion, ObjectMapper objectMapper) {
+        this.busInvalidacion = busInvalidacion;
+        this.objectMapper = objectMapper;
+        busInvalidacion.registrarReceptor(RECEPTOR_BUS, this::recibirRemotos);
+    }
+
+    /**
+     * Registra un nuevo suscriptor del feed.
+     *
+     * @param idVeterinario Filtra por veterinario (opcional)
+     * @param fecha Filtra por fecha de la cita (opcional)
+     * @return Emisor SSE de la conexión
+     */
+    @Override
+    public SseEmitter suscribir(Long idVeterinario, LocalDate fecha) {
+        if (suscriptores.size() >= MAX_SUSCRIPTORES) {
+            throw new BusinessException("Se alcanzó el máximo de conexiones al feed de agenda", "FEED_SATURADO");
+        }
+
+        SseEmitter emitter = new SseEmitter(TIMEOUT_CONEXION_MS);
+        Suscriptor suscriptor = new Suscriptor(emitter, idVeterinario, fecha);
+        emitter.onCompletion(suscriptor::cerrar);
+        emitter.onTimeout(suscriptor::cerrar);
+        emitter.onError(e -> suscriptor.cerrar());
+
+        suscriptores.add(suscriptor);
+        suscriptor.hilo = Thread.ofVirtual().name("feed-agenda").start(suscriptor::despachar);
+        log.debug("Nuevo suscriptor al feed de agenda (veterinario: {}, fecha: {}). Total: {}",
+                idVeterinario, fecha, suscriptores.size());
+        return emitter;
+    }
+
+    /**
+     * Publica un evento a los suscriptores de este nodo y, por el bus, a los de los demás.
+     * Si hay una transacción activa, el evento se publica solo después del commit.
+     *
+     * @param evento Evento de agenda (la secuencia y la fecha del evento se asignan aquí)
+     */
+    @Override
+    public void publicar(EventoAgendaDTO evento) {
+        evento.setFechaEvento(LocalDateTime.now());
+        publicarEnBus(evento);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    repartir(evento);
+                }
+            });
+        } else {
+            repartir(evento);
+        }
+    }
+
+    @Override
+    public int contarSuscriptores() {
+        return suscriptores.size();
+    }
+
+    @PreDestroy
+    void cerrarTodos() {
+        suscriptores.forEach(s -> {
+            s.cerrar();
+            s.emitter.complete();
+        });
+    }
+
+    private void publicarEnBus(EventoAgendaDTO evento) {
+        try {
+            busInvalidacion.publicarReceptor(RECEPTOR_BUS, List.of(objectMapper.writeValueAsString(evento)));
+        } catch (JsonProcessingException e) {
+            log.warn("No se pudo publicar el evento de agenda a los demás nodos: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Reparte los eventos recibidos de otros nodos. Una lista vacía indica que el bus perdió
+     * mensajes: los suscriptores deben recargar la agenda.
+     */
+    private void recibirRemotos(List<String> mensajes) {
+        if (mensajes.isEmpty()) {
+            suscriptores.forEach(Suscriptor::resincronizar);
+            return;
+        }
+        for (String mensaje : mensajes) {
+            try {
+                repartir(objectMapper.readValue(mensaje, EventoAgendaDTO.class));
+            } catch (JsonProcessingException e) {
+                log.warn("Evento de agenda remoto no válido: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void repartir(EventoAgendaDTO evento) {
+        if (suscriptores.isEmpty()) {
+            return;
+        }
+        evento.setSecuencia(secuencia.incrementAndGet());
+        for (Suscriptor suscriptor : suscriptores) {
+            if (suscriptor.acepta(evento)) {
+                suscriptor.encolar(evento);
+            }
+        }
+    }
+
+    /**
+     * Conexión de un cliente con su filtro, su buffer acotado y su hilo de envío.
+     */
+    private final class Suscriptor {
+
+        private final SseEmitter emitter;
+        private final Long idVeterinario;
+        private final LocalDate fecha;
+        private final BlockingQueue<EventoAgendaDTO> buffer = new ArrayBlockingQueue<>(CAPACIDAD_BUFFER);
+        private final AtomicBoolean desbordado = new AtomicBoolean();
+        private volatile boolean activo = true;
+        private volatile Thread hilo;
+
+        Suscriptor(SseEmitter emitter, Long idVeterinario, LocalDate fecha) {
+            this.emitter = emitter;
+            this.idVeterinario = idVeterinario;
+            this.fecha = fecha;
+        }
+
+        /**
+         * Una reprogramación interesa tanto al día de destino como al de origen, que debe
+         * retirar la cita.
+         */
+        boolean acepta(EventoAgendaDTO evento) {
+            return (idVeterinario == null || idVeterinario.equals(evento.getIdVeterinario()))
+                    && (fecha == null || fecha.equals(evento.getFechaCita()) || fecha.equals(evento.getFechaAnterior()));
+        }
+
+        void encolar(EventoAgendaDTO evento) {
+            if (!buffer.offer(evento)) {
+                // Cliente lento: se descarta lo pendiente y se le pide resincronizar
+                buffer.clear();
+                desbordado.set(true);
+            }
+        }
+
+        /**
+         * Descarta lo pendiente y encola un único RESINCRONIZAR (despierta al hilo de envío).
+         */
+        void resincronizar() {
+            buffer.clear();
+            encolar(eventoResincronizar());
+        }
+
+        private EventoAgendaDTO eventoResincronizar() {
+            return EventoAgendaDTO.builder()
+                    .secuencia(secuencia.get())
+                    .tipo(TIPO_RESINCRONIZAR)
+                    .idVeterinario(idVeterinario)
+                    .fechaCita(fecha)
+                    .fechaEvento(LocalDateTime.now())
+                    .build();
+        }
+
+        void despachar() {
+            try {
+                emitter.send(SseEmitter.event().comment("conectado"));
+                while (activo) {
+                    if (desbordado.getAndSet(false)) {
+                        log.debug("Suscriptor del feed de agenda desbordado: se solicita resincronización");
+                        enviar(eventoResincronizar());
+                        continue;
+                    }
+                    EventoAgendaDTO evento = buffer.poll(HEARTBEAT_SEGUNDOS, TimeUnit.SECONDS);
+                    if (evento == null) {
+                        emitter.send(SseEmitter.event().comment("ping"));
+                    } else {
+                        enviar(evento);
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Suscriptor del feed de agenda desconectado: {}", e.getMessage());
+                emitter.completeWithError(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                cerrar();
+            }
+        }
+
+        private void enviar(EventoAgendaDTO evento) throws IOException {
+            emitter.send(SseEmitter.event()
+                    .id(String.valueOf(evento.getSecuencia()))
+                    .name(evento.getTipo())
+                    .data(evento, MediaType.APPLICATION_JSON));
+        }
+
+        void cerrar() {
+            activo = false;
+            if (suscriptores.remove(this)) {
+                log.debug("Suscriptor eliminado del feed de agenda. Total: {}", suscriptores.size());
+            }
+            Thread actual = hilo;
+            if (actual != null && actual != Thread.currentThread()) {
+                actual.interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package com.veterinaria.clinica_veternica.service.impl;
+
+import com.veterinaria.clinica_veternica.exception.BusinessException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Serializa las reservas de un mismo veterinario en una misma fecha.
+ *
+ * Dos niveles de bloqueo, ambos liberados al terminar la transacción:
+ * - En proceso: locks segmentados (striped) indexados por (veterinario, fecha), de modo
+ *   que reservas de veterinarios o días distintos siguen siendo totalmente paralelas.
+ * - En base de datos (PostgreSQL): {@code pg_advisory_xact_lock(veterinario, día)}, que
+ *   protege también cuando hay varias instancias de la aplicación.
+ *
+ * Debe invocarse dentro de una transacción, antes de validar conflictos y guardar la cita,
+ * para que la lectura de solapamientos y la inserción sean atómicas respecto a otras reservas.
+ * Mientras se mantiene el bloqueo no se pide otra conexión al pool: con el pool ocupado por
+ * reservas que esperan este mismo bloqueo, el titular quedaría esperando hasta el timeout.
+ *
+ * Con el mismo esquema serializa el mantenimiento del agregado diario de citas: los
+ * recálculos de un mismo día se excluyen entre sí y la reconstrucción completa excluye a
+ * todos (claves de advisory lock con primer componente negativo, que no choca con los IDs
+ * de veterinario).
+ *
+ * @author Clínica Veterinaria Team
+ * @version 1.0
+ * @since 2025-11-20
+ */
+@Slf4j
+@Service
+public class AgendaLockService {
+
+    private static final int NUMERO_SEGMENTOS = 64;
+    private static final long TIMEOUT_SEGUNDOS = 10;
+
+    // Espacios de claves de advisory lock del agregado diario: (espacio, día) por día;
+    // (espacio, 0) compartido/exclusivo entre recálculos y reconstrucción, (espacio, 1) una
+    // sola reconstrucción a la vez
+    private static final int ESPACIO_DIAS_AGREGADO = -1;
+    private static final int ESPACIO_AGREGADO = -2;
+
+    private final ReentrantLock[] segmentos = new ReentrantLock[NUMERO_SEGMENTOS];
+    private final ReentrantLock[] segmentosAgregado = new ReentrantLock[NUMERO_SEGMENTOS];
+    // Lectura: recálculo de días; escritura: reconstrucción completa
+    private final ReentrantReadWriteLock reconstruccionAgregado = new ReentrantReadWriteLock();
+    private final ReentrantLock reconstruyendoAgregado = new ReentrantLock();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile Boolean soportaAdvisoryLocks;
+
+    public AgendaLockService() {
+        for (int i = 0; i < NUMERO_SEGMENTOS; i++) {
+            segmentos[i] = new ReentrantLock();
+            segmentosAgregado[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Bloquea la agenda de un veterinario en una fecha hasta el fin de la transacción actual.
+     *
+     * @param idVeterinario ID del veterinario
+     * @param fecha Fecha de la agenda
+     * @throws BusinessException si no se obtiene el bloqueo dentro del tiempo límite
+     */
+    public void bloquear(Long idVeterinario, LocalDate fecha) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("El bloqueo de agenda requiere una transacción activa");
+        }
+        if (idVeterinario == null || fecha == null) {
+            return; // Datos incompletos: la cadena de validaciones rechazará la cita
+        }
+
+        bloquearHastaFinDeTransaccion(segmentos[segmentoDe(idVeterinario, fecha)],
+                "La agenda del veterinario está siendo modificada. Intente nuevamente");
+
+        if (soportaAdvisoryLocks()) {
+            advisoryLock("pg_advisory_xact_lock", idVeterinario.intValue(), (int) fecha.toEpochDay());
+        }
+
+        log.debug("Agenda bloqueada para veterinario ID: {} en fecha: {}", idVeterinario, fecha);
+    }
+
+    /**
+     * Bloquea varias agendas hasta el fin de la transacción actual.
+     *
+     * Las claves se bloquean en un orden global (segmento, veterinario, fecha) para que dos
+     * transacciones que bloquean conjuntos solapados no se esperen mutuamente.
+     *
+     * @param claves Pares (veterinario, fecha) a bloquear
+     * @throws BusinessException si no se obtiene algún bloqueo dentro del tiempo límite
+     */
+    public void bloquear(Collection<ClaveAgenda> claves) {
+        claves.stream()
+                .distinct()
+                .sorted(Comparator.comparingInt((ClaveAgenda c) -> segmentoDe(c.idVeterinario(), c.fecha()))
+                        .thenComparing(ClaveAgenda::idVeterinario)
+                        .thenComparing(ClaveAgenda::fecha))
+                .forEach(c -> bloquear(c.idVeterinario(), c.fecha()));
+    }
+
+    /**
+     * Bloquea los días indicados del agregado diario de citas hasta el fin de la transacción
+     * actual, para recalcularlos. Espera a que termine una reconstrucción completa en curso.
+     *
+     * @param fechas Días a recalcular
+     * @throws BusinessException si no se obtiene algún bloqueo dentro del tiempo límite
+     */
+    public void bloquearDiasAgregado(Collection<LocalDate> fechas) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("El bloqueo del agregado requiere una transacción activa");
+        }
+        String mensaje = "El agregado diario de citas está siendo recalculado";
+        bloquearHastaFinDeTransaccion(reconstruccionAgregado.readLock(), mensaje);
+        boolean postgres = soportaAdvisoryLocks();
+        if (postgres) {
+            advisoryLock("pg_advisory_xact_lock_shared", ESPACIO_AGREGADO, 0);
+        }
+        // Orden global por segmento y fecha, como en las agendas
+        fechas.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .sorted(Comparator.comparingInt((LocalDate f) -> Math.floorMod(f.hashCode(), NUMERO_SEGMENTOS))
+                        .thenComparing(Comparator.naturalOrder()))
+                .forEach(fecha -> {
+                    bloquearHastaFinDeTransaccion(
+                            segmentosAgregado[Math.floorMod(fecha.hashCode(), NUMERO_SEGMENTOS)], mensaje);
+                    if (postgres) {
+                        advisoryLock("pg_advisory_xact_lock", ESPACIO_DIAS_AGREGADO, (int) fecha.toEpochDay());
+                    }
+                });
+    }
+
+    /**
+     * Bloquea el agregado diario de citas completo hasta el fin de la transacción actual, para
+     * reconstruirlo. Si otra reconstrucción ya está en curso (en PostgreSQL, en cualquier
+     * instancia del clúster) no espera y devuelve false; los recálculos de días en curso sí
+     * se esperan.
+     *
+     * @return true si se obtuvo el bloqueo
+     * @throws BusinessException si los recálculos en curso no terminan dentro del tiempo límite
+     */
+    public boolean intentarBloquearAgregado() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("El bloqueo del agregado requiere una transacción activa");
+        }
+        if (!reconstruyendoAgregado.tryLock()) {
+            return false;
+        }
+        registrarLiberacion(reconstruyendoAgregado);
+        boolean postgres = soportaAdvisoryLocks();
+        if (postgres) {
+            Object obtenido = entityManager.createNativeQuery(
+                            "SELECT pg_try_advisory_xact_lock(CAST(?1 AS integer), CAST(?2 AS integer))")
+                    .setParameter(1, ESPACIO_AGREGADO)
+                    .setParameter(2, 1)
+                    .getSingleResult();
+            if (!Boolean.TRUE.equals(obtenido)) {
+                return false;
+            }
+        }
+        bloquearHastaFinDeTransaccion(reconstruccionAgregado.writeLock(),
+                "El agregado diario de citas está siendo recalculado");
+        if (postgres) {
+            advisoryLock("pg_advisory_xact_lock", ESPACIO_AGREGADO, 0);
+        }
+        return true;
+    }
+
+    private void bloquearHastaFinDeTransaccion(Lock lock, String mensajeOcupado) {
+        try {
+            if (!lock.tryLock(TIMEOUT_SEGUNDOS, TimeUnit.SECONDS)) {
+                throw new BusinessException(mensajeOcupado, "AGENDA_OCUPADA");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException("Reserva interrumpida", "AGENDA_OCUPADA");
+        }
+        registrarLiberacion(lock);
+    }
+
+    /**
+     * Se libera en cuanto la transacción confirma, antes del trabajo posterior al commit
+     * (estadísticas, invalidaciones) de las demás sincronizaciones.
+     */
+    private void registrarLiberacion(Lock lock) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean liberado;
+
+            @Override
+            public int getOrder() {
+                return Ordered.HIGHEST_PRECEDENCE;
+            }
+
+            @Override
+            public void afterCommit() {
+                liberar();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                liberar();
+            }
+
+            private void liberar() {
+                if (!liberado) {
+                    liberado = true;
+                    lock.unlock();
+                }
+            }
+        });
+    }
+
+    private void advisoryLock(String funcion, int clave1, int clave2) {
+        entityManager.createNativeQuery("SELECT " + funcion + "(CAST(?1 AS integer), CAST(?2 AS integer))")
+                .setParameter(1, clave1)
+                .setParameter(2, clave2)
+                .getSingleResult();
+    }
+
+    private static int segmentoDe(Long idVeterinario, LocalDate fecha) {
+        return Math.floorMod(Objects.hash(idVeterinario, fecha), NUMERO_SEGMENTOS);
+    }
+
+    private boolean soportaAdvisoryLocks() {
+        Boolean soporta = soportaAdvisoryLocks;
+        if (soporta == null) {
+            // Con la conexión de la transacción actual: no se toma otra del pool
+            try {
+                soporta = entityManager.unwrap(Session.class).doReturningWork(connection ->
+                        "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName()));
+            } catch (RuntimeException e) {
+                log.warn("No se pudo determinar el motor de base de datos: {}", e.getMessage());
+                soporta = false;
+            }
+            if (!soporta) {
+                log.warn("Motor sin advisory locks: las reservas se serializan solo dentro de esta instancia");
+            }
+            soportaAdvisoryLocks = soporta;
+        }
+        return soporta;
+    }
+
+    /**
+     * Agenda de un veterinario en una fecha.
+     */
+    public record ClaveAgenda(Long idVeterinario, LocalDate fecha) {
+    }
+}
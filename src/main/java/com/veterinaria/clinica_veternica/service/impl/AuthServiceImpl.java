@@ -20,6 +20,7 @@ import com.veterinaria.clinica_veternica.repository.PropietarioRepository;
 import com.veterinaria.clinica_veternica.repository.UsuarioRepository;
 import com.veterinaria.clinica_veternica.security.jwt.JwtProperties;
 import com.veterinaria.clinica_veternica.security.jwt.JwtUtils;
+import com.veterinaria.clinica_veternica.security.service.PrincipalCacheService;
 import com.veterinaria.clinica_veternica.service.interfaces.IAuthService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -48,6 +49,7 @@ public class AuthServiceImpl implements IAuthService {
     private final JwtProperties jwtProperties;
     private final UsuarioMapper usuarioMapper;
     private final PropietarioMapper propietarioMapper;
+    private final PrincipalCacheService principalCacheService;
 
     /**
      * Autentica un usuario y genera un token JWT.
@@ -119,6 +121,9 @@ public class AuthServiceImpl implements IAuthService {
                 }
 
                 usuarioRepository.save(usuario);
+                if (Boolean.TRUE.equals(usuario.getBloqueado())) {
+                    principalCacheService.revocar(usuario.getUsername());
+                }
             });
 
             log.error("Error de autenticación para usuario: {}", loginRequest.getUsername());
@@ -208,6 +213,7 @@ public class AuthServiceImpl implements IAuthService {
         usuario.setIntentosFallidos(0);
         usuario.setBloqueado(false);
         usuarioRepository.save(usuario);
+        principalCacheService.revocar(usuario.getUsername());
 
         log.info("Contraseña reseteada para usuario: {}", usuario.getUsername());
     }
@@ -0,0 +1,217 @@
+package com.veterinaria.clinica_veternica.service.impl;
+
+import com.veterinaria.clinica_veternica.domain.agenda.Cita;
+import com.veterinaria.clinica_veternica.domain.agenda.Horario;
+import com.veterinaria.clinica_veternica.domain.agenda.ReservaSlot;
+import com.veterinaria.clinica_veternica.domain.usuario.Veterinario;
+import com.veterinaria.clinica_veternica.dto.response.agenda.SlotLibreDTO;
+import com.veterinaria.clinica_veternica.exception.BusinessException;
+import com.veterinaria.clinica_veternica.repository.CitaRepository;
+import com.veterinaria.clinica_veternica.repository.HorarioRepository;
+import com.veterinaria.clinica_veternica.repository.ReservaSlotRepository;
+import com.veterinaria.clinica_veternica.repository.VeterinarioRepository;
+import com.veterinaria.clinica_veternica.service.impl.CatalogoSnapshotService.ServicioCatalogo;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+/**
+ * Servicio de búsqueda de los primeros slots libres entre todos los veterinarios activos.
+ *
+ * Carga en bloque (una consulta por tipo de dato para todo el conjunto de veterinarios)
+ * los horarios activos, las citas y las reservas temporales vigentes del horizonte, y calcula los slots de cada veterinario
+ * en paralelo sobre hilos virtuales. El cálculo por veterinario es solo en memoria.
+ *
+ * @author Clínica Veterinaria Team
+ * @version 1.0
+ * @since 2025-11-20
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class BusquedaSlotsService {
+
+    private static final int MAX_DIAS_HORIZONTE = 60;
+    private static final int MAX_RESULTADOS = 100;
+
+    private final CatalogoSnapshotService catalogoSnapshotService;
+    private final VeterinarioRepository veterinarioRepository;
+    private final HorarioRepository horarioRepository;
+    private final CitaRepository citaRepository;
+    private final ReservaSlotRepository reservaSlotRepository;
+
+    /**
+     * Busca los N primeros slots libres para un servicio entre todos los veterinarios activos.
+     *
+     * @param idServicio ID del servicio a agendar
+     * @param especialidad Especialidad requerida (opcional)
+     * @param dias Horizonte de búsqueda en días, contando desde hoy
+     * @param cantidad Número de slots a devolver
+     * @return Slots libres ordenados por fecha y hora
+     */
+    public List<SlotLibreDTO> buscarPrimerosSlots(Long idServicio, String especialidad, int dias, int cantidad) {
+        if (dias < 1 || dias > MAX_DIAS_HORIZONTE) {
+            throw new BusinessException("El horizonte debe estar entre 1 y " + MAX_DIAS_HORIZONTE + " días");
+        }
+        if (cantidad < 1 || cantidad > MAX_RESULTADOS) {
+            throw new BusinessException("La cantidad debe estar entre 1 y " + MAX_RESULTADOS);
+        }
+
+        ServicioCatalogo servicio = catalogoSnapshotService.servicio(idServicio);
+        int duracion = servicio.duracionEstimadaMinutos() != null
+                ? servicio.duracionEstimadaMinutos()
+                : Cita.DURACION_POR_DEFECTO_MINUTOS;
+
+        List<Veterinario> veterinarios = especialidad == null || especialidad.isBlank()
+                ? veterinarioRepository.findVeterinariosDisponibles()
+                : veterinarioRepository.findVeterinariosDisponiblesPorEspecialidad(especialidad);
+        if (veterinarios.isEmpty()) {
+            return List.of();
+        }
+
+        LocalDateTime ahora = LocalDateTime.now();
+        LocalDate hoy = ahora.toLocalDate();
+        LocalDateTime finHorizonte = hoy.plusDays(dias).atStartOfDay();
+
+        // Carga en bloque: una consulta de horarios y una de citas para todo el conjunto
+        Map<Long, List<Horario>> horariosPorVeterinario = horarioRepository
+                .findHorariosActivosPorVeterinarios(veterinarios).stream()
+                .collect(Collectors.groupingBy(h -> h.getVeterinario().getIdPersonal()));
+        Map<Long, List<Cita>> citasPorVeterinario = citaRepository
+                .findCitasActivasPorVeterinariosEnRango(veterinarios, hoy.atStartOfDay(), finHorizonte).stream()
+                .collect(Collectors.groupingBy(c -> c.getVeterinario().getIdPersonal()));
+        List<Long> idsVeterinario = veterinarios.stream().map(Veterinario::getIdPersonal).toList();
+        Map<Long, List<ReservaSlot>> reservasPorVeterinario = reservaSlotRepository
+                .findVigentesPorVeterinariosEnRango(idsVeterinario, hoy, hoy.plusDays(dias - 1L), ahora).stream()
+                .collect(Collectors.groupingBy(ReservaSlot::getIdVeterinario));
+
+        List<AgendaVeterinario> agendas = veterinarios.stream()
+                .filter(v -> horariosPorVeterinario.containsKey(v.getIdPersonal()))
+                .map(v -> AgendaVeterinario.de(v,
+                        horariosPorVeterinario.get(v.getIdPersonal()),
+                        citasPorVeterinario.getOrDefault(v.getIdPersonal(), List.of()),
+                        reservasPorVeterinario.getOrDefault(v.getIdPersonal(), List.of())))
+                .toList();
+
+        List<SlotLibreDTO> slots = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<List<SlotLibreDTO>>> tareas = agendas.stream()
+                    .map(agenda -> executor.submit(() -> agenda.primerosSlots(ahora, dias, duracion, cantidad)))
+                    .toList();
+            for (Future<List<SlotLibreDTO>> tarea : tareas) {
+                slots.addAll(tarea.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException("La búsqueda de slots fue interrumpida");
+        } catch (ExecutionException e) {
+            log.error("Error calculando slots disponibles: {}", e.getCause().getMessage(), e.getCause());
+            throw new BusinessException("Error al calcular los slots disponibles");
+        }
+
+        log.debug("Búsqueda de slots: {} veterinarios, {} días, {} slots candidatos",
+                agendas.size(), dias, slots.size());
+
+        return slots.stream()
+                .sorted(Comparator.comparing(SlotLibreDTO::getFecha)
+                        .thenComparing(SlotLibreDTO::getHoraInicio)
+                        .thenComparing(SlotLibreDTO::getIdVeterinario))
+                .limit(cantidad)
+                .toList();
+    }
+
+    /**
+     * Copia inmutable en memoria de los datos de un veterinario necesarios para el cálculo,
+     * de modo que los hilos virtuales no acceden a entidades JPA ni a la sesión.
+     */
+    private record AgendaVeterinario(Long idVeterinario, String nombre, String especialidad,
+                                     List<Bloque> bloques, List<Intervalo> ocupados) {
+
+        static AgendaVeterinario de(Veterinario veterinario, List<Horario> horarios, List<Cita> citas,
+                                    List<ReservaSlot> reservas) {
+            List<Bloque> bloques = horarios.stream()
+                    .map(h -> new Bloque(h.getIdHorario(), h.getDiaSemana(), h.getHoraInicio(), h.getHoraFin(),
+                            h.getDuracionCitaMinutos() != null ? h.getDuracionCitaMinutos() : Cita.DURACION_POR_DEFECTO_MINUTOS,
+                            h.getMaxCitasSimultaneas() != null ? h.getMaxCitasSimultaneas() : 1))
+                    .sorted(Comparator.comparing(Bloque::horaInicio))
+                    .toList();
+            // Citas y reservas temporales ocupan la capacidad por igual
+            List<Intervalo> intervalos = Stream.concat(
+                            citas.stream().map(c -> new Intervalo(c.getFechaHoraInicio(), c.getFechaHoraFin())),
+                            reservas.stream().map(r -> new Intervalo(r.getFecha().atTime(r.getHoraInicio()),
+                                    r.getFecha().atTime(r.getHoraFin()))))
+                    .sorted(Comparator.comparing(Intervalo::inicio))
+                    .toList();
+            return new AgendaVeterinario(veterinario.getIdPersonal(),
+                    veterinario.getNombres() + " " + veterinario.getApellidos(),
+                    veterinario.getEspecialidad(), bloques, intervalos);
+        }
+
+        List<SlotLibreDTO> primerosSlots(LocalDateTime ahora, int dias, int duracion, int cantidad) {
+            List<SlotLibreDTO> resultado = new ArrayList<>();
+            LocalDate fecha = ahora.toLocalDate();
+            for (int d = 0; d < dias && resultado.size() < cantidad; d++, fecha = fecha.plusDays(1)) {
+                for (Bloque bloque : bloques) {
+                    if (bloque.dia() != fecha.getDayOfWeek()) {
+                        continue;
+                    }
+                    LocalDateTime inicio = fecha.atTime(bloque.horaInicio());
+                    LocalDateTime limite = fecha.atTime(bloque.horaFin());
+                    while (!inicio.plusMinutes(duracion).isAfter(limite) && resultado.size() < cantidad) {
+                        LocalDateTime fin = inicio.plusMinutes(duracion);
+                        if (!inicio.isBefore(ahora) && contarSolapadas(inicio, fin) < bloque.capacidad()) {
+                            resultado.add(SlotLibreDTO.builder()
+                                    .idVeterinario(idVeterinario)
+                                    .nombreVeterinario(nombre)
+                                    .especialidad(especialidad)
+                                    .idHorario(bloque.idHorario())
+                                    .fecha(fecha)
+                                    .horaInicio(inicio.toLocalTime())
+                                    .horaFin(fin.toLocalTime())
+                                    .build());
+                        }
+                        inicio = inicio.plusMinutes(bloque.intervalo());
+                    }
+                }
+            }
+            return resultado;
+        }
+
+        private long contarSolapadas(LocalDateTime inicio, LocalDateTime fin) {
+            long total = 0;
+            for (Intervalo ocupado : ocupados) {
+                if (!ocupado.inicio().isBefore(fin)) {
+                    break; // ordenados por inicio
+                }
+                if (ocupado.fin().isAfter(inicio)) {
+                    total++;
+                }
+            }
+            return total;
+        }
+    }
+
+    private record Bloque(Long idHorario, DayOfWeek dia, LocalTime horaInicio, LocalTime horaFin,
+                          int intervalo, int capacidad) {
+    }
+
+    private record Intervalo(LocalDateTime inicio, LocalDateTime fin) {
+    }
+}
@@ -0,0 +1,379 @@
+package com.veterinaria.clinica_veternica.service.impl;
+
+import com.veterinaria.clinica_veternica.config.cache.BusInvalidacionCache;
+import com.veterinaria.clinica_veternica.domain.agenda.CategoriaServicio;
+import com.veterinaria.clinica_veternica.domain.agenda.Servicio;
+import com.veterinaria.clinica_veternica.domain.agenda.TipoServicio;
+import com.veterinaria.clinica_veternica.domain.inventario.TipoInsumo;
+import com.veterinaria.clinica_veternica.domain.paciente.Especie;
+import com.veterinaria.clinica_veternica.domain.paciente.Raza;
+import com.veterinaria.clinica_veternica.exception.ResourceNotFoundException;
+import com.veterinaria.clinica_veternica.repository.EspecieRepository;
+import com.veterinaria.clinica_veternica.repository.RazaRepository;
+import com.veterinaria.clinica_veternica.repository.ServicioRepository;
+import com.veterinaria.clinica_veternica.repository.TipoInsumoRepository;
+import com.veterinaria.clinica_veternica.util.Constants;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Catálogo inmutable en memoria de los datos de referencia: especies con sus razas,
+ * servicios (precio, duración, tipo y categoría) y tipos de insumo.
+ *
+ * Las validaciones de escritura (mascotas, citas, búsqueda y reserva de slots) leen de
+ * este catálogo sin acceder a la base de datos.
+ *
+ * - Se carga al arrancar la aplicación (o en la primera consulta, si llega antes).
+ * - Cada carga produce una versión nueva que sustituye a la anterior de forma atómica:
+ *   las lecturas no toman ningún lock y siempre ven una versión completa y coherente.
+ * - Búsquedas O(1) por id y por nombre (sin distinguir mayúsculas).
+ * - Los servicios de especies, razas, servicios y tipos de insumo invocan
+ *   {@link #invalidar()} al modificar datos; el catálogo se recarga tras el commit y la
+ *   invalidación se publica en el bus para que los demás nodos también lo recarguen.
+ *
+ * @author Clínica Veterinaria Team
+ * @version 1.0
+ * @since 2025-11-20
+ */
+@Slf4j
+@Service
+public class CatalogoSnapshotService {
+
+    /**
+     * Nombre con el que el catálogo publica sus invalidaciones en el bus.
+     */
+    public static final String NOMBRE_CACHE = "catalogo";
+
+    private final EspecieRepository especieRepository;
+    private final RazaRepository razaRepository;
+    private final ServicioRepository servicioRepository;
+    private final TipoInsumoRepository tipoInsumoRepository;
+    private final BusInvalidacionCache busInvalidacion;
+    private final TransactionTemplate transactionTemplate;
+
+    private final AtomicLong version = new AtomicLong();
+    private final Object monitorCarga = new Object();
+    private volatile Catalogo actual;
+
+    public CatalogoSnapshotService(EspecieRepository especieRepository,
+                                   RazaRepository razaRepository,
+                                   ServicioRepository servicioRepository,
+                                   TipoInsumoRepository tipoInsumoRepository,
+                                   BusInvalidacionCache busInvalidacion,
+                                   PlatformTransactionManager transactionManager) {
+        this.especieRepository = especieRepository;
+        this.razaRepository = razaRepository;
+        this.servicioRepository = servicioRepository;
+        this.tipoInsumoRepository = tipoInsumoRepository;
+        this.busInvalidacion = busInvalidacion;
+        // La recarga se ejecuta tras el commit de quien modificó el catálogo: necesita su propia transacción
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @PostConstruct
+    public void registrarEnBus() {
+        busInvalidacion.registrarReceptor(NOMBRE_CACHE, claves -> recargar());
+    }
+
+    /**
+     * Carga el catálogo una vez que la aplicación terminó de arrancar (incluidos los datos iniciales).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void cargarAlIniciar() {
+        recargar();
+    }
+
+    /**
+     * @return Versión vigente del catálogo
+     */
+    public Catalogo obtener() {
+        Catalogo catalogo = actual;
+        if (catalogo != null) {
+            return catalogo;
+        }
+        synchronized (monitorCarga) {
+            if (actual == null) {
+                actual = cargar();
+            }
+            return actual;
+        }
+    }
+
+    /**
+     * Obtiene una especie del catálogo.
+     *
+     * @param idEspecie ID de la especie
+     * @return Especie
+     * @throws ResourceNotFoundException si no existe
+     */
+    public EspecieCatalogo especie(Long idEspecie) {
+        return obtener().especie(idEspecie)
+                .orElseThrow(() -> new ResourceNotFoundException(Constants.ENTIDAD_ESPECIE, "id", idEspecie));
+    }
+
+    /**
+     * Obtiene una raza del catálogo.
+     *
+     * @param idRaza ID de la raza
+     * @return Raza
+     * @throws ResourceNotFoundException si no existe
+     */
+    public RazaCatalogo raza(Long idRaza) {
+        return obtener().raza(idRaza)
+                .orElseThrow(() -> new ResourceNotFoundException("Raza", "id", idRaza));
+    }
+
+    /**
+     * Obtiene un servicio del catálogo.
+     *
+     * @param idServicio ID del servicio
+     * @return Servicio
+     * @throws ResourceNotFoundException si no existe
+     */
+    public ServicioCatalogo servicio(Long idServicio) {
+        return obtener().servicio(idServicio)
+                .orElseThrow(() -> new ResourceNotFoundException(Constants.ENTIDAD_SERVICIO, "id", idServicio));
+    }
+
+    /**
+     * Obtiene un tipo de insumo del catálogo.
+     *
+     * @param idTipoInsumo ID del tipo de insumo
+     * @return Tipo de insumo
+     * @throws ResourceNotFoundException si no existe
+     */
+    public TipoInsumoCatalogo tipoInsumo(Long idTipoInsumo) {
+        return obtener().tipoInsumo(idTipoInsumo)
+                .orElseThrow(() -> new ResourceNotFoundException(Constants.ENTIDAD_TIPO_INSUMO, "id", idTipoInsumo));
+    }
+
+    /**
+     * Recarga el catálogo tras el commit de la transacción en curso y avisa a los demás nodos.
+     */
+    public void invalidar() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recargar();
+                }
+            });
+        } else {
+            recargar();
+        }
+        busInvalidacion.publicarCache(NOMBRE_CACHE, null);
+    }
+
+    /**
+     * Carga una versión nueva del catálogo y la publica. Si la carga falla, la versión
+     * anterior se descarta y la siguiente consulta vuelve a cargar.
+     */
+    public void recargar() {
+        synchronized (monitorCarga) {
+            try {
+                actual = cargar();
+            } catch (RuntimeException e) {
+                actual = null;
+                log.error("No se pudo recargar el catálogo: {}", e.getMessage());
+            }
+        }
+    }
+
+    private Catalogo cargar() {
+        Catalogo catalogo = transactionTemplate.execute(status -> Catalogo.de(version.incrementAndGet(),
+                especieRepository.findAll(), razaRepository.findAll(),
+                servicioRepository.findAll(), tipoInsumoRepository.findAll()));
+        log.info("Catálogo cargado. Versión: {}", catalogo.getVersion());
+        return catalogo;
+    }
+
+    // ===================================================================
+    // MODELO INMUTABLE
+    // ===================================================================
+
+    /**
+     * Especie del catálogo.
+     */
+    public record EspecieCatalogo(Long idEspecie, String nombre, boolean activo) {
+    }
+
+    /**
+     * Raza del catálogo.
+     */
+    public record RazaCatalogo(Long idRaza, String nombre, boolean activo, Long idEspecie) {
+    }
+
+    /**
+     * Servicio del catálogo.
+     */
+    public record ServicioCatalogo(Long idServicio, String nombre, TipoServicio tipoServicio,
+                                   CategoriaServicio categoria, BigDecimal precio,
+                                   Integer duracionEstimadaMinutos, boolean activo,
+                                   boolean disponibleEmergencias) {
+    }
+
+    /**
+     * Tipo de insumo del catálogo.
+     */
+    public record TipoInsumoCatalogo(Long idTipoInsumo, String nombre, boolean activo,
+                                     boolean requiereControlEspecial) {
+    }
+
+    /**
+     * Versión inmutable del catálogo con índices por id y por nombre.
+     */
+    public static final class Catalogo {
+
+        private final long version;
+        private final Map<Long, EspecieCatalogo> especies;
+        private final Map<String, EspecieCatalogo> especiesPorNombre;
+        private final Map<Long, RazaCatalogo> razas;
+        private final Map<Long, List<RazaCatalogo>> razasPorEspecie;
+        private final Map<String, RazaCatalogo> razasPorEspecieYNombre;
+        private final Map<Long, ServicioCatalogo> servicios;
+        private final Map<String, ServicioCatalogo> serviciosPorNombre;
+        private final Map<Long, TipoInsumoCatalogo> tiposInsumo;
+        private final Map<String, TipoInsumoCatalogo> tiposInsumoPorNombre;
+
+        private Catalogo(long version, Map<Long, EspecieCatalogo> especies, Map<String, EspecieCatalogo> especiesPorNombre,
+                         Map<Long, RazaCatalogo> razas, Map<Long, List<RazaCatalogo>> razasPorEspecie,
+                         Map<String, RazaCatalogo> razasPorEspecieYNombre,
+                         Map<Long, ServicioCatalogo> servicios, Map<String, ServicioCatalogo> serviciosPorNombre,
+                         Map<Long, TipoInsumoCatalogo> tiposInsumo, Map<String, TipoInsumoCatalogo> tiposInsumoPorNombre) {
+            this.version = version;
+            this.especies = especies;
+            this.especiesPorNombre = especiesPorNombre;
+            this.razas = razas;
+            this.razasPorEspecie = razasPorEspecie;
+            this.razasPorEspecieYNombre = razasPorEspecieYNombre;
+            this.servicios = servicios;
+            this.serviciosPorNombre = serviciosPorNombre;
+            this.tiposInsumo = tiposInsumo;
+            this.tiposInsumoPorNombre = tiposInsumoPorNombre;
+        }
+
+        static Catalogo de(long version, List<Especie> especies, List<Raza> razas,
+                           List<Servicio> servicios, List<TipoInsumo> tiposInsumo) {
+            Map<Long, EspecieCatalogo> especiesPorId = new HashMap<>();
+            Map<String, EspecieCatalogo> especiesPorNombre = new HashMap<>();
+            for (Especie especie : especies) {
+                EspecieCatalogo item = new EspecieCatalogo(especie.getIdEspecie(), especie.getNombre(),
+                        Boolean.TRUE.equals(especie.getActivo()));
+                especiesPorId.put(item.idEspecie(), item);
+                especiesPorNombre.putIfAbsent(normalizar(item.nombre()), item);
+            }
+
+            Map<Long, RazaCatalogo> razasPorId = new HashMap<>();
+            Map<Long, List<RazaCatalogo>> razasPorEspecie = new HashMap<>();
+            Map<String, RazaCatalogo> razasPorEspecieYNombre = new HashMap<>();
+            for (Raza raza : razas) {
+                Long idEspecie = raza.getEspecie() != null ? raza.getEspecie().getIdEspecie() : null;
+                RazaCatalogo item = new RazaCatalogo(raza.getIdRaza(), raza.getNombre(),
+                        Boolean.TRUE.equals(raza.getActivo()), idEspecie);
+                razasPorId.put(item.idRaza(), item);
+                razasPorEspecie.computeIfAbsent(idEspecie, id -> new ArrayList<>()).add(item);
+                razasPorEspecieYNombre.putIfAbsent(idEspecie + ":" + normalizar(item.nombre()), item);
+            }
+            Map<Long, List<RazaCatalogo>> razasPorEspecieInmutable = new HashMap<>();
+            razasPorEspecie.forEach((id, lista) -> {
+                if (id != null) {
+                    razasPorEspecieInmutable.put(id, List.copyOf(lista));
+                }
+            });
+
+            Map<Long, ServicioCatalogo> serviciosPorId = new HashMap<>();
+            Map<String, ServicioCatalogo> serviciosPorNombre = new HashMap<>();
+            for (Servicio servicio : servicios) {
+                ServicioCatalogo item = new ServicioCatalogo(servicio.getIdServicio(), servicio.getNombre(),
+                        servicio.getTipoServicio(), servicio.getCategoria(), servicio.getPrecio(),
+                        servicio.getDuracionEstimadaMinutos(), Boolean.TRUE.equals(servicio.getActivo()),
+                        Boolean.TRUE.equals(servicio.getDisponibleEmergencias()));
+                serviciosPorId.put(item.idServicio(), item);
+                serviciosPorNombre.putIfAbsent(normalizar(item.nombre()), item);
+            }
+
+            Map<Long, TipoInsumoCatalogo> tiposPorId = new HashMap<>();
+            Map<String, TipoInsumoCatalogo> tiposPorNombre = new HashMap<>();
+            for (TipoInsumo tipo : tiposInsumo) {
+                TipoInsumoCatalogo item = new TipoInsumoCatalogo(tipo.getIdTipoInsumo(), tipo.getNombre(),
+                        Boolean.TRUE.equals(tipo.getActivo()), Boolean.TRUE.equals(tipo.getRequiereControlEspecial()));
+                tiposPorId.put(item.idTipoInsumo(), item);
+                tiposPorNombre.putIfAbsent(normalizar(item.nombre()), item);
+            }
+
+            return new Catalogo(version, Map.copyOf(especiesPorId), Map.copyOf(especiesPorNombre),
+                    Map.copyOf(razasPorId), Map.copyOf(razasPorEspecieInmutable), Map.copyOf(razasPorEspecieYNombre),
+                    Map.copyOf(serviciosPorId), Map.copyOf(serviciosPorNombre),
+                    Map.copyOf(tiposPorId), Map.copyOf(tiposPorNombre));
+        }
+
+        private static String normalizar(String nombre) {
+            return nombre == null ? "" : nombre.trim().toLowerCase(Locale.ROOT);
+        }
+
+        /**
+         * @return Número de versión (crece con cada recarga)
+         */
+        public long getVersion() {
+            return version;
+        }
+
+        public Optional<EspecieCatalogo> especie(Long idEspecie) {
+            return idEspecie != null ? Optional.ofNullable(especies.get(idEspecie)) : Optional.empty();
+        }
+
+        public Optional<EspecieCatalogo> especiePorNombre(String nombre) {
+            return Optional.ofNullable(especiesPorNombre.get(normalizar(nombre)));
+        }
+
+        public Optional<RazaCatalogo> raza(Long idRaza) {
+            return idRaza != null ? Optional.ofNullable(razas.get(idRaza)) : Optional.empty();
+        }
+
+        public Optional<RazaCatalogo> razaPorNombre(Long idEspecie, String nombre) {
+            return Optional.ofNullable(razasPorEspecieYNombre.get(idEspecie + ":" + normalizar(nombre)));
+        }
+
+        /**
+         * @return Razas de la especie (vacío si no tiene)
+         */
+        public List<RazaCatalogo> razasDe(Long idEspecie) {
+            return idEspecie != null ? razasPorEspecie.getOrDefault(idEspecie, List.of()) : List.of();
+        }
+
+        public Optional<ServicioCatalogo> servicio(Long idServicio) {
+            return idServicio != null ? Optional.ofNullable(servicios.get(idServicio)) : Optional.empty();
+        }
+
+        public Optional<ServicioCatalogo> servicioPorNombre(String nombre) {
+            return Optional.ofNullable(serviciosPorNombre.get(normalizar(nombre)));
+        }
+
+        public Optional<TipoInsumoCatalogo> tipoInsumo(Long idTipoInsumo) {
+            return idTipoInsumo != null ? Optional.ofNullable(tiposInsumo.get(idTipoInsumo)) : Optional.empty();
+        }
+
+        public Optional<TipoInsumoCatalogo> tipoInsumoPorNombre(String nombre) {
+            return Optional.ofNullable(tiposInsumoPorNombre.get(normalizar(nombre)));
+        }
+    }
+}
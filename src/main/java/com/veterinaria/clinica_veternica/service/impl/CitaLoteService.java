@@ -0,0 +1,243 @@
+package com.veterinaria.clinica_veternica.service.impl;
+
+import com.veterinaria.clinica_veternica.domain.agenda.Cita;
+import com.veterinaria.clinica_veternica.domain.agenda.Servicio;
+import com.veterinaria.clinica_veternica.domain.paciente.Mascota;
+import com.veterinaria.clinica_veternica.domain.usuario.Veterinario;
+import com.veterinaria.clinica_veternica.dto.request.agenda.CitaLoteRequestDTO;
+import com.veterinaria.clinica_veternica.dto.request.agenda.CitaRequestDTO;
+import com.veterinaria.clinica_veternica.dto.response.agenda.CitaLoteResponseDTO;
+import com.veterinaria.clinica_veternica.exception.BusinessException;
+import com.veterinaria.clinica_veternica.exception.ValidationException;
+import com.veterinaria.clinica_veternica.mapper.agenda.CitaMapper;
+import com.veterinaria.clinica_veternica.patterns.behavioral.chain.AgendaEnMemoria;
+import com.veterinaria.clinica_veternica.patterns.behavioral.mediator.CitaMediator;
+import com.veterinaria.clinica_veternica.patterns.creational.builder.CitaBuilder;
+import com.veterinaria.clinica_veternica.repository.CitaRepository;
+import com.veterinaria.clinica_veternica.repository.MascotaRepository;
+import com.veterinaria.clinica_veternica.repository.ServicioRepository;
+import com.veterinaria.clinica_veternica.repository.VeterinarioRepository;
+import com.veterinaria.clinica_veternica.service.impl.AgendaLockService.ClaveAgenda;
+import com.veterinaria.clinica_veternica.util.Constants;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Servicio de creación de citas en lote (listas explícitas o series recurrentes).
+ *
+ * - Carga en bloque mascotas, veterinarios y servicios referenciados (una consulta por tipo).
+ * - Bloquea las agendas (veterinario, fecha) afectadas en un orden global.
+ * - Carga con una sola consulta las citas activas de esos veterinarios en el rango del lote y
+ *   valida cada cita con la cadena de validación contra esa agenda en memoria, que incluye
+ *   las citas del lote ya aceptadas.
+ * - Inserta las citas válidas en batch y notifica a los observadores una vez por lote.
+ *
+ * El lote admite éxito parcial: las citas inválidas se informan y no impiden crear las demás.
+ *
+ * @author Clínica Veterinaria Team
+ * @version 1.0
+ * @since 2025-11-20
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class CitaLoteService {
+
+    private static final int MAX_CITAS_POR_LOTE = 500;
+
+    private final CitaRepository citaRepository;
+    private final MascotaRepository mascotaRepository;
+    private final VeterinarioRepository veterinarioRepository;
+    private final ServicioRepository servicioRepository;
+    private final CitaMapper citaMapper;
+    private final CitaMediator citaMediator;
+    private final CitaValidationService citaValidationService;
+    private final CitaPriceCalculationService citaPriceCalculationService;
+    private final AgendaLockService agendaLockService;
+
+    /**
+     * Crea un lote de citas.
+     *
+     * @param requestDTO Citas explícitas y/o plantilla con recurrencia
+     * @return Resultado por cita y totales
+     */
+    public CitaLoteResponseDTO crearLote(CitaLoteRequestDTO requestDTO) {
+        List<CitaRequestDTO> solicitudes = expandir(requestDTO);
+        log.info("Creando lote de {} citas", solicitudes.size());
+
+        // Carga en bloque de las entidades referenciadas
+        Map<Long, Mascota> mascotas = mascotaRepository
+                .findAllById(ids(solicitudes, CitaRequestDTO::getIdMascota)).stream()
+                .collect(Collectors.toMap(Mascota::getIdMascota, Function.identity()));
+        Map<Long, Veterinario> veterinarios = veterinarioRepository
+                .findAllById(ids(solicitudes, CitaRequestDTO::getIdVeterinario)).stream()
+                .collect(Collectors.toMap(Veterinario::getIdPersonal, Function.identity()));
+        Map<Long, Servicio> servicios = servicioRepository
+                .findAllById(ids(solicitudes, CitaRequestDTO::getIdServicio)).stream()
+                .collect(Collectors.toMap(Servicio::getIdServicio, Function.identity()));
+
+        // Construir las citas; las que no se pueden construir se rechazan de inmediato
+        List<CitaLoteResponseDTO.ResultadoCitaDTO> resultados = new ArrayList<>(solicitudes.size());
+        List<Cita> candidatas = new ArrayList<>(solicitudes.size());
+        for (int i = 0; i < solicitudes.size(); i++) {
+            CitaRequestDTO solicitud = solicitudes.get(i);
+            resultados.add(CitaLoteResponseDTO.ResultadoCitaDTO.builder()
+                    .indice(i)
+                    .fechaCita(solicitud.getFechaCita())
+                    .horaCita(solicitud.getHoraCita())
+                    .creada(false)
+                    .build());
+            try {
+                candidatas.add(construirCita(solicitud, mascotas, veterinarios, servicios));
+            } catch (RuntimeException e) {
+                resultados.get(i).setError(e.getMessage());
+                candidatas.add(null);
+            }
+        }
+
+        List<Cita> construidas = candidatas.stream().filter(Objects::nonNull).toList();
+        if (!construidas.isEmpty()) {
+            validarYCrear(candidatas, construidas, resultados);
+        }
+
+        int creadas = (int) resultados.stream().filter(r -> Boolean.TRUE.equals(r.getCreada())).count();
+        log.info("Lote de citas procesado: {} creadas, {} rechazadas", creadas, resultados.size() - creadas);
+        return CitaLoteResponseDTO.builder()
+                .totalSolicitadas(resultados.size())
+                .totalCreadas(creadas)
+                .totalRechazadas(resultados.size() - creadas)
+                .resultados(resultados)
+                .build();
+    }
+
+    private void validarYCrear(List<Cita> candidatas, List<Cita> construidas,
+                               List<CitaLoteResponseDTO.ResultadoCitaDTO> resultados) {
+        // Serializar contra otras reservas de las mismas agendas hasta el commit
+        agendaLockService.bloquear(construidas.stream()
+                .map(c -> new ClaveAgenda(c.getVeterinario().getIdPersonal(), c.getFechaCita()))
+                .toList());
+
+        // Agenda en memoria: citas activas existentes en el rango del lote (una consulta)
+        LocalDate desde = construidas.stream().map(Cita::getFechaCita).min(Comparator.naturalOrder()).orElseThrow();
+        LocalDate hasta = construidas.stream().map(Cita::getFechaCita).max(Comparator.naturalOrder()).orElseThrow();
+        List<Veterinario> veterinariosLote = construidas.stream().map(Cita::getVeterinario).distinct().toList();
+        AgendaEnMemoria agenda = new AgendaEnMemoria(citaRepository.findCitasActivasPorVeterinariosEnRango(
+                veterinariosLote, desde.atStartOfDay(), hasta.plusDays(1).atStartOfDay()));
+
+        List<Cita> aceptadas = new ArrayList<>();
+        List<Integer> indicesAceptados = new ArrayList<>();
+        for (int i = 0; i < candidatas.size(); i++) {
+            Cita cita = candidatas.get(i);
+            if (cita == null) {
+                continue;
+            }
+            try {
+                citaValidationService.validarCitaEnLote(cita, agenda);
+                agenda.agregar(cita);
+                aceptadas.add(cita);
+                indicesAceptados.add(i);
+            } catch (ValidationException e) {
+                resultados.get(i).setError(e.getMessage());
+            }
+        }
+
+        List<Cita> creadas = citaMediator.crearCitasEnLote(aceptadas);
+        for (int j = 0; j < creadas.size(); j++) {
+            CitaLoteResponseDTO.ResultadoCitaDTO resultado = resultados.get(indicesAceptados.get(j));
+            resultado.setCreada(true);
+            resultado.setCita(citaMapper.toResponseDTO(creadas.get(j)));
+        }
+    }
+
+    private Cita construirCita(CitaRequestDTO solicitud, Map<Long, Mascota> mascotas,
+                               Map<Long, Veterinario> veterinarios, Map<Long, Servicio> servicios) {
+        Mascota mascota = mascotas.get(solicitud.getIdMascota());
+        if (mascota == null) {
+            throw new ValidationException(Constants.ENTIDAD_MASCOTA + " no encontrado con id: " + solicitud.getIdMascota());
+        }
+        Veterinario veterinario = veterinarios.get(solicitud.getIdVeterinario());
+        if (veterinario == null) {
+            throw new ValidationException(Constants.ENTIDAD_VETERINARIO + " no encontrado con id: " + solicitud.getIdVeterinario());
+        }
+        Servicio servicio = servicios.get(solicitud.getIdServicio());
+        if (servicio == null) {
+            throw new ValidationException(Constants.ENTIDAD_SERVICIO + " no encontrado con id: " + solicitud.getIdServicio());
+        }
+        if (solicitud.getFechaCita() != null && solicitud.getFechaCita().isBefore(LocalDate.now())) {
+            throw new ValidationException("La fecha de la cita no puede ser en el pasado");
+        }
+
+        CitaBuilder builder = new CitaBuilder()
+                .conMascota(mascota)
+                .conVeterinario(veterinario)
+                .conServicio(servicio)
+                .conFecha(solicitud.getFechaCita())
+                .conHora(solicitud.getHoraCita())
+                .conMotivoConsulta(solicitud.getMotivo())
+                .conObservaciones(solicitud.getObservaciones());
+
+        if (Constants.isTrue(solicitud.getEsEmergencia())) {
+            builder.comoEmergencia();
+        }
+
+        return builder
+                .conPrecioFinal(citaPriceCalculationService.calcularPrecioFinal(servicio, solicitud))
+                .build();
+    }
+
+    /**
+     * Une las citas explícitas con las generadas por la regla de recurrencia.
+     */
+    private List<CitaRequestDTO> expandir(CitaLoteRequestDTO requestDTO) {
+        List<CitaRequestDTO> solicitudes = new ArrayList<>();
+        if (requestDTO.getCitas() != null) {
+            solicitudes.addAll(requestDTO.getCitas());
+        }
+
+        CitaRequestDTO plantilla = requestDTO.getPlantilla();
+        if (plantilla != null) {
+            if (requestDTO.getRepeticiones() == null || requestDTO.getIntervaloDias() == null) {
+                throw new ValidationException("La recurrencia requiere repeticiones e intervaloDias",
+                        "repeticiones", "Indique el número de repeticiones y el intervalo en días");
+            }
+            for (int i = 0; i < requestDTO.getRepeticiones(); i++) {
+                CitaRequestDTO repeticion = CitaRequestDTO.builder()
+                        .idMascota(plantilla.getIdMascota())
+                        .idVeterinario(plantilla.getIdVeterinario())
+                        .idServicio(plantilla.getIdServicio())
+                        .fechaCita(plantilla.getFechaCita().plusDays((long) i * requestDTO.getIntervaloDias()))
+                        .horaCita(plantilla.getHoraCita())
+                        .motivo(plantilla.getMotivo())
+                        .observaciones(plantilla.getObservaciones())
+                        .esEmergencia(plantilla.getEsEmergencia())
+                        .build();
+                solicitudes.add(repeticion);
+            }
+        }
+
+        if (solicitudes.isEmpty()) {
+            throw new ValidationException("El lote no contiene citas", "citas", "Envíe una lista de citas o una plantilla");
+        }
+        if (solicitudes.size() > MAX_CITAS_POR_LOTE) {
+            throw new BusinessException("No se pueden crear más de " + MAX_CITAS_POR_LOTE + " citas por lote");
+        }
+        return solicitudes;
+    }
+
+    private static Collection<Long> ids(List<CitaRequestDTO> solicitudes, Function<CitaRequestDTO, Long> id) {
+        return solicitudes.stream().map(id).filter(Objects::nonNull).collect(Collectors.toSet());
+    }
+}
@@ -1,17 +1,21 @@
 package com.veterinaria.clinica_veternica.service.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.veterinaria.clinica_veternica.domain.agenda.Cita;
 import com.veterinaria.clinica_veternica.domain.agenda.EstadoCita;
 import com.veterinaria.clinica_veternica.domain.paciente.Mascota;
-import com.veterinaria.clinica_veternica.domain.usuario.Usuario;
 import com.veterinaria.clinica_veternica.domain.usuario.Veterinario;
+import com.veterinaria.clinica_veternica.dto.request.agenda.CitaLoteRequestDTO;
 import com.veterinaria.clinica_veternica.dto.request.agenda.CitaRequestDTO;
+import com.veterinaria.clinica_veternica.dto.response.PaginaCursorDTO;
+import com.veterinaria.clinica_veternica.dto.response.agenda.CitaLoteResponseDTO;
 import com.veterinaria.clinica_veternica.dto.response.agenda.CitaResponseDTO;
 import com.veterinaria.clinica_veternica.exception.ResourceNotFoundException;
 import com.veterinaria.clinica_veternica.exception.UnauthorizedException;
 import com.veterinaria.clinica_veternica.exception.ValidationException;
 import com.veterinaria.clinica_veternica.mapper.agenda.CitaMapper;
 import com.veterinaria.clinica_veternica.patterns.behavioral.mediator.CitaMediator;
+import com.veterinaria.clinica_veternica.patterns.behavioral.observer.CitaSubject;
 import com.veterinaria.clinica_veternica.patterns.behavioral.template.AtencionTemplate;
 import com.veterinaria.clinica_veternica.patterns.behavioral.template.AtencionConsultaGeneral;
 import com.veterinaria.clinica_veternica.patterns.behavioral.template.AtencionCirugia;
@@ -20,9 +24,10 @@ import com.veterinaria.clinica_veternica.patterns.creational.builder.CitaBuilder
 import com.veterinaria.clinica_veternica.repository.CitaRepository;
 import com.veterinaria.clinica_veternica.repository.MascotaRepository;
 import com.veterinaria.clinica_veternica.repository.ServicioRepository;
-import com.veterinaria.clinica_veternica.repository.UsuarioRepository;
 import com.veterinaria.clinica_veternica.repository.VeterinarioRepository;
+import com.veterinaria.clinica_veternica.security.service.ContextoActor;
 import com.veterinaria.clinica_veternica.service.interfaces.ICitaService;
+import com.veterinaria.clinica_veternica.service.interfaces.IReservaSlotService;
 import com.veterinaria.clinica_veternica.util.Constants;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -32,8 +37,13 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.List;
 
 /**
@@ -56,15 +66,24 @@ import java.util.List;
 @Transactional
 public class CitaServiceImpl implements ICitaService {
 
+    private static final int MAX_TAMANIO_PAGINA = 200;
+    private static final int TAMANIO_LOTE_STREAMING = 500;
+
     private final CitaRepository citaRepository;
     private final MascotaRepository mascotaRepository;
     private final VeterinarioRepository veterinarioRepository;
-    private final UsuarioRepository usuarioRepository;
+    private final ContextoActor contextoActor;
     private final ServicioRepository servicioRepository;
+    private final CatalogoSnapshotService catalogoSnapshotService;
     private final CitaMapper citaMapper;
     private final CitaMediator citaMediator;
     private final CitaValidationService citaValidationService;
     private final CitaPriceCalculationService citaPriceCalculationService;
+    private final CitaSubject citaSubject;
+    private final AgendaLockService agendaLockService;
+    private final IReservaSlotService reservaSlotService;
+    private final CitaLoteService citaLoteService;
+    private final ObjectMapper objectMapper;
     
     // Templates de atención
     private final AtencionConsultaGeneral atencionConsultaGeneral;
@@ -75,6 +94,9 @@ public class CitaServiceImpl implements ICitaService {
     public CitaResponseDTO crear(CitaRequestDTO requestDTO) {
         log.info("Creando nueva cita para mascota ID: {}", requestDTO.getIdMascota());
 
+        // Validar el servicio contra el catálogo en memoria antes de cargar las demás entidades
+        catalogoSnapshotService.servicio(requestDTO.getIdServicio());
+
         // Obtener entidades relacionadas
         Mascota mascota = mascotaRepository.findById(requestDTO.getIdMascota())
                 .orElseThrow(() -> new ResourceNotFoundException(Constants.ENTIDAD_MASCOTA, "id", requestDTO.getIdMascota()));
@@ -82,6 +104,8 @@ public class CitaServiceImpl implements ICitaService {
         Veterinario veterinario = veterinarioRepository.findById(requestDTO.getIdVeterinario())
                 .orElseThrow(() -> new ResourceNotFoundException(Constants.ENTIDAD_VETERINARIO, "id", requestDTO.getIdVeterinario()));
 
+        // Se carga la entidad completa: el precio, las validaciones de la cita, la respuesta y
+        // las notificaciones posteriores al commit leen sus datos
         var servicio = servicioRepository.findById(requestDTO.getIdServicio())
                 .orElseThrow(() -> new ResourceNotFoundException(Constants.ENTIDAD_SERVICIO, "id", requestDTO.getIdServicio()));
 
@@ -108,6 +132,16 @@ public class CitaServiceImpl implements ICitaService {
             throw new ValidationException("La fecha de la cita no puede ser en el pasado");
         }
 
+        // Serializar reservas del mismo veterinario y día hasta el commit,
+        // para que la validación de conflictos y el guardado sean atómicos
+        agendaLockService.bloquear(veterinario.getIdPersonal(), cita.getFechaCita());
+
+        // Convertir la reserva temporal del slot (se restaura si la creación falla)
+        if (requestDTO.getTokenReserva() != null && !requestDTO.getTokenReserva().isBlank()) {
+            reservaSlotService.consumir(requestDTO.getTokenReserva(), veterinario.getIdPersonal(),
+                    cita.getFechaCita(), cita.getHoraCita());
+        }
+
         citaValidationService.validarCita(cita);
 
         // Usar Mediator para crear la cita (coordina todas las operaciones)
@@ -117,6 +151,11 @@ public class CitaServiceImpl implements ICitaService {
         return citaMapper.toResponseDTO(citaCreada);
     }
 
+    @Override
+    public CitaLoteResponseDTO crearLote(CitaLoteRequestDTO requestDTO) {
+        return citaLoteService.crearLote(requestDTO);
+    }
+
     @Override
     public CitaResponseDTO actualizar(Long id, CitaRequestDTO requestDTO) {
         log.info("Actualizando cita ID: {}", id);
@@ -174,9 +213,15 @@ public class CitaServiceImpl implements ICitaService {
             cita.setObservaciones(requestDTO.getObservaciones());
         }
 
+        agendaLockService.bloquear(cita.getVeterinario().getIdPersonal(), cita.getFechaCita());
+
         citaValidationService.validarCita(cita);
 
         Cita citaActualizada = citaRepository.save(cita);
+
+        // Los observadores recalculan disponibilidad y estadísticas de ambos días y publican en el feed
+        citaSubject.notifyCitaRescheduled(citaActualizada, fechaOriginal, horaOriginal);
+
         log.info("Cita actualizada exitosamente");
         return citaMapper.toResponseDTO(citaActualizada);
     }
@@ -210,17 +255,14 @@ public class CitaServiceImpl implements ICitaService {
                 .anyMatch(auth -> auth.equals("ROLE_VETERINARIO"));
             
             if (isVeterinario) {
-                // Obtener el usuario autenticado
-                String username = authentication.getName();
-                Usuario usuario = usuarioRepository.findByUsername(username)
-                    .orElseThrow(() -> new UnauthorizedException("Usuario no encontrado"));
-                
-                // Buscar el veterinario asociado al usuario autenticado
-                Veterinario veterinarioAutenticado = veterinarioRepository.findByUsuarioIdWithUsuario(usuario.getIdUsuario())
-                    .orElseThrow(() -> new UnauthorizedException("No se encontró un perfil de veterinario asociado a tu usuario"));
+                // Perfil de veterinario del usuario autenticado (resuelto una vez por petición)
+                Long idVeterinarioAutenticado = contextoActor.actual().idPersonal();
+                if (idVeterinarioAutenticado == null) {
+                    throw new UnauthorizedException("No se encontró un perfil de veterinario asociado a tu usuario");
+                }
                 
                 // Verificar que el veterinario solicitado sea el mismo que el autenticado
-                if (!veterinario.getIdPersonal().equals(veterinarioAutenticado.getIdPersonal())) {
+                if (!veterinario.getIdPersonal().equals(idVeterinarioAutenticado)) {
                     throw new UnauthorizedException("No tiene permisos para ver las citas de otro veterinario");
                 }
             }
@@ -234,19 +276,12 @@ public class CitaServiceImpl implements ICitaService {
     @Override
     @Transactional(readOnly = true)
     public List<CitaResponseDTO> listarMisCitas() {
-        // Obtener el usuario autenticado
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || !authentication.isAuthenticated()) {
-            throw new UnauthorizedException("Usuario no autenticado");
+        // Perfil de veterinario del usuario autenticado (resuelto una vez por petición)
+        Long idVeterinario = contextoActor.actual().idPersonal();
+        if (idVeterinario == null) {
+            throw new UnauthorizedException("No se encontró un perfil de veterinario asociado a tu usuario");
         }
-
-        String username = authentication.getName();
-        Usuario usuario = usuarioRepository.findByUsername(username)
-            .orElseThrow(() -> new UnauthorizedException("Usuario no encontrado"));
-
-        // Buscar el veterinario asociado al usuario autenticado
-        Veterinario veterinario = veterinarioRepository.findByUsuarioIdWithUsuario(usuario.getIdUsuario())
-            .orElseThrow(() -> new UnauthorizedException("No se encontró un perfil de veterinario asociado a tu usuario"));
+        Veterinario veterinario = veterinarioRepository.getReferenceById(idVeterinario);
 
         // Obtener las citas del veterinario autenticado
         List<Cita> citas = citaRepository.findByVeterinarioWithRelations(veterinario);
@@ -303,10 +338,12 @@ public class CitaServiceImpl implements ICitaService {
                 .orElseThrow(() -> new ResourceNotFoundException(Constants.ENTIDAD_CITA, "id", id));
 
         // Usar Template Method según el tipo de servicio
+        EstadoCita estadoAnterior = cita.getEstado();
         AtencionTemplate template = obtenerTemplateAtencion(cita);
         template.procesarAtencion(cita);
 
         Cita citaActualizada = citaRepository.save(cita);
+        notificarCambioEstado(citaActualizada, estadoAnterior);
         return citaMapper.toResponseDTO(citaActualizada);
     }
 
@@ -317,8 +354,10 @@ public class CitaServiceImpl implements ICitaService {
         Cita cita = citaRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(Constants.ENTIDAD_CITA, "id", id));
 
+        EstadoCita estadoAnterior = cita.getEstado();
         cita.iniciarAtencion();
         Cita citaActualizada = citaRepository.save(cita);
+        notificarCambioEstado(citaActualizada, estadoAnterior);
         return citaMapper.toResponseDTO(citaActualizada);
     }
 
@@ -329,8 +368,10 @@ public class CitaServiceImpl implements ICitaService {
         Cita cita = citaRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(Constants.ENTIDAD_CITA, "id", id));
 
+        EstadoCita estadoAnterior = cita.getEstado();
         cita.finalizarAtencion();
         Cita citaActualizada = citaRepository.save(cita);
+        notificarCambioEstado(citaActualizada, estadoAnterior);
         return citaMapper.toResponseDTO(citaActualizada);
     }
 
@@ -341,6 +382,96 @@ public class CitaServiceImpl implements ICitaService {
         return citaMapper.toResponseDTOList(citas);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public PaginaCursorDTO<CitaResponseDTO> listarPaginado(LocalDateTime inicio, LocalDateTime fin,
+                                                           boolean soloProgramadas, String cursor, int limite) {
+        if (limite < 1 || limite > MAX_TAMANIO_PAGINA) {
+            throw new ValidationException("El límite debe estar entre 1 y " + MAX_TAMANIO_PAGINA,
+                    "limite", "Tamaño de página inválido");
+        }
+
+        LocalDateTime cursorInicio = null;
+        Long cursorId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] partes = decodificarCursor(cursor);
+            cursorInicio = LocalDateTime.parse(partes[0]);
+            cursorId = Long.valueOf(partes[1]);
+        }
+
+        // Se pide un elemento extra para saber si hay página siguiente
+        List<Cita> citas = citaRepository.buscarPaginaKeyset(desdeFiltro(inicio, soloProgramadas), fin,
+                estadosFiltro(soloProgramadas), cursorInicio, cursorId, limite + 1);
+        boolean hayMas = citas.size() > limite;
+        List<Cita> pagina = hayMas ? citas.subList(0, limite) : citas;
+
+        String siguienteCursor = null;
+        if (hayMas) {
+            Cita ultima = pagina.get(pagina.size() - 1);
+            siguienteCursor = codificarCursor(ultima.getFechaHoraInicio() + "|" + ultima.getIdCita());
+        }
+
+        return PaginaCursorDTO.<CitaResponseDTO>builder()
+                .elementos(citaMapper.toResponseDTOList(pagina))
+                .siguienteCursor(siguienteCursor)
+                .hayMas(hayMas)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportarNdjson(LocalDateTime inicio, LocalDateTime fin, boolean soloProgramadas, OutputStream salida) {
+        long total = citaRepository.recorrerCitas(desdeFiltro(inicio, soloProgramadas), fin,
+                estadosFiltro(soloProgramadas), TAMANIO_LOTE_STREAMING, cita -> {
+                    try {
+                        salida.write(objectMapper.writeValueAsBytes(citaMapper.toResponseDTO(cita)));
+                        salida.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+        log.debug("Exportación NDJSON de citas completada: {} registros", total);
+    }
+
+    private static LocalDateTime desdeFiltro(LocalDateTime inicio, boolean soloProgramadas) {
+        if (!soloProgramadas) {
+            return inicio;
+        }
+        LocalDateTime ahora = LocalDateTime.now();
+        return inicio == null || inicio.isBefore(ahora) ? ahora : inicio;
+    }
+
+    private static List<EstadoCita> estadosFiltro(boolean soloProgramadas) {
+        return soloProgramadas ? List.of(EstadoCita.PROGRAMADA, EstadoCita.CONFIRMADA) : null;
+    }
+
+    private static String codificarCursor(String valor) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodificarCursor(String cursor) {
+        try {
+            String[] partes = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (partes.length != 2) {
+                throw new IllegalArgumentException("Formato de cursor inválido");
+            }
+            LocalDateTime.parse(partes[0]);
+            Long.parseLong(partes[1]);
+            return partes;
+        } catch (RuntimeException e) {
+            throw new ValidationException("Cursor inválido", "cursor", "Use el valor siguienteCursor de la página anterior");
+        }
+    }
+
+    /**
+     * Notifica a los observadores (feed de agenda, estadísticas, recordatorios...) un cambio de estado.
+     */
+    private void notificarCambioEstado(Cita cita, EstadoCita estadoAnterior) {
+        if (cita.getEstado() != estadoAnterior) {
+            citaSubject.notifyStateChanged(cita, estadoAnterior.name(), cita.getEstado().name());
+        }
+    }
+
     /**
      * Obtiene el template de atención apropiado según el tipo de servicio.
      */
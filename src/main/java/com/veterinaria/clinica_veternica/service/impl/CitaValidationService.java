@@ -50,5 +50,15 @@ public class CitaValidationService {
             throw new ValidationException("Error al validar la cita: " + e.getMessage());
         }
     }
+
+    /**
+     * Valida una cita de un lote contra una agenda en memoria, sin consultar conflictos en BD.
+     *
+     * @param cita Cita a validar
+     * @param agenda Citas existentes y citas del lote ya aceptadas
+     */
+    public void validarCitaEnLote(Cita cita, AgendaEnMemoria agenda) {
+        agenda.ejecutar(() -> validarCita(cita));
+    }
 }
 
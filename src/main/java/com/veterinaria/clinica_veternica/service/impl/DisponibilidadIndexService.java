@@ -0,0 +1,503 @@
+package com.veterinaria.clinica_veternica.service.impl;
+
+import com.veterinaria.clinica_veternica.config.cache.BusInvalidacionCache;
+import com.veterinaria.clinica_veternica.domain.agenda.Cita;
+import com.veterinaria.clinica_veternica.domain.agenda.EstadoCita;
+import com.veterinaria.clinica_veternica.domain.agenda.Horario;
+import com.veterinaria.clinica_veternica.domain.usuario.Veterinario;
+import com.veterinaria.clinica_veternica.dto.response.agenda.DisponibilidadVeterinarioDTO;
+import com.veterinaria.clinica_veternica.exception.ResourceNotFoundException;
+import com.veterinaria.clinica_veternica.repository.CitaRepository;
+import com.veterinaria.clinica_veternica.repository.HorarioRepository;
+import com.veterinaria.clinica_veternica.repository.VeterinarioRepository;
+import com.veterinaria.clinica_veternica.service.interfaces.IReservaSlotService;
+import com.veterinaria.clinica_veternica.service.interfaces.IReservaSlotService.IntervaloReservado;
+import com.veterinaria.clinica_veternica.util.Constants;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Índice en memoria de disponibilidad por veterinario y día.
+ *
+ * Para cada par (veterinario, fecha) mantiene los horarios del día divididos en slots
+ * de {@code Horario.duracionCitaMinutos}, un contador de citas por slot y un {@link BitSet}
+ * con los slots que alcanzaron {@code Horario.maxCitasSimultaneas}.
+ *
+ * - Se construye de forma perezosa la primera vez que se consulta un día (una sola lectura a BD).
+ * - Se actualiza incrementalmente con los eventos de {@code CitaSubject} (creación, cancelación,
+ *   cambio de estado) una vez confirmada la transacción.
+ * - Se invalida cuando cambian los horarios del veterinario o se reprograma una cita.
+ * - Cada cambio se publica en {@link BusInvalidacionCache}: los demás nodos descartan el día
+ *   (o todos los días del veterinario) y lo recargan en la siguiente consulta.
+ *
+ * Las consultas de disponibilidad sobre un día ya indexado no acceden a la base de datos.
+ * Los slots retenidos temporalmente ({@link IReservaSlotService}) se superponen al armar la
+ * respuesta y se informan con motivo {@code RESERVADO}.
+ *
+ * @author Clínica Veterinaria Team
+ * @version 1.0
+ * @since 2025-11-20
+ */
+@Slf4j
+@Service
+public class DisponibilidadIndexService {
+
+    /**
+     * Nombre con el que el índice publica sus invalidaciones en el bus.
+     * Claves: "idVeterinario" (todos sus días) o "idVeterinario:fecha".
+     */
+    public static final String NOMBRE_CACHE = "disponibilidad";
+
+    private final VeterinarioRepository veterinarioRepository;
+    private final HorarioRepository horarioRepository;
+    private final CitaRepository citaRepository;
+    private final IReservaSlotService reservaSlotService;
+    private final BusInvalidacionCache busInvalidacion;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<ClaveDia, AgendaDia> agendas = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicLong> versiones = new ConcurrentHashMap<>();
+    private volatile LocalDate ultimaPurga = LocalDate.MIN;
+
+    public DisponibilidadIndexService(VeterinarioRepository veterinarioRepository,
+                                      HorarioRepository horarioRepository,
+                                      CitaRepository citaRepository,
+                                      IReservaSlotService reservaSlotService,
+                                      BusInvalidacionCache busInvalidacion,
+                                      PlatformTransactionManager transactionManager) {
+        this.veterinarioRepository = veterinarioRepository;
+        this.horarioRepository = horarioRepository;
+        this.citaRepository = citaRepository;
+        this.reservaSlotService = reservaSlotService;
+        this.busInvalidacion = busInvalidacion;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @PostConstruct
+    public void registrarEnBus() {
+        busInvalidacion.registrarReceptor(NOMBRE_CACHE, this::aplicarRemota);
+    }
+
+    /**
+     * Obtiene la disponibilidad de un veterinario en una fecha.
+     * Si el día ya está indexado la respuesta se arma solo desde memoria.
+     *
+     * @param idVeterinario ID del veterinario
+     * @param fecha Fecha a consultar
+     * @return Disponibilidad del día
+     */
+    public DisponibilidadVeterinarioDTO obtenerDisponibilidad(Long idVeterinario, LocalDate fecha) {
+        ClaveDia clave = new ClaveDia(idVeterinario, fecha);
+        AgendaDia agenda = agendas.get(clave);
+        if (agenda == null) {
+            agenda = cargarAgenda(clave);
+        }
+        return agenda.toDTO(idVeterinario, fecha, reservaSlotService.listarReservasDelDia(idVeterinario, fecha));
+    }
+
+    /**
+     * Registra una cita creada. Se aplica tras el commit de la transacción en curso.
+     *
+     * @param cita Cita creada
+     */
+    public void registrarCita(Cita cita) {
+        if (!esIndexable(cita) || !ocupaAgenda(cita.getEstado())) {
+            return;
+        }
+        ClaveDia clave = new ClaveDia(cita.getVeterinario().getIdPersonal(), cita.getFechaCita());
+        DisponibilidadVeterinarioDTO.CitaOcupadaDTO ocupada = toCitaOcupada(cita);
+        int inicio = minutoDelDia(cita.getHoraCita());
+        int fin = inicio + duracionDe(cita);
+        trasCommit(() -> {
+            incrementarVersion(clave.idVeterinario());
+            AgendaDia agenda = agendas.get(clave);
+            if (agenda != null) {
+                agenda.ocupar(ocupada, inicio, fin);
+            }
+        });
+        publicarDia(clave);
+    }
+
+    /**
+     * Libera los slots de una cita cancelada o marcada como no asistida.
+     * Se aplica tras el commit de la transacción en curso.
+     *
+     * @param cita Cita liberada
+     */
+    public void liberarCita(Cita cita) {
+        if (!esIndexable(cita)) {
+            return;
+        }
+        ClaveDia clave = new ClaveDia(cita.getVeterinario().getIdPersonal(), cita.getFechaCita());
+        Long idCita = cita.getIdCita();
+        trasCommit(() -> {
+            incrementarVersion(clave.idVeterinario());
+            AgendaDia agenda = agendas.get(clave);
+            if (agenda != null) {
+                agenda.liberar(idCita);
+            }
+        });
+        publicarDia(clave);
+    }
+
+    /**
+     * Invalida un día de un veterinario (por ejemplo, al reprogramar una cita).
+     *
+     * @param idVeterinario ID del veterinario
+     * @param fecha Fecha a invalidar
+     */
+    public void invalidarDia(Long idVeterinario, LocalDate fecha) {
+        if (idVeterinario == null || fecha == null) {
+            return;
+        }
+        ClaveDia clave = new ClaveDia(idVeterinario, fecha);
+        trasCommit(() -> {
+            incrementarVersion(idVeterinario);
+            agendas.remove(clave);
+        });
+        publicarDia(clave);
+    }
+
+    /**
+     * Invalida todos los días indexados de un veterinario (por ejemplo, al cambiar sus horarios).
+     *
+     * @param idVeterinario ID del veterinario
+     */
+    public void invalidarVeterinario(Long idVeterinario) {
+        if (idVeterinario == null) {
+            return;
+        }
+        trasCommit(() -> descartarVeterinario(idVeterinario));
+        busInvalidacion.publicarCache(NOMBRE_CACHE, idVeterinario.toString());
+    }
+
+    private void descartarVeterinario(Long idVeterinario) {
+        incrementarVersion(idVeterinario);
+        agendas.keySet().removeIf(clave -> clave.idVeterinario().equals(idVeterinario));
+        log.debug("Índice de disponibilidad invalidado para veterinario ID: {}", idVeterinario);
+    }
+
+    /**
+     * Publica tras el commit (lo hace el bus) la invalidación de un día para los demás nodos.
+     */
+    private void publicarDia(ClaveDia clave) {
+        busInvalidacion.publicarCache(NOMBRE_CACHE, clave.idVeterinario() + ":" + clave.fecha());
+    }
+
+    /**
+     * Aplica una invalidación recibida de otro nodo (lista vacía: descartar todo el índice).
+     */
+    private void aplicarRemota(List<String> claves) {
+        if (claves.isEmpty()) {
+            versiones.values().forEach(AtomicLong::incrementAndGet);
+            agendas.clear();
+            return;
+        }
+        for (String clave : claves) {
+            int separador = clave.indexOf(':');
+            if (separador < 0) {
+                descartarVeterinario(Long.valueOf(clave));
+            } else {
+                Long idVeterinario = Long.valueOf(clave.substring(0, separador));
+                incrementarVersion(idVeterinario);
+                agendas.remove(new ClaveDia(idVeterinario, LocalDate.parse(clave.substring(separador + 1))));
+            }
+        }
+    }
+
+    // ===================================================================
+    // CARGA PEREZOSA
+    // ===================================================================
+
+    private AgendaDia cargarAgenda(ClaveDia clave) {
+        purgarDiasPasados();
+
+        long version = versionDe(clave.idVeterinario());
+        AgendaDia agenda = transactionTemplate.execute(status -> construirAgenda(clave));
+
+        // Si llegó algún evento del veterinario durante la carga, la agenda puede estar
+        // desactualizada: se descarta y se recargará en la próxima consulta.
+        agendas.put(clave, agenda);
+        if (versionDe(clave.idVeterinario()) != version) {
+            agendas.remove(clave, agenda);
+        }
+        log.debug("Índice de disponibilidad cargado para veterinario ID: {} en fecha: {}",
+                clave.idVeterinario(), clave.fecha());
+        return agenda;
+    }
+
+    private AgendaDia construirAgenda(ClaveDia clave) {
+        Veterinario veterinario = veterinarioRepository.findById(clave.idVeterinario())
+                .orElseThrow(() -> new ResourceNotFoundException(Constants.ENTIDAD_VETERINARIO, "id", clave.idVeterinario()));
+
+        DayOfWeek diaSemana = clave.fecha().getDayOfWeek();
+        List<Horario> horariosDelDia = horarioRepository.findHorariosActivosPorVeterinario(veterinario).stream()
+                .filter(h -> h.getDiaSemana() == diaSemana)
+                .sorted(Comparator.comparing(Horario::getHoraInicio))
+                .toList();
+
+        AgendaDia agenda = new AgendaDia(
+                veterinario.getNombres() + " " + veterinario.getApellidos(), horariosDelDia);
+
+        List<Cita> citasDelDia = citaRepository.findCitasPorVeterinarioYFecha(
+                veterinario, clave.fecha().atStartOfDay(), clave.fecha().atTime(LocalTime.MAX));
+        for (Cita cita : citasDelDia) {
+            if (cita.getFechaCita().equals(clave.fecha()) && ocupaAgenda(cita.getEstado())) {
+                int inicio = minutoDelDia(cita.getHoraCita());
+                agenda.ocupar(toCitaOcupada(cita), inicio, inicio + duracionDe(cita));
+            }
+        }
+        return agenda;
+    }
+
+    private void purgarDiasPasados() {
+        LocalDate hoy = LocalDate.now();
+        if (!hoy.equals(ultimaPurga)) {
+            ultimaPurga = hoy;
+            agendas.keySet().removeIf(clave -> clave.fecha().isBefore(hoy));
+        }
+    }
+
+    // ===================================================================
+    // UTILIDADES
+    // ===================================================================
+
+    private void trasCommit(Runnable accion) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    accion.run();
+                }
+            });
+        } else {
+            accion.run();
+        }
+    }
+
+    private long versionDe(Long idVeterinario) {
+        return versiones.computeIfAbsent(idVeterinario, id -> new AtomicLong()).get();
+    }
+
+    private void incrementarVersion(Long idVeterinario) {
+        versiones.computeIfAbsent(idVeterinario, id -> new AtomicLong()).incrementAndGet();
+    }
+
+    private static boolean esIndexable(Cita cita) {
+        return cita != null && cita.getIdCita() != null && cita.getVeterinario() != null
+                && cita.getFechaCita() != null && cita.getHoraCita() != null;
+    }
+
+    private static boolean ocupaAgenda(EstadoCita estado) {
+        return estado != EstadoCita.CANCELADA && estado != EstadoCita.NO_ASISTIO;
+    }
+
+    private static int duracionDe(Cita cita) {
+        return cita.getDuracionEstimadaMinutos() != null
+                ? cita.getDuracionEstimadaMinutos()
+                : Cita.DURACION_POR_DEFECTO_MINUTOS;
+    }
+
+    private static int minutoDelDia(LocalTime hora) {
+        return hora.getHour() * 60 + hora.getMinute();
+    }
+
+    private static DisponibilidadVeterinarioDTO.CitaOcupadaDTO toCitaOcupada(Cita cita) {
+        return DisponibilidadVeterinarioDTO.CitaOcupadaDTO.builder()
+                .idCita(cita.getIdCita())
+                .hora(cita.getHoraCita())
+                .estado(cita.getEstado().name())
+                .nombreMascota(cita.getMascota() != null ? cita.getMascota().getNombre() : "N/A")
+                .nombreServicio(cita.getServicio() != null ? cita.getServicio().getNombre() : "N/A")
+                .build();
+    }
+
+    private static String nombreDia(DayOfWeek diaSemana) {
+        return switch (diaSemana) {
+            case MONDAY -> "Lunes";
+            case TUESDAY -> "Martes";
+            case WEDNESDAY -> "Miércoles";
+            case THURSDAY -> "Jueves";
+            case FRIDAY -> "Viernes";
+            case SATURDAY -> "Sábado";
+            case SUNDAY -> "Domingo";
+        };
+    }
+
+    // ===================================================================
+    // ESTRUCTURAS DEL ÍNDICE
+    // ===================================================================
+
+    private record ClaveDia(Long idVeterinario, LocalDate fecha) {
+    }
+
+    /**
+     * Bloque de slots consecutivos generado a partir de un Horario.
+     */
+    private record BloqueSlots(DisponibilidadVeterinarioDTO.HorarioDisponibleDTO horario, int minutoInicio, int duracion, int cantidad,
+                               int capacidad, int desplazamiento) {
+
+        int minutoFin() {
+            return minutoInicio + duracion * cantidad;
+        }
+    }
+
+    /**
+     * Agenda indexada de un veterinario en un día.
+     * Las escrituras y las lecturas se sincronizan sobre la propia agenda.
+     */
+    private static final class AgendaDia {
+
+        private final String nombreVeterinario;
+        private final List<BloqueSlots> bloques;
+        private final short[] ocupacion;
+        private final BitSet llenos;
+        private final Map<Long, DisponibilidadVeterinarioDTO.CitaOcupadaDTO> citas = new HashMap<>();
+        private final Map<Long, int[]> slotsPorCita = new HashMap<>();
+
+        AgendaDia(String nombreVeterinario, List<Horario> horarios) {
+            this.nombreVeterinario = nombreVeterinario;
+            List<BloqueSlots> lista = new ArrayList<>(horarios.size());
+            int total = 0;
+            for (Horario horario : horarios) {
+                int duracion = horario.getDuracionCitaMinutos() != null && horario.getDuracionCitaMinutos() > 0
+                        ? horario.getDuracionCitaMinutos()
+                        : Cita.DURACION_POR_DEFECTO_MINUTOS;
+                int cantidad = (int) (horario.getDuracionMinutos() / duracion);
+                int capacidad = horario.getMaxCitasSimultaneas() != null ? horario.getMaxCitasSimultaneas() : 1;
+                DisponibilidadVeterinarioDTO.HorarioDisponibleDTO horarioDTO =
+                        DisponibilidadVeterinarioDTO.HorarioDisponibleDTO.builder()
+                                .idHorario(horario.getIdHorario())
+                                .horaInicio(horario.getHoraInicio())
+                                .horaFin(horario.getHoraFin())
+                                .duracionCitaMinutos(horario.getDuracionCitaMinutos())
+                                .activo(horario.getActivo())
+                                .build();
+                lista.add(new BloqueSlots(horarioDTO, minutoDelDia(horario.getHoraInicio()), duracion,
+                        cantidad, capacidad, total));
+                total += cantidad;
+            }
+            this.bloques = List.copyOf(lista);
+            this.ocupacion = new short[total];
+            this.llenos = new BitSet(total);
+        }
+
+        synchronized void ocupar(DisponibilidadVeterinarioDTO.CitaOcupadaDTO cita, int inicio, int fin) {
+            if (citas.containsKey(cita.getIdCita())) {
+                return;
+            }
+            citas.put(cita.getIdCita(), cita);
+
+            List<Integer> ocupados = new ArrayList<>();
+            for (BloqueSlots bloque : bloques) {
+                if (fin <= bloque.minutoInicio() || inicio >= bloque.minutoFin()) {
+                    continue;
+                }
+                int primero = Math.max(0, (inicio - bloque.minutoInicio()) / bloque.duracion());
+                int ultimo = Math.min(bloque.cantidad() - 1,
+                        (fin - bloque.minutoInicio() + bloque.duracion() - 1) / bloque.duracion() - 1);
+                for (int i = primero; i <= ultimo; i++) {
+                    int slot = bloque.desplazamiento() + i;
+                    if (++ocupacion[slot] >= bloque.capacidad()) {
+                        llenos.set(slot);
+                    }
+                    ocupados.add(slot);
+                }
+            }
+            slotsPorCita.put(cita.getIdCita(), ocupados.stream().mapToInt(Integer::intValue).toArray());
+        }
+
+        synchronized void liberar(Long idCita) {
+            citas.remove(idCita);
+            int[] slots = slotsPorCita.remove(idCita);
+            if (slots == null) {
+                return;
+            }
+            for (int slot : slots) {
+                if (ocupacion[slot] > 0) {
+                    ocupacion[slot]--;
+                }
+                if (ocupacion[slot] < capacidadDe(slot)) {
+                    llenos.clear(slot);
+                }
+            }
+        }
+
+        private int capacidadDe(int slot) {
+            for (BloqueSlots bloque : bloques) {
+                if (slot < bloque.desplazamiento() + bloque.cantidad()) {
+                    return bloque.capacidad();
+                }
+            }
+            return 1;
+        }
+
+        synchronized DisponibilidadVeterinarioDTO toDTO(Long idVeterinario, LocalDate fecha,
+                                                        List<IntervaloReservado> reservas) {
+            List<DisponibilidadVeterinarioDTO.HorarioDisponibleDTO> horariosDTO = new ArrayList<>(bloques.size());
+            List<DisponibilidadVeterinarioDTO.SlotDisponibleDTO> slots = new ArrayList<>(ocupacion.length);
+
+            for (BloqueSlots bloque : bloques) {
+                horariosDTO.add(bloque.horario());
+
+                LocalTime hora = bloque.horario().getHoraInicio();
+                for (int i = 0; i < bloque.cantidad(); i++) {
+                    int slot = bloque.desplazamiento() + i;
+                    boolean ocupado = llenos.get(slot);
+                    boolean reservado = !ocupado && !reservas.isEmpty()
+                            && ocupacion[slot] + reservasSolapadas(reservas, hora, hora.plusMinutes(bloque.duracion()))
+                                    >= bloque.capacidad();
+                    slots.add(DisponibilidadVeterinarioDTO.SlotDisponibleDTO.builder()
+                            .hora(hora)
+                            .disponible(!ocupado && !reservado)
+                            .motivoNoDisponible(ocupado ? "OCUPADO" : reservado ? "RESERVADO" : null)
+                            .build());
+                    hora = hora.plusMinutes(bloque.duracion());
+                }
+            }
+
+            List<DisponibilidadVeterinarioDTO.CitaOcupadaDTO> citasOcupadas = citas.values().stream()
+                    .sorted(Comparator.comparing(DisponibilidadVeterinarioDTO.CitaOcupadaDTO::getHora))
+                    .toList();
+
+            return DisponibilidadVeterinarioDTO.builder()
+                    .idVeterinario(idVeterinario)
+                    .nombreVeterinario(nombreVeterinario)
+                    .fecha(fecha)
+                    .diaSemana(nombreDia(fecha.getDayOfWeek()))
+                    .tieneHorarios(!bloques.isEmpty())
+                    .horarios(horariosDTO)
+                    .slotsDisponibles(slots)
+                    .citasOcupadas(citasOcupadas)
+                    .build();
+        }
+
+        private static int reservasSolapadas(List<IntervaloReservado> reservas, LocalTime inicio, LocalTime fin) {
+            int total = 0;
+            for (IntervaloReservado reserva : reservas) {
+                if (reserva.inicio().isBefore(fin) && reserva.fin().isAfter(inicio)) {
+                    total++;
+                }
+            }
+            return total;
+        }
+    }
+}
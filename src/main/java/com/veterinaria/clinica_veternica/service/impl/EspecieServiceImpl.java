@@ -1,5 +1,6 @@
 package com.veterinaria.clinica_veternica.service.impl;
 
+import com.veterinaria.clinica_veternica.config.CacheConfig;
 import com.veterinaria.clinica_veternica.domain.paciente.Especie;
 import com.veterinaria.clinica_veternica.dto.request.paciente.EspecieRequestDTO;
 import com.veterinaria.clinica_veternica.dto.response.paciente.EspecieResponseDTO;
@@ -11,6 +12,8 @@ import com.veterinaria.clinica_veternica.repository.EspecieRepository;
 import com.veterinaria.clinica_veternica.service.interfaces.IEspecieService;
 import com.veterinaria.clinica_veternica.util.Constants;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -30,8 +33,10 @@ public class EspecieServiceImpl implements IEspecieService {
 
     private final EspecieRepository especieRepository;
     private final EspecieMapper especieMapper;
+    private final CatalogoSnapshotService catalogoSnapshotService;
 
     @Override
+    @CacheEvict(cacheNames = {CacheConfig.CACHE_ESPECIES, CacheConfig.CACHE_RAZAS}, allEntries = true)
     public EspecieResponseDTO crear(EspecieRequestDTO requestDTO) {
         // Validar que no exista una especie con el mismo nombre
         if (especieRepository.existsByNombreIgnoreCase(requestDTO.getNombre())) {
@@ -53,11 +58,14 @@ public class EspecieServiceImpl implements IEspecieService {
         // Guardar
         Especie especieGuardada = especieRepository.save(especie);
 
+        catalogoSnapshotService.invalidar();
+
         // Retornar DTO de respuesta
         return especieMapper.toResponseDTO(especieGuardada);
     }
 
     @Override
+    @CacheEvict(cacheNames = {CacheConfig.CACHE_ESPECIES, CacheConfig.CACHE_RAZAS}, allEntries = true)
     public EspecieResponseDTO actualizar(Long id, EspecieRequestDTO requestDTO) {
         // Buscar especie existente
         Especie especie = especieRepository.findById(id)
@@ -79,11 +87,13 @@ public class EspecieServiceImpl implements IEspecieService {
         // Guardar cambios
         Especie especieActualizada = especieRepository.save(especie);
 
+        catalogoSnapshotService.invalidar();
         return especieMapper.toResponseDTO(especieActualizada);
     }
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.CACHE_ESPECIES, key = "'id:' + #id", sync = true)
     public EspecieResponseDTO buscarPorId(Long id) {
         Especie especie = especieRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException(Constants.ENTIDAD_ESPECIE, "id", id));
@@ -93,6 +103,7 @@ public class EspecieServiceImpl implements IEspecieService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.CACHE_ESPECIES, key = "'todas'", sync = true)
     public List<EspecieResponseDTO> listarTodas() {
         List<Especie> especies = especieRepository.findAll();
         return especieMapper.toResponseDTOList(especies);
@@ -100,6 +111,7 @@ public class EspecieServiceImpl implements IEspecieService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.CACHE_ESPECIES, key = "'activas'", sync = true)
     public List<EspecieResponseDTO> listarActivas() {
         List<Especie> especies = especieRepository.findByActivoTrue();
         return especieMapper.toResponseDTOList(especies);
@@ -117,6 +129,7 @@ public class EspecieServiceImpl implements IEspecieService {
     }
 
     @Override
+    @CacheEvict(cacheNames = {CacheConfig.CACHE_ESPECIES, CacheConfig.CACHE_RAZAS}, allEntries = true)
     public void eliminar(Long id) {
         Especie especie = especieRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException(Constants.ENTIDAD_ESPECIE, "id", id));
@@ -133,9 +146,11 @@ public class EspecieServiceImpl implements IEspecieService {
         // Soft delete - marcar como inactiva
         especie.setActivo(false);
         especieRepository.save(especie);
+        catalogoSnapshotService.invalidar();
     }
 
     @Override
+    @CacheEvict(cacheNames = {CacheConfig.CACHE_ESPECIES, CacheConfig.CACHE_RAZAS}, allEntries = true)
     public EspecieResponseDTO activar(Long id) {
         Especie especie = especieRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException(Constants.ENTIDAD_ESPECIE, "id", id));
@@ -147,6 +162,7 @@ public class EspecieServiceImpl implements IEspecieService {
         especie.setActivo(true);
         Especie especieActivada = especieRepository.save(especie);
 
+        catalogoSnapshotService.invalidar();
         return especieMapper.toResponseDTO(especieActivada);
     }
 
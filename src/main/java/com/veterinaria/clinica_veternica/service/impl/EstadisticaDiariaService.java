@@ -0,0 +1,244 @@
+package com.veterinaria.clinica_veternica.service.impl;
+
+import com.veterinaria.clinica_veternica.domain.agenda.EstadisticaDiariaCita;
+import com.veterinaria.clinica_veternica.exception.BusinessException;
+import com.veterinaria.clinica_veternica.repository.CitaRepository;
+import com.veterinaria.clinica_veternica.repository.EstadisticaDiariaCitaRepository;
+import com.veterinaria.clinica_veternica.repository.EstadisticaDiariaCitaRepository.ConteoPorEstado;
+import com.veterinaria.clinica_veternica.repository.EstadisticaDiariaCitaRepository.ConteoPorVeterinarioYEstado;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Mantenimiento y lectura del agregado diario de citas ({@link EstadisticaDiariaCita}).
+ *
+ * - Cada evento de cita marca su fecha como modificada; tras el commit de la transacción las
+ *   fechas pasan a una cola que un hilo propio recalcula, en una transacción propia, con una
+ *   consulta GROUP BY sobre las citas de esos días. El hilo de la petición no espera ni pide
+ *   una segunda conexión, y las fechas marcadas por varias reservas seguidas se recalculan
+ *   una sola vez. Se recalcula el día completo en lugar de sumar y restar, porque no todos
+ *   los eventos informan el estado anterior de la cita.
+ * - Los recálculos de un mismo día se serializan con {@link AgendaLockService} (advisory lock
+ *   en PostgreSQL, válido entre instancias): el último en ejecutarse ve todas las citas ya
+ *   confirmadas, así que el día queda con los conteos correctos.
+ * - Una reconciliación nocturna reconstruye la tabla completa y corrige cualquier desvío
+ *   (cambios que no pasaron por los eventos). Se ejecuta en una sola instancia a la vez y
+ *   espera a los recálculos en curso. También se ejecuta al arrancar si la tabla está vacía
+ *   y hay citas.
+ *
+ * @author Clínica Veterinaria Team
+ * @version 1.0
+ * @since 2025-11-20
+ */
+@Slf4j
+@Service
+public class EstadisticaDiariaService {
+
+    private static final int INTENTOS_RECALCULO = 2;
+
+    private final EstadisticaDiariaCitaRepository estadisticaRepository;
+    private final CitaRepository citaRepository;
+    private final AgendaLockService agendaLockService;
+    private final TransactionTemplate transactionTemplate;
+
+    // Fechas confirmadas pendientes de recálculo y si ya hay un hilo que las procesa
+    private final Set<LocalDate> pendientes = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean procesando = new AtomicBoolean();
+
+    public EstadisticaDiariaService(EstadisticaDiariaCitaRepository estadisticaRepository,
+                                    CitaRepository citaRepository,
+                                    AgendaLockService agendaLockService,
+                                    PlatformTransactionManager transactionManager) {
+        this.estadisticaRepository = estadisticaRepository;
+        this.citaRepository = citaRepository;
+        this.agendaLockService = agendaLockService;
+        // Los recálculos se ejecutan fuera de la transacción que los originó
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Marca una fecha cuyas citas cambiaron. Se recalcula en segundo plano tras el commit de
+     * la transacción en curso.
+     *
+     * @param fecha Fecha de la cita
+     */
+    public void marcarDia(LocalDate fecha) {
+        marcarDias(fecha != null ? List.of(fecha) : List.of());
+    }
+
+    /**
+     * Marca varias fechas cuyas citas cambiaron.
+     *
+     * @param fechas Fechas de las citas
+     */
+    public void marcarDias(Collection<LocalDate> fechas) {
+        Set<LocalDate> marcadas = fechas.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+        if (marcadas.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            recalcularDias(marcadas);
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Set<LocalDate> marcadasEnTransaccion = (Set<LocalDate>) TransactionSynchronizationManager.getResource(this);
+        if (marcadasEnTransaccion == null) {
+            Set<LocalDate> nuevas = new HashSet<>();
+            marcadasEnTransaccion = nuevas;
+            TransactionSynchronizationManager.bindResource(this, nuevas);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    encolar(nuevas);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(EstadisticaDiariaService.this);
+                }
+            });
+        }
+        marcadasEnTransaccion.addAll(marcadas);
+    }
+
+    /**
+     * Agrega fechas confirmadas a la cola y arranca el hilo de recálculo si no está activo.
+     */
+    private void encolar(Set<LocalDate> fechas) {
+        pendientes.addAll(fechas);
+        if (procesando.compareAndSet(false, true)) {
+            Thread.ofVirtual().name("estadisticas-diarias").start(this::procesarPendientes);
+        }
+    }
+
+    private void procesarPendientes() {
+        while (true) {
+            Set<LocalDate> lote = new HashSet<>();
+            for (Iterator<LocalDate> it = pendientes.iterator(); it.hasNext(); ) {
+                lote.add(it.next());
+                it.remove();
+            }
+            if (!lote.isEmpty()) {
+                try {
+                    recalcularDias(lote);
+                } catch (RuntimeException e) {
+                    log.error("Error recalculando estadísticas diarias para {}: {}", lote, e.getMessage(), e);
+                }
+                continue;
+            }
+            procesando.set(false);
+            // Una fecha encolada justo antes de soltar la marca no arrancó otro hilo
+            if (pendientes.isEmpty() || !procesando.compareAndSet(false, true)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Recalcula las filas de las fechas indicadas con esos días bloqueados. Si falla (p. ej.
+     * por agotar la espera del bloqueo) se reintenta; el desvío que quede lo corrige la
+     * reconciliación nocturna.
+     */
+    private void recalcularDias(Set<LocalDate> fechas) {
+        if (fechas.isEmpty()) {
+            return;
+        }
+        for (int intento = 1; intento <= INTENTOS_RECALCULO; intento++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    agendaLockService.bloquearDiasAgregado(fechas);
+                    estadisticaRepository.eliminarPorFechas(fechas);
+                    estadisticaRepository.saveAll(estadisticaRepository.agregarCitasPorFechas(fechas));
+                });
+                log.debug("Estadísticas diarias recalculadas para {} fecha(s)", fechas.size());
+                return;
+            } catch (DataAccessException | BusinessException e) {
+                log.warn("Intento {} de recálculo de estadísticas diarias fallido para {}: {}",
+                        intento, fechas, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Reconstruye el agregado completo a partir de todas las citas. Si otra instancia ya lo
+     * está reconstruyendo, no hace nada.
+     */
+    @Scheduled(cron = "${app.estadisticas.reconciliacion.cron:0 30 2 * * *}")
+    public void reconciliar() {
+        long inicio = System.currentTimeMillis();
+        try {
+            Integer filas = transactionTemplate.execute(status -> {
+                if (!agendaLockService.intentarBloquearAgregado()) {
+                    return null;
+                }
+                estadisticaRepository.deleteAllInBatch();
+                return estadisticaRepository.saveAll(estadisticaRepository.agregarTodasLasCitas()).size();
+            });
+            if (filas == null) {
+                log.info("Reconciliación de estadísticas diarias en curso en otra instancia; se omite");
+                return;
+            }
+            log.info("Estadísticas diarias reconciliadas: {} filas en {} ms", filas, System.currentTimeMillis() - inicio);
+        } catch (DataAccessException | BusinessException e) {
+            log.error("Error reconciliando estadísticas diarias: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Construye el agregado al arrancar si aún no existe (primer despliegue).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void inicializar() {
+        if (estadisticaRepository.count() == 0 && citaRepository.count() > 0) {
+            log.info("Estadísticas diarias vacías: construyendo a partir de las citas existentes");
+            reconciliar();
+        }
+    }
+
+    /**
+     * Citas e ingresos por estado en un rango de fechas.
+     *
+     * @param desde Fecha inicial (inclusive)
+     * @param hasta Fecha final (inclusive)
+     * @return Conteos por estado
+     */
+    @Transactional(readOnly = true)
+    public List<ConteoPorEstado> contarPorEstado(LocalDate desde, LocalDate hasta) {
+        return estadisticaRepository.contarPorEstado(desde, hasta);
+    }
+
+    /**
+     * Citas e ingresos por veterinario y estado en un rango de fechas.
+     *
+     * @param desde Fecha inicial (inclusive)
+     * @param hasta Fecha final (inclusive)
+     * @return Conteos por veterinario y estado
+     */
+    @Transactional(readOnly = true)
+    public List<ConteoPorVeterinarioYEstado> contarPorVeterinarioYEstado(LocalDate desde, LocalDate hasta) {
+        return estadisticaRepository.contarPorVeterinarioYEstado(desde, hasta);
+    }
+}
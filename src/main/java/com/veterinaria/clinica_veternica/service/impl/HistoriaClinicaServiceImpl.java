@@ -160,6 +160,21 @@ public class HistoriaClinicaServiceImpl implements IHistoriaClinicaService {
         return historiaClinicaMapper.toResponseDTO(historiaClinica);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<HistoriaClinicaResponseDTO> listarPorPropietario(Long idPropietario) {
+        List<HistoriaClinica> historias = historiaClinicaRepository.findByPropietarioId(idPropietario);
+
+        // Usar Proxy para control de acceso y auditoría
+        for (HistoriaClinica historiaClinica : historias) {
+            if (!historiaClinicaProxy.tienePermisoLectura(historiaClinica)) {
+                throw new UnauthorizedException("No tiene permisos para acceder a esta historia clínica");
+            }
+        }
+
+        return historiaClinicaMapper.toResponseDTOList(historias);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<HistoriaClinicaResponseDTO> listarTodos() {
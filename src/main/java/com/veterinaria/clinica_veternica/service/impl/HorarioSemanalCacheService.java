@@ -0,0 +1,275 @@
+package com.veterinaria.clinica_veternica.service.impl;
+
+import com.veterinaria.clinica_veternica.config.cache.BusInvalidacionCache;
+import com.veterinaria.clinica_veternica.domain.agenda.Horario;
+import com.veterinaria.clinica_veternica.domain.usuario.Veterinario;
+import com.veterinaria.clinica_veternica.repository.HorarioRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caché de horarios semanales por veterinario.
+ *
+ * Mantiene, por veterinario, un modelo inmutable de sus horarios activos
+ * (día de la semana → intervalos ordenados por hora de inicio con duración de cita
+ * y máximo de citas simultáneas). La cadena de validación de citas y la validación
+ * de traslapes de horarios leen de este modelo sin acceder a la base de datos.
+ *
+ * - Se carga de forma perezosa la primera vez que se consulta un veterinario.
+ * - Se invalida desde {@code HorarioServiceImpl} cuando cambian los horarios,
+ *   una vez confirmada la transacción, y en los demás nodos a través de
+ *   {@link BusInvalidacionCache}.
+ *
+ * @author Clínica Veterinaria Team
+ * @version 1.0
+ * @since 2025-11-20
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class HorarioSemanalCacheService {
+
+    /**
+     * Nombre con el que el caché publica sus invalidaciones en el bus (clave: ID del veterinario).
+     */
+    public static final String NOMBRE_CACHE = "horarios-semanales";
+
+    private final HorarioRepository horarioRepository;
+    private final BusInvalidacionCache busInvalidacion;
+
+    private final Map<Long, HorarioSemanal> horarios = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicLong> versiones = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void registrarEnBus() {
+        busInvalidacion.registrarReceptor(NOMBRE_CACHE, this::aplicarRemota);
+    }
+
+    /**
+     * Obtiene el horario semanal de un veterinario.
+     *
+     * @param veterinario Veterinario
+     * @return Horario semanal inmutable con los horarios activos
+     */
+    public HorarioSemanal obtener(Veterinario veterinario) {
+        Long idVeterinario = veterinario.getIdPersonal();
+        HorarioSemanal horarioSemanal = horarios.get(idVeterinario);
+        if (horarioSemanal != null) {
+            return horarioSemanal;
+        }
+
+        long version = versionDe(idVeterinario);
+        horarioSemanal = HorarioSemanal.de(horarioRepository.findHorariosActivosPorVeterinario(veterinario));
+
+        // Si los horarios cambiaron durante la carga, no se publica en caché
+        horarios.put(idVeterinario, horarioSemanal);
+        if (versionDe(idVeterinario) != version) {
+            horarios.remove(idVeterinario, horarioSemanal);
+        }
+        log.debug("Horario semanal cargado para veterinario ID: {}", idVeterinario);
+        return horarioSemanal;
+    }
+
+    /**
+     * Invalida el horario semanal de un veterinario tras el commit de la transacción en curso.
+     *
+     * @param idVeterinario ID del veterinario
+     */
+    public void invalidar(Long idVeterinario) {
+        if (idVeterinario == null) {
+            return;
+        }
+        Runnable accion = () -> descartar(idVeterinario);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    accion.run();
+                }
+            });
+        } else {
+            accion.run();
+        }
+        busInvalidacion.publicarCache(NOMBRE_CACHE, idVeterinario.toString());
+    }
+
+    private void descartar(Long idVeterinario) {
+        versiones.computeIfAbsent(idVeterinario, id -> new AtomicLong()).incrementAndGet();
+        horarios.remove(idVeterinario);
+        log.debug("Horario semanal invalidado para veterinario ID: {}", idVeterinario);
+    }
+
+    /**
+     * Aplica una invalidación recibida de otro nodo (lista vacía: descartar todos).
+     */
+    private void aplicarRemota(List<String> idsVeterinario) {
+        if (idsVeterinario.isEmpty()) {
+            versiones.values().forEach(AtomicLong::incrementAndGet);
+            horarios.clear();
+            return;
+        }
+        idsVeterinario.forEach(id -> descartar(Long.valueOf(id)));
+    }
+
+    private long versionDe(Long idVeterinario) {
+        return versiones.computeIfAbsent(idVeterinario, id -> new AtomicLong()).get();
+    }
+
+    // ===================================================================
+    // MODELO INMUTABLE
+    // ===================================================================
+
+    /**
+     * Intervalo de atención de un horario activo.
+     */
+    public record IntervaloHorario(Long idHorario, LocalTime horaInicio, LocalTime horaFin,
+                                   Integer duracionCitaMinutos, int maxCitasSimultaneas) {
+
+        boolean seTraslapa(LocalTime inicio, LocalTime fin) {
+            return inicio.isBefore(horaFin) && fin.isAfter(horaInicio);
+        }
+
+        @Override
+        public String toString() {
+            return horaInicio + " - " + horaFin;
+        }
+    }
+
+    /**
+     * Horarios activos de un veterinario agrupados por día de la semana.
+     *
+     * Cada día guarda sus intervalos ordenados por hora de inicio y, para cada posición,
+     * el índice del intervalo con la hora de fin más tardía hasta esa posición. Así las
+     * búsquedas de un intervalo que contenga una hora o un rango son O(log n).
+     */
+    public static final class HorarioSemanal {
+
+        private final Map<DayOfWeek, Dia> dias;
+
+        private HorarioSemanal(Map<DayOfWeek, Dia> dias) {
+            this.dias = dias;
+        }
+
+        static HorarioSemanal de(List<Horario> horarios) {
+            Map<DayOfWeek, List<IntervaloHorario>> porDia = new EnumMap<>(DayOfWeek.class);
+            for (Horario horario : horarios) {
+                if (horario.getDiaSemana() == null || horario.getHoraInicio() == null || horario.getHoraFin() == null) {
+                    continue;
+                }
+                porDia.computeIfAbsent(horario.getDiaSemana(), d -> new ArrayList<>())
+                        .add(new IntervaloHorario(horario.getIdHorario(), horario.getHoraInicio(), horario.getHoraFin(),
+                                horario.getDuracionCitaMinutos(),
+                                horario.getMaxCitasSimultaneas() != null ? horario.getMaxCitasSimultaneas() : 1));
+            }
+            Map<DayOfWeek, Dia> dias = new EnumMap<>(DayOfWeek.class);
+            porDia.forEach((dia, intervalos) -> dias.put(dia, new Dia(intervalos)));
+            return new HorarioSemanal(dias);
+        }
+
+        /**
+         * @return Intervalos del día ordenados por hora de inicio (vacío si no trabaja ese día)
+         */
+        public List<IntervaloHorario> delDia(DayOfWeek dia) {
+            Dia d = dias.get(dia);
+            return d != null ? d.intervalos : List.of();
+        }
+
+        /**
+         * Busca un intervalo que contenga completamente el rango [inicio, fin].
+         */
+        public Optional<IntervaloHorario> buscarContenedor(DayOfWeek dia, LocalTime inicio, LocalTime fin) {
+            Dia d = dias.get(dia);
+            if (d == null) {
+                return Optional.empty();
+            }
+            IntervaloHorario candidato = d.finMaximoHasta(inicio);
+            return candidato != null && !fin.isAfter(candidato.horaFin()) && !fin.isBefore(inicio)
+                    ? Optional.of(candidato)
+                    : Optional.empty();
+        }
+
+        /**
+         * Busca el intervalo vigente a una hora dada (inicio incluido, fin excluido).
+         */
+        public Optional<IntervaloHorario> buscarVigente(DayOfWeek dia, LocalTime hora) {
+            Dia d = dias.get(dia);
+            if (d == null) {
+                return Optional.empty();
+            }
+            IntervaloHorario candidato = d.finMaximoHasta(hora);
+            return candidato != null && hora.isBefore(candidato.horaFin())
+                    ? Optional.of(candidato)
+                    : Optional.empty();
+        }
+
+        /**
+         * Busca un intervalo del día que se traslape con [inicio, fin], ignorando el horario excluido.
+         */
+        public Optional<IntervaloHorario> buscarTraslape(DayOfWeek dia, LocalTime inicio, LocalTime fin, Long idExcluir) {
+            return delDia(dia).stream()
+                    .filter(i -> !Objects.equals(i.idHorario(), idExcluir))
+                    .filter(i -> i.seTraslapa(inicio, fin))
+                    .findFirst();
+        }
+
+        /**
+         * Máximo de citas simultáneas a una hora dada (1 si no hay horario vigente).
+         */
+        public int maxCitasSimultaneas(DayOfWeek dia, LocalTime hora) {
+            return buscarVigente(dia, hora).map(IntervaloHorario::maxCitasSimultaneas).orElse(1);
+        }
+    }
+
+    private static final class Dia {
+
+        private final List<IntervaloHorario> intervalos;
+        private final int[] indiceFinMaximo;
+
+        Dia(List<IntervaloHorario> lista) {
+            this.intervalos = lista.stream()
+                    .sorted(Comparator.comparing(IntervaloHorario::horaInicio))
+                    .toList();
+            this.indiceFinMaximo = new int[intervalos.size()];
+            for (int i = 0; i < intervalos.size(); i++) {
+                boolean mayor = i == 0
+                        || intervalos.get(i).horaFin().isAfter(intervalos.get(indiceFinMaximo[i - 1]).horaFin());
+                indiceFinMaximo[i] = mayor ? i : indiceFinMaximo[i - 1];
+            }
+        }
+
+        /**
+         * Entre los intervalos que empiezan a la hora dada o antes, devuelve el que termina más tarde.
+         */
+        IntervaloHorario finMaximoHasta(LocalTime hora) {
+            int bajo = 0;
+            int alto = intervalos.size() - 1;
+            int ultimo = -1;
+            while (bajo <= alto) {
+                int medio = (bajo + alto) >>> 1;
+                if (intervalos.get(medio).horaInicio().isAfter(hora)) {
+                    alto = medio - 1;
+                } else {
+                    ultimo = medio;
+                    bajo = medio + 1;
+                }
+            }
+            return ultimo >= 0 ? intervalos.get(indiceFinMaximo[ultimo]) : null;
+        }
+    }
+}
@@ -1,31 +1,30 @@
 package com.veterinaria.clinica_veternica.service.impl;
 
-import com.veterinaria.clinica_veternica.domain.agenda.Cita;
+import com.veterinaria.clinica_veternica.config.CacheConfig;
 import com.veterinaria.clinica_veternica.domain.agenda.Horario;
 import com.veterinaria.clinica_veternica.domain.usuario.Veterinario;
 import com.veterinaria.clinica_veternica.dto.request.agenda.HorarioRequestDTO;
 import com.veterinaria.clinica_veternica.dto.response.agenda.DisponibilidadVeterinarioDTO;
 import com.veterinaria.clinica_veternica.dto.response.agenda.HorarioResponseDTO;
+import com.veterinaria.clinica_veternica.dto.response.agenda.SlotLibreDTO;
 import com.veterinaria.clinica_veternica.exception.ResourceNotFoundException;
 import com.veterinaria.clinica_veternica.exception.ValidationException;
 import com.veterinaria.clinica_veternica.mapper.agenda.HorarioMapper;
-import com.veterinaria.clinica_veternica.repository.CitaRepository;
 import com.veterinaria.clinica_veternica.repository.HorarioRepository;
 import com.veterinaria.clinica_veternica.repository.VeterinarioRepository;
 import com.veterinaria.clinica_veternica.service.interfaces.IHorarioService;
 import com.veterinaria.clinica_veternica.util.Constants;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Implementación del servicio para gestión de Horarios.
@@ -42,10 +41,13 @@ public class HorarioServiceImpl implements IHorarioService {
 
     private final HorarioRepository horarioRepository;
     private final VeterinarioRepository veterinarioRepository;
-    private final CitaRepository citaRepository;
     private final HorarioMapper horarioMapper;
+    private final DisponibilidadIndexService disponibilidadIndexService;
+    private final BusquedaSlotsService busquedaSlotsService;
+    private final HorarioSemanalCacheService horarioSemanalCacheService;
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.CACHE_VETERINARIOS, allEntries = true)
     public HorarioResponseDTO crear(HorarioRequestDTO requestDTO) {
         log.info("Creando nuevo horario para veterinario ID: {}", requestDTO.getIdVeterinario());
 
@@ -73,11 +75,13 @@ public class HorarioServiceImpl implements IHorarioService {
         }
 
         Horario horarioGuardado = horarioRepository.save(horario);
+        invalidarCaches(veterinario.getIdPersonal());
         log.info("Horario creado exitosamente con ID: {}", horarioGuardado.getIdHorario());
         return horarioMapper.toResponseDTO(horarioGuardado);
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.CACHE_VETERINARIOS, allEntries = true)
     public HorarioResponseDTO actualizar(Long id, HorarioRequestDTO requestDTO) {
         log.info("Actualizando horario ID: {}", id);
 
@@ -86,11 +90,12 @@ public class HorarioServiceImpl implements IHorarioService {
 
         // Validar traslape si cambió el día u horario
         if (requestDTO.getDiaSemana() != null || requestDTO.getHoraInicio() != null || requestDTO.getHoraFin() != null) {
-            validarTraslapeHorarios(horario.getVeterinario(), requestDTO, id);
+            validarTraslapeHorarios(horario.getVeterinario(), requestDTO, horario);
         }
 
         horarioMapper.updateEntityFromDTO(requestDTO, horario);
         Horario horarioActualizado = horarioRepository.save(horario);
+        invalidarCaches(horario.getVeterinario().getIdPersonal());
         log.info("Horario actualizado exitosamente");
         return horarioMapper.toResponseDTO(horarioActualizado);
     }
@@ -135,6 +140,7 @@ public class HorarioServiceImpl implements IHorarioService {
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.CACHE_VETERINARIOS, allEntries = true)
     public void eliminar(Long id) {
         log.info("Eliminando horario ID: {}", id);
         Horario horario = horarioRepository.findById(id)
@@ -142,10 +148,12 @@ public class HorarioServiceImpl implements IHorarioService {
 
         horario.setActivo(false);
         horarioRepository.save(horario);
+        invalidarCaches(horario.getVeterinario().getIdPersonal());
         log.info("Horario desactivado exitosamente");
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.CACHE_VETERINARIOS, allEntries = true)
     public HorarioResponseDTO activar(Long id) {
         log.info("Activando horario ID: {}", id);
         Horario horario = horarioRepository.findById(id)
@@ -153,10 +161,12 @@ public class HorarioServiceImpl implements IHorarioService {
 
         horario.activar();
         Horario horarioActivado = horarioRepository.save(horario);
+        invalidarCaches(horario.getVeterinario().getIdPersonal());
         return horarioMapper.toResponseDTO(horarioActivado);
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.CACHE_VETERINARIOS, allEntries = true)
     public HorarioResponseDTO desactivar(Long id) {
         log.info("Desactivando horario ID: {}", id);
         Horario horario = horarioRepository.findById(id)
@@ -164,6 +174,7 @@ public class HorarioServiceImpl implements IHorarioService {
 
         horario.desactivar();
         Horario horarioDesactivado = horarioRepository.save(horario);
+        invalidarCaches(horario.getVeterinario().getIdPersonal());
         return horarioMapper.toResponseDTO(horarioDesactivado);
     }
 
@@ -171,165 +182,57 @@ public class HorarioServiceImpl implements IHorarioService {
         validarTraslapeHorarios(veterinario, requestDTO, null);
     }
 
-    private void validarTraslapeHorarios(Veterinario veterinario, HorarioRequestDTO requestDTO, Long idExcluir) {
-        List<Horario> horariosExistentes = horarioRepository.findByVeterinario(veterinario);
-
-        for (Horario horarioExistente : horariosExistentes) {
-            if (debeExcluirHorario(horarioExistente, idExcluir)) {
-                continue;
-            }
-
-            // Crear un horario temporal para validar traslape
-            Horario horarioTemporal = Horario.builder()
-                    .diaSemana(requestDTO.getDiaSemana() != null 
-                            ? DayOfWeek.valueOf(requestDTO.getDiaSemana()) 
-                            : horarioExistente.getDiaSemana())
-                    .horaInicio(requestDTO.getHoraInicio() != null 
-                            ? requestDTO.getHoraInicio() 
-                            : horarioExistente.getHoraInicio())
-                    .horaFin(requestDTO.getHoraFin() != null 
-                            ? requestDTO.getHoraFin() 
-                            : horarioExistente.getHoraFin())
-                    .build();
-
-            if (horarioTemporal.seTraslapa(horarioExistente)) {
-                throw new ValidationException(
-                        "El horario se traslapa con otro horario existente: " + horarioExistente.getDescripcion(),
-                        "horario",
-                        "No se pueden tener horarios traslapados para el mismo veterinario"
-                );
-            }
+    /**
+     * Valida el traslape contra los horarios activos del veterinario, leídos desde la caché
+     * de horarios semanales. Los campos no enviados toman el valor del horario que se actualiza.
+     */
+    private void validarTraslapeHorarios(Veterinario veterinario, HorarioRequestDTO requestDTO, Horario actual) {
+        DayOfWeek diaSemana = requestDTO.getDiaSemana() != null
+                ? DayOfWeek.valueOf(requestDTO.getDiaSemana())
+                : actual != null ? actual.getDiaSemana() : null;
+        LocalTime horaInicio = requestDTO.getHoraInicio() != null
+                ? requestDTO.getHoraInicio()
+                : actual != null ? actual.getHoraInicio() : null;
+        LocalTime horaFin = requestDTO.getHoraFin() != null
+                ? requestDTO.getHoraFin()
+                : actual != null ? actual.getHoraFin() : null;
+        if (diaSemana == null || horaInicio == null || horaFin == null) {
+            return;
         }
-    }
 
-    private boolean debeExcluirHorario(Horario horarioExistente, Long idExcluir) {
-        if (idExcluir != null && horarioExistente.getIdHorario().equals(idExcluir)) {
-            return true; // Excluir el horario que se está actualizando
-        }
-        return horarioExistente.getActivo() == null || !horarioExistente.getActivo(); // Ignorar horarios inactivos
+        Long idExcluir = actual != null ? actual.getIdHorario() : null;
+        horarioSemanalCacheService.obtener(veterinario)
+                .buscarTraslape(diaSemana, horaInicio, horaFin, idExcluir)
+                .ifPresent(existente -> {
+                    throw new ValidationException(
+                            "El horario se traslapa con otro horario existente: " + existente,
+                            "horario",
+                            "No se pueden tener horarios traslapados para el mismo veterinario"
+                    );
+                });
     }
 
-    @Override
-    @Transactional(readOnly = true)
-    public DisponibilidadVeterinarioDTO obtenerDisponibilidad(Long idVeterinario, LocalDate fecha) {
-        log.info("Obteniendo disponibilidad para veterinario ID: {} en fecha: {}", idVeterinario, fecha);
-
-        // Obtener veterinario
-        Veterinario veterinario = veterinarioRepository.findById(idVeterinario)
-                .orElseThrow(() -> new ResourceNotFoundException(Constants.ENTIDAD_VETERINARIO, "id", idVeterinario));
-
-        // Obtener día de la semana
-        DayOfWeek diaSemana = fecha.getDayOfWeek();
-
-        // Obtener horarios activos del veterinario para este día
-        List<Horario> horariosDelDia = horarioRepository.findByVeterinario(veterinario).stream()
-                .filter(h -> h.getDiaSemana() == diaSemana && Boolean.TRUE.equals(h.getActivo()))
-                .collect(Collectors.toList());
-
-        // Obtener citas del día
-        LocalDateTime inicioDia = fecha.atStartOfDay();
-        LocalDateTime finDia = fecha.atTime(23, 59, 59);
-        List<Cita> citasDelDia = citaRepository.findCitasPorVeterinarioYFecha(veterinario, inicioDia, finDia)
-                .stream()
-                .filter(c -> c.getFechaCita().equals(fecha))
-                .filter(c -> !"CANCELADA".equals(c.getEstado()) && !"NO_ASISTIO".equals(c.getEstado()))
-                .collect(Collectors.toList());
-
-        // Construir DTO de horarios disponibles
-        List<DisponibilidadVeterinarioDTO.HorarioDisponibleDTO> horariosDTO = horariosDelDia.stream()
-                .map(h -> DisponibilidadVeterinarioDTO.HorarioDisponibleDTO.builder()
-                        .idHorario(h.getIdHorario())
-                        .horaInicio(h.getHoraInicio())
-                        .horaFin(h.getHoraFin())
-                        .duracionCitaMinutos(h.getDuracionCitaMinutos())
-                        .activo(h.getActivo())
-                        .build())
-                .collect(Collectors.toList());
-
-        // Construir DTO de citas ocupadas
-        List<DisponibilidadVeterinarioDTO.CitaOcupadaDTO> citasOcupadasDTO = citasDelDia.stream()
-                .map(c -> DisponibilidadVeterinarioDTO.CitaOcupadaDTO.builder()
-                        .idCita(c.getIdCita())
-                        .hora(c.getHoraCita())
-                        .estado(c.getEstado().name())
-                        .nombreMascota(c.getMascota() != null ? c.getMascota().getNombre() : "N/A")
-                        .nombreServicio(c.getServicio() != null ? c.getServicio().getNombre() : "N/A")
-                        .build())
-                .collect(Collectors.toList());
-
-        // Calcular slots disponibles
-        List<DisponibilidadVeterinarioDTO.SlotDisponibleDTO> slotsDisponibles = calcularSlotsDisponibles(
-                horariosDelDia, citasDelDia);
-
-        // Obtener nombre del día en español
-        String nombreDia = switch (diaSemana) {
-            case MONDAY -> "Lunes";
-            case TUESDAY -> "Martes";
-            case WEDNESDAY -> "Miércoles";
-            case THURSDAY -> "Jueves";
-            case FRIDAY -> "Viernes";
-            case SATURDAY -> "Sábado";
-            case SUNDAY -> "Domingo";
-        };
-
-        return DisponibilidadVeterinarioDTO.builder()
-                .idVeterinario(veterinario.getIdPersonal())
-                .nombreVeterinario(veterinario.getNombres() + " " + veterinario.getApellidos())
-                .fecha(fecha)
-                .diaSemana(nombreDia)
-                .tieneHorarios(!horariosDelDia.isEmpty())
-                .horarios(horariosDTO)
-                .slotsDisponibles(slotsDisponibles)
-                .citasOcupadas(citasOcupadasDTO)
-                .build();
+    private void invalidarCaches(Long idVeterinario) {
+        horarioSemanalCacheService.invalidar(idVeterinario);
+        disponibilidadIndexService.invalidarVeterinario(idVeterinario);
     }
 
     /**
-     * Calcula los slots de tiempo disponibles basándose en los horarios y citas ocupadas.
+     * Obtiene la disponibilidad desde el índice en memoria.
+     * No abre transacción: solo se accede a la base de datos si el día no está indexado.
      */
-    private List<DisponibilidadVeterinarioDTO.SlotDisponibleDTO> calcularSlotsDisponibles(
-            List<Horario> horarios, List<Cita> citasOcupadas) {
-        
-        List<DisponibilidadVeterinarioDTO.SlotDisponibleDTO> slots = new ArrayList<>();
-
-        if (horarios.isEmpty()) {
-            return slots;
-        }
-
-        // Para cada horario, generar slots
-        for (Horario horario : horarios) {
-            LocalTime horaActual = horario.getHoraInicio();
-            int duracionMinutos = horario.getDuracionCitaMinutos();
-
-            while (horaActual.plusMinutes(duracionMinutos).isBefore(horario.getHoraFin()) ||
-                   horaActual.plusMinutes(duracionMinutos).equals(horario.getHoraFin())) {
-
-                // Crear variables finales para usar en lambda
-                final LocalTime horaActualFinal = horaActual;
-                final int duracionMinutosFinal = duracionMinutos;
-
-                // Verificar si este slot está ocupado
-                // Solo se bloquea el slot exacto donde comienza la cita, no los anteriores
-                boolean ocupado = citasOcupadas.stream()
-                        .anyMatch(cita -> {
-                            LocalTime horaCita = cita.getHoraCita();
-                            
-                            // Solo bloquear el slot si la cita comienza exactamente en este slot
-                            // No bloquear slots anteriores
-                            return horaCita.equals(horaActualFinal);
-                        });
-
-                slots.add(DisponibilidadVeterinarioDTO.SlotDisponibleDTO.builder()
-                        .hora(horaActual)
-                        .disponible(!ocupado)
-                        .motivoNoDisponible(ocupado ? "OCUPADO" : null)
-                        .build());
-
-                horaActual = horaActual.plusMinutes(duracionMinutos);
-            }
-        }
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public DisponibilidadVeterinarioDTO obtenerDisponibilidad(Long idVeterinario, LocalDate fecha) {
+        log.debug("Obteniendo disponibilidad para veterinario ID: {} en fecha: {}", idVeterinario, fecha);
+        return disponibilidadIndexService.obtenerDisponibilidad(idVeterinario, fecha);
+    }
 
-        return slots;
+    @Override
+    @Transactional(readOnly = true)
+    public List<SlotLibreDTO> buscarPrimerosSlotsDisponibles(Long idServicio, String especialidad, int dias, int cantidad) {
+        log.info("Buscando {} primeros slots libres para servicio ID: {} (especialidad: {}, horizonte: {} días)",
+                cantidad, idServicio, especialidad, dias);
+        return busquedaSlotsService.buscarPrimerosSlots(idServicio, especialidad, dias, cantidad);
     }
 }
-
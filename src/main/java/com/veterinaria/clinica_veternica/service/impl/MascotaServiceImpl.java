@@ -1,11 +1,8 @@
 package com.veterinaria.clinica_veternica.service.impl;
 
 import com.veterinaria.clinica_veternica.domain.clinico.HistoriaClinica;
-import com.veterinaria.clinica_veternica.domain.paciente.Especie;
 import com.veterinaria.clinica_veternica.domain.paciente.Mascota;
 import com.veterinaria.clinica_veternica.domain.paciente.Propietario;
-import com.veterinaria.clinica_veternica.domain.paciente.Raza;
-import com.veterinaria.clinica_veternica.domain.usuario.Usuario;
 import com.veterinaria.clinica_veternica.dto.request.paciente.MascotaRequestDTO;
 import com.veterinaria.clinica_veternica.dto.response.paciente.MascotaResponseDTO;
 import com.veterinaria.clinica_veternica.exception.BusinessException;
@@ -22,7 +19,9 @@ import com.veterinaria.clinica_veternica.repository.HistoriaClinicaRepository;
 import com.veterinaria.clinica_veternica.repository.MascotaRepository;
 import com.veterinaria.clinica_veternica.repository.PropietarioRepository;
 import com.veterinaria.clinica_veternica.repository.RazaRepository;
-import com.veterinaria.clinica_veternica.repository.UsuarioRepository;
+import com.veterinaria.clinica_veternica.security.service.ContextoActor;
+import com.veterinaria.clinica_veternica.service.impl.CatalogoSnapshotService.EspecieCatalogo;
+import com.veterinaria.clinica_veternica.service.impl.CatalogoSnapshotService.RazaCatalogo;
 import com.veterinaria.clinica_veternica.service.interfaces.IMascotaService;
 import com.veterinaria.clinica_veternica.util.Constants;
 import com.veterinaria.clinica_veternica.util.ValidationHelper;
@@ -35,8 +34,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Set;
 
 @Slf4j
 @Service
@@ -44,17 +44,16 @@ import java.util.Optional;
 @Transactional
 public class MascotaServiceImpl implements IMascotaService {
 
-    private static final String CACHE_PATTERN_MASCOTAS = "mascotas:*";
-
     private final MascotaRepository mascotaRepository;
     private final PropietarioRepository propietarioRepository;
     private final EspecieRepository especieRepository;
     private final RazaRepository razaRepository;
     private final HistoriaClinicaRepository historiaClinicaRepository;
-    private final UsuarioRepository usuarioRepository;
+    private final ContextoActor contextoActor;
     private final MascotaMapper mascotaMapper;
     private final ValidationHelper validationHelper;
     private final CachedServiceProxy cachedServiceProxy;
+    private final CatalogoSnapshotService catalogoSnapshotService;
     private final EmailNotificacionFactory emailFactory;
 
     @Override
@@ -71,13 +70,13 @@ public class MascotaServiceImpl implements IMascotaService {
             
             if (esPropietario) {
                 // Si es propietario, obtener su propio perfil y usar su ID
-                String username = authentication.getName();
-                Usuario usuario = usuarioRepository.findByUsername(username)
-                    .orElseThrow(() -> new UnauthorizedException("Usuario no encontrado"));
-                
-                propietario = propietarioRepository.findByEmail(usuario.getEmail())
-                    .orElseThrow(() -> new ResourceNotFoundException(
-                        "No se encontró un perfil de propietario asociado a tu usuario. Por favor, completa tu perfil primero."));
+                Long idPropietario = contextoActor.actual().idPropietario();
+                if (idPropietario == null) {
+                    throw new ResourceNotFoundException(
+                        "No se encontró un perfil de propietario asociado a tu usuario. Por favor, completa tu perfil primero.");
+                }
+                propietario = propietarioRepository.findById(idPropietario)
+                    .orElseThrow(() -> new ResourceNotFoundException(Constants.ENTIDAD_PROPIETARIO, "id", idPropietario));
                 
                 // Asegurar que el propietario solo pueda crear mascotas para sí mismo
                 if (requestDTO.getIdPropietario() != null && 
@@ -106,24 +105,9 @@ public class MascotaServiceImpl implements IMascotaService {
                 .orElseThrow(() -> new ResourceNotFoundException(Constants.ENTIDAD_PROPIETARIO, "id", requestDTO.getIdPropietario()));
         }
 
-        // Validar que la especie existe
-        Especie especie = especieRepository.findById(requestDTO.getIdEspecie())
-            .orElseThrow(() -> new ResourceNotFoundException(Constants.ENTIDAD_ESPECIE, "id", requestDTO.getIdEspecie()));
-
-        // Validar raza si se proporciona
-        Raza raza = null;
-        if (requestDTO.getIdRaza() != null) {
-            raza = razaRepository.findById(requestDTO.getIdRaza())
-                .orElseThrow(() -> new ResourceNotFoundException("Raza", "id", requestDTO.getIdRaza()));
-
-            // Validar que la raza pertenezca a la especie
-            validationHelper.validateRazaBelongsToSpecies(
-                raza.getEspecie().getIdEspecie(),
-                especie.getIdEspecie(),
-                raza.getNombre(),
-                especie.getNombre()
-            );
-        }
+        // Validar especie y raza contra el catálogo en memoria
+        EspecieCatalogo especie = catalogoSnapshotService.especie(requestDTO.getIdEspecie());
+        RazaCatalogo raza = validarRaza(requestDTO.getIdRaza(), especie);
 
         // Establecer valores por defecto si no se proporcionan
         if (requestDTO.getEsterilizado() == null) {
@@ -135,8 +119,7 @@ public class MascotaServiceImpl implements IMascotaService {
         
         Mascota mascota = mascotaMapper.toEntity(requestDTO);
         mascota.setPropietario(propietario);
-        mascota.setEspecie(especie);
-        mascota.setRaza(raza);
+        asignarCatalogo(mascota, especie, raza);
 
         if (mascota.getActivo() == null) {
             mascota.setActivo(true);
@@ -166,7 +149,7 @@ public class MascotaServiceImpl implements IMascotaService {
 
         // Enviar notificación al propietario sobre la nueva mascota registrada
         try {
-            enviarNotificacionMascotaCreada(mascotaGuardada);
+            enviarNotificacionMascotaCreada(mascotaGuardada, especie, raza);
         } catch (Exception e) {
             log.error("Error al enviar notificación de creación de mascota ID: {}", 
                     mascotaGuardada.getIdMascota(), e);
@@ -174,9 +157,9 @@ public class MascotaServiceImpl implements IMascotaService {
         }
 
         // Invalidar caché después de crear
-        cachedServiceProxy.evictPattern(CACHE_PATTERN_MASCOTAS);
+        cachedServiceProxy.invalidarEtiquetas(etiquetasCache(mascotaGuardada));
 
-        return mascotaMapper.toResponseDTO(mascotaGuardada);
+        return toResponseDTO(mascotaGuardada, especie, raza);
     }
 
     @Override
@@ -188,35 +171,24 @@ public class MascotaServiceImpl implements IMascotaService {
         Propietario propietario = propietarioRepository.findById(requestDTO.getIdPropietario())
             .orElseThrow(() -> new ResourceNotFoundException(Constants.ENTIDAD_PROPIETARIO, "id", requestDTO.getIdPropietario()));
 
-        // Validar especie
-        Especie especie = especieRepository.findById(requestDTO.getIdEspecie())
-            .orElseThrow(() -> new ResourceNotFoundException(Constants.ENTIDAD_ESPECIE, "id", requestDTO.getIdEspecie()));
-
-        // Validar raza
-        Raza raza = null;
-        if (requestDTO.getIdRaza() != null) {
-            raza = razaRepository.findById(requestDTO.getIdRaza())
-                .orElseThrow(() -> new ResourceNotFoundException("Raza", "id", requestDTO.getIdRaza()));
-
-            validationHelper.validateRazaBelongsToSpecies(
-                raza.getEspecie().getIdEspecie(),
-                especie.getIdEspecie(),
-                raza.getNombre(),
-                especie.getNombre()
-            );
-        }
+        // Validar especie y raza contra el catálogo en memoria
+        EspecieCatalogo especie = catalogoSnapshotService.especie(requestDTO.getIdEspecie());
+        RazaCatalogo raza = validarRaza(requestDTO.getIdRaza(), especie);
+
+        // Etiquetas del propietario, especie y raza anteriores (pueden cambiar)
+        Set<String> etiquetasAnteriores = etiquetasCache(mascota);
 
         mascotaMapper.updateEntityFromDTO(requestDTO, mascota);
         mascota.setPropietario(propietario);
-        mascota.setEspecie(especie);
-        mascota.setRaza(raza);
+        asignarCatalogo(mascota, especie, raza);
 
         Mascota mascotaActualizada = mascotaRepository.save(mascota);
 
         // Invalidar caché después de actualizar
-        cachedServiceProxy.evictPattern(CACHE_PATTERN_MASCOTAS);
+        etiquetasAnteriores.addAll(etiquetasCache(mascotaActualizada));
+        cachedServiceProxy.invalidarEtiquetas(etiquetasAnteriores);
 
-        return mascotaMapper.toResponseDTO(mascotaActualizada);
+        return toResponseDTO(mascotaActualizada, especie, raza);
     }
 
     @Override
@@ -233,24 +205,16 @@ public class MascotaServiceImpl implements IMascotaService {
                 .anyMatch(a -> a.getAuthority().equals("ROLE_PROPIETARIO"));
             
             if (esPropietario) {
-                // Obtener el usuario autenticado
-                String username = authentication.getName();
-                Usuario usuario = usuarioRepository.findByUsername(username)
-                    .orElseThrow(() -> new UnauthorizedException("Usuario no encontrado"));
-                
-                // Buscar el propietario asociado al usuario
-                Optional<Propietario> propietarioOpt = propietarioRepository.findByEmail(usuario.getEmail());
-                
-                if (propietarioOpt.isPresent()) {
-                    Propietario propietario = propietarioOpt.get();
-                    // Verificar que la mascota pertenezca al propietario
-                    if (mascota.getPropietario() == null || 
-                        !mascota.getPropietario().getIdPropietario().equals(propietario.getIdPropietario())) {
-                        throw new UnauthorizedException("No tienes permiso para ver esta mascota");
-                    }
-                } else {
+                // Perfil de propietario del usuario autenticado (resuelto una vez por petición)
+                ContextoActor.ActorActual actor = contextoActor.actual();
+                if (actor.idPropietario() == null) {
                     throw new UnauthorizedException("No se encontró un perfil de propietario asociado a tu usuario");
                 }
+                // Verificar que la mascota pertenezca al propietario
+                if (mascota.getPropietario() == null || 
+                    !actor.esPropietarioDe(mascota.getPropietario().getIdPropietario())) {
+                    throw new UnauthorizedException("No tienes permiso para ver esta mascota");
+                }
             }
         }
         
@@ -267,7 +231,8 @@ public class MascotaServiceImpl implements IMascotaService {
                 List<Mascota> mascotas = mascotaRepository.findAll();
                 return mascotaMapper.toResponseDTOList(mascotas);
             },
-            Constants.CACHE_TTL_DEFAULT_MS
+            Constants.CACHE_TTL_DEFAULT_MS,
+            CachedServiceProxy.ETIQUETA_MASCOTAS_LISTADOS
         );
     }
 
@@ -281,38 +246,56 @@ public class MascotaServiceImpl implements IMascotaService {
                 List<Mascota> mascotas = mascotaRepository.findByActivoTrue();
                 return mascotaMapper.toResponseDTOList(mascotas);
             },
-            Constants.CACHE_TTL_DEFAULT_MS
+            Constants.CACHE_TTL_DEFAULT_MS,
+            CachedServiceProxy.ETIQUETA_MASCOTAS_LISTADOS
         );
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<MascotaResponseDTO> listarPorPropietario(Long idPropietario) {
-        if (!propietarioRepository.existsById(idPropietario)) {
-            throw new ResourceNotFoundException(Constants.ENTIDAD_PROPIETARIO, "id", idPropietario);
-        }
-        List<Mascota> mascotas = mascotaRepository.findByPropietarioId(idPropietario);
-        return mascotaMapper.toResponseDTOList(mascotas);
+        return cachedServiceProxy.executeWithCache(
+            "mascotas:propietario:" + idPropietario,
+            () -> {
+                if (!propietarioRepository.existsById(idPropietario)) {
+                    throw new ResourceNotFoundException(Constants.ENTIDAD_PROPIETARIO, "id", idPropietario);
+                }
+                List<Mascota> mascotas = mascotaRepository.findByPropietarioId(idPropietario);
+                return mascotaMapper.toResponseDTOList(mascotas);
+            },
+            Constants.CACHE_TTL_DEFAULT_MS,
+            CachedServiceProxy.etiquetaPropietario(idPropietario)
+        );
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<MascotaResponseDTO> listarPorEspecie(Long idEspecie) {
-        if (!especieRepository.existsById(idEspecie)) {
-            throw new ResourceNotFoundException(Constants.ENTIDAD_ESPECIE, "id", idEspecie);
-        }
-        List<Mascota> mascotas = mascotaRepository.findByEspecieId(idEspecie);
-        return mascotaMapper.toResponseDTOList(mascotas);
+        return cachedServiceProxy.executeWithCache(
+            "mascotas:especie:" + idEspecie,
+            () -> {
+                catalogoSnapshotService.especie(idEspecie);
+                List<Mascota> mascotas = mascotaRepository.findByEspecieId(idEspecie);
+                return mascotaMapper.toResponseDTOList(mascotas);
+            },
+            Constants.CACHE_TTL_DEFAULT_MS,
+            CachedServiceProxy.etiquetaEspecie(idEspecie)
+        );
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<MascotaResponseDTO> listarPorRaza(Long idRaza) {
-        if (!razaRepository.existsById(idRaza)) {
-            throw new ResourceNotFoundException("Raza", "id", idRaza);
-        }
-        List<Mascota> mascotas = mascotaRepository.findByRazaId(idRaza);
-        return mascotaMapper.toResponseDTOList(mascotas);
+        return cachedServiceProxy.executeWithCache(
+            "mascotas:raza:" + idRaza,
+            () -> {
+                catalogoSnapshotService.raza(idRaza);
+                List<Mascota> mascotas = mascotaRepository.findByRazaId(idRaza);
+                return mascotaMapper.toResponseDTOList(mascotas);
+            },
+            Constants.CACHE_TTL_DEFAULT_MS,
+            CachedServiceProxy.etiquetaRaza(idRaza)
+        );
     }
 
     @Override
@@ -348,7 +331,7 @@ public class MascotaServiceImpl implements IMascotaService {
         mascotaRepository.save(mascota);
 
         // Invalidar caché después de eliminar
-        cachedServiceProxy.evictPattern(CACHE_PATTERN_MASCOTAS);
+        cachedServiceProxy.invalidarEtiquetas(etiquetasCache(mascota));
     }
 
     @Override
@@ -364,7 +347,7 @@ public class MascotaServiceImpl implements IMascotaService {
         Mascota mascotaActivada = mascotaRepository.save(mascota);
 
         // Invalidar caché después de activar
-        cachedServiceProxy.evictPattern(CACHE_PATTERN_MASCOTAS);
+        cachedServiceProxy.invalidarEtiquetas(etiquetasCache(mascotaActivada));
 
         return mascotaMapper.toResponseDTO(mascotaActivada);
     }
@@ -381,7 +364,7 @@ public class MascotaServiceImpl implements IMascotaService {
     /**
      * Envía una notificación al propietario cuando se crea una nueva mascota.
      */
-    private void enviarNotificacionMascotaCreada(Mascota mascota) {
+    private void enviarNotificacionMascotaCreada(Mascota mascota, EspecieCatalogo especie, RazaCatalogo raza) {
         try {
             Propietario propietario = mascota.getPropietario();
             if (propietario == null || propietario.getEmail() == null || propietario.getEmail().isBlank()) {
@@ -427,8 +410,8 @@ public class MascotaServiceImpl implements IMascotaService {
                     propietario.getNombreCompleto(),
                     mascota.getNombre(),
                     mascota.getNombre(),
-                    mascota.getEspecie() != null ? mascota.getEspecie().getNombre() : "No especificada",
-                    mascota.getRaza() != null ? mascota.getRaza().getNombre() : "No especificada",
+                    especie.nombre(),
+                    raza != null ? raza.nombre() : "No especificada",
                     mascota.getFechaNacimiento() != null ? mascota.getFechaNacimiento().toString() : "No especificada"
             );
 
@@ -448,4 +431,64 @@ public class MascotaServiceImpl implements IMascotaService {
                     mascota.getIdMascota(), e.getMessage(), e);
         }
     }
+
+    /**
+     * Valida contra el catálogo que la raza (opcional) exista y pertenezca a la especie.
+     */
+    private RazaCatalogo validarRaza(Long idRaza, EspecieCatalogo especie) {
+        if (idRaza == null) {
+            return null;
+        }
+        RazaCatalogo raza = catalogoSnapshotService.raza(idRaza);
+        validationHelper.validateRazaBelongsToSpecies(
+            raza.idEspecie(),
+            especie.idEspecie(),
+            raza.nombre(),
+            especie.nombre()
+        );
+        return raza;
+    }
+
+    /**
+     * Asigna especie y raza como referencias (sin consultarlas): ya se validaron contra el catálogo.
+     */
+    private void asignarCatalogo(Mascota mascota, EspecieCatalogo especie, RazaCatalogo raza) {
+        mascota.setEspecie(especieRepository.getReferenceById(especie.idEspecie()));
+        mascota.setRaza(raza != null ? razaRepository.getReferenceById(raza.idRaza()) : null);
+    }
+
+    /**
+     * Construye la respuesta tomando especie y raza del catálogo, sin inicializar sus referencias.
+     */
+    private MascotaResponseDTO toResponseDTO(Mascota mascota, EspecieCatalogo especie, RazaCatalogo raza) {
+        MascotaResponseDTO responseDTO = mascotaMapper.toResponseDTOSinCatalogo(mascota);
+        responseDTO.setEspecie(MascotaResponseDTO.EspecieSimpleDTO.builder()
+                .idEspecie(especie.idEspecie())
+                .nombre(especie.nombre())
+                .build());
+        responseDTO.setRaza(raza != null
+                ? MascotaResponseDTO.RazaSimpleDTO.builder().idRaza(raza.idRaza()).nombre(raza.nombre()).build()
+                : null);
+        return responseDTO;
+    }
+
+    /**
+     * Etiquetas de caché afectadas por un cambio en la mascota: listados generales de
+     * mascotas y propietarios (cantidad de mascotas) y listados de su propietario, especie y raza.
+     */
+    private static Set<String> etiquetasCache(Mascota mascota) {
+        Set<String> etiquetas = new HashSet<>();
+        etiquetas.add(CachedServiceProxy.ETIQUETA_MASCOTAS_LISTADOS);
+        etiquetas.add(CachedServiceProxy.ETIQUETA_PROPIETARIOS_LISTADOS);
+        if (mascota.getPropietario() != null) {
+            etiquetas.add(CachedServiceProxy.etiquetaPropietario(mascota.getPropietario().getIdPropietario()));
+        }
+        if (mascota.getEspecie() != null) {
+            etiquetas.add(CachedServiceProxy.etiquetaEspecie(mascota.getEspecie().getIdEspecie()));
+        }
+        if (mascota.getRaza() != null) {
+            etiquetas.add(CachedServiceProxy.etiquetaRaza(mascota.getRaza().getIdRaza()));
+        }
+        return etiquetas;
+    }
 }
@@ -12,6 +12,7 @@ import com.veterinaria.clinica_veternica.patterns.creational.abstractfactory.Ema
 import com.veterinaria.clinica_veternica.patterns.structural.proxy.CachedServiceProxy;
 import com.veterinaria.clinica_veternica.repository.PropietarioRepository;
 import com.veterinaria.clinica_veternica.repository.UsuarioRepository;
+import com.veterinaria.clinica_veternica.security.service.PerfilActorService;
 import com.veterinaria.clinica_veternica.service.interfaces.IPropietarioService;
 import com.veterinaria.clinica_veternica.util.Constants;
 import com.veterinaria.clinica_veternica.util.NameParser;
@@ -32,7 +33,8 @@ import java.util.Optional;
 @Transactional
 public class PropietarioServiceImpl implements IPropietarioService {
 
-    private static final String CACHE_PATTERN_PROPIETARIOS = "propietarios:*";
+    private static final List<String> ETIQUETAS_LISTADOS =
+        List.of(CachedServiceProxy.ETIQUETA_PROPIETARIOS_LISTADOS);
 
     private final PropietarioRepository propietarioRepository;
     private final PropietarioMapper propietarioMapper;
@@ -40,6 +42,7 @@ public class PropietarioServiceImpl implements IPropietarioService {
     private final CachedServiceProxy cachedServiceProxy;
     private final EmailNotificacionFactory emailFactory;
     private final UsuarioRepository usuarioRepository;
+    private final PerfilActorService perfilActorService;
 
     @Override
     public PropietarioResponseDTO crear(PropietarioRequestDTO requestDTO) {
@@ -76,7 +79,8 @@ public class PropietarioServiceImpl implements IPropietarioService {
         }
 
         // Invalidar caché después de crear
-        cachedServiceProxy.evictPattern(CACHE_PATTERN_PROPIETARIOS);
+        cachedServiceProxy.invalidarEtiquetas(ETIQUETAS_LISTADOS);
+        perfilActorService.invalidarTodos();
 
         return propietarioMapper.toResponseDTO(propietarioGuardado);
     }
@@ -106,8 +110,14 @@ public class PropietarioServiceImpl implements IPropietarioService {
         propietarioMapper.updateEntityFromDTO(requestDTO, propietario);
         Propietario propietarioActualizado = propietarioRepository.save(propietario);
 
-        // Invalidar caché después de actualizar
-        cachedServiceProxy.evictPattern(CACHE_PATTERN_PROPIETARIOS);
+        // Invalidar caché después de actualizar: los listados de mascotas incluyen los datos
+        // de contacto del propietario
+        cachedServiceProxy.invalidarEtiquetas(List.of(
+            CachedServiceProxy.ETIQUETA_PROPIETARIOS_LISTADOS,
+            CachedServiceProxy.ETIQUETA_MASCOTAS_LISTADOS,
+            CachedServiceProxy.etiquetaPropietario(id)));
+        // El email pudo cambiar y con él el usuario asociado
+        perfilActorService.invalidarTodos();
 
         return propietarioMapper.toResponseDTO(propietarioActualizado);
     }
@@ -130,7 +140,8 @@ public class PropietarioServiceImpl implements IPropietarioService {
                 List<Propietario> propietarios = propietarioRepository.findAll();
                 return propietarioMapper.toResponseDTOList(propietarios);
             },
-            Constants.CACHE_TTL_DEFAULT_MS
+            Constants.CACHE_TTL_DEFAULT_MS,
+            CachedServiceProxy.ETIQUETA_PROPIETARIOS_LISTADOS
         );
     }
 
@@ -144,7 +155,8 @@ public class PropietarioServiceImpl implements IPropietarioService {
                 List<Propietario> propietarios = propietarioRepository.findByActivoTrue();
                 return propietarioMapper.toResponseDTOList(propietarios);
             },
-            Constants.CACHE_TTL_DEFAULT_MS
+            Constants.CACHE_TTL_DEFAULT_MS,
+            CachedServiceProxy.ETIQUETA_PROPIETARIOS_LISTADOS
         );
     }
 
@@ -197,7 +209,7 @@ public class PropietarioServiceImpl implements IPropietarioService {
         propietarioRepository.save(propietario);
 
         // Invalidar caché después de eliminar
-        cachedServiceProxy.evictPattern(CACHE_PATTERN_PROPIETARIOS);
+        cachedServiceProxy.invalidarEtiquetas(ETIQUETAS_LISTADOS);
     }
 
     @Override
@@ -213,7 +225,7 @@ public class PropietarioServiceImpl implements IPropietarioService {
         Propietario propietarioActivado = propietarioRepository.save(propietario);
 
         // Invalidar caché después de activar
-        cachedServiceProxy.evictPattern(CACHE_PATTERN_PROPIETARIOS);
+        cachedServiceProxy.invalidarEtiquetas(ETIQUETAS_LISTADOS);
 
         return propietarioMapper.toResponseDTO(propietarioActivado);
     }
@@ -282,7 +294,9 @@ public class PropietarioServiceImpl implements IPropietarioService {
                 propietarioGuardado.getIdPropietario(), email);
         
         // Invalidar caché
-        cachedServiceProxy.evictPattern(CACHE_PATTERN_PROPIETARIOS);
+        cachedServiceProxy.invalidarEtiquetas(ETIQUETAS_LISTADOS);
+        // El usuario que pidió su perfil ya tiene propietario asociado
+        perfilActorService.invalidarTodos();
         
         // No enviar notificación en este caso ya que es una creación automática
         // El usuario deberá completar su información después
@@ -425,7 +439,8 @@ public class PropietarioServiceImpl implements IPropietarioService {
 
         // Invalidar caché después de la sincronización
         if (propietariosCreados > 0) {
-            cachedServiceProxy.evictPattern(CACHE_PATTERN_PROPIETARIOS);
+            cachedServiceProxy.invalidarEtiquetas(ETIQUETAS_LISTADOS);
+            perfilActorService.invalidarTodos();
         }
 
         log.info("Sincronización completada: {} propietarios creados de {} usuarios PROPIETARIO",
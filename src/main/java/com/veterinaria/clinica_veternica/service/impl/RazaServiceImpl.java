@@ -1,5 +1,6 @@
 package com.veterinaria.clinica_veternica.service.impl;
 
+import com.veterinaria.clinica_veternica.config.CacheConfig;
 import com.veterinaria.clinica_veternica.domain.paciente.Especie;
 import com.veterinaria.clinica_veternica.domain.paciente.Raza;
 import com.veterinaria.clinica_veternica.dto.request.paciente.RazaRequestDTO;
@@ -13,6 +14,8 @@ import com.veterinaria.clinica_veternica.repository.RazaRepository;
 import com.veterinaria.clinica_veternica.service.interfaces.IRazaService;
 import com.veterinaria.clinica_veternica.util.Constants;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -33,8 +36,10 @@ public class RazaServiceImpl implements IRazaService {
     private final RazaRepository razaRepository;
     private final EspecieRepository especieRepository;
     private final RazaMapper razaMapper;
+    private final CatalogoSnapshotService catalogoSnapshotService;
 
     @Override
+    @CacheEvict(cacheNames = {CacheConfig.CACHE_RAZAS, CacheConfig.CACHE_ESPECIES}, allEntries = true)
     public RazaResponseDTO crear(RazaRequestDTO requestDTO) {
         // Validar que la especie existe
         Especie especie = especieRepository.findById(requestDTO.getIdEspecie())
@@ -62,11 +67,14 @@ public class RazaServiceImpl implements IRazaService {
         // Guardar
         Raza razaGuardada = razaRepository.save(raza);
 
+        catalogoSnapshotService.invalidar();
+
         // Retornar DTO de respuesta
         return razaMapper.toResponseDTO(razaGuardada);
     }
 
     @Override
+    @CacheEvict(cacheNames = {CacheConfig.CACHE_RAZAS, CacheConfig.CACHE_ESPECIES}, allEntries = true)
     public RazaResponseDTO actualizar(Long id, RazaRequestDTO requestDTO) {
         // Buscar raza existente
         Raza raza = razaRepository.findById(id)
@@ -96,11 +104,13 @@ public class RazaServiceImpl implements IRazaService {
         // Guardar cambios
         Raza razaActualizada = razaRepository.save(raza);
 
+        catalogoSnapshotService.invalidar();
         return razaMapper.toResponseDTO(razaActualizada);
     }
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.CACHE_RAZAS, key = "'id:' + #id", sync = true)
     public RazaResponseDTO buscarPorId(Long id) {
         Raza raza = razaRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Raza", "id", id));
@@ -110,6 +120,7 @@ public class RazaServiceImpl implements IRazaService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.CACHE_RAZAS, key = "'todas'", sync = true)
     public List<RazaResponseDTO> listarTodas() {
         List<Raza> razas = razaRepository.findAll();
         return razaMapper.toResponseDTOList(razas);
@@ -117,6 +128,7 @@ public class RazaServiceImpl implements IRazaService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.CACHE_RAZAS, key = "'especie:' + #idEspecie", sync = true)
     public List<RazaResponseDTO> listarPorEspecie(Long idEspecie) {
         // Validar que la especie existe
         if (!especieRepository.existsById(idEspecie)) {
@@ -129,6 +141,7 @@ public class RazaServiceImpl implements IRazaService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.CACHE_RAZAS, key = "'activas'", sync = true)
     public List<RazaResponseDTO> listarActivas() {
         List<Raza> razas = razaRepository.findByActivoTrue();
         return razaMapper.toResponseDTOList(razas);
@@ -136,6 +149,7 @@ public class RazaServiceImpl implements IRazaService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.CACHE_RAZAS, key = "'activasPorEspecie:' + #idEspecie", sync = true)
     public List<RazaResponseDTO> listarActivasPorEspecie(Long idEspecie) {
         // Validar que la especie existe
         if (!especieRepository.existsById(idEspecie)) {
@@ -158,6 +172,7 @@ public class RazaServiceImpl implements IRazaService {
     }
 
     @Override
+    @CacheEvict(cacheNames = {CacheConfig.CACHE_RAZAS, CacheConfig.CACHE_ESPECIES}, allEntries = true)
     public void eliminar(Long id) {
         Raza raza = razaRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Raza", "id", id));
@@ -174,9 +189,11 @@ public class RazaServiceImpl implements IRazaService {
         // Soft delete - marcar como inactiva
         raza.setActivo(false);
         razaRepository.save(raza);
+        catalogoSnapshotService.invalidar();
     }
 
     @Override
+    @CacheEvict(cacheNames = {CacheConfig.CACHE_RAZAS, CacheConfig.CACHE_ESPECIES}, allEntries = true)
     public RazaResponseDTO activar(Long id) {
         Raza raza = razaRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Raza", "id", id));
@@ -188,6 +205,7 @@ public class RazaServiceImpl implements IRazaService {
         raza.setActivo(true);
         Raza razaActivada = razaRepository.save(raza);
 
+        catalogoSnapshotService.invalidar();
         return razaMapper.toResponseDTO(razaActivada);
     }
 
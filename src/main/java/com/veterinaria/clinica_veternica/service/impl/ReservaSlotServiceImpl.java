@@ -0,0 +1,221 @@
+package com.veterinaria.clinica_veternica.service.impl;
+
+import com.veterinaria.clinica_veternica.domain.agenda.Cita;
+import com.veterinaria.clinica_veternica.domain.agenda.ReservaSlot;
+import com.veterinaria.clinica_veternica.domain.usuario.Veterinario;
+import com.veterinaria.clinica_veternica.dto.request.agenda.ReservaSlotRequestDTO;
+import com.veterinaria.clinica_veternica.dto.response.agenda.ReservaSlotResponseDTO;
+import com.veterinaria.clinica_veternica.exception.BusinessException;
+import com.veterinaria.clinica_veternica.exception.ResourceNotFoundException;
+import com.veterinaria.clinica_veternica.exception.ValidationException;
+import com.veterinaria.clinica_veternica.repository.CitaRepository;
+import com.veterinaria.clinica_veternica.repository.ReservaSlotRepository;
+import com.veterinaria.clinica_veternica.repository.VeterinarioRepository;
+import com.veterinaria.clinica_veternica.service.impl.HorarioSemanalCacheService.IntervaloHorario;
+import com.veterinaria.clinica_veternica.service.impl.CatalogoSnapshotService.ServicioCatalogo;
+import com.veterinaria.clinica_veternica.service.interfaces.IReservaSlotService;
+import com.veterinaria.clinica_veternica.util.Constants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Reservas temporales de slots de agenda.
+ *
+ * Entre que el usuario elige un slot y envía la cita, el slot queda retenido durante un
+ * tiempo configurable ({@code app.agenda.reserva-ttl-segundos}). Las reservas vigentes:
+ * - Cuentan como ocupación en {@code ValidacionDisponibilidadHandler}, en la disponibilidad
+ *   y en la búsqueda de primeros slots libres.
+ * - Se convierten en cita al enviar su token en {@code tokenReserva}: la fila se elimina en
+ *   la transacción de la cita, así que vuelve a existir si la creación se revierte.
+ * - Se guardan en la tabla {@code reservas_slot}, compartida por todas las instancias. Se
+ *   crean bajo {@link AgendaLockService} (advisory lock en PostgreSQL), igual que las citas.
+ * - Expiran solas: las consultas ignoran las filas con {@code expiraEn} pasado y un barrido
+ *   periódico las elimina. La expiración usa el reloj de cada instancia (sincronizado por NTP).
+ *
+ * @author Clínica Veterinaria Team
+ * @version 1.0
+ * @since 2025-11-20
+ */
+@Slf4j
+@Service
+public class ReservaSlotServiceImpl implements IReservaSlotService {
+
+    private static final int MAX_RESERVAS_POR_USUARIO = 5;
+
+    private final VeterinarioRepository veterinarioRepository;
+    private final CatalogoSnapshotService catalogoSnapshotService;
+    private final CitaRepository citaRepository;
+    private final ReservaSlotRepository reservaSlotRepository;
+    private final HorarioSemanalCacheService horarioSemanalCacheService;
+    private final AgendaLockService agendaLockService;
+    private final Duration ttl;
+
+    public ReservaSlotServiceImpl(VeterinarioRepository veterinarioRepository,
+                                  CatalogoSnapshotService catalogoSnapshotService,
+                                  CitaRepository citaRepository,
+                                  ReservaSlotRepository reservaSlotRepository,
+                                  HorarioSemanalCacheService horarioSemanalCacheService,
+                                  AgendaLockService agendaLockService,
+                                  @Value("${app.agenda.reserva-ttl-segundos:300}") long ttlSegundos) {
+        this.veterinarioRepository = veterinarioRepository;
+        this.catalogoSnapshotService = catalogoSnapshotService;
+        this.citaRepository = citaRepository;
+        this.reservaSlotRepository = reservaSlotRepository;
+        this.horarioSemanalCacheService = horarioSemanalCacheService;
+        this.agendaLockService = agendaLockService;
+        this.ttl = Duration.ofSeconds(ttlSegundos);
+    }
+
+    @Override
+    @Transactional
+    public ReservaSlotResponseDTO reservar(ReservaSlotRequestDTO requestDTO) {
+        Veterinario veterinario = veterinarioRepository.findById(requestDTO.getIdVeterinario())
+                .orElseThrow(() -> new ResourceNotFoundException(Constants.ENTIDAD_VETERINARIO, "id", requestDTO.getIdVeterinario()));
+        if (!Constants.isTrue(veterinario.getActivo())) {
+            throw new BusinessException("El veterinario no está activo");
+        }
+
+        LocalDate fecha = requestDTO.getFechaCita();
+        LocalTime hora = requestDTO.getHoraCita();
+        LocalDateTime ahora = LocalDateTime.now();
+        if (LocalDateTime.of(fecha, hora).isBefore(ahora)) {
+            throw new ValidationException("No se pueden reservar slots en el pasado", "horaCita", "La hora debe ser futura");
+        }
+
+        IntervaloHorario horario = horarioSemanalCacheService.obtener(veterinario)
+                .buscarVigente(fecha.getDayOfWeek(), hora)
+                .orElseThrow(() -> new ValidationException(
+                        "La hora " + hora + " no está dentro del horario del veterinario", "horaCita",
+                        "La hora debe estar dentro del horario del veterinario"));
+        int duracion = duracionDe(requestDTO.getIdServicio(), horario);
+        LocalTime fin = hora.plusMinutes(duracion);
+        if (fin.isAfter(horario.horaFin()) || fin.isBefore(hora)) {
+            throw new ValidationException("El slot excede el horario del veterinario", "horaCita",
+                    "La cita completa debe estar dentro del horario");
+        }
+
+        String usuario = usuarioActual();
+        if (usuario != null && reservaSlotRepository.countVigentesPorUsuario(usuario, ahora) >= MAX_RESERVAS_POR_USUARIO) {
+            throw new BusinessException("Se alcanzó el máximo de " + MAX_RESERVAS_POR_USUARIO
+                    + " reservas temporales por usuario", "MAX_RESERVAS");
+        }
+
+        // Serializar con reservas y citas de la misma agenda (en todas las instancias)
+        agendaLockService.bloquear(veterinario.getIdPersonal(), fecha);
+
+        long citas = citaRepository.countCitasConflictivas(veterinario, fecha,
+                LocalDateTime.of(fecha, hora), LocalDateTime.of(fecha, fin), null);
+        int retenidas = contarReservasSolapadas(veterinario.getIdPersonal(), fecha, hora, fin);
+        if (citas + retenidas >= horario.maxCitasSimultaneas()) {
+            throw new BusinessException("El slot seleccionado ya no está disponible", "SLOT_NO_DISPONIBLE");
+        }
+
+        ReservaSlot reserva = reservaSlotRepository.save(ReservaSlot.builder()
+                .token(UUID.randomUUID().toString())
+                .idVeterinario(veterinario.getIdPersonal())
+                .fecha(fecha)
+                .horaInicio(hora)
+                .horaFin(fin)
+                .usuario(usuario)
+                .expiraEn(LocalDateTime.now().plus(ttl))
+                .build());
+        log.info("Slot reservado temporalmente: veterinario {} el {} a las {} hasta {}",
+                veterinario.getIdPersonal(), fecha, hora, reserva.getExpiraEn());
+
+        return ReservaSlotResponseDTO.builder()
+                .token(reserva.getToken())
+                .idVeterinario(reserva.getIdVeterinario())
+                .fechaCita(fecha)
+                .horaCita(hora)
+                .duracionMinutos(duracion)
+                .expiraEn(reserva.getExpiraEn())
+                .build();
+    }
+
+    @Override
+    @Transactional
+    public void liberar(String token) {
+        if (reservaSlotRepository.eliminarPorToken(token) > 0) {
+            log.debug("Reserva temporal liberada: {}", token);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void consumir(String token, Long idVeterinario, LocalDate fecha, LocalTime hora) {
+        ReservaSlot reserva = reservaSlotRepository.findVigente(token, LocalDateTime.now())
+                .orElseThrow(() -> new ValidationException("La reserva del slot no existe o ya expiró", "tokenReserva",
+                        "Seleccione el horario nuevamente"));
+        if (!reserva.getIdVeterinario().equals(idVeterinario) || !reserva.getFecha().equals(fecha)
+                || !reserva.getHoraInicio().equals(hora)) {
+            throw new ValidationException("La reserva no corresponde al veterinario, fecha y hora de la cita",
+                    "tokenReserva", "La reserva no coincide con la cita");
+        }
+
+        // Si otra petición consumió el mismo token entretanto, aquí no se elimina ninguna fila
+        if (reservaSlotRepository.eliminarPorToken(token) == 0) {
+            throw new ValidationException("La reserva del slot no existe o ya expiró", "tokenReserva",
+                    "Seleccione el horario nuevamente");
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public int contarReservasSolapadas(Long idVeterinario, LocalDate fecha, LocalTime inicio, LocalTime fin) {
+        return (int) reservaSlotRepository.countSolapadas(idVeterinario, fecha, inicio, fin, LocalDateTime.now());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<IntervaloReservado> listarReservasDelDia(Long idVeterinario, LocalDate fecha) {
+        return reservaSlotRepository.findVigentesDelDia(idVeterinario, fecha, LocalDateTime.now()).stream()
+                .map(r -> new IntervaloReservado(r.getHoraInicio(), r.getHoraFin()))
+                .toList();
+    }
+
+    /**
+     * Elimina las reservas expiradas. Ya no cuentan como ocupación; el barrido solo evita que
+     * la tabla crezca.
+     */
+    @Scheduled(fixedDelayString = "${app.agenda.reserva-purga-ms:60000}")
+    @Transactional
+    public void purgarExpiradas() {
+        int eliminadas = reservaSlotRepository.eliminarExpiradas(LocalDateTime.now());
+        if (eliminadas > 0) {
+            log.debug("Reservas temporales expiradas eliminadas: {}", eliminadas);
+        }
+    }
+
+    // ===================================================================
+    // UTILIDADES
+    // ===================================================================
+
+    private int duracionDe(Long idServicio, IntervaloHorario horario) {
+        if (idServicio != null) {
+            ServicioCatalogo servicio = catalogoSnapshotService.servicio(idServicio);
+            if (servicio.duracionEstimadaMinutos() != null) {
+                return servicio.duracionEstimadaMinutos();
+            }
+        }
+        return horario.duracionCitaMinutos() != null && horario.duracionCitaMinutos() > 0
+                ? horario.duracionCitaMinutos()
+                : Cita.DURACION_POR_DEFECTO_MINUTOS;
+    }
+
+    private static String usuarioActual() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : null;
+    }
+}
@@ -1,5 +1,6 @@
 package com.veterinaria.clinica_veternica.service.impl;
 
+import com.veterinaria.clinica_veternica.config.CacheConfig;
 import com.veterinaria.clinica_veternica.domain.agenda.CategoriaServicio;
 import com.veterinaria.clinica_veternica.domain.agenda.TipoServicio;
 import com.veterinaria.clinica_veternica.domain.agenda.Servicio;
@@ -15,6 +16,8 @@ import com.veterinaria.clinica_veternica.service.registry.ServicioFactoryRegistr
 import com.veterinaria.clinica_veternica.util.Constants;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -38,9 +41,11 @@ public class ServicioServiceImpl implements IServicioService {
 
     private final ServicioRepository servicioRepository;
     private final ServicioMapper servicioMapper;
+    private final CatalogoSnapshotService catalogoSnapshotService;
     private final ServicioFactoryRegistry factoryRegistry;
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.CACHE_SERVICIOS, allEntries = true)
     public ServicioResponseDTO crear(ServicioRequestDTO requestDTO) {
         log.info("Creando nuevo servicio: {}", requestDTO.getNombre());
 
@@ -68,10 +73,12 @@ public class ServicioServiceImpl implements IServicioService {
 
         Servicio servicioGuardado = servicioRepository.save(servicio);
         log.info("Servicio creado exitosamente con ID: {}", servicioGuardado.getIdServicio());
+        catalogoSnapshotService.invalidar();
         return servicioMapper.toResponseDTO(servicioGuardado);
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.CACHE_SERVICIOS, allEntries = true)
     public ServicioResponseDTO crearConFactory(String nombre, String descripcion, BigDecimal precio, String categoria) {
         log.info("Creando servicio con Factory: {} - Categoría: {}", nombre, categoria);
 
@@ -83,10 +90,12 @@ public class ServicioServiceImpl implements IServicioService {
 
         Servicio servicioGuardado = servicioRepository.save(servicio);
         log.info("Servicio creado con Factory exitosamente con ID: {}", servicioGuardado.getIdServicio());
+        catalogoSnapshotService.invalidar();
         return servicioMapper.toResponseDTO(servicioGuardado);
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.CACHE_SERVICIOS, allEntries = true)
     public ServicioResponseDTO actualizar(Long id, ServicioRequestDTO requestDTO) {
         log.info("Actualizando servicio ID: {}", id);
 
@@ -115,11 +124,13 @@ public class ServicioServiceImpl implements IServicioService {
         
         Servicio servicioActualizado = servicioRepository.save(servicio);
         log.info("Servicio actualizado exitosamente");
+        catalogoSnapshotService.invalidar();
         return servicioMapper.toResponseDTO(servicioActualizado);
     }
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.CACHE_SERVICIOS, key = "'id:' + #id", sync = true)
     public ServicioResponseDTO buscarPorId(Long id) {
         Servicio servicio = servicioRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(Constants.ENTIDAD_SERVICIO, "id", id));
@@ -128,6 +139,7 @@ public class ServicioServiceImpl implements IServicioService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.CACHE_SERVICIOS, key = "'todos'", sync = true)
     public List<ServicioResponseDTO> listarTodos() {
         List<Servicio> servicios = servicioRepository.findAll();
         return servicioMapper.toResponseDTOList(servicios);
@@ -135,6 +147,7 @@ public class ServicioServiceImpl implements IServicioService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.CACHE_SERVICIOS, key = "'activos'", sync = true)
     public List<ServicioResponseDTO> listarActivos() {
         List<Servicio> servicios = servicioRepository.findServiciosActivos();
         return servicioMapper.toResponseDTOList(servicios);
@@ -142,6 +155,7 @@ public class ServicioServiceImpl implements IServicioService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.CACHE_SERVICIOS, key = "'tipo:' + #tipoServicio", sync = true)
     public List<ServicioResponseDTO> listarPorTipo(String tipoServicio) {
         List<Servicio> servicios = servicioRepository.findServiciosActivosPorTipo(tipoServicio);
         return servicioMapper.toResponseDTOList(servicios);
@@ -149,6 +163,7 @@ public class ServicioServiceImpl implements IServicioService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.CACHE_SERVICIOS, key = "'categoria:' + #categoria", sync = true)
     public List<ServicioResponseDTO> listarPorCategoria(String categoria) {
         CategoriaServicio categoriaEnum = CategoriaServicio.valueOf(categoria.toUpperCase());
         List<Servicio> servicios = servicioRepository.findAll().stream()
@@ -165,6 +180,7 @@ public class ServicioServiceImpl implements IServicioService {
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.CACHE_SERVICIOS, allEntries = true)
     public void eliminar(Long id) {
         log.info("Eliminando servicio ID: {}", id);
         Servicio servicio = servicioRepository.findById(id)
@@ -182,9 +198,11 @@ public class ServicioServiceImpl implements IServicioService {
         servicio.setActivo(false);
         servicioRepository.save(servicio);
         log.info("Servicio desactivado exitosamente");
+        catalogoSnapshotService.invalidar();
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.CACHE_SERVICIOS, allEntries = true)
     public ServicioResponseDTO activar(Long id) {
         log.info("Activando servicio ID: {}", id);
         Servicio servicio = servicioRepository.findById(id)
@@ -192,10 +210,12 @@ public class ServicioServiceImpl implements IServicioService {
 
         servicio.activar();
         Servicio servicioActivado = servicioRepository.save(servicio);
+        catalogoSnapshotService.invalidar();
         return servicioMapper.toResponseDTO(servicioActivado);
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.CACHE_SERVICIOS, allEntries = true)
     public ServicioResponseDTO desactivar(Long id) {
         log.info("Desactivando servicio ID: {}", id);
         Servicio servicio = servicioRepository.findById(id)
@@ -203,6 +223,7 @@ public class ServicioServiceImpl implements IServicioService {
 
         servicio.desactivar();
         Servicio servicioDesactivado = servicioRepository.save(servicio);
+        catalogoSnapshotService.invalidar();
         return servicioMapper.toResponseDTO(servicioDesactivado);
     }
 }
@@ -1,5 +1,6 @@
 package com.veterinaria.clinica_veternica.service.impl;
 
+import com.veterinaria.clinica_veternica.config.CacheConfig;
 import com.veterinaria.clinica_veternica.domain.inventario.TipoInsumo;
 import com.veterinaria.clinica_veternica.dto.request.inventario.TipoInsumoRequestDTO;
 import com.veterinaria.clinica_veternica.dto.response.inventario.TipoInsumoResponseDTO;
@@ -12,6 +13,8 @@ import com.veterinaria.clinica_veternica.service.interfaces.ITipoInsumoService;
 import com.veterinaria.clinica_veternica.util.Constants;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -32,8 +35,10 @@ public class TipoInsumoServiceImpl implements ITipoInsumoService {
 
     private final TipoInsumoRepository tipoInsumoRepository;
     private final TipoInsumoMapper tipoInsumoMapper;
+    private final CatalogoSnapshotService catalogoSnapshotService;
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.CACHE_TIPOS_INSUMO, allEntries = true)
     public TipoInsumoResponseDTO crear(TipoInsumoRequestDTO requestDTO) {
         // Validar que no exista el nombre
         if (tipoInsumoRepository.existsByNombre(requestDTO.getNombre())) {
@@ -52,10 +57,12 @@ public class TipoInsumoServiceImpl implements ITipoInsumoService {
 
         TipoInsumo tipoInsumoGuardado = tipoInsumoRepository.save(tipoInsumo);
         log.info("Tipo de insumo creado: {}", tipoInsumoGuardado.getNombre());
+        catalogoSnapshotService.invalidar();
         return tipoInsumoMapper.toResponseDTO(tipoInsumoGuardado);
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.CACHE_TIPOS_INSUMO, allEntries = true)
     public TipoInsumoResponseDTO actualizar(Long id, TipoInsumoRequestDTO requestDTO) {
         TipoInsumo tipoInsumo = tipoInsumoRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException(Constants.ENTIDAD_TIPO_INSUMO, "id", id));
@@ -73,11 +80,13 @@ public class TipoInsumoServiceImpl implements ITipoInsumoService {
         tipoInsumoMapper.updateEntityFromDTO(requestDTO, tipoInsumo);
         TipoInsumo tipoInsumoActualizado = tipoInsumoRepository.save(tipoInsumo);
         log.info("Tipo de insumo actualizado: {}", tipoInsumoActualizado.getNombre());
+        catalogoSnapshotService.invalidar();
         return tipoInsumoMapper.toResponseDTO(tipoInsumoActualizado);
     }
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.CACHE_TIPOS_INSUMO, key = "'id:' + #id", sync = true)
     public TipoInsumoResponseDTO buscarPorId(Long id) {
         TipoInsumo tipoInsumo = tipoInsumoRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException(Constants.ENTIDAD_TIPO_INSUMO, "id", id));
@@ -94,17 +103,20 @@ public class TipoInsumoServiceImpl implements ITipoInsumoService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.CACHE_TIPOS_INSUMO, key = "'todos'", sync = true)
     public List<TipoInsumoResponseDTO> listarTodos() {
         return tipoInsumoMapper.toResponseDTOList(tipoInsumoRepository.findAll());
     }
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.CACHE_TIPOS_INSUMO, key = "'activos'", sync = true)
     public List<TipoInsumoResponseDTO> listarActivos() {
         return tipoInsumoMapper.toResponseDTOList(tipoInsumoRepository.findTiposActivos());
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.CACHE_TIPOS_INSUMO, allEntries = true)
     public void eliminar(Long id) {
         TipoInsumo tipoInsumo = tipoInsumoRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException(Constants.ENTIDAD_TIPO_INSUMO, "id", id));
@@ -118,25 +130,30 @@ public class TipoInsumoServiceImpl implements ITipoInsumoService {
 
         tipoInsumoRepository.delete(tipoInsumo);
         log.info("Tipo de insumo eliminado: {}", tipoInsumo.getNombre());
+        catalogoSnapshotService.invalidar();
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.CACHE_TIPOS_INSUMO, allEntries = true)
     public TipoInsumoResponseDTO activar(Long id) {
         TipoInsumo tipoInsumo = tipoInsumoRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException(Constants.ENTIDAD_TIPO_INSUMO, "id", id));
         tipoInsumo.activar();
         TipoInsumo tipoInsumoActualizado = tipoInsumoRepository.save(tipoInsumo);
         log.info("Tipo de insumo activado: {}", tipoInsumoActualizado.getNombre());
+        catalogoSnapshotService.invalidar();
         return tipoInsumoMapper.toResponseDTO(tipoInsumoActualizado);
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.CACHE_TIPOS_INSUMO, allEntries = true)
     public TipoInsumoResponseDTO desactivar(Long id) {
         TipoInsumo tipoInsumo = tipoInsumoRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException(Constants.ENTIDAD_TIPO_INSUMO, "id", id));
         tipoInsumo.desactivar();
         TipoInsumo tipoInsumoActualizado = tipoInsumoRepository.save(tipoInsumo);
         log.info("Tipo de insumo desactivado: {}", tipoInsumoActualizado.getNombre());
+        catalogoSnapshotService.invalidar();
         return tipoInsumoMapper.toResponseDTO(tipoInsumoActualizado);
     }
 
@@ -1,5 +1,6 @@
 package com.veterinaria.clinica_veternica.service.impl;
 
+import com.veterinaria.clinica_veternica.config.CacheConfig;
 import com.veterinaria.clinica_veternica.domain.paciente.Propietario;
 import com.veterinaria.clinica_veternica.domain.usuario.RolUsuario;
 import com.veterinaria.clinica_veternica.domain.usuario.Usuario;
@@ -15,11 +16,14 @@ import com.veterinaria.clinica_veternica.patterns.creational.abstractfactory.Ema
 import com.veterinaria.clinica_veternica.repository.PropietarioRepository;
 import com.veterinaria.clinica_veternica.repository.UsuarioRepository;
 import com.veterinaria.clinica_veternica.repository.VeterinarioRepository;
+import com.veterinaria.clinica_veternica.security.service.PerfilActorService;
+import com.veterinaria.clinica_veternica.security.service.PrincipalCacheService;
 import com.veterinaria.clinica_veternica.service.interfaces.IUsuarioService;
 import com.veterinaria.clinica_veternica.util.Constants;
 import com.veterinaria.clinica_veternica.util.NameParser;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -40,8 +44,11 @@ public class UsuarioServiceImpl implements IUsuarioService {
     private final UsuarioMapper usuarioMapper;
     private final PasswordEncoder passwordEncoder;
     private final EmailNotificacionFactory emailFactory;
+    private final PrincipalCacheService principalCacheService;
+    private final PerfilActorService perfilActorService;
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.CACHE_VETERINARIOS, allEntries = true)
     public UsuarioResponseDTO crear(UsuarioRequestDTO requestDTO) {
         // Validar que el rol sea válido
         if (requestDTO.getRol() == null || requestDTO.getRol().trim().isEmpty()) {
@@ -180,6 +187,7 @@ public class UsuarioServiceImpl implements IUsuarioService {
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.CACHE_VETERINARIOS, allEntries = true)
     public UsuarioResponseDTO actualizar(Long id, UsuarioRequestDTO requestDTO) {
         Usuario usuario = usuarioRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException(Constants.ENTIDAD_USUARIO, "id", id));
@@ -206,6 +214,7 @@ public class UsuarioServiceImpl implements IUsuarioService {
 
         // Guardar password anterior si no se proporciona nueva
         String passwordAnterior = usuario.getPassword();
+        String usernameAnterior = usuario.getUsername();
 
         usuarioMapper.updateEntityFromDTO(requestDTO, usuario);
 
@@ -217,6 +226,12 @@ public class UsuarioServiceImpl implements IUsuarioService {
         }
 
         Usuario usuarioActualizado = usuarioRepository.save(usuario);
+
+        // El rol, el estado, el username o la contraseña pudieron cambiar
+        principalCacheService.revocar(usernameAnterior);
+        principalCacheService.revocar(usuarioActualizado.getUsername());
+        // Con el email puede cambiar el propietario asociado
+        perfilActorService.invalidarTodos();
         return usuarioMapper.toResponseDTO(usuarioActualizado);
     }
 
@@ -288,6 +303,7 @@ public class UsuarioServiceImpl implements IUsuarioService {
         // Establecer nueva password encriptada
         usuario.setPassword(passwordEncoder.encode(passwordNueva));
         usuarioRepository.save(usuario);
+        principalCacheService.revocar(usuario.getUsername());
     }
 
     @Override
@@ -299,9 +315,11 @@ public class UsuarioServiceImpl implements IUsuarioService {
         usuario.setIntentosFallidos(0);
         usuario.setBloqueado(false);
         usuarioRepository.save(usuario);
+        principalCacheService.revocar(usuario.getUsername());
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.CACHE_VETERINARIOS, allEntries = true)
     public void bloquearUsuario(Long id, String motivo) {
         Usuario usuario = usuarioRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException(Constants.ENTIDAD_USUARIO, "id", id));
@@ -313,9 +331,11 @@ public class UsuarioServiceImpl implements IUsuarioService {
         usuario.setBloqueado(true);
         usuario.setFechaBloqueo(LocalDateTime.now());
         usuarioRepository.save(usuario);
+        principalCacheService.revocar(usuario.getUsername());
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.CACHE_VETERINARIOS, allEntries = true)
     public void desbloquearUsuario(Long id) {
         Usuario usuario = usuarioRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException(Constants.ENTIDAD_USUARIO, "id", id));
@@ -331,6 +351,7 @@ public class UsuarioServiceImpl implements IUsuarioService {
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.CACHE_VETERINARIOS, allEntries = true)
     public void activarUsuario(Long id) {
         Usuario usuario = usuarioRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException(Constants.ENTIDAD_USUARIO, "id", id));
@@ -344,6 +365,7 @@ public class UsuarioServiceImpl implements IUsuarioService {
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.CACHE_VETERINARIOS, allEntries = true)
     public void desactivarUsuario(Long id) {
         Usuario usuario = usuarioRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException(Constants.ENTIDAD_USUARIO, "id", id));
@@ -354,9 +376,11 @@ public class UsuarioServiceImpl implements IUsuarioService {
 
         usuario.setEstado(false);
         usuarioRepository.save(usuario);
+        principalCacheService.revocar(usuario.getUsername());
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.CACHE_VETERINARIOS, allEntries = true)
     public void eliminar(Long id) {
         Usuario usuario = usuarioRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException(Constants.ENTIDAD_USUARIO, "id", id));
@@ -366,6 +390,7 @@ public class UsuarioServiceImpl implements IUsuarioService {
         log.warn("Eliminación de usuario solicitada para ID: {}. Se desactivará en lugar de eliminar.", id);
         usuario.setEstado(false);
         usuarioRepository.save(usuario);
+        principalCacheService.revocar(usuario.getUsername());
         
         // Si realmente se quiere eliminar físicamente, descomentar:
         // usuarioRepository.delete(usuario);
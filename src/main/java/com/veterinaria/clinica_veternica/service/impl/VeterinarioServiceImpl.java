@@ -1,6 +1,7 @@
 package com.veterinaria.clinica_veternica.service.impl;
 
 
+import com.veterinaria.clinica_veternica.config.CacheConfig;
 import com.veterinaria.clinica_veternica.domain.usuario.RolUsuario;
 import com.veterinaria.clinica_veternica.domain.usuario.Usuario;
 import com.veterinaria.clinica_veternica.domain.usuario.Veterinario;
@@ -12,13 +13,16 @@ import com.veterinaria.clinica_veternica.exception.ValidationException;
 import com.veterinaria.clinica_veternica.mapper.usuario.VeterinarioMapper;
 import com.veterinaria.clinica_veternica.repository.UsuarioRepository;
 import com.veterinaria.clinica_veternica.repository.VeterinarioRepository;
+import com.veterinaria.clinica_veternica.security.service.PerfilActorService;
+import com.veterinaria.clinica_veternica.security.service.PrincipalCacheService;
+import com.veterinaria.clinica_veternica.security.service.UsuarioPrincipal;
 import com.veterinaria.clinica_veternica.service.interfaces.IVeterinarioService;
 import com.veterinaria.clinica_veternica.util.Constants;
 import com.veterinaria.clinica_veternica.util.NameParser;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -33,9 +37,12 @@ public class VeterinarioServiceImpl implements IVeterinarioService {
 
     private final VeterinarioRepository veterinarioRepository;
     private final UsuarioRepository usuarioRepository;
+    private final PrincipalCacheService principalCacheService;
+    private final PerfilActorService perfilActorService;
     private final VeterinarioMapper veterinarioMapper;
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.CACHE_VETERINARIOS, allEntries = true)
     public VeterinarioResponseDTO crear(VeterinarioRequestDTO requestDTO) {
         // Validar registro profesional único
         if (veterinarioRepository.existsByRegistroProfesional(requestDTO.getRegistroProfesional())) {
@@ -57,6 +64,7 @@ public class VeterinarioServiceImpl implements IVeterinarioService {
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.CACHE_VETERINARIOS, allEntries = true)
     public VeterinarioResponseDTO actualizar(Long id, VeterinarioRequestDTO requestDTO) {
         Veterinario veterinario = veterinarioRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException(Constants.ENTIDAD_VETERINARIO, "id", id));
@@ -79,6 +87,7 @@ public class VeterinarioServiceImpl implements IVeterinarioService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.CACHE_VETERINARIOS, key = "'id:' + #id", sync = true)
     public VeterinarioResponseDTO buscarPorId(Long id) {
         Veterinario veterinario = veterinarioRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException(Constants.ENTIDAD_VETERINARIO, "id", id));
@@ -95,6 +104,7 @@ public class VeterinarioServiceImpl implements IVeterinarioService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.CACHE_VETERINARIOS, key = "'todos'", sync = true)
     public List<VeterinarioResponseDTO> listarTodos() {
         List<Veterinario> veterinarios = veterinarioRepository.findAllWithUsuario();
         return veterinarioMapper.toResponseDTOList(veterinarios);
@@ -102,6 +112,7 @@ public class VeterinarioServiceImpl implements IVeterinarioService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.CACHE_VETERINARIOS, key = "'activos'", sync = true)
     public List<VeterinarioResponseDTO> listarActivos() {
         List<Veterinario> veterinarios = veterinarioRepository.findByActivoTrue();
         return veterinarioMapper.toResponseDTOList(veterinarios);
@@ -109,6 +120,7 @@ public class VeterinarioServiceImpl implements IVeterinarioService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.CACHE_VETERINARIOS, key = "'disponibles'", sync = true)
     public List<VeterinarioResponseDTO> listarDisponibles() {
         List<Veterinario> veterinarios = veterinarioRepository.findVeterinariosDisponibles();
         return veterinarioMapper.toResponseDTOList(veterinarios);
@@ -135,6 +147,7 @@ public class VeterinarioServiceImpl implements IVeterinarioService {
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.CACHE_VETERINARIOS, allEntries = true)
     public void eliminar(Long id) {
         Veterinario veterinario = veterinarioRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException(Constants.ENTIDAD_VETERINARIO, "id", id));
@@ -162,6 +175,7 @@ public class VeterinarioServiceImpl implements IVeterinarioService {
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.CACHE_VETERINARIOS, allEntries = true)
     public VeterinarioResponseDTO activar(Long id) {
         Veterinario veterinario = veterinarioRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException(Constants.ENTIDAD_VETERINARIO, "id", id));
@@ -187,13 +201,9 @@ public class VeterinarioServiceImpl implements IVeterinarioService {
     @Override
     @Transactional(readOnly = true)
     public VeterinarioResponseDTO obtenerPorUsuarioAutenticado() {
-        // Obtener el username del usuario autenticado
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String username = authentication.getName();
-        
-        // Buscar el usuario en la base de datos
-        Usuario usuario = usuarioRepository.findByUsername(username)
-            .orElseThrow(() -> new ResourceNotFoundException("Usuario no encontrado"));
+        // Obtener el usuario autenticado (caché de principales, sin consultar la base de datos)
+        UsuarioPrincipal usuario = principalCacheService.principalActual();
+        String username = usuario.getUsername();
         
         // Buscar el veterinario asociado al usuario (con usuario cargado)
         Veterinario veterinario = veterinarioRepository.findByUsuarioIdWithUsuario(usuario.getIdUsuario())
@@ -205,6 +215,7 @@ public class VeterinarioServiceImpl implements IVeterinarioService {
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.CACHE_VETERINARIOS, allEntries = true)
     public VeterinarioResponseDTO crearDesdeUsuario(Long idUsuario) {
         // Buscar el usuario
         Usuario usuario = usuarioRepository.findById(idUsuario)
@@ -248,10 +259,14 @@ public class VeterinarioServiceImpl implements IVeterinarioService {
         log.info("✅ Veterinario creado desde usuario ID: {} (username: {}, nombres: {}, apellidos: {})",
                 usuario.getIdUsuario(), usuario.getUsername(), nombreParts.nombres(), nombreParts.apellidos());
 
+        // El usuario ya tiene perfil de veterinario
+        perfilActorService.invalidarTodos();
+
         return veterinarioMapper.toResponseDTO(veterinarioGuardado);
     }
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.CACHE_VETERINARIOS, allEntries = true)
     public int sincronizarUsuariosVeterinarios() {
         // Buscar todos los usuarios con rol VETERINARIO
         List<Usuario> usuariosVeterinarios = usuarioRepository.findByRol(RolUsuario.VETERINARIO);
@@ -299,6 +314,10 @@ public class VeterinarioServiceImpl implements IVeterinarioService {
         log.info("📊 Sincronización completada: {} creados, {} ya existentes, {} errores",
                 creados, yaExistentes, errores);
 
+        if (creados > 0) {
+            perfilActorService.invalidarTodos();
+        }
+
         return creados;
     }
 }
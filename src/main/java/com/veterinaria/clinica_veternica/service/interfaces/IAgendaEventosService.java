@@ -0,0 +1,28 @@
+package com.veterinaria.clinica_veternica.service.interfaces;
+
+import com.veterinaria.clinica_veternica.dto.response.agenda.EventoAgendaDTO;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDate;
+
+/**
+ * Interfaz del servicio del feed en tiempo real de cambios de agenda (SSE).
+ *
+ * @author Clínica Veterinaria Team
+ * @version 1.0
+ * @since 2025-11-20
+ */
+public interface IAgendaEventosService {
+
+    String TIPO_CITA_CREADA = "CITA_CREADA";
+    String TIPO_CITA_ESTADO_CAMBIADO = "CITA_ESTADO_CAMBIADO";
+    String TIPO_CITA_REPROGRAMADA = "CITA_REPROGRAMADA";
+    String TIPO_CITA_CANCELADA = "CITA_CANCELADA";
+    String TIPO_RESINCRONIZAR = "RESINCRONIZAR";
+
+    SseEmitter suscribir(Long idVeterinario, LocalDate fecha);
+
+    void publicar(EventoAgendaDTO evento);
+
+    int contarSuscriptores();
+}
@@ -1,6 +1,8 @@
 package com.veterinaria.clinica_veternica.service.interfaces;
 
+import com.veterinaria.clinica_veternica.dto.request.agenda.CitaLoteRequestDTO;
 import com.veterinaria.clinica_veternica.dto.request.agenda.CitaRequestDTO;
+import com.veterinaria.clinica_veternica.dto.response.agenda.CitaLoteResponseDTO;
 import com.veterinaria.clinica_veternica.dto.response.agenda.CitaResponseDTO;
 
 /**
@@ -16,5 +18,7 @@ public interface ICitaCreationService {
     CitaResponseDTO crear(CitaRequestDTO requestDTO);
 
     CitaResponseDTO actualizar(Long id, CitaRequestDTO requestDTO);
+
+    CitaLoteResponseDTO crearLote(CitaLoteRequestDTO requestDTO);
 }
 
@@ -1,7 +1,9 @@
 package com.veterinaria.clinica_veternica.service.interfaces;
 
+import com.veterinaria.clinica_veternica.dto.response.PaginaCursorDTO;
 import com.veterinaria.clinica_veternica.dto.response.agenda.CitaResponseDTO;
 
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -30,5 +32,10 @@ public interface ICitaQueryService {
     List<CitaResponseDTO> listarPorRangoFechas(LocalDateTime inicio, LocalDateTime fin);
 
     List<CitaResponseDTO> listarParaRecordatorio(LocalDateTime ahora, LocalDateTime limite);
+
+    PaginaCursorDTO<CitaResponseDTO> listarPaginado(LocalDateTime inicio, LocalDateTime fin,
+                                                    boolean soloProgramadas, String cursor, int limite);
+
+    void exportarNdjson(LocalDateTime inicio, LocalDateTime fin, boolean soloProgramadas, OutputStream salida);
 }
 
@@ -25,6 +25,8 @@ public interface IHistoriaClinicaService {
 
     HistoriaClinicaResponseDTO buscarPorMascota(Long idMascota);
 
+    List<HistoriaClinicaResponseDTO> listarPorPropietario(Long idPropietario);
+
     List<HistoriaClinicaResponseDTO> listarTodos();
 
     List<HistoriaClinicaResponseDTO> listarActivas();
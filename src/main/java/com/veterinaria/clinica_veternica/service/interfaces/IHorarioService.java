@@ -3,6 +3,7 @@ package com.veterinaria.clinica_veternica.service.interfaces;
 import com.veterinaria.clinica_veternica.dto.request.agenda.HorarioRequestDTO;
 import com.veterinaria.clinica_veternica.dto.response.agenda.DisponibilidadVeterinarioDTO;
 import com.veterinaria.clinica_veternica.dto.response.agenda.HorarioResponseDTO;
+import com.veterinaria.clinica_veternica.dto.response.agenda.SlotLibreDTO;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
@@ -45,5 +46,15 @@ public interface IHorarioService {
      * @return Disponibilidad del veterinario con horarios y slots disponibles
      */
     DisponibilidadVeterinarioDTO obtenerDisponibilidad(Long idVeterinario, LocalDate fecha);
-}
 
+    /**
+     * Busca los primeros slots libres para un servicio entre todos los veterinarios activos.
+     *
+     * @param idServicio ID del servicio
+     * @param especialidad Especialidad requerida (opcional)
+     * @param dias Horizonte de búsqueda en días
+     * @param cantidad Número máximo de slots a devolver
+     * @return Slots libres ordenados por fecha y hora
+     */
+    List<SlotLibreDTO> buscarPrimerosSlotsDisponibles(Long idServicio, String especialidad, int dias, int cantidad);
+}
@@ -0,0 +1,38 @@
+package com.veterinaria.clinica_veternica.service.interfaces;
+
+import com.veterinaria.clinica_veternica.dto.request.agenda.ReservaSlotRequestDTO;
+import com.veterinaria.clinica_veternica.dto.response.agenda.ReservaSlotResponseDTO;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Interfaz del servicio de reservas temporales de slots de agenda.
+ *
+ * @author Clínica Veterinaria Team
+ * @version 1.0
+ * @since 2025-11-20
+ */
+public interface IReservaSlotService {
+
+    ReservaSlotResponseDTO reservar(ReservaSlotRequestDTO requestDTO);
+
+    void liberar(String token);
+
+    /**
+     * Convierte una reserva en cita: la retira dentro de la transacción actual
+     * y la restaura si la transacción se revierte.
+     */
+    void consumir(String token, Long idVeterinario, LocalDate fecha, LocalTime hora);
+
+    int contarReservasSolapadas(Long idVeterinario, LocalDate fecha, LocalTime inicio, LocalTime fin);
+
+    List<IntervaloReservado> listarReservasDelDia(Long idVeterinario, LocalDate fecha);
+
+    /**
+     * Intervalo ocupado por una reserva vigente.
+     */
+    record IntervaloReservado(LocalTime inicio, LocalTime fin) {
+    }
+}
@@ -0,0 +1,224 @@
+package com.veterinaria.clinica_veternica.config.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.veterinaria.clinica_veternica.patterns.structural.proxy.CachedServiceProxy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pruebas del bus de invalidación de caché con dos nodos sobre {@link TransporteInvalidacionLocal}:
+ * reparto de invalidaciones, detección de mensajes perdidos (por secuencia y por latido),
+ * resincronización al reconectar y publicación tras el commit.
+ *
+ * @author Clínica Veterinaria Team
+ * @version 1.0
+ * @since 2025-11-20
+ */
+class BusInvalidacionCacheTest {
+
+    private static final String CACHE_SERVICIOS = "servicios";
+    private static final String RECEPTOR = "catalogo-prueba";
+
+    private Nodo origen;
+    private Nodo destino;
+
+    @BeforeEach
+    void levantarNodos() {
+        origen = new Nodo();
+        destino = new Nodo();
+    }
+
+    @AfterEach
+    void cerrarNodos() {
+        origen.transporte.close();
+        destino.transporte.close();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void invalidacionSeAplicaEnElOtroNodoYNoEnElPropio() {
+        origen.bus.publicarCache(RECEPTOR, "clave-1");
+
+        assertThat(destino.invalidaciones).containsExactly(List.of("clave-1"));
+        assertThat(origen.invalidaciones).isEmpty();
+        assertThat(destino.bus.getEstadisticas().getRecibidas()).isEqualTo(1);
+        assertThat(destino.bus.getEstadisticas().getResincronizaciones()).isZero();
+    }
+
+    @Test
+    void evictDeCacheDeSpringSePropagaSinVolverAPublicarse() {
+        destino.cache.put("clave-1", "valor");
+        destino.cache.put("clave-2", "valor");
+
+        origen.cache.evict("clave-1");
+
+        assertThat(destino.cache.get("clave-1")).isNull();
+        assertThat(destino.cache.get("clave-2")).isNotNull();
+        assertThat(destino.bus.getEstadisticas().getPublicadas()).isZero();
+    }
+
+    @Test
+    void saltoDeSecuenciaVaciaTodosLosCaches() {
+        destino.cache.put("clave-1", "valor");
+        origen.bus.publicarCache(RECEPTOR, "clave-1");
+
+        origen.transporte.descartarSiguiente();
+        origen.bus.publicarCache(RECEPTOR, "clave-2");
+        origen.bus.publicarCache(RECEPTOR, "clave-3");
+
+        // La tercera no se aplica por clave: el destino lo vacía todo porque no sabe qué perdió
+        assertThat(destino.invalidaciones).containsExactly(List.of("clave-1"), List.of());
+        assertThat(destino.cache.get("clave-1")).isNull();
+        verify(destino.proxy).clearLocal();
+        assertThat(destino.bus.getEstadisticas().getResincronizaciones()).isEqualTo(1);
+
+        // Tras resincronizar la secuencia vuelve a ser consecutiva
+        origen.bus.publicarCache(RECEPTOR, "clave-4");
+        assertThat(destino.invalidaciones).last().isEqualTo(List.of("clave-4"));
+        assertThat(destino.bus.getEstadisticas().getResincronizaciones()).isEqualTo(1);
+    }
+
+    @Test
+    void latidoDetectaMensajePerdidoAunqueElOrigenNoVuelvaAEscribir() {
+        origen.bus.publicarCache(RECEPTOR, "clave-1");
+        origen.bus.publicarLatido();
+        assertThat(destino.bus.getEstadisticas().getResincronizaciones()).isZero();
+
+        origen.transporte.descartarSiguiente();
+        origen.bus.publicarCache(RECEPTOR, "clave-2");
+        assertThat(destino.invalidaciones).containsExactly(List.of("clave-1"));
+
+        origen.bus.publicarLatido();
+
+        assertThat(destino.invalidaciones).containsExactly(List.of("clave-1"), List.of());
+        verify(destino.proxy).clearLocal();
+        assertThat(destino.bus.getEstadisticas().getResincronizaciones()).isEqualTo(1);
+    }
+
+    @Test
+    void reconexionVaciaTodosLosCachesYOlvidaLasSecuencias() {
+        destino.cache.put("clave-1", "valor");
+        origen.bus.publicarCache(RECEPTOR, "clave-1");
+
+        destino.bus.alReconectar();
+
+        assertThat(destino.cache.get("clave-1")).isNull();
+        assertThat(destino.invalidaciones).containsExactly(List.of("clave-1"), List.of());
+        verify(destino.proxy).clearLocal();
+        assertThat(destino.bus.getEstadisticas().getResincronizaciones()).isEqualTo(1);
+
+        // Lo que llega después de reconectar solo fija la secuencia, aunque haya un salto
+        origen.transporte.descartarSiguiente();
+        origen.bus.publicarCache(RECEPTOR, "clave-2");
+        origen.bus.publicarCache(RECEPTOR, "clave-3");
+        assertThat(destino.invalidaciones).last().isEqualTo(List.of("clave-3"));
+        assertThat(destino.bus.getEstadisticas().getResincronizaciones()).isEqualTo(1);
+    }
+
+    @Test
+    void publicaSoloDespuesDelCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        origen.bus.publicarCache(RECEPTOR, "clave-1");
+
+        assertThat(destino.invalidaciones).isEmpty();
+
+        List<TransactionSynchronization> sincronizaciones = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        sincronizaciones.forEach(TransactionSynchronization::afterCommit);
+
+        assertThat(destino.invalidaciones).containsExactly(List.of("clave-1"));
+    }
+
+    @Test
+    void rollbackNoPublicaNiConsumeSecuencia() {
+        origen.bus.publicarCache(RECEPTOR, "clave-1");
+
+        TransactionSynchronizationManager.initSynchronization();
+        origen.bus.publicarCache(RECEPTOR, "clave-2");
+        List<TransactionSynchronization> sincronizaciones = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        sincronizaciones.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        origen.bus.publicarCache(RECEPTOR, "clave-3");
+
+        assertThat(destino.invalidaciones).containsExactly(List.of("clave-1"), List.of("clave-3"));
+        verify(destino.proxy, never()).clearLocal();
+        assertThat(origen.bus.getEstadisticas().getSecuencia()).isEqualTo(2);
+    }
+
+    @Test
+    void invalidacionesDelProxySeAplicanEnLocal() {
+        origen.bus.publicarEtiquetas(List.of("mascotas"));
+        origen.bus.publicarLimpieza();
+
+        verify(destino.proxy).invalidarEtiquetasLocal(List.of("mascotas"));
+        verify(destino.proxy, times(1)).clearLocal();
+        verify(origen.proxy, never()).clearLocal();
+    }
+
+    /**
+     * Nodo de prueba: un bus con su propio transporte local, un caché de Spring acotado y un
+     * receptor registrado que anota las invalidaciones recibidas.
+     */
+    private static class Nodo {
+
+        private final TransporteConPerdidas transporte = new TransporteConPerdidas();
+        private final CacheAcotada cache = new CacheAcotada(CACHE_SERVICIOS, 100, Duration.ZERO, Duration.ZERO);
+        private final CachedServiceProxy proxy = mock(CachedServiceProxy.class);
+        private final List<List<String>> invalidaciones = new CopyOnWriteArrayList<>();
+        private final BusInvalidacionCache bus;
+
+        @SuppressWarnings("unchecked")
+        Nodo() {
+            SimpleCacheManager cacheManager = new SimpleCacheManager();
+            cacheManager.setCaches(List.of(cache));
+            cacheManager.afterPropertiesSet();
+
+            ObjectProvider<CachedServiceProxy> proveedorProxy = mock(ObjectProvider.class);
+            when(proveedorProxy.getObject()).thenReturn(proxy);
+
+            bus = new BusInvalidacionCache(transporte, cacheManager, proveedorProxy, new ObjectMapper());
+            bus.registrarReceptor(RECEPTOR, invalidaciones::add);
+            bus.iniciar();
+        }
+    }
+
+    /**
+     * Transporte local que puede perder el siguiente mensaje publicado.
+     */
+    private static class TransporteConPerdidas extends TransporteInvalidacionLocal {
+
+        private volatile boolean descartar;
+
+        void descartarSiguiente() {
+            descartar = true;
+        }
+
+        @Override
+        public void publicar(String mensaje) {
+            if (descartar) {
+                descartar = false;
+                return;
+            }
+            super.publicar(mensaje);
+        }
+    }
+}
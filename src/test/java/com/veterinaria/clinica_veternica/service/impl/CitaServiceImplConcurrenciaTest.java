@@ -0,0 +1,262 @@
+package com.veterinaria.clinica_veternica.service.impl;
+
+import com.veterinaria.clinica_veternica.domain.agenda.CategoriaServicio;
+import com.veterinaria.clinica_veternica.domain.agenda.Cita;
+import com.veterinaria.clinica_veternica.domain.agenda.Horario;
+import com.veterinaria.clinica_veternica.domain.agenda.Servicio;
+import com.veterinaria.clinica_veternica.domain.agenda.TipoServicio;
+import com.veterinaria.clinica_veternica.domain.paciente.Especie;
+import com.veterinaria.clinica_veternica.domain.paciente.Mascota;
+import com.veterinaria.clinica_veternica.domain.paciente.Propietario;
+import com.veterinaria.clinica_veternica.domain.usuario.Veterinario;
+import com.veterinaria.clinica_veternica.dto.request.agenda.CitaRequestDTO;
+import com.veterinaria.clinica_veternica.exception.BusinessException;
+import com.veterinaria.clinica_veternica.exception.ValidationException;
+import com.veterinaria.clinica_veternica.repository.CitaRepository;
+import com.veterinaria.clinica_veternica.repository.EspecieRepository;
+import com.veterinaria.clinica_veternica.repository.EstadisticaDiariaCitaRepository.ConteoPorVeterinarioYEstado;
+import com.veterinaria.clinica_veternica.repository.HorarioRepository;
+import com.veterinaria.clinica_veternica.repository.MascotaRepository;
+import com.veterinaria.clinica_veternica.repository.PropietarioRepository;
+import com.veterinaria.clinica_veternica.repository.ServicioRepository;
+import com.veterinaria.clinica_veternica.repository.VeterinarioRepository;
+import com.veterinaria.clinica_veternica.service.interfaces.ICitaService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Prueba de concurrencia de la creación de citas: cientos de reservas simultáneas sobre un
+ * mismo slot deben aceptar exactamente {@code maxCitasSimultaneas} y rechazar el resto, y
+ * reservas simultáneas en un mismo día deben dejar exacto su agregado diario.
+ *
+ * Con H2 solo interviene el bloqueo en proceso de {@link AgendaLockService} (el advisory lock
+ * es exclusivo de PostgreSQL).
+ *
+ * @author Clínica Veterinaria Team
+ * @version 1.0
+ * @since 2025-11-20
+ */
+@SpringBootTest
+class CitaServiceImplConcurrenciaTest {
+
+    private static final int SOLICITUDES = 200;
+    private static final int MAX_CITAS_SIMULTANEAS = 3;
+    private static final LocalTime HORA_SLOT = LocalTime.of(10, 0);
+
+    @Autowired
+    private ICitaService citaService;
+    @Autowired
+    private CitaRepository citaRepository;
+    @Autowired
+    private PropietarioRepository propietarioRepository;
+    @Autowired
+    private EspecieRepository especieRepository;
+    @Autowired
+    private MascotaRepository mascotaRepository;
+    @Autowired
+    private VeterinarioRepository veterinarioRepository;
+    @Autowired
+    private ServicioRepository servicioRepository;
+    @Autowired
+    private HorarioRepository horarioRepository;
+    @Autowired
+    private CatalogoSnapshotService catalogoSnapshotService;
+    @Autowired
+    private EstadisticaDiariaService estadisticaDiariaService;
+
+    private Veterinario veterinario;
+    private Servicio servicio;
+    private List<Mascota> mascotas;
+    private LocalDate fecha;
+
+    @BeforeEach
+    void prepararAgenda() {
+        String sufijo = Long.toString(System.nanoTime());
+        fecha = LocalDate.now().plusDays(1).with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+
+        Propietario propietario = propietarioRepository.save(Propietario.builder()
+                .documento("P" + sufijo)
+                .tipoDocumento("CC")
+                .nombres("Ana")
+                .apellidos("Gómez")
+                .telefono("3000000000")
+                .email("ana" + sufijo + "@test.com")
+                .build());
+        Especie especie = especieRepository.save(Especie.builder().nombre("Canino " + sufijo).build());
+
+        mascotas = new ArrayList<>(SOLICITUDES);
+        for (int i = 0; i < SOLICITUDES; i++) {
+            mascotas.add(Mascota.builder()
+                    .nombre("Mascota " + i)
+                    .sexo("Macho")
+                    .propietario(propietario)
+                    .especie(especie)
+                    .build());
+        }
+        mascotas = mascotaRepository.saveAll(mascotas);
+
+        veterinario = veterinarioRepository.save(Veterinario.builder()
+                .nombres("Luis")
+                .apellidos("Pérez")
+                .documento("V" + sufijo)
+                .correo("luis" + sufijo + "@test.com")
+                .telefono("3000000001")
+                .especialidad("Medicina general")
+                .registroProfesional("RP-" + sufijo)
+                .build());
+
+        horarioRepository.save(Horario.builder()
+                .veterinario(veterinario)
+                .diaSemana(fecha.getDayOfWeek())
+                .horaInicio(LocalTime.of(8, 0))
+                .horaFin(LocalTime.of(18, 0))
+                .duracionCitaMinutos(30)
+                .maxCitasSimultaneas(MAX_CITAS_SIMULTANEAS)
+                .build());
+
+        servicio = servicioRepository.save(Servicio.builder()
+                .nombre("Consulta " + sufijo)
+                .tipoServicio(TipoServicio.CONSULTA_GENERAL)
+                .categoria(CategoriaServicio.CLINICO)
+                .precio(new BigDecimal("50000"))
+                .duracionEstimadaMinutos(30)
+                .build());
+        // El servicio se valida contra el catálogo en memoria
+        catalogoSnapshotService.recargar();
+    }
+
+    @Test
+    void reservasSimultaneasEnUnSlotAceptanSoloMaxCitasSimultaneas() throws Exception {
+        CountDownLatch salida = new CountDownLatch(1);
+        AtomicInteger aceptadas = new AtomicInteger();
+        AtomicInteger rechazadas = new AtomicInteger();
+        ConcurrentLinkedQueue<Throwable> inesperadas = new ConcurrentLinkedQueue<>();
+
+        ExecutorService executor = Executors.newFixedThreadPool(SOLICITUDES);
+        try {
+            List<Future<?>> futuros = new ArrayList<>(SOLICITUDES);
+            for (Mascota mascota : mascotas) {
+                futuros.add(executor.submit(() -> {
+                    salida.await();
+                    try {
+                        citaService.crear(solicitud(mascota));
+                        aceptadas.incrementAndGet();
+                    } catch (ValidationException e) {
+                        rechazadas.incrementAndGet();
+                    } catch (BusinessException e) {
+                        // Espera agotada sobre el bloqueo de agenda: rechazo reintentable
+                        if ("AGENDA_OCUPADA".equals(e.getErrorCode())) {
+                            rechazadas.incrementAndGet();
+                        } else {
+                            inesperadas.add(e);
+                        }
+                    } catch (RuntimeException e) {
+                        inesperadas.add(e);
+                    }
+                    return null;
+                }));
+            }
+
+            // Todas las reservas arrancan a la vez
+            salida.countDown();
+            for (Future<?> futuro : futuros) {
+                futuro.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(inesperadas).isEmpty();
+        assertThat(aceptadas.get()).isEqualTo(MAX_CITAS_SIMULTANEAS);
+        assertThat(rechazadas.get()).isEqualTo(SOLICITUDES - MAX_CITAS_SIMULTANEAS);
+        assertThat(citaRepository.findByVeterinario(veterinario))
+                .hasSize(MAX_CITAS_SIMULTANEAS)
+                .allSatisfy(cita -> {
+                    assertThat(cita.getFechaCita()).isEqualTo(fecha);
+                    assertThat(cita.getHoraCita()).isEqualTo(HORA_SLOT);
+                });
+    }
+
+    @Test
+    void reservasSimultaneasEnUnMismoDiaDejanElAgregadoDiarioExacto() throws Exception {
+        // Un slot distinto por reserva: todas se aceptan y sus recálculos del día coinciden
+        List<LocalTime> horas = new ArrayList<>();
+        for (LocalTime hora = LocalTime.of(8, 0); hora.isBefore(LocalTime.of(18, 0)); hora = hora.plusMinutes(30)) {
+            horas.add(hora);
+        }
+        CountDownLatch salida = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(horas.size());
+        try {
+            List<Future<?>> futuros = new ArrayList<>(horas.size());
+            for (int i = 0; i < horas.size(); i++) {
+                CitaRequestDTO solicitud = solicitud(mascotas.get(i), horas.get(i));
+                futuros.add(executor.submit(() -> {
+                    salida.await();
+                    return citaService.crear(solicitud);
+                }));
+            }
+
+            salida.countDown();
+            for (Future<?> futuro : futuros) {
+                futuro.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<Cita> citas = citaRepository.findByVeterinario(veterinario);
+        assertThat(citas).hasSize(horas.size());
+        BigDecimal ingresos = citas.stream()
+                .map(Cita::getPrecioFinal)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        // El agregado se recalcula en segundo plano tras cada commit
+        await().atMost(Duration.ofSeconds(30)).untilAsserted(() -> {
+            List<ConteoPorVeterinarioYEstado> conteos = estadisticaDiariaService
+                    .contarPorVeterinarioYEstado(fecha, fecha).stream()
+                    .filter(conteo -> veterinario.getIdPersonal().equals(conteo.getIdVeterinario()))
+                    .toList();
+            assertThat(conteos).singleElement().satisfies(conteo -> {
+                assertThat(conteo.getEstado()).isEqualTo(citas.get(0).getEstado());
+                assertThat(conteo.getCantidad()).isEqualTo(horas.size());
+                assertThat(conteo.getIngresos()).isEqualByComparingTo(ingresos);
+            });
+        });
+    }
+
+    private CitaRequestDTO solicitud(Mascota mascota) {
+        return solicitud(mascota, HORA_SLOT);
+    }
+
+    private CitaRequestDTO solicitud(Mascota mascota, LocalTime hora) {
+        return CitaRequestDTO.builder()
+                .idMascota(mascota.getIdMascota())
+                .idVeterinario(veterinario.getIdPersonal())
+                .idServicio(servicio.getIdServicio())
+                .fechaCita(fecha)
+                .horaCita(hora)
+                .motivo("Control de rutina")
+                .build();
+    }
+}